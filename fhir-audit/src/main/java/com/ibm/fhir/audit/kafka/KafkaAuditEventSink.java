@@ -0,0 +1,50 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.audit.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import com.ibm.fhir.audit.logging.async.AuditEventSink;
+
+/**
+ * Publishes audit events to a Kafka topic.
+ *
+ * <p>All of the events of a {@link #publish(List)} call are sent before waiting for any of them to be acknowledged,
+ * so that the producer can batch them and a batch costs roughly one broker round trip.
+ */
+public class KafkaAuditEventSink implements AuditEventSink {
+    private final KafkaProducer<String, String> producer;
+    private final String topic;
+
+    public KafkaAuditEventSink(KafkaProducer<String, String> producer, String topic) {
+        this.producer = producer;
+        this.topic = topic;
+    }
+
+    @Override
+    public void publish(List<String> events) throws Exception {
+        List<Future<RecordMetadata>> futures = new ArrayList<>(events.size());
+        for (String event : events) {
+            futures.add(producer.send(new ProducerRecord<>(topic, event)));
+        }
+        // Block till the messages are sent to kafka server.
+        for (Future<RecordMetadata> future : futures) {
+            future.get();
+        }
+    }
+
+    @Override
+    public void close() {
+        producer.close();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016,2019
+ * (C) Copyright IBM Corp. 2016,2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -39,4 +39,12 @@ public interface AuditLogService {
      * 
      */
     void initialize(PropertyGroup auditLogProperties) throws Exception;
+
+    /**
+     * Persists any audit log entries that have been accepted but not yet persisted, and releases the resources held by
+     * the audit log service.
+     */
+    default void stop() {
+        // nothing to do by default
+    }
 }
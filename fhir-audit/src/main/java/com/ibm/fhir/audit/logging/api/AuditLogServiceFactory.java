@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016,2019
+ * (C) Copyright IBM Corp. 2016,2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -98,6 +98,20 @@ public class AuditLogServiceFactory {
         log.exiting(CLASSNAME, METHODNAME);
     }
 
+    /**
+     * Stops the cached audit log service, if one has been created.
+     */
+    public static synchronized void stopService() {
+        final String METHODNAME = "stopService";
+        log.entering(CLASSNAME, METHODNAME);
+
+        if (serviceInstance != null) {
+            serviceInstance.stop();
+            serviceInstance = null;
+        }
+        log.exiting(CLASSNAME, METHODNAME);
+    }
+
     /**
      * Resets the singleton instance of the audit logger service object that is cached by this factory class, 
      * then creates, caches, and returns a new service object instance.
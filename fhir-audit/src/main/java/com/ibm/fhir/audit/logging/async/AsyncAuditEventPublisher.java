@@ -0,0 +1,344 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.audit.logging.async;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes audit events to an {@link AuditEventSink} on a background thread, so that logging an audit event does not
+ * wait for the destination.
+ *
+ * <p>Logged events are held in a bounded queue. A single drainer thread takes up to batchSize events at a time from the
+ * queue and publishes them to the sink with one call. When the queue is full, the {@link OverflowPolicy} decides whether
+ * the caller waits, the event is dropped or the event is appended to a local spill file. Events that the sink fails to
+ * publish are appended to the spill file as well when the spill policy is used.
+ *
+ * <p>{@link #close()} (also invoked from a JVM shutdown hook) publishes the events that are still queued
+ * before it returns. The metrics of the publisher are registered as the MXBean {@value #OBJECT_NAME}.
+ */
+public class AsyncAuditEventPublisher implements AsyncAuditEventPublisherMXBean {
+    private static final Logger logger = Logger.getLogger(AsyncAuditEventPublisher.class.getName());
+    private static final String CLASSNAME = AsyncAuditEventPublisher.class.getName();
+    public static final String OBJECT_NAME = "com.ibm.fhir.audit:type=AsyncAuditEventPublisher";
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final BlockingQueue<QueuedEvent> queue;
+    private final AuditEventSink sink;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Path spillFile;
+    private final long shutdownTimeoutMillis;
+    private final Thread drainer;
+    private final Thread shutdownHook;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile long lastLagMillis = 0;
+    private volatile long maxLagMillis = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * @param sink - The destination of the events.
+     * @param queueSize - The maximum number of events waiting to be published.
+     * @param batchSize - The maximum number of events published to the sink with one call.
+     * @param overflowPolicy - What to do with an event when the queue is full.
+     * @param spillFile - The file that events are appended to (one per line) with the spill overflow policy.
+     * @param shutdownTimeoutMillis - How long to wait for the queued events to be published when shutting down.
+     */
+    public AsyncAuditEventPublisher(AuditEventSink sink, int queueSize, int batchSize, OverflowPolicy overflowPolicy,
+            Path spillFile, long shutdownTimeoutMillis) {
+        if (queueSize < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("The audit queue size and batch size must be greater than 0");
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL && spillFile == null) {
+            throw new IllegalArgumentException("A spill file is required for the spill overflow policy");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.spillFile = spillFile;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        drainer = new Thread(this::drain, "fhir-audit-publisher");
+        drainer.setDaemon(true);
+        drainer.start();
+
+        shutdownHook = new Thread(this::close, "fhir-audit-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        registerMXBean();
+    }
+
+    /**
+     * Queues the passed event for publishing.
+     *
+     * @param event - The serialized audit event.
+     * @throws InterruptedException - If interrupted while waiting for room in the queue.
+     */
+    public void publish(String event) throws InterruptedException {
+        QueuedEvent queuedEvent = new QueuedEvent(event, System.nanoTime());
+        if (closed) {
+            // The drainer is gone; don't lose the event if there is somewhere to put it.
+            overflow(queuedEvent);
+            return;
+        }
+        switch (overflowPolicy) {
+        case BLOCK:
+            while (!queue.offer(queuedEvent, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    overflow(queuedEvent);
+                    return;
+                }
+            }
+            break;
+        case DROP:
+        case SPILL:
+        default:
+            if (!queue.offer(queuedEvent)) {
+                overflow(queuedEvent);
+            }
+            break;
+        }
+    }
+
+    /**
+     * Equivalent to {@link #close(long, TimeUnit)} with the shutdown timeout of this publisher.
+     */
+    public void close() {
+        close(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops accepting events, publishes the events that are still queued and closes the sink. Events that could not be
+     * published within the timeout are spilled or dropped according to the overflow policy.
+     */
+    public void close(long timeout, TimeUnit unit) {
+        final String METHODNAME = "close";
+        logger.entering(CLASSNAME, METHODNAME);
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        try {
+            drainer.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (drainer.isAlive()) {
+            drainer.interrupt();
+        }
+
+        List<QueuedEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.warning("Unable to publish " + remaining.size() + " queued audit events before shutdown");
+            overflow(remaining);
+        }
+
+        sink.close();
+        unregisterMXBean();
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the JVM is already shutting down
+            }
+        }
+        logger.info("Stopped audit event publisher: published=" + publishedCount.get() + ", dropped=" + droppedCount.get()
+                + ", spilled=" + spilledCount.get() + ", failed=" + failedCount.get());
+
+        logger.exiting(CLASSNAME, METHODNAME);
+    }
+
+    private void drain() {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                QueuedEvent first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // close timed out; the remaining events are handled there
+                return;
+            }
+        }
+    }
+
+    private void send(List<QueuedEvent> batch) {
+        List<String> events = new ArrayList<>(batch.size());
+        for (QueuedEvent queuedEvent : batch) {
+            events.add(queuedEvent.event);
+        }
+        try {
+            sink.publish(events);
+            publishedCount.addAndGet(events.size());
+            // the first event of the batch is the one that waited the longest
+            long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.get(0).queuedNanos);
+            lastLagMillis = lag;
+            if (lag > maxLagMillis) {
+                maxLagMillis = lag;
+            }
+        } catch (Exception e) {
+            failedCount.addAndGet(events.size());
+            if (overflowPolicy == OverflowPolicy.SPILL) {
+                logger.log(Level.WARNING, "Failed to publish " + events.size() + " audit events, writing them to the spill file", e);
+                spill(events);
+            } else {
+                logger.log(Level.SEVERE, "Failed to publish " + events.size() + " audit events", e);
+            }
+        }
+    }
+
+    private void overflow(QueuedEvent queuedEvent) {
+        overflow(Collections.singletonList(queuedEvent));
+    }
+
+    private void overflow(List<QueuedEvent> queuedEvents) {
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            List<String> events = new ArrayList<>(queuedEvents.size());
+            for (QueuedEvent queuedEvent : queuedEvents) {
+                events.add(queuedEvent.event);
+            }
+            spill(events);
+        } else {
+            long dropped = droppedCount.addAndGet(queuedEvents.size());
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine("Dropped " + queuedEvents.size() + " audit events; total dropped: " + dropped);
+            }
+        }
+    }
+
+    /**
+     * Appends the passed events to the spill file, one per line
+     */
+    private synchronized void spill(List<String> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String event : events) {
+                // line breaks outside of string values are insignificant in JSON
+                writer.write(event.replace('\r', ' ').replace('\n', ' '));
+                writer.newLine();
+            }
+            spilledCount.addAndGet(events.size());
+        } catch (IOException e) {
+            droppedCount.addAndGet(events.size());
+            logger.log(Level.SEVERE, "Failed to write " + events.size() + " audit events to spill file '" + spillFile + "'", e);
+        }
+    }
+
+    private void registerMXBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.registerMBean(this, name);
+            } catch (InstanceAlreadyExistsException e) {
+                // replace the publisher of a previous audit log service instance
+                server.unregisterMBean(name);
+                server.registerMBean(this, name);
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Unable to register the audit event publisher metrics", e);
+        }
+    }
+
+    private void unregisterMXBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            logger.log(Level.FINE, "Unable to unregister the audit event publisher metrics", e);
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    @Override
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    @Override
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    private static final class QueuedEvent {
+        private final String event;
+        private final long queuedNanos;
+
+        private QueuedEvent(String event, long queuedNanos) {
+            this.event = event;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.audit.logging.async;
+
+/**
+ * The metrics of the {@link AsyncAuditEventPublisher}, as exposed through JMX.
+ */
+public interface AsyncAuditEventPublisherMXBean {
+
+    /**
+     * @return the number of events waiting in the queue
+     */
+    int getQueueDepth();
+
+    /**
+     * @return the maximum number of events that the queue can hold
+     */
+    int getQueueCapacity();
+
+    /**
+     * @return the number of events that were published to the sink
+     */
+    long getPublishedCount();
+
+    /**
+     * @return the number of events that were discarded because the queue was full
+     */
+    long getDroppedCount();
+
+    /**
+     * @return the number of events that were written to the spill file
+     */
+    long getSpilledCount();
+
+    /**
+     * @return the number of events that the sink failed to publish
+     */
+    long getFailedCount();
+
+    /**
+     * @return the time in milliseconds between logging the oldest event of the last batch and publishing that batch
+     */
+    long getLastLagMillis();
+
+    /**
+     * @return the largest value of {@link #getLastLagMillis()} so far
+     */
+    long getMaxLagMillis();
+}
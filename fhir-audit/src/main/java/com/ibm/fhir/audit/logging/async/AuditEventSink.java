@@ -0,0 +1,28 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.audit.logging.async;
+
+import java.util.List;
+
+/**
+ * The destination of the audit events that are published by an audit log service.
+ */
+public interface AuditEventSink {
+
+    /**
+     * Publishes the passed events and waits until all of them have been accepted by the destination.
+     *
+     * @param events - The serialized audit events, in the order in which they were logged.
+     * @throws Exception - If any of the events could not be published.
+     */
+    void publish(List<String> events) throws Exception;
+
+    /**
+     * Releases the resources held by this sink.
+     */
+    void close();
+}
@@ -0,0 +1,69 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.audit.logging.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process stand-in for the Kafka sink, which makes it possible to load test audit logging without a broker.
+ *
+ * <p>Each call to {@link #publish(List)} waits for the configured latency to simulate the broker round trip. The events
+ * are counted and, if requested, retained for inspection.
+ */
+public class InMemoryAuditEventSink implements AuditEventSink {
+    private final long latencyMillis;
+    private final boolean retainEvents;
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    /**
+     * @param latencyMillis - The simulated round trip time of each publish call.
+     * @param retainEvents - Whether to keep the published events in memory.
+     */
+    public InMemoryAuditEventSink(long latencyMillis, boolean retainEvents) {
+        this.latencyMillis = latencyMillis;
+        this.retainEvents = retainEvents;
+    }
+
+    @Override
+    public void publish(List<String> events) throws Exception {
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+        if (retainEvents) {
+            this.events.addAll(events);
+        }
+        eventCount.addAndGet(events.size());
+        batchCount.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    /**
+     * @return a copy of the retained events, in the order in which they were published
+     */
+    public List<String> getEvents() {
+        synchronized (events) {
+            return new ArrayList<>(events);
+        }
+    }
+
+    public long getEventCount() {
+        return eventCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+}
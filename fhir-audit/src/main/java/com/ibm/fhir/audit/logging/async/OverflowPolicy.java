@@ -0,0 +1,44 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.audit.logging.async;
+
+/**
+ * What to do with an audit event that is published while the queue of the {@link AsyncAuditEventPublisher} is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait until there is room in the queue.
+     */
+    BLOCK("block"),
+    /**
+     * Discard the event and count it as dropped.
+     */
+    DROP("drop"),
+    /**
+     * Append the event to the local spill file.
+     */
+    SPILL("spill");
+
+    private final String value;
+
+    OverflowPolicy(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static OverflowPolicy from(String value) {
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            if (policy.value.equalsIgnoreCase(value)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Invalid audit queue overflow policy: " + value);
+    }
+}
@@ -7,16 +7,18 @@
 package com.ibm.fhir.audit.logging.impl;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerRecord;
 
 import com.ibm.fhir.audit.cadf.model.CadfAttachment;
 import com.ibm.fhir.audit.cadf.model.CadfCredential;
@@ -30,8 +32,13 @@ import com.ibm.fhir.audit.cadf.model.enums.Outcome;
 import com.ibm.fhir.audit.cadf.model.enums.ResourceType;
 import com.ibm.fhir.audit.kafka.Environment;
 import com.ibm.fhir.audit.kafka.EventStreamsCredentials;
+import com.ibm.fhir.audit.kafka.KafkaAuditEventSink;
 import com.ibm.fhir.audit.logging.api.AuditLogEventType;
 import com.ibm.fhir.audit.logging.api.AuditLogService;
+import com.ibm.fhir.audit.logging.async.AsyncAuditEventPublisher;
+import com.ibm.fhir.audit.logging.async.AuditEventSink;
+import com.ibm.fhir.audit.logging.async.InMemoryAuditEventSink;
+import com.ibm.fhir.audit.logging.async.OverflowPolicy;
 import com.ibm.fhir.audit.logging.beans.AuditLogEntry;
 import com.ibm.fhir.audit.logging.beans.impl.context.FHIRContext;
 import com.ibm.fhir.config.PropertyGroup;
@@ -50,6 +57,13 @@ public class WhcAuditCadfLogService implements AuditLogService {
     private static final String PROPERTY_AUDIT_GEO_CITY = "geoCity";
     private static final String PROPERTY_AUDIT_GEO_STATE = "geoState";
     private static final String PROPERTY_AUDIT_GEO_COUNTRY = "geoCounty";
+    private static final String PROPERTY_AUDIT_EVENT_SINK = "eventSink";
+    private static final String PROPERTY_AUDIT_MEMORY_SINK_LATENCY = "memorySinkLatency";
+    private static final String PROPERTY_AUDIT_ASYNC_QUEUE_SIZE = "asyncQueueSize";
+    private static final String PROPERTY_AUDIT_ASYNC_BATCH_SIZE = "asyncBatchSize";
+    private static final String PROPERTY_AUDIT_ASYNC_OVERFLOW_POLICY = "asyncOverflowPolicy";
+    private static final String PROPERTY_AUDIT_ASYNC_SPILL_FILE = "asyncSpillFile";
+    private static final String PROPERTY_AUDIT_ASYNC_SHUTDOWN_TIMEOUT = "asyncShutdownTimeout";
     private static final String HEALTHCHECKOP = "healthcheck";
 
     private static final String KAFKA_USERNAME = "token";
@@ -57,8 +71,16 @@ public class WhcAuditCadfLogService implements AuditLogService {
     private static final String DEFAULT_AUDIT_GEO_CITY = "Dallas";
     private static final String DEFAULT_AUDIT_GEO_STATE = "TX";
     private static final String DEFAULT_AUDIT_GEO_COUNTRY = "US";
+    private static final String EVENT_SINK_KAFKA = "kafka";
+    private static final String EVENT_SINK_MEMORY = "memory";
+    private static final int DEFAULT_AUDIT_ASYNC_BATCH_SIZE = 100;
+    private static final String DEFAULT_AUDIT_ASYNC_SPILL_FILE = "logs/fhir-audit-spill.log";
+    private static final int DEFAULT_AUDIT_ASYNC_SHUTDOWN_TIMEOUT = 30;
 
     private KafkaProducer<String, String> producer = null;
+    private AuditEventSink sink = null;
+    // null if audit events are published synchronously
+    private AsyncAuditEventPublisher publisher = null;
     private static String bootstrapServers = null;
     private static String apiKey = null;
     private static String auditTopic = DEFAULT_AUDIT_KAFKA_TOPIC;
@@ -95,6 +117,45 @@ public class WhcAuditCadfLogService implements AuditLogService {
         final String METHODNAME = "initialize";
         logger.entering(CLASSNAME, METHODNAME);
 
+        // Now, let's get the audit topic from FHIR config, if not found, then use the default topic
+        if (auditLogProperties != null) {
+            auditTopic = auditLogProperties.getStringProperty(PROPERTY_AUDIT_KAFKA_TOPIC, DEFAULT_AUDIT_KAFKA_TOPIC);
+            geoCity    = auditLogProperties.getStringProperty(PROPERTY_AUDIT_GEO_CITY, DEFAULT_AUDIT_GEO_CITY);
+            geoState   = auditLogProperties.getStringProperty(PROPERTY_AUDIT_GEO_STATE, DEFAULT_AUDIT_GEO_STATE);
+            geoCountry = auditLogProperties.getStringProperty(PROPERTY_AUDIT_GEO_COUNTRY, DEFAULT_AUDIT_GEO_COUNTRY);
+        }
+
+        String eventSink = (auditLogProperties != null)
+                ? auditLogProperties.getStringProperty(PROPERTY_AUDIT_EVENT_SINK, EVENT_SINK_KAFKA) : EVENT_SINK_KAFKA;
+        if (EVENT_SINK_MEMORY.equals(eventSink)) {
+            // In-process stand-in for kafka, for load testing without a broker
+            int latency = auditLogProperties.getIntProperty(PROPERTY_AUDIT_MEMORY_SINK_LATENCY, 0);
+            logger.warning("Audit events are not persisted: using the in-memory audit event sink.");
+            this.sink = new InMemoryAuditEventSink(latency, false);
+        } else {
+            this.sink = createKafkaSink(auditLogProperties);
+        }
+
+        int queueSize = (auditLogProperties != null) ? auditLogProperties.getIntProperty(PROPERTY_AUDIT_ASYNC_QUEUE_SIZE, 0) : 0;
+        if (queueSize > 0) {
+            int batchSize = auditLogProperties.getIntProperty(PROPERTY_AUDIT_ASYNC_BATCH_SIZE, DEFAULT_AUDIT_ASYNC_BATCH_SIZE);
+            OverflowPolicy overflowPolicy = OverflowPolicy.from(
+                    auditLogProperties.getStringProperty(PROPERTY_AUDIT_ASYNC_OVERFLOW_POLICY, OverflowPolicy.BLOCK.value()));
+            String spillFile = auditLogProperties.getStringProperty(PROPERTY_AUDIT_ASYNC_SPILL_FILE, DEFAULT_AUDIT_ASYNC_SPILL_FILE);
+            int shutdownTimeout = auditLogProperties.getIntProperty(PROPERTY_AUDIT_ASYNC_SHUTDOWN_TIMEOUT, DEFAULT_AUDIT_ASYNC_SHUTDOWN_TIMEOUT);
+            this.publisher = new AsyncAuditEventPublisher(sink, queueSize, batchSize, overflowPolicy, Paths.get(spillFile),
+                    TimeUnit.SECONDS.toMillis(shutdownTimeout));
+            logger.info("Publishing audit events asynchronously: queueSize=" + queueSize + ", batchSize=" + batchSize
+                    + ", overflowPolicy=" + overflowPolicy.value());
+        }
+
+        logger.info("Initialized Audit logger.");
+        this.isEnabled = true;
+
+        logger.exiting(CLASSNAME, METHODNAME);
+    }
+
+    private AuditEventSink createKafkaSink(PropertyGroup auditLogProperties) throws Exception {
         // Check environment: EVENT_STREAMS_AUDIT_BINDING to obtain configuration parameters for
         // kafka (Kubernetes Container)
         if (System.getenv(Environment.KUB_EVENTSTREAMS_BINDING) != null) {
@@ -119,14 +180,6 @@ public class WhcAuditCadfLogService implements AuditLogService {
             throw new FHIRException("Can not get kafka settings!");
         }
 
-        // Now, let's get the audit topic from FHIR config, if not found, then use the default topic
-        if (auditLogProperties != null) {
-            auditTopic = auditLogProperties.getStringProperty(PROPERTY_AUDIT_KAFKA_TOPIC, DEFAULT_AUDIT_KAFKA_TOPIC);
-            geoCity    = auditLogProperties.getStringProperty(PROPERTY_AUDIT_GEO_CITY, DEFAULT_AUDIT_GEO_CITY);
-            geoState   = auditLogProperties.getStringProperty(PROPERTY_AUDIT_GEO_STATE, DEFAULT_AUDIT_GEO_STATE);
-            geoCountry = auditLogProperties.getStringProperty(PROPERTY_AUDIT_GEO_COUNTRY, DEFAULT_AUDIT_GEO_COUNTRY);
-        }
-
         Properties kafkaProps = new Properties();
         kafkaProps.put("sasl.jaas.config", String.format(
                 "org.apache.kafka.common.security.plain.PlainLoginModule required username=\"%s\" password=\"%s\";",
@@ -144,12 +197,8 @@ public class WhcAuditCadfLogService implements AuditLogService {
 
         if (this.producer == null) {
             throw new FHIRException("Failed to init kafka producer!");
-        } else {
-            logger.info("Initialized Audit logger.");
-            this.isEnabled = true;
         }
-
-        logger.exiting(CLASSNAME, METHODNAME);
+        return new KafkaAuditEventSink(this.producer, auditTopic);
     }
 
     @Override
@@ -168,9 +217,11 @@ public class WhcAuditCadfLogService implements AuditLogService {
 
         if (eventObject != null) {
             String eventString = CadfEvent.Writer.generate(eventObject);
-            ProducerRecord<String, String> record = new ProducerRecord<>(auditTopic, eventString);
-            // Block till the message is sent to kafka server.
-            this.producer.send(record).get();
+            if (publisher != null) {
+                publisher.publish(eventString);
+            } else {
+                sink.publish(Collections.singletonList(eventString));
+            }
         }
 
         logger.exiting(CLASSNAME, METHODNAME);
@@ -256,14 +307,19 @@ public class WhcAuditCadfLogService implements AuditLogService {
         return event;
     }
 
-    // release kafka resource for producer
+    // publish the queued events and release kafka resource for producer
+    @Override
     public void stop() {
-        if (this.producer != null) {
-            try {
-                this.producer.close();
-            } catch (Exception e) {
-                logger.info(e.getMessage());
+        try {
+            if (this.publisher != null) {
+                this.publisher.close();
+                this.publisher = null;
+            } else if (this.sink != null) {
+                this.sink.close();
             }
+        } catch (Exception e) {
+            logger.info(e.getMessage());
         }
+        this.isEnabled = false;
     }
 }
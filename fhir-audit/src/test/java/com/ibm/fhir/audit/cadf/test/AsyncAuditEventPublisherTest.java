@@ -0,0 +1,137 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.audit.cadf.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.audit.logging.async.AsyncAuditEventPublisher;
+import com.ibm.fhir.audit.logging.async.AuditEventSink;
+import com.ibm.fhir.audit.logging.async.InMemoryAuditEventSink;
+import com.ibm.fhir.audit.logging.async.OverflowPolicy;
+
+public class AsyncAuditEventPublisherTest {
+
+    @Test
+    public void testPublishInOrder() throws Exception {
+        InMemoryAuditEventSink sink = new InMemoryAuditEventSink(1, true);
+        AsyncAuditEventPublisher publisher = new AsyncAuditEventPublisher(sink, 1000, 50, OverflowPolicy.BLOCK, null, 10000);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String event = "{\"id\":" + i + "}";
+            expected.add(event);
+            publisher.publish(event);
+        }
+        publisher.close();
+
+        assertEquals(sink.getEvents(), expected);
+        assertEquals(publisher.getPublishedCount(), 500);
+        assertEquals(publisher.getQueueDepth(), 0);
+        // the drainer batches the events that queued up during the simulated round trips
+        assertTrue(sink.getBatchCount() < 500);
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        InMemoryAuditEventSink sink = new InMemoryAuditEventSink(2, false);
+        AsyncAuditEventPublisher publisher = new AsyncAuditEventPublisher(sink, 1000, 100, OverflowPolicy.BLOCK, null, 10000);
+        int threads = 8;
+        int eventsPerThread = 2000;
+        List<Thread> loggers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread logger = new Thread(() -> {
+                try {
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        publisher.publish("{}");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            logger.start();
+            loggers.add(logger);
+        }
+        for (Thread logger : loggers) {
+            logger.join();
+        }
+        publisher.close();
+
+        assertEquals(sink.getEventCount(), threads * eventsPerThread);
+        assertEquals(publisher.getDroppedCount(), 0);
+    }
+
+    @Test
+    public void testDrop() throws Exception {
+        BlockingSink sink = new BlockingSink();
+        AsyncAuditEventPublisher publisher = new AsyncAuditEventPublisher(sink, 2, 1, OverflowPolicy.DROP, null, 10000);
+        publisher.publish("1");
+        // wait for the drainer to take the first event, then fill the queue
+        assertTrue(sink.started.await(10, TimeUnit.SECONDS));
+        publisher.publish("2");
+        publisher.publish("3");
+        publisher.publish("4");
+        publisher.publish("5");
+        assertEquals(publisher.getDroppedCount(), 2);
+        assertEquals(publisher.getQueueDepth(), 2);
+
+        sink.release.countDown();
+        publisher.close();
+        assertEquals(publisher.getPublishedCount(), 3);
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        Path spillFile = Files.createTempFile("fhir-audit-spill", ".log");
+        try {
+            BlockingSink sink = new BlockingSink();
+            AsyncAuditEventPublisher publisher = new AsyncAuditEventPublisher(sink, 1, 1, OverflowPolicy.SPILL, spillFile, 10000);
+            publisher.publish("{\"id\":1}");
+            assertTrue(sink.started.await(10, TimeUnit.SECONDS));
+            publisher.publish("{\"id\":2}");
+            publisher.publish("{\n  \"id\":3\n}");
+            assertEquals(publisher.getSpilledCount(), 1);
+
+            sink.release.countDown();
+            publisher.close();
+            assertEquals(publisher.getPublishedCount(), 2);
+            List<String> lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+            assertEquals(lines.size(), 1);
+            assertEquals(lines.get(0), "{   \"id\":3 }");
+        } finally {
+            Files.delete(spillFile);
+        }
+    }
+
+    /**
+     * A sink that blocks the drainer in the first publish call until it is released
+     */
+    private static class BlockingSink implements AuditEventSink {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void publish(List<String> events) throws Exception {
+            started.countDown();
+            release.await();
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
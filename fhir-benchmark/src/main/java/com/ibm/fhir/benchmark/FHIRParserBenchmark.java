@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019
+ * (C) Copyright IBM Corp. 2019, 2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -14,6 +14,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
 
 import com.ibm.fhir.benchmark.runner.FHIRBenchmarkRunner;
 import com.ibm.fhir.benchmark.util.BenchmarkUtil;
@@ -29,7 +30,17 @@ public class FHIRParserBenchmark {
     @State(Scope.Thread)
     public static class FHIRParsers {
         FHIRParser jsonParser = FHIRParser.parser(Format.JSON);
+        FHIRParser streamingJsonParser = FHIRParser.parser(Format.JSON);
         FHIRParser xmlParser = FHIRParser.parser(Format.XML);
+        FHIRParser trustedJsonParser = FHIRParser.parser(Format.JSON);
+        FHIRParser trustedXMLParser = FHIRParser.parser(Format.XML);
+
+        @Setup
+        public void setUp() {
+            streamingJsonParser.setProperty(FHIRParser.PROPERTY_STREAMING, true);
+            trustedJsonParser.setProperty(FHIRParser.PROPERTY_TRUSTED, true);
+            trustedXMLParser.setProperty(FHIRParser.PROPERTY_TRUSTED, true);
+        }
     }
     
     @State(Scope.Benchmark)
@@ -39,7 +50,8 @@ public class FHIRParserBenchmark {
         String XML_SPEC_EXAMPLE;
         
         // JMH will inject the value into the annotated field before any Setup method is called.
-        @Param({"valuesets"})
+        // The last three examples are mostly narrative, which dominates the cost of validation.
+        @Param({"valuesets", "measurereport-cms146-cat1-example", "plandefinition-example", "library-cms146-example"})
         public String exampleName;
         
         @Setup
@@ -61,10 +73,25 @@ public class FHIRParserBenchmark {
         return parsers.jsonParser.parse(new StringReader(state.JSON_SPEC_EXAMPLE));
     }
     
+    @Benchmark
+    public Resource benchmarkJsonParserStreaming(FHIRParsers parsers, FHIRParserState state) throws Exception {
+        return parsers.streamingJsonParser.parse(new StringReader(state.JSON_SPEC_EXAMPLE));
+    }
+
+    @Benchmark
+    public Resource benchmarkJsonParserTrusted(FHIRParsers parsers, FHIRParserState state) throws Exception {
+        return parsers.trustedJsonParser.parse(new StringReader(state.JSON_SPEC_EXAMPLE));
+    }
+
     @Benchmark
     public Resource benchmarkXMLParser(FHIRParsers parsers, FHIRParserState state) throws Exception {
         return parsers.xmlParser.parse(new StringReader(state.XML_SPEC_EXAMPLE));
     }
+
+    @Benchmark
+    public Resource benchmarkXMLParserTrusted(FHIRParsers parsers, FHIRParserState state) throws Exception {
+        return parsers.trustedXMLParser.parse(new StringReader(state.XML_SPEC_EXAMPLE));
+    }
     
     @Benchmark
     public void benchmarkHAPIJsonParser(FHIRParserState state) throws Exception {
@@ -77,6 +104,9 @@ public class FHIRParserBenchmark {
     }
     
     public static void main(String[] args) throws Exception {
-        new FHIRBenchmarkRunner(FHIRParserBenchmark.class).run();
+        // GCProfiler reports the allocation rate (gc.alloc.rate.norm) of the JsonObject and streaming code paths
+        new FHIRBenchmarkRunner(FHIRParserBenchmark.class)
+                .profiler(GCProfiler.class)
+                .run();
     }
 }
@@ -29,6 +29,7 @@ import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.DateTime;
 import com.ibm.fhir.model.type.Extension;
 import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.path.patch.FHIRPathJsonPatch;
 import com.ibm.fhir.path.patch.FHIRPathPatch;
 
 public class FHIRPatchBenchmark {
@@ -82,6 +83,15 @@ public class FHIRPatchBenchmark {
         return patch.apply(state.resource);
     }
 
+    @Benchmark
+    public Resource benchmarkFHIRPathJsonPatch(FHIRPathEvaluatorState state) throws Exception {
+        FHIRPatch patch = FHIRPathJsonPatch.patch(JSON_PROVIDER.createPatchBuilder()
+            .add("/extension", JSON_BUILDER_FACTORY.createArrayBuilder().build())
+            .add("/extension/-", JSON_EXTENSION)
+            .build());
+        return patch.apply(state.resource);
+    }
+
     public static void main(String[] args) throws Exception {
         new FHIRBenchmarkRunner(FHIRPatchBenchmark.class)
                 .run(BenchmarkUtil.getRandomSpecExampleName());
@@ -0,0 +1,126 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.benchmark;
+
+import static com.ibm.fhir.path.util.FHIRPathUtil.singleton;
+
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ibm.fhir.benchmark.util.BenchmarkUtil;
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
+import com.ibm.fhir.core.util.LRUCache;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
+
+/**
+ * Multi-threaded throughput of the FHIRPath evaluator and of the caches that back it
+ *
+ * <p>The evaluator benchmark measures evaluator throughput with the evaluator caches backed by ConcurrentLRUCache;
+ * each thread evaluates against its own EvaluationContext, since evaluation sets external constants on the context.
+ *
+ * <p>The synchronizedLRUCache and concurrentLRUCache benchmarks replay the lookups of the FHIRPathEvaluator
+ * expression, identifier and literal caches (a small set of hot keys) against the previous synchronized LinkedHashMap
+ * cache and its concurrent replacement, respectively.
+ */
+@Threads(8)
+public class FHIRPathCacheBenchmark {
+    private static final String EXAMPLE_NAME = "patient-example";
+    private static final String[] EXPRESSIONS = {
+        "Patient.name.given",
+        "Patient.birthDate < @1950-01-01",
+        "Patient.telecom.where(system = 'phone').value",
+        "Patient.identifier.where(system = 'urn:oid:1.2.36.146.595.217.0.1').exists()",
+        "Patient.contact.relationship.coding.code"
+    };
+    private static final int MAX_ENTRIES = 512;
+
+    @State(Scope.Thread)
+    public static class FHIRPathEvaluatorState {
+        public static final String JSON_SPEC_EXAMPLE = BenchmarkUtil.getSpecExample(Format.JSON, EXAMPLE_NAME);
+
+        public EvaluationContext evaluationContext;
+        public Collection<FHIRPathNode> initialContext;
+
+        @Setup
+        public void setUp() throws Exception {
+            Resource resource = FHIRParser.parser(Format.JSON).parse(new StringReader(JSON_SPEC_EXAMPLE));
+            evaluationContext = new EvaluationContext(resource);
+            initialContext = singleton(evaluationContext.getTree().getRoot());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        public FHIRPathEvaluator evaluator;
+        public int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            evaluator = FHIRPathEvaluator.evaluator();
+        }
+
+        public String nextExpression() {
+            return EXPRESSIONS[index++ % EXPRESSIONS.length];
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+        public Map<String, String> synchronizedLRUCache;
+        public Map<String, String> concurrentLRUCache;
+
+        @SuppressWarnings("deprecation")
+        @Setup
+        public void setUp() {
+            synchronizedLRUCache = LRUCache.createLRUCache(MAX_ENTRIES);
+            concurrentLRUCache = ConcurrentLRUCache.createConcurrentLRUCache(MAX_ENTRIES);
+        }
+    }
+
+    @Benchmark
+    public Collection<FHIRPathNode> evaluator(FHIRPathEvaluatorState state, ThreadState threadState) throws Exception {
+        return threadState.evaluator.evaluate(state.evaluationContext, threadState.nextExpression(), state.initialContext);
+    }
+
+    @Benchmark
+    public String synchronizedLRUCache(CacheState state, ThreadState threadState) {
+        return state.synchronizedLRUCache.computeIfAbsent(threadState.nextExpression(), String::trim);
+    }
+
+    @Benchmark
+    public String concurrentLRUCache(CacheState state, ThreadState threadState) {
+        return state.concurrentLRUCache.computeIfAbsent(threadState.nextExpression(), String::trim);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(FHIRPathCacheBenchmark.class.getSimpleName())
+                .mode(Mode.Throughput)
+                .warmupIterations(1)
+                .measurementIterations(2)
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
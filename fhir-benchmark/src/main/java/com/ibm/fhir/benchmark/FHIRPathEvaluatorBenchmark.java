@@ -19,6 +19,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
 
 import com.ibm.fhir.benchmark.runner.FHIRBenchmarkRunner;
 import com.ibm.fhir.benchmark.util.BenchmarkUtil;
@@ -26,6 +27,7 @@ import com.ibm.fhir.model.format.Format;
 import com.ibm.fhir.model.parser.FHIRParser;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.FHIRPathTree;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
 
@@ -45,6 +47,7 @@ public class FHIRPathEvaluatorBenchmark {
         public FhirContext context;
         public IFluentPath fluentPath;
         public FHIRPathEvaluator evaluator;
+        public FHIRPathEvaluator interpreter;
         public EvaluationContext evaluationContext;
         public Collection<FHIRPathNode> initialContext;
         public Resource resource;
@@ -56,6 +59,7 @@ public class FHIRPathEvaluatorBenchmark {
             fluentPath = context.newFluentPath();
             resource = FHIRParser.parser(Format.JSON).parse(new StringReader(JSON_SPEC_EXAMPLE));
             evaluator = FHIRPathEvaluator.evaluator();
+            interpreter = FHIRPathEvaluator.interpreter();
             evaluationContext = new EvaluationContext(resource);
             initialContext = singleton(evaluationContext.getTree().getRoot());
             baseResource = context.newJsonParser().parseResource(new StringReader(JSON_SPEC_EXAMPLE));
@@ -67,6 +71,26 @@ public class FHIRPathEvaluatorBenchmark {
         state.evaluator.evaluate(state.evaluationContext, FHIRPathEvaluatorState.EXPRESSION, state.initialContext);
     }
 
+    @Benchmark
+    public void benchmarkInterpreter(FHIRPathEvaluatorState state) throws Exception {
+        state.interpreter.evaluate(state.evaluationContext, FHIRPathEvaluatorState.EXPRESSION, state.initialContext);
+    }
+
+    /**
+     * Builds the tree and evaluates the expression against it, so that the allocations of the tree nodes that the
+     * expression visits are measured together with the evaluation
+     */
+    @Benchmark
+    public Collection<FHIRPathNode> benchmarkEvaluatorWithTree(FHIRPathEvaluatorState state) throws Exception {
+        EvaluationContext evaluationContext = new EvaluationContext(state.resource);
+        return state.evaluator.evaluate(evaluationContext, FHIRPathEvaluatorState.EXPRESSION, singleton(evaluationContext.getTree().getRoot()));
+    }
+
+    @Benchmark
+    public FHIRPathTree benchmarkTree(FHIRPathEvaluatorState state) throws Exception {
+        return FHIRPathTree.tree(state.resource);
+    }
+
     @Benchmark
     public void benchmarkHAPIEvaluator(FHIRPathEvaluatorState state) throws Exception {
         state.fluentPath.evaluate(state.baseResource, FHIRPathEvaluatorState.EXPRESSION, IBase.class);
@@ -91,6 +115,7 @@ public class FHIRPathEvaluatorBenchmark {
         new FHIRBenchmarkRunner(FHIRPathEvaluatorBenchmark.class)
                 .property(PROPERTY_EXAMPLE_NAME, EXAMPLE_NAME)
                 .property(PROPERTY_EXPRESSION, EXPRESSION)
+                .profiler(GCProfiler.class)
                 .run();
     }
 }
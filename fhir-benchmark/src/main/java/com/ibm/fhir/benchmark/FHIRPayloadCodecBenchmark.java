@@ -0,0 +1,97 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.benchmark;
+
+import java.io.StringReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+
+import com.ibm.fhir.benchmark.runner.FHIRBenchmarkRunner;
+import com.ibm.fhir.benchmark.util.BenchmarkUtil;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.persistence.jdbc.codec.BinaryPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.JsonPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.PayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.PayloadCodecFactory;
+
+/**
+ * Compares the payload codecs of the JDBC persistence layer: the GZIP-compressed JSON payload and the binary payload
+ */
+public class FHIRPayloadCodecBenchmark {
+    static final PayloadCodec JSON_CODEC = PayloadCodecFactory.getCodec(JsonPayloadCodec.NAME);
+    static final PayloadCodec BINARY_CODEC = PayloadCodecFactory.getCodec(BinaryPayloadCodec.NAME);
+
+    @State(Scope.Benchmark)
+    public static class FHIRPayloadCodecState {
+        Resource resource;
+        byte[] jsonPayload;
+        byte[] binaryPayload;
+
+        // JMH will inject the value into the annotated field before any Setup method is called.
+        @Param({"valuesets"})
+        public String exampleName;
+
+        @Setup
+        public void setUp() throws Exception {
+            if (exampleName == null) {
+                System.err.println("exampleName is null; if you're in Eclipse then make sure annotation processing is on and you've ran 'mvn clean package'.");
+                System.exit(1);
+            }
+            System.out.println("Setting up for example " + exampleName);
+            resource = FHIRParser.parser(Format.JSON).parse(new StringReader(BenchmarkUtil.getSpecExample(Format.JSON, exampleName)));
+            jsonPayload = JSON_CODEC.encode(resource);
+            binaryPayload = BINARY_CODEC.encode(resource);
+            System.out.println("Stored size: json=" + jsonPayload.length + " binary=" + binaryPayload.length);
+        }
+    }
+
+    @Benchmark
+    public byte[] benchmarkJsonEncode(FHIRPayloadCodecState state) throws Exception {
+        return JSON_CODEC.encode(state.resource);
+    }
+
+    @Benchmark
+    public byte[] benchmarkBinaryEncode(FHIRPayloadCodecState state) throws Exception {
+        return BINARY_CODEC.encode(state.resource);
+    }
+
+    @Benchmark
+    public Resource benchmarkJsonDecode(FHIRPayloadCodecState state) throws Exception {
+        return JSON_CODEC.decode(state.jsonPayload, Resource.class, null);
+    }
+
+    @Benchmark
+    public Resource benchmarkBinaryDecode(FHIRPayloadCodecState state) throws Exception {
+        return BINARY_CODEC.decode(state.binaryPayload, Resource.class, null);
+    }
+
+    /**
+     * Print the total stored size of the spec examples with each codec, then run the benchmarks with all of them
+     */
+    public static void main(String[] args) throws Exception {
+        long jsonSize = 0;
+        long binarySize = 0;
+        for (String exampleName : BenchmarkUtil.getSpecExampleNames()) {
+            Resource resource = FHIRParser.parser(Format.JSON).parse(new StringReader(BenchmarkUtil.getSpecExample(Format.JSON, exampleName)));
+            jsonSize += JSON_CODEC.encode(resource).length;
+            binarySize += BINARY_CODEC.encode(resource).length;
+        }
+        System.out.println("Stored size of " + BenchmarkUtil.getSpecExampleNames().size() + " spec examples: json=" + jsonSize
+                + " binary=" + binarySize);
+
+        new FHIRBenchmarkRunner(FHIRPayloadCodecBenchmark.class)
+                .profiler(GCProfiler.class)
+                .runAll();
+    }
+}
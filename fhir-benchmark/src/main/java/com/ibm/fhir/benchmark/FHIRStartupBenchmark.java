@@ -0,0 +1,72 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.benchmark;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ibm.fhir.benchmark.util.BenchmarkUtil;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.ModelSupport;
+
+/**
+ * Cold start cost of the model: each fork measures a single invocation in a fresh JVM, so the score is the time to
+ * initialize ModelSupport (and, for timeToFirstParse, the parser) rather than steady state throughput
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class FHIRStartupBenchmark {
+    private static final String EXAMPLE_NAME = "patient-example";
+
+    @State(Scope.Benchmark)
+    public static class FHIRStartupState {
+        // read as text only; nothing in the model is loaded until the benchmark method runs
+        public String JSON_SPEC_EXAMPLE;
+
+        @Setup
+        public void setUp() {
+            JSON_SPEC_EXAMPLE = BenchmarkUtil.getSpecExample(Format.JSON, EXAMPLE_NAME);
+        }
+    }
+
+    @Benchmark
+    public int timeToModelSupportInit() {
+        ModelSupport.init();
+        return ModelSupport.getModelClasses().size();
+    }
+
+    @Benchmark
+    public Resource timeToFirstParse(FHIRStartupState state) throws Exception {
+        return FHIRParser.parser(Format.JSON).parse(new StringReader(state.JSON_SPEC_EXAMPLE));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(FHIRStartupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -11,10 +11,12 @@ import java.util.Collection;
 import java.util.List;
 
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.Profiler;
 import org.openjdk.jmh.profile.StackProfiler;
 import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
@@ -28,6 +30,7 @@ public class FHIRBenchmarkRunner {
 
     private final Class<?> benchmarkClass;
     private final List<String> properties = new ArrayList<>();
+    private final List<Class<? extends Profiler>> profilers = new ArrayList<>();
 
     public FHIRBenchmarkRunner(Class<?> benchmarkClass) {
         this.benchmarkClass = benchmarkClass;
@@ -38,6 +41,14 @@ public class FHIRBenchmarkRunner {
         return this;
     }
 
+    /**
+     * Add a profiler (e.g. GCProfiler for heap allocation rates) in addition to the default StackProfiler
+     */
+    public FHIRBenchmarkRunner profiler(Class<? extends Profiler> profiler) {
+        profilers.add(profiler);
+        return this;
+    }
+
     /**
      * Run without overriding any parameters
      */
@@ -57,7 +68,7 @@ public class FHIRBenchmarkRunner {
 //              .mode(Mode.AverageTime)
                 .addProfiler(StackProfiler.class)
                 .build();
-        return new Runner(opt).run();
+        return new Runner(withProfilers(opt)).run();
     }
 
     /**
@@ -79,7 +90,7 @@ public class FHIRBenchmarkRunner {
                 .addProfiler(StackProfiler.class)
                 .param("exampleName", fileName)
                 .build();
-        return new Runner(opt).run();
+        return new Runner(withProfilers(opt)).run();
     }
 
     /**
@@ -101,6 +112,17 @@ public class FHIRBenchmarkRunner {
                 .mode(Mode.SingleShotTime)
                 .param("exampleName", BenchmarkUtil.SPEC_EXAMPLE_NAMES.toArray(new String[0])) // https://stackoverflow.com/a/4042464/161022
                 .build();
-        return new Runner(opt).run();
+        return new Runner(withProfilers(opt)).run();
+    }
+
+    private Options withProfilers(Options opt) {
+        if (profilers.isEmpty()) {
+            return opt;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(opt);
+        for (Class<? extends Profiler> profiler : profilers) {
+            builder.addProfiler(profiler);
+        }
+        return builder.build();
     }
 }
@@ -6,16 +6,20 @@
 
 package com.ibm.fhir.jbatch.bulkdata.common;
 
-import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.StringReader;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -169,45 +173,62 @@ public class BulkDataUtils {
     }
 
     /**
-     * @param resReader - the buffer reader to read FHIR resource from.
-     * @param numOfProcessedLines - number of the already processed lines.
+     * @param transientUserData - transient user data for the chunk, which holds the line reader to read FHIR resources from.
      * @param fhirResources - List holds the FHIR resources.
-     * @param isSkipProcessed - if need to skip the processed lines before read.
+     * @param dataSource - the data source to read from.
      * @return - the number of parsing failures.
      * @throws Exception
      */
-    private static int getFhirResourceFromBufferReader(BufferedReader resReader, int numOfProcessedLines, List<Resource> fhirResources,
-            boolean isSkipProcessed, String dataSource) throws Exception {
-        int exported = 0;
-        int lineRed = 0;
+    private static int getFhirResourceFromLineReader(ImportTransientUserData transientUserData, List<Resource> fhirResources,
+            String dataSource) throws Exception {
+        ByteOffsetLineReader resReader = transientUserData.getLineReader();
         int parseFailures = 0;
 
-        String resLine = null;
-        do {
-            resLine = resReader.readLine();
-            if (resLine != null) {
-                lineRed++;
-                if (isSkipProcessed && lineRed <= numOfProcessedLines) {
-                    continue;
-                }
-                try {
-                    fhirResources.add(FHIRParser.parser(Format.JSON).parse(new StringReader(resLine)));
-                    exported++;
-                    if (exported == Constants.IMPORT_NUMOFFHIRRESOURCES_PERREAD) {
-                        break;
-                    }
-                } catch (FHIRParserException e) {
-                    // Log and skip the invalid FHIR resource.
-                    parseFailures++;
-                    logger.log(Level.INFO, "getFhirResourceFromBufferReader: " + "Failed to parse line "
-                            + (numOfProcessedLines + exported + parseFailures) + " of [" + dataSource + "].", e);
-                    continue;
-                }
+        if (transientUserData.isSkipPartialLine()) {
+            // The reader is positioned one byte before the start of the byte range, so this skips either the rest of the line
+            // which belongs to the previous byte range or just the line separator if the byte range starts with a new line.
+            resReader.readLine();
+            transientUserData.setCurrentOffset(resReader.getOffset());
+            transientUserData.setSkipPartialLine(false);
+        }
+
+        // Lines starting at or after the end of the byte range belong to the next byte range.
+        while (fhirResources.size() < Constants.IMPORT_NUMOFFHIRRESOURCES_PERREAD
+                && (transientUserData.getEndOffset() < 0 || resReader.getOffset() < transientUserData.getEndOffset())) {
+            long lineOffset = resReader.getOffset();
+            String resLine = resReader.readLine();
+            if (resLine == null) {
+                break;
             }
-        } while (resLine != null);
+            transientUserData.setCurrentOffset(resReader.getOffset());
+            try {
+                fhirResources.add(FHIRParser.parser(Format.JSON).parse(new StringReader(resLine)));
+            } catch (FHIRParserException e) {
+                // Log and skip the invalid FHIR resource.
+                parseFailures++;
+                logger.log(Level.INFO, "getFhirResourceFromLineReader: " + "Failed to parse the line at byte offset "
+                        + lineOffset + " of [" + dataSource + "].", e);
+            }
+        }
         return parseFailures;
     }
 
+    /**
+     * @param transientUserData - transient user data for the chunk.
+     * @return - the byte offset to open the data source at.
+     */
+    private static long getOpenOffset(ImportTransientUserData transientUserData) {
+        return transientUserData.isSkipPartialLine() ? transientUserData.getCurrentOffset() - 1 : transientUserData.getCurrentOffset();
+    }
+
+    /**
+     * @param transientUserData - transient user data for the chunk.
+     * @return - true if the byte range of the partition has already been read completely.
+     */
+    private static boolean isRangeFinished(ImportTransientUserData transientUserData) {
+        return transientUserData.getEndOffset() >= 0 && transientUserData.getCurrentOffset() >= transientUserData.getEndOffset();
+    }
+
     public static void cleanupTransientUserData(ImportTransientUserData transientUserData, boolean isAbort) throws Exception {
         if (transientUserData.getInputStream() != null) {
             if (isAbort && transientUserData.getInputStream() instanceof S3ObjectInputStream) {
@@ -218,43 +239,48 @@ public class BulkDataUtils {
             transientUserData.setInputStream(null);
         }
 
-        if (transientUserData.getBufferReader() != null) {
-            transientUserData.getBufferReader().close();
-            transientUserData.setBufferReader(null);
+        if (transientUserData.getLineReader() != null) {
+            transientUserData.getLineReader().close();
+            transientUserData.setLineReader(null);
         }
     }
 
     /**
+     * Reads the next FHIR resources from the byte offset recorded in the transient user data. The object is opened with a
+     * ranged GetObject request, so resuming near the end of a large object doesn't download it again.
+     *
      * @param cosClient - COS/S3 client.
      * @param bucketName - COS/S3 bucket name to read from.
      * @param itemName - COS/S3 object name to read from.
-     * @param numOfLinesToSkip - number of lines to skip before read.
      * @param fhirResources - List holds the FHIR resources.
      * @param transientUserData - transient user data for the chunk.
      * @return - number of parsing failures.
      * @throws Exception
      */
     public static int readFhirResourceFromObjectStore(AmazonS3 cosClient, String bucketName, String itemName,
-           int numOfLinesToSkip, List<Resource> fhirResources, ImportTransientUserData transientUserData) throws Exception {
+           List<Resource> fhirResources, ImportTransientUserData transientUserData) throws Exception {
         int parseFailures = 0;
         int retryTimes = Constants.IMPORT_RETRY_TIMES;
-        do {
+        while (true) {
             try {
-                if (transientUserData.getBufferReader() == null) {
-                    S3Object item = cosClient.getObject(new GetObjectRequest(bucketName, itemName));
+                if (transientUserData.getLineReader() == null) {
+                    if (isRangeFinished(transientUserData)) {
+                        break;
+                    }
+                    long offset = getOpenOffset(transientUserData);
+                    GetObjectRequest request = new GetObjectRequest(bucketName, itemName);
+                    if (offset > 0) {
+                        request.setRange(offset);
+                    }
+                    S3Object item = cosClient.getObject(request);
                     S3ObjectInputStream s3InStream = item.getObjectContent();
                     transientUserData.setInputStream(s3InStream);
-                    BufferedReader resReader = new BufferedReader(new InputStreamReader(s3InStream));
-                    transientUserData.setBufferReader(resReader);
-                    // Skip the already processed lines after opening the input stream for first read.
-                    parseFailures = getFhirResourceFromBufferReader(transientUserData.getBufferReader(), numOfLinesToSkip, fhirResources, true, itemName);
-                } else {
-                    parseFailures = getFhirResourceFromBufferReader(transientUserData.getBufferReader(), numOfLinesToSkip, fhirResources, false, itemName);
+                    transientUserData.setLineReader(new ByteOffsetLineReader(s3InStream, offset));
                 }
+                parseFailures += getFhirResourceFromLineReader(transientUserData, fhirResources, itemName);
                 break;
             } catch (Exception ex) {
-                // Prepare for retry, skip all the processed lines in previous batches and this batch.
-                numOfLinesToSkip = numOfLinesToSkip + fhirResources.size() + parseFailures;
+                // Prepare for retry, the object is opened again at the offset of the next line to read.
                 cleanupTransientUserData(transientUserData, true);
                 logger.warning("readFhirResourceFromObjectStore: Error proccesing file [" + itemName + "] - " + ex.getMessage());
                 if ((retryTimes--) > 0) {
@@ -264,7 +290,7 @@ public class BulkDataUtils {
                     throw ex;
                 }
             }
-        } while (retryTimes > 0);
+        }
 
         return parseFailures;
     }
@@ -276,26 +302,30 @@ public class BulkDataUtils {
       }
 
     /**
+     * Reads the next FHIR resources from the byte offset recorded in the transient user data. The file is opened with a
+     * seek to that offset.
+     *
      * @param filePath - file path to the ndjson file.
-     * @param numOfLinesToSkip - number of lines to skip before read.
      * @param fhirResources - List holds the FHIR resources.
      * @param transientUserData - transient user data for the chunk.
      * @return - number of parsing failures.
      * @throws Exception
      */
-    public static int readFhirResourceFromLocalFile(String filePath, int numOfLinesToSkip, List<Resource> fhirResources,
+    public static int readFhirResourceFromLocalFile(String filePath, List<Resource> fhirResources,
             ImportTransientUserData transientUserData) throws Exception {
         int parseFailures = 0;
 
         try {
-            if (transientUserData.getBufferReader() == null) {
-                BufferedReader resReader = Files.newBufferedReader(Paths.get(filePath));
-                transientUserData.setBufferReader(resReader);
-                // Skip the already processed lines after opening the input stream for first read.
-                parseFailures = getFhirResourceFromBufferReader(transientUserData.getBufferReader(), numOfLinesToSkip, fhirResources, true, filePath);
-            } else {
-                parseFailures = getFhirResourceFromBufferReader(transientUserData.getBufferReader(), numOfLinesToSkip, fhirResources, false, filePath);
+            if (transientUserData.getLineReader() == null) {
+                if (isRangeFinished(transientUserData)) {
+                    return parseFailures;
+                }
+                long offset = getOpenOffset(transientUserData);
+                FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+                channel.position(offset);
+                transientUserData.setLineReader(new ByteOffsetLineReader(Channels.newInputStream(channel), offset));
             }
+            parseFailures = getFhirResourceFromLineReader(transientUserData, fhirResources, filePath);
         } catch (Exception ex) {
             // Clean up.
             fhirResources.clear();
@@ -309,39 +339,70 @@ public class BulkDataUtils {
     }
 
 
+    /**
+     * Splits a data source into byte ranges of (nearly) equal size, none of which is larger than maxRangeSize bytes.
+     * The ranges are not aligned to lines: the reader of a range skips its first (partial) line and reads past its end to
+     * finish the last line.
+     *
+     * @param size - the size of the data source in bytes, or -1 if unknown.
+     * @param maxRangeSize - the maximum size of a byte range.
+     * @return - the boundaries of the byte ranges, byte range i starts at index i (inclusive) and ends at index i + 1
+     *           (exclusive); a data source which is not split has the single range {0, size}.
+     */
+    public static long[] getByteRangeBoundaries(long size, long maxRangeSize) {
+        int numOfRanges = 1;
+        if (size > maxRangeSize) {
+            numOfRanges = (int) ((size + maxRangeSize - 1) / maxRangeSize);
+        }
+        long[] boundaries = new long[numOfRanges + 1];
+        for (int i = 0; i <= numOfRanges; i++) {
+            boundaries[i] = size * i / numOfRanges;
+        }
+        return boundaries;
+    }
+
     public static long getLocalFileSize(String filePath) throws Exception {
         return (new File(filePath).length());
       }
 
 
     /**
+     * Reads the next FHIR resources from the byte offset recorded in the transient user data. The URL is opened with a
+     * HTTP Range request; if the server doesn't support it, the bytes before the offset are skipped instead.
+     *
      * @param dataUrl - URL to the ndjson file.
-     * @param numOfLinesToSkip - number of lines to skip before read.
      * @param fhirResources - List holds the FHIR resources.
      * @param transientUserData - transient user data for the chunk.
      * @return - number of parsing failures.
      * @throws Exception
      */
-    public static int readFhirResourceFromHttps(String dataUrl, int numOfLinesToSkip, List<Resource> fhirResources,
+    public static int readFhirResourceFromHttps(String dataUrl, List<Resource> fhirResources,
             ImportTransientUserData transientUserData) throws Exception {
         int parseFailures = 0;
         int retryTimes = Constants.IMPORT_RETRY_TIMES;
-        do {
+        while (true) {
             try {
-                if (transientUserData.getBufferReader() == null) {
-                    InputStream inputStream = new URL(dataUrl).openConnection().getInputStream();
+                if (transientUserData.getLineReader() == null) {
+                    if (isRangeFinished(transientUserData)) {
+                        break;
+                    }
+                    long offset = getOpenOffset(transientUserData);
+                    URLConnection connection = new URL(dataUrl).openConnection();
+                    if (offset > 0) {
+                        connection.setRequestProperty("Range", "bytes=" + offset + "-");
+                    }
+                    InputStream inputStream = connection.getInputStream();
                     transientUserData.setInputStream(inputStream);
-                    BufferedReader resReader = new BufferedReader(new InputStreamReader(inputStream));
-                    transientUserData.setBufferReader(resReader);
-                    // Skip the already processed lines after opening the input stream for first read.
-                    parseFailures = getFhirResourceFromBufferReader(transientUserData.getBufferReader(), numOfLinesToSkip, fhirResources, true, dataUrl);
-                } else {
-                    parseFailures = getFhirResourceFromBufferReader(transientUserData.getBufferReader(), numOfLinesToSkip, fhirResources, false, dataUrl);
+                    if (offset > 0 && (!(connection instanceof HttpURLConnection)
+                            || ((HttpURLConnection) connection).getResponseCode() != HttpURLConnection.HTTP_PARTIAL)) {
+                        skipFully(inputStream, offset);
+                    }
+                    transientUserData.setLineReader(new ByteOffsetLineReader(inputStream, offset));
                 }
+                parseFailures += getFhirResourceFromLineReader(transientUserData, fhirResources, dataUrl);
                 break;
             } catch (Exception ex) {
-                // Prepare for retry, skip all the processed lines in previous batches and this batch.
-                numOfLinesToSkip = numOfLinesToSkip + fhirResources.size() + parseFailures;
+                // Prepare for retry, the URL is opened again at the offset of the next line to read.
                 cleanupTransientUserData(transientUserData, true);
                 logger.warning("readFhirResourceFromHttps: Error proccesing file [" + dataUrl + "] - " + ex.getMessage());
                 if ((retryTimes--) > 0) {
@@ -351,11 +412,27 @@ public class BulkDataUtils {
                     throw ex;
                 }
             }
-        } while (retryTimes > 0);
+        }
 
         return parseFailures;
     }
 
+    /**
+     * Skips the passed number of bytes of the input stream or all of them if there are fewer.
+     */
+    private static void skipFully(InputStream inputStream, long numOfBytes) throws IOException {
+        while (numOfBytes > 0) {
+            long skipped = inputStream.skip(numOfBytes);
+            if (skipped <= 0) {
+                if (inputStream.read() < 0) {
+                    return;
+                }
+                skipped = 1;
+            }
+            numOfBytes -= skipped;
+        }
+    }
+
 
     public static long getHttpsFileSize(String dataUrl) throws Exception {
         HttpsURLConnection httpsConnection = null;
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.jbatch.bulkdata.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the lines of an NDJSON data source while keeping track of the byte offset of the next line in the data source,
+ * so that reading can later be resumed from that offset (with a file seek or a ranged request) instead of re-reading
+ * and skipping all of the lines before it.
+ */
+public class ByteOffsetLineReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private int position = 0;
+    private int limit = 0;
+    private long offset;
+
+    /**
+     * @param inputStream - the data source, positioned at the passed offset.
+     * @param offset - the byte offset of the input stream in the data source.
+     */
+    public ByteOffsetLineReader(InputStream inputStream, long offset) {
+        this.inputStream = inputStream;
+        this.offset = offset;
+    }
+
+    /**
+     * @return the byte offset in the data source of the next line to be read.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Reads the next line, which is terminated by '\n' or '\r\n' (UTF-8 never contains these bytes within a multi-byte
+     * character, so it is safe to split the bytes before decoding them).
+     *
+     * @return the line without its terminator, or null if the end of the data source has been reached.
+     * @throws IOException
+     */
+    public String readLine() throws IOException {
+        line.reset();
+        boolean terminated = false;
+        while (!terminated) {
+            if (position == limit) {
+                limit = inputStream.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    break;
+                }
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            line.write(buffer, start, position - start);
+            if (position < limit) {
+                // consume the '\n'
+                position++;
+                terminated = true;
+            }
+        }
+
+        if (!terminated && line.size() == 0) {
+            return null;
+        }
+
+        byte[] bytes = line.toByteArray();
+        offset += bytes.length + (terminated ? 1 : 0);
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
@@ -32,6 +32,8 @@ public class Constants {
     public static final String IMPORT_INPUT_RESOURCE_TYPE = "type";
     public static final String IMPORT_INPUT_RESOURCE_URL = "url";
     public static final int IMPORT_INFLY_RATE_NUMOFFHIRRESOURCES = 2000;
+    // Data sources larger than this are split into newline aligned byte ranges which are imported by separate partitions.
+    public static final long IMPORT_MAX_PARTITION_BYTES = 209715200L;
 
 
     // Job parameters
@@ -61,6 +63,9 @@ public class Constants {
     // Partition work item info generated in ImportPartitionMapper.
     public static final String IMPORT_PARTITTION_WORKITEM = "import.partition.workitem";
     public static final String PARTITION_RESOURCE_TYPE = "partition.resourcetype";
+    public static final String IMPORT_PARTITTION_RANGE_START = "import.partition.range.start";
+    public static final String IMPORT_PARTITTION_RANGE_END = "import.partition.range.end";
+    public static final String IMPORT_PARTITTION_RANGE_INDEX = "import.partition.range.index";
 
     // Control if push OperationOutcomes to COS/S3.
     public static final boolean IMPORT_IS_COLLECT_OPERATIONOUTCOMES = true;
@@ -32,7 +32,6 @@ import com.ibm.fhir.model.resource.Resource;
 public class ChunkReader extends AbstractItemReader {
     private static final Logger logger = Logger.getLogger(ChunkReader.class.getName());
     private AmazonS3 cosClient = null;
-    private int numOfLinesToSkip = 0;
 
     @Inject
     StepContext stepCtx;
@@ -100,6 +99,29 @@ public class ChunkReader extends AbstractItemReader {
     @BatchProperty(name = Constants.PARTITION_RESOURCE_TYPE)
     String importPartitionResourceType;
 
+    /**
+     * The byte offset where the byte range of the work item to process starts, set only if the work item is split into
+     * several partitions.
+     */
+    @Inject
+    @BatchProperty(name = Constants.IMPORT_PARTITTION_RANGE_START)
+    String importPartitionRangeStart;
+
+    /**
+     * The byte offset where the byte range of the work item to process ends (exclusive), set only if the work item is
+     * split into several partitions.
+     */
+    @Inject
+    @BatchProperty(name = Constants.IMPORT_PARTITTION_RANGE_END)
+    String importPartitionRangeEnd;
+
+    /**
+     * The index of the byte range of the work item to process, set only if the work item is split into several partitions.
+     */
+    @Inject
+    @BatchProperty(name = Constants.IMPORT_PARTITTION_RANGE_INDEX)
+    String importPartitionRangeIndex;
+
     public ChunkReader() {
         super();
     }
@@ -116,22 +138,21 @@ public class ChunkReader extends AbstractItemReader {
         }
 
         ImportTransientUserData chunkData = (ImportTransientUserData) stepCtx.getTransientUserData();
-        numOfLinesToSkip = chunkData.getNumOfProcessedResources();
 
         long readStartTimeInMilliSeconds = System.currentTimeMillis();
         int numOfLoaded = 0;
         int numOfParseFailures = 0;
         switch (BulkImportDataSourceStorageType.from(dataSourceStorageType)) {
         case HTTPS:
-            numOfParseFailures = BulkDataUtils.readFhirResourceFromHttps(importPartitionWorkitem, numOfLinesToSkip, loadedFhirResources, chunkData);
+            numOfParseFailures = BulkDataUtils.readFhirResourceFromHttps(importPartitionWorkitem, loadedFhirResources, chunkData);
             break;
         case FILE:
-            numOfParseFailures = BulkDataUtils.readFhirResourceFromLocalFile(importPartitionWorkitem, numOfLinesToSkip, loadedFhirResources, chunkData);
+            numOfParseFailures = BulkDataUtils.readFhirResourceFromLocalFile(importPartitionWorkitem, loadedFhirResources, chunkData);
             break;
         case AWSS3:
         case IBMCOS:
             numOfParseFailures = BulkDataUtils.readFhirResourceFromObjectStore(cosClient, cosBucketName, importPartitionWorkitem,
-                    numOfLinesToSkip, loadedFhirResources, chunkData);
+                    loadedFhirResources, chunkData);
             break;
         default:
             logger.warning("readItem: Data source storage type not found!");
@@ -168,22 +189,11 @@ public class ChunkReader extends AbstractItemReader {
         if (checkpoint != null) {
             ImportCheckPointData checkPointData = (ImportCheckPointData) checkpoint;
             importPartitionWorkitem = checkPointData.getImportPartitionWorkitem();
-            numOfLinesToSkip = checkPointData.getNumOfProcessedResources();
             checkPointData.setInFlyRateBeginMilliSeconds(System.currentTimeMillis());
+            // The data source is opened at the byte offset recorded in the checkpoint, so the lines which have already been
+            // processed are not read again.
             stepCtx.setTransientUserData(ImportTransientUserData.fromImportCheckPointData(checkPointData));
         } else {
-            ImportTransientUserData chunkData = (ImportTransientUserData)ImportTransientUserData.Builder.builder()
-                    .importPartitionWorkitem(importPartitionWorkitem)
-                    .numOfProcessedResources(numOfLinesToSkip)
-                    .importPartitionResourceType(importPartitionResourceType)
-                    // This naming pattern is used in bulkdata operation to generate file links for import OperationOutcomes.
-                    // e.g, for input file test1.ndjson, if there is any error during the importing, then the errors are in
-                    // test1.ndjson_oo_errors.ndjson
-                    // Note: for those good imports, we don't really generate any meaningful OperationOutcome, so only error import
-                    //       OperationOutcomes are supported for now.
-                    .uniqueIDForImportOperationOutcomes(importPartitionWorkitem + "_oo_success.ndjson")
-                    .uniqueIDForImportFailureOperationOutcomes(importPartitionWorkitem + "_oo_errors.ndjson")
-                    .build();
             long importFileSize = 0;
             switch (BulkImportDataSourceStorageType.from(dataSourceStorageType)) {
             case HTTPS:
@@ -199,12 +209,40 @@ public class ChunkReader extends AbstractItemReader {
             default:
                 throw new IllegalStateException ("Doesn't support data source storage type '" + dataSourceStorageType + "'!");
             }
-            chunkData.setImportFileSize(importFileSize);
+
+            long rangeStart = isPropertySet(importPartitionRangeStart) ? Long.parseLong(importPartitionRangeStart) : 0;
+            long rangeEnd = isPropertySet(importPartitionRangeEnd) ? Long.parseLong(importPartitionRangeEnd) : importFileSize;
+            int rangeIndex = isPropertySet(importPartitionRangeIndex) ? Integer.parseInt(importPartitionRangeIndex) : 0;
+            // Each byte range of a split work item gets its own OperationOutcomes, the first one keeps the name of the whole work item.
+            String operationOutcomesPrefix = rangeIndex == 0 ? importPartitionWorkitem : importPartitionWorkitem + "_" + rangeIndex;
+
+            ImportTransientUserData chunkData = (ImportTransientUserData)ImportTransientUserData.Builder.builder()
+                    .importPartitionWorkitem(importPartitionWorkitem)
+                    .numOfProcessedResources(0)
+                    .importPartitionResourceType(importPartitionResourceType)
+                    .importPartitionRangeIndex(rangeIndex)
+                    .currentOffset(rangeStart)
+                    // A negative size means the size of the data source is unknown, in which case it is read to the end.
+                    .endOffset(rangeEnd < 0 ? -1 : rangeEnd)
+                    // This naming pattern is used in bulkdata operation to generate file links for import OperationOutcomes.
+                    // e.g, for input file test1.ndjson, if there is any error during the importing, then the errors are in
+                    // test1.ndjson_oo_errors.ndjson, and in test1.ndjson_1_oo_errors.ndjson for the 2nd byte range of it.
+                    // Note: for those good imports, we don't really generate any meaningful OperationOutcome, so only error import
+                    //       OperationOutcomes are supported for now.
+                    .uniqueIDForImportOperationOutcomes(operationOutcomesPrefix + "_oo_success.ndjson")
+                    .uniqueIDForImportFailureOperationOutcomes(operationOutcomesPrefix + "_oo_errors.ndjson")
+                    .build();
+            // A byte range which doesn't start at the beginning of the data source is read from the byte before it, and the
+            // first (partial) line is skipped because it belongs to the previous byte range.
+            chunkData.setSkipPartialLine(rangeStart > 0);
+            chunkData.setImportFileSize(rangeEnd < 0 ? importFileSize : rangeEnd - rangeStart);
             chunkData.setInFlyRateBeginMilliSeconds(System.currentTimeMillis());
             stepCtx.setTransientUserData(chunkData);
         }
+    }
 
-
+    private boolean isPropertySet(String property) {
+        return property != null && !property.trim().isEmpty();
     }
 
     @Override
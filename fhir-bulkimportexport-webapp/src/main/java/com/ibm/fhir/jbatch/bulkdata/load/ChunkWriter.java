@@ -7,6 +7,7 @@
 package com.ibm.fhir.jbatch.bulkdata.load;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -30,6 +31,7 @@ import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.util.FHIRUtil;
 import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.SingleResourceResult;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContextFactory;
 import com.ibm.fhir.persistence.helper.FHIRPersistenceHelper;
@@ -184,35 +186,51 @@ public class ChunkWriter extends AbstractItemWriter {
         // This doesn't really start the transaction, because the transaction has already been started by the JavaBatch
         // framework at this time point.
         txn.enroll();
+        List<Resource> resourcesToWrite = new ArrayList<>();
         for (Object objResJsonList : arg0) {
             @SuppressWarnings("unchecked")
             List<Resource> fhirResourceList = (List<Resource>) objResJsonList;
 
             for (Resource fhirResource : fhirResourceList) {
-                try {
-                    String id = fhirResource.getId();
-                    processedNum++;
-                    // Skip the resources which failed the validation
-                    if (failValidationIds.contains(id)) {
-                        continue;
-                    }
-                    OperationOutcome operationOutcome =
-                            fhirPersistence.update(persistenceContext, id, fhirResource).getOutcome();
+                processedNum++;
+                // Skip the resources which failed the validation
+                if (failValidationIds.contains(fhirResource.getId())) {
+                    continue;
+                }
+                resourcesToWrite.add(fhirResource);
+            }
+        }
+        // Write all the resources of the chunk together so the persistence layer can batch them.
+        try {
+            List<SingleResourceResult<Resource>> results = fhirPersistence.createOrUpdateAll(persistenceContext, resourcesToWrite);
+            for (int i = 0; i < results.size(); i++) {
+                SingleResourceResult<Resource> result = results.get(i);
+                OperationOutcome operationOutcome = result.getOutcome();
+                if (result.isSuccess()) {
                     succeededNum++;
                     if (Constants.IMPORT_IS_COLLECT_OPERATIONOUTCOMES && operationOutcome != null) {
                         FHIRGenerator.generator(Format.JSON).generate(operationOutcome, chunkData.getBufferStreamForImport());
                         chunkData.getBufferStreamForImport().write(Constants.NDJSON_LINESEPERATOR);
                     }
-                } catch (FHIROperationException e) {
-                    logger.warning("Failed to import '" + fhirResource.getId() + "' due to error: " + e.getMessage());
+                } else {
+                    logger.warning("Failed to import '" + resourcesToWrite.get(i).getId() + "'");
                     failedNum++;
                     if (Constants.IMPORT_IS_COLLECT_OPERATIONOUTCOMES) {
-                        OperationOutcome operationOutCome = FHIRUtil.buildOperationOutcome(e, false);
-                        FHIRGenerator.generator(Format.JSON).generate(operationOutCome, chunkData.getBufferStreamForImportError());
+                        FHIRGenerator.generator(Format.JSON).generate(operationOutcome, chunkData.getBufferStreamForImportError());
                         chunkData.getBufferStreamForImportError().write(Constants.NDJSON_LINESEPERATOR);
                     }
                 }
             }
+        } catch (FHIROperationException e) {
+            logger.warning("Failed to import " + resourcesToWrite.size() + " resources due to error: " + e.getMessage());
+            failedNum += resourcesToWrite.size();
+            if (Constants.IMPORT_IS_COLLECT_OPERATIONOUTCOMES) {
+                OperationOutcome operationOutCome = FHIRUtil.buildOperationOutcome(e, false);
+                for (int i = 0; i < resourcesToWrite.size(); i++) {
+                    FHIRGenerator.generator(Format.JSON).generate(operationOutCome, chunkData.getBufferStreamForImportError());
+                    chunkData.getBufferStreamForImportError().write(Constants.NDJSON_LINESEPERATOR);
+                }
+            }
         }
         // Release the DB connection.
         // This doesn't really commit the transaction, because the transaction was started and will be committed
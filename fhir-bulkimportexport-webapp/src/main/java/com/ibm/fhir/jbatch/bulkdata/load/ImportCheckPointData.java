@@ -18,6 +18,12 @@ public class ImportCheckPointData implements Serializable {
     private static final long serialVersionUID = 2189917861035732241L;
     // URL or COS/S3 object name.
     protected String importPartitionWorkitem;
+    // Index of the byte range of the work item processed in this partition, 0 if the work item is not split.
+    protected int importPartitionRangeIndex = 0;
+    // Byte offset of the next line to read in the work item.
+    protected long currentOffset = 0;
+    // Byte offset of the end of the range of the work item processed in this partition, -1 for the end of the work item.
+    protected long endOffset = -1;
 
     // Values for metrics calculation.
     protected int numOfProcessedResources = 0;
@@ -62,6 +68,9 @@ public class ImportCheckPointData implements Serializable {
 
     public static class Builder {
         protected String importPartitionWorkitem;
+        protected int importPartitionRangeIndex;
+        protected long currentOffset;
+        protected long endOffset = -1;
         protected int numOfProcessedResources;
         protected String importPartitionResourceType;
         protected int numOfImportedResources;
@@ -93,6 +102,21 @@ public class ImportCheckPointData implements Serializable {
             return this;
         }
 
+        public Builder importPartitionRangeIndex(int importPartitionRangeIndex) {
+            this.importPartitionRangeIndex = importPartitionRangeIndex;
+            return this;
+        }
+
+        public Builder currentOffset(long currentOffset) {
+            this.currentOffset = currentOffset;
+            return this;
+        }
+
+        public Builder endOffset(long endOffset) {
+            this.endOffset = endOffset;
+            return this;
+        }
+
         public Builder numOfProcessedResources(int numOfProcessedResources) {
             this.numOfProcessedResources = numOfProcessedResources;
             return this;
@@ -181,6 +205,9 @@ public class ImportCheckPointData implements Serializable {
         public ImportCheckPointData build(){
             ImportCheckPointData importCheckPointData = new ImportCheckPointData();
             importCheckPointData.importPartitionWorkitem = this.importPartitionWorkitem;
+            importCheckPointData.importPartitionRangeIndex = this.importPartitionRangeIndex;
+            importCheckPointData.currentOffset = this.currentOffset;
+            importCheckPointData.endOffset = this.endOffset;
             importCheckPointData.numOfProcessedResources = this.numOfProcessedResources;
             importCheckPointData.importPartitionResourceType = this.importPartitionResourceType;
             importCheckPointData.numOfImportedResources = this.numOfImportedResources;
@@ -208,6 +235,22 @@ public class ImportCheckPointData implements Serializable {
         return importPartitionWorkitem;
     }
 
+    public int getImportPartitionRangeIndex() {
+        return importPartitionRangeIndex;
+    }
+
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+
+    public void setCurrentOffset(long currentOffset) {
+        this.currentOffset = currentOffset;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
     public int getNumOfProcessedResources() {
         return numOfProcessedResources;
     }
@@ -247,6 +290,9 @@ public class ImportCheckPointData implements Serializable {
     public static ImportCheckPointData fromImportTransientUserData(ImportTransientUserData userData) {
         return ImportCheckPointData.Builder.builder()
                 .importPartitionWorkitem(userData.getImportPartitionWorkitem())
+                .importPartitionRangeIndex(userData.getImportPartitionRangeIndex())
+                .currentOffset(userData.getCurrentOffset())
+                .endOffset(userData.getEndOffset())
                 .numOfProcessedResources(userData.getNumOfProcessedResources())
                 .importPartitionResourceType(userData.getImportPartitionResourceType())
                 .numOfImportedResources(userData.getNumOfImportedResources())
@@ -11,6 +11,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
@@ -77,6 +79,8 @@ public class ImportJobListener implements JobListener {
 
         // Generate import summary and pass it into ExitStatus of the job execution.
         // e.g, [3:0, 4:1] means 3 resources imported and 0 failures for the 1st file, and 4 imported and 1 failure for the 2nd file.
+        // For a file which is split into byte ranges, the results of the ranges are separated by '|' in the order of the ranges,
+        // e.g, [3:0|5:1, 4:1] means the 1st file is split into 2 ranges.
         JsonArray dataSourceArray = BulkDataUtils.getDataSourcesFromJobInput(dataSourcesInfo);
 
         Map<String, Integer> inputUrlSequenceMap = new HashMap<>();
@@ -88,10 +92,16 @@ public class ImportJobListener implements JobListener {
             inputUrlSequenceMap.put(DSTypeInfo + ":" + DSDataLocationInfo, sequnceNum++);
         }
 
-        String resultInExitStatus[] = new String[sequnceNum];
+        Map<Integer, SortedMap<Integer, String>> rangeResults = new HashMap<>();
         for (ImportCheckPointData partitionSummary : partitionSummaries) {
             int index = inputUrlSequenceMap.get(partitionSummary.getImportPartitionResourceType() + ":" + partitionSummary.getImportPartitionWorkitem());
-            resultInExitStatus[index] = partitionSummary.getNumOfImportedResources() + ":" + partitionSummary.getNumOfImportFailures();
+            rangeResults.computeIfAbsent(index, k -> new TreeMap<>()).put(partitionSummary.getImportPartitionRangeIndex(),
+                    partitionSummary.getNumOfImportedResources() + ":" + partitionSummary.getNumOfImportFailures());
+        }
+
+        String resultInExitStatus[] = new String[sequnceNum];
+        for (Map.Entry<Integer, SortedMap<Integer, String>> rangeResult : rangeResults.entrySet()) {
+            resultInExitStatus[rangeResult.getKey()] = String.join("|", rangeResult.getValue().values());
         }
 
         jobContext.setExitStatus(Arrays.toString(resultInExitStatus));
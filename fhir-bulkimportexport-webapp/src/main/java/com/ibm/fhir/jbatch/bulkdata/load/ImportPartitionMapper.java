@@ -140,11 +140,14 @@ public class ImportPartitionMapper implements PartitionMapper {
     class FhirDataSource {
         private String type;
         private String url;
+        // Size in bytes, or -1 if unknown.
+        private long size;
 
-        public FhirDataSource(String type, String url) {
+        public FhirDataSource(String type, String url, long size) {
             super();
             this.type = type;
             this.url = url;
+            this.size = size;
         }
 
         public String getType() {
@@ -163,9 +166,17 @@ public class ImportPartitionMapper implements PartitionMapper {
             this.url = url;
         }
 
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
         @Override
         public String toString() {
-            return "FhirDataSource [type=" + type + ", url=" + url + "]";
+            return "FhirDataSource [type=" + type + ", url=" + url + ", size=" + size + "]";
         }
     }
 
@@ -221,7 +232,7 @@ public class ImportPartitionMapper implements PartitionMapper {
                     logger.info("getFhirDataSourcesForObjectStore: ObjectStorge Object(" + objectSummary.getKey()
                             + ") - " + objectSummary.getSize() + " bytes.");
                     if (objectSummary.getSize() > 0) {
-                        fhirDataSources.add(new FhirDataSource(dsTypeInfo, objectSummary.getKey()));
+                        fhirDataSources.add(new FhirDataSource(dsTypeInfo, objectSummary.getKey(), objectSummary.getSize()));
                     }
                 }
             }
@@ -240,8 +251,10 @@ public class ImportPartitionMapper implements PartitionMapper {
 
             switch (type) {
             case HTTPS:
+                fhirDataSources.add(new FhirDataSource(dsTypeInfo, dsDataLocationInfo, BulkDataUtils.getHttpsFileSize(dsDataLocationInfo)));
+                break;
             case FILE:
-                fhirDataSources.add(new FhirDataSource(dsTypeInfo, dsDataLocationInfo));
+                fhirDataSources.add(new FhirDataSource(dsTypeInfo, dsDataLocationInfo, BulkDataUtils.getLocalFileSize(dsDataLocationInfo)));
                 break;
             case AWSS3:
             case IBMCOS:
@@ -261,20 +274,29 @@ public class ImportPartitionMapper implements PartitionMapper {
 
         List<FhirDataSource> fhirDataSources =
                 getFhirDataSources(dataSourceArray, BulkImportDataSourceStorageType.from(dataSourceStorageType));
-        PartitionPlanImpl pp = new PartitionPlanImpl();
-        pp.setPartitions(fhirDataSources.size());
-        pp.setThreads(Math.min(Constants.IMPORT_MAX_PARTITIONPROCESSING_THREADNUMBER, fhirDataSources.size()));
-        Properties[] partitionProps = new Properties[fhirDataSources.size()];
-
-        int propCount = 0;
+        // Large data sources are split into byte ranges which are imported in parallel, the ranges are aligned to lines by
+        // the ChunkReader, so they don't need to be aligned here.
+        List<Properties> partitionProps = new ArrayList<>();
         for (FhirDataSource fhirDataSource : fhirDataSources) {
-            Properties p = new Properties();
-            p.setProperty(Constants.IMPORT_PARTITTION_WORKITEM, fhirDataSource.getUrl());
-            p.setProperty(Constants.PARTITION_RESOURCE_TYPE, fhirDataSource.getType());
-
-            partitionProps[propCount++] = p;
+            long[] rangeBoundaries = BulkDataUtils.getByteRangeBoundaries(fhirDataSource.getSize(), Constants.IMPORT_MAX_PARTITION_BYTES);
+            int numOfRanges = rangeBoundaries.length - 1;
+            for (int i = 0; i < numOfRanges; i++) {
+                Properties p = new Properties();
+                p.setProperty(Constants.IMPORT_PARTITTION_WORKITEM, fhirDataSource.getUrl());
+                p.setProperty(Constants.PARTITION_RESOURCE_TYPE, fhirDataSource.getType());
+                if (numOfRanges > 1) {
+                    p.setProperty(Constants.IMPORT_PARTITTION_RANGE_START, Long.toString(rangeBoundaries[i]));
+                    p.setProperty(Constants.IMPORT_PARTITTION_RANGE_END, Long.toString(rangeBoundaries[i + 1]));
+                    p.setProperty(Constants.IMPORT_PARTITTION_RANGE_INDEX, Integer.toString(i));
+                }
+                partitionProps.add(p);
+            }
         }
-        pp.setPartitionProperties(partitionProps);
+
+        PartitionPlanImpl pp = new PartitionPlanImpl();
+        pp.setPartitions(partitionProps.size());
+        pp.setThreads(Math.min(Constants.IMPORT_MAX_PARTITIONPROCESSING_THREADNUMBER, partitionProps.size()));
+        pp.setPartitionProperties(partitionProps.toArray(new Properties[partitionProps.size()]));
 
         return pp;
     }
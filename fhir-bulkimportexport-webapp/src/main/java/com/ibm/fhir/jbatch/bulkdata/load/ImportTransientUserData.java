@@ -6,10 +6,11 @@
 
 package com.ibm.fhir.jbatch.bulkdata.load;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 
+import com.ibm.fhir.jbatch.bulkdata.common.ByteOffsetLineReader;
+
 public class ImportTransientUserData extends ImportCheckPointData {
     private static final long serialVersionUID = -2642411992044844735L;
     // Used for import OperationOutcomes, Bulk data import API defines optional links to the OperationOutcomes for each import data source,
@@ -18,7 +19,9 @@ public class ImportTransientUserData extends ImportCheckPointData {
     private ByteArrayOutputStream bufferStreamForImport = new ByteArrayOutputStream();
 
     private InputStream inputStream = null;
-    private BufferedReader bufferReader = null;
+    private ByteOffsetLineReader lineReader = null;
+    // If the current offset may be in the middle of a line which belongs to the previous byte range of the work item.
+    private boolean skipPartialLine = false;
 
     protected ImportTransientUserData() {
         super();
@@ -35,6 +38,9 @@ public class ImportTransientUserData extends ImportCheckPointData {
     public static ImportTransientUserData fromImportCheckPointData(ImportCheckPointData importCheckPointData) {
         return (ImportTransientUserData)ImportTransientUserData.Builder.builder()
                 .importPartitionWorkitem(importCheckPointData.importPartitionWorkitem)
+                .importPartitionRangeIndex(importCheckPointData.importPartitionRangeIndex)
+                .currentOffset(importCheckPointData.currentOffset)
+                .endOffset(importCheckPointData.endOffset)
                 .numOfProcessedResources(importCheckPointData.numOfProcessedResources)
                 .importPartitionResourceType(importCheckPointData.importPartitionResourceType)
                 .numOfImportedResources(importCheckPointData.numOfImportedResources)
@@ -65,6 +71,9 @@ public class ImportTransientUserData extends ImportCheckPointData {
         public ImportCheckPointData build(){
             ImportTransientUserData importTransientUserData = new ImportTransientUserData();
             importTransientUserData.importPartitionWorkitem = this.importPartitionWorkitem;
+            importTransientUserData.importPartitionRangeIndex = this.importPartitionRangeIndex;
+            importTransientUserData.currentOffset = this.currentOffset;
+            importTransientUserData.endOffset = this.endOffset;
             importTransientUserData.numOfProcessedResources = this.numOfProcessedResources;
             importTransientUserData.importPartitionResourceType = this.importPartitionResourceType;
             importTransientUserData.numOfImportedResources = this.numOfImportedResources;
@@ -95,12 +104,20 @@ public class ImportTransientUserData extends ImportCheckPointData {
         this.inputStream = inputStream;
     }
 
-    public BufferedReader getBufferReader() {
-        return bufferReader;
+    public ByteOffsetLineReader getLineReader() {
+        return lineReader;
+    }
+
+    public void setLineReader(ByteOffsetLineReader lineReader) {
+        this.lineReader = lineReader;
+    }
+
+    public boolean isSkipPartialLine() {
+        return skipPartialLine;
     }
 
-    public void setBufferReader(BufferedReader bufferReader) {
-        this.bufferReader = bufferReader;
+    public void setSkipPartialLine(boolean skipPartialLine) {
+        this.skipPartialLine = skipPartialLine;
     }
 
 }
@@ -8,13 +8,20 @@ package com.ibm.fhir.bulkcommon;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.testng.annotations.Test;
 
 import com.ibm.fhir.jbatch.bulkdata.common.BulkDataUtils;
+import com.ibm.fhir.jbatch.bulkdata.common.Constants;
+import com.ibm.fhir.jbatch.bulkdata.load.ImportTransientUserData;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.util.ModelSupport;
 
@@ -33,4 +40,114 @@ public class BulkDataUtilsTest {
         assertEquals("gt2018-07-01T00:00:00Z" ,searchParametersForMedicationRequest.get(1).get("date").get(0));
         assertEquals("lt2019-07-01T00:00:00Z" ,searchParametersForMedicationRequest.get(1).get("date").get(1));
     }
+
+    @Test
+    public void testGetByteRangeBoundaries() throws Exception {
+        assertEquals(2, BulkDataUtils.getByteRangeBoundaries(100, 100).length);
+        assertEquals(100, BulkDataUtils.getByteRangeBoundaries(100, 100)[1]);
+        // a data source of unknown size is not split
+        assertEquals(-1, BulkDataUtils.getByteRangeBoundaries(-1, 100)[1]);
+
+        for (long size = 1; size <= 200; size++) {
+            for (long maxRangeSize = 1; maxRangeSize <= size + 1; maxRangeSize++) {
+                long[] boundaries = BulkDataUtils.getByteRangeBoundaries(size, maxRangeSize);
+                assertEquals(0, boundaries[0]);
+                assertEquals(size, boundaries[boundaries.length - 1]);
+                assertEquals((size + maxRangeSize - 1) / maxRangeSize, boundaries.length - 1);
+                for (int i = 1; i < boundaries.length; i++) {
+                    assertTrue(boundaries[i] > boundaries[i - 1]);
+                    assertTrue(boundaries[i] - boundaries[i - 1] <= maxRangeSize);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReadByteRangesFromLocalFile() throws Exception {
+        List<String> ids = new ArrayList<>();
+        File file = createNdjsonFile(12, ids);
+        try {
+            // every split point falls once within a line, within a multi-byte character, between '\r' and '\n', and at the
+            // start of a line; each resource must be read by exactly one of the byte ranges
+            for (long maxRangeSize = 1; maxRangeSize <= file.length(); maxRangeSize++) {
+                long[] boundaries = BulkDataUtils.getByteRangeBoundaries(file.length(), maxRangeSize);
+                List<String> readIds = new ArrayList<>();
+                for (int i = 0; i < boundaries.length - 1; i++) {
+                    ImportTransientUserData transientUserData = (ImportTransientUserData) ImportTransientUserData.Builder.builder()
+                            .currentOffset(boundaries[i])
+                            .endOffset(boundaries[i + 1])
+                            .build();
+                    transientUserData.setSkipPartialLine(boundaries[i] > 0);
+                    readIds.addAll(readAll(file, transientUserData));
+                }
+                assertEquals("max range size " + maxRangeSize, ids, readIds);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        List<String> ids = new ArrayList<>();
+        File file = createNdjsonFile(Constants.IMPORT_NUMOFFHIRRESOURCES_PERREAD + 5, ids);
+        try {
+            ImportTransientUserData transientUserData = (ImportTransientUserData) ImportTransientUserData.Builder.builder()
+                    .currentOffset(0)
+                    .endOffset(-1)
+                    .build();
+            List<Resource> resources = new ArrayList<>();
+            BulkDataUtils.readFhirResourceFromLocalFile(file.getPath(), resources, transientUserData);
+            assertEquals(Constants.IMPORT_NUMOFFHIRRESOURCES_PERREAD, resources.size());
+            BulkDataUtils.cleanupTransientUserData(transientUserData, false);
+
+            // the checkpoint holds the byte offset of the next line, the file is opened again at that offset
+            ImportTransientUserData resumedUserData = ImportTransientUserData.fromImportCheckPointData(transientUserData);
+            List<String> readIds = readAll(file, resumedUserData);
+            assertEquals(ids.subList(Constants.IMPORT_NUMOFFHIRRESOURCES_PERREAD, ids.size()), readIds);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Creates an NDJSON file of Patient resources with multi-byte characters in their names, and with both '\n' and '\r\n'
+     * line separators; the last line has no line separator.
+     */
+    private File createNdjsonFile(int numOfResources, List<String> ids) throws Exception {
+        String[] names = { "Müller", "日本語", "😀", "Smith" };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numOfResources; i++) {
+            String id = "patient-" + i;
+            ids.add(id);
+            sb.append("{\"resourceType\":\"Patient\",\"id\":\"").append(id)
+              .append("\",\"name\":[{\"family\":\"").append(names[i % names.length]).append("\"}]}");
+            if (i < numOfResources - 1) {
+                sb.append(i % 2 == 0 ? "\r\n" : "\n");
+            }
+        }
+        File file = File.createTempFile("BulkDataUtilsTest", ".ndjson");
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Reads the resources of a byte range the way the ChunkReader does, until there are no more to read.
+     */
+    private List<String> readAll(File file, ImportTransientUserData transientUserData) throws Exception {
+        List<String> readIds = new ArrayList<>();
+        List<Resource> resources = new ArrayList<>();
+        try {
+            do {
+                resources.clear();
+                BulkDataUtils.readFhirResourceFromLocalFile(file.getPath(), resources, transientUserData);
+                for (Resource resource : resources) {
+                    readIds.add(resource.getId());
+                }
+            } while (!resources.isEmpty());
+        } finally {
+            BulkDataUtils.cleanupTransientUserData(transientUserData, false);
+        }
+        return readIds;
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.bulkcommon;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.jbatch.bulkdata.common.ByteOffsetLineReader;
+
+public class ByteOffsetLineReaderTest {
+
+    @Test
+    public void testLineSeparators() throws Exception {
+        byte[] data = "a\r\nbc\n\r\ndef".getBytes(StandardCharsets.UTF_8);
+        ByteOffsetLineReader reader = new ByteOffsetLineReader(new ByteArrayInputStream(data), 0);
+        assertEquals(0, reader.getOffset());
+        assertEquals("a", reader.readLine());
+        assertEquals(3, reader.getOffset());
+        assertEquals("bc", reader.readLine());
+        assertEquals(6, reader.getOffset());
+        assertEquals("", reader.readLine());
+        assertEquals(8, reader.getOffset());
+        // the last line has no separator
+        assertEquals("def", reader.readLine());
+        assertEquals(11, reader.getOffset());
+        assertNull(reader.readLine());
+        assertEquals(11, reader.getOffset());
+        reader.close();
+    }
+
+    @Test
+    public void testMultiByteCharacters() throws Exception {
+        String line1 = "Müller";
+        String line2 = "日本語 😀";
+        byte[] data = (line1 + "\r\n" + line2 + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteOffsetLineReader reader = new ByteOffsetLineReader(new ByteArrayInputStream(data), 0);
+        assertEquals(line1, reader.readLine());
+        assertEquals(line1.getBytes(StandardCharsets.UTF_8).length + 2, reader.getOffset());
+        assertEquals(line2, reader.readLine());
+        assertEquals(data.length, reader.getOffset());
+        assertNull(reader.readLine());
+        reader.close();
+    }
+
+    @Test
+    public void testLineAcrossBuffers() throws Exception {
+        // a line of 3-byte characters which is longer than the 64KB read buffer, so that a character is split across two reads
+        char[] chars = new char[30000];
+        Arrays.fill(chars, '€');
+        String longLine = new String(chars);
+        byte[] data = ("x\n" + longLine + "\r\ny").getBytes(StandardCharsets.UTF_8);
+        ByteOffsetLineReader reader = new ByteOffsetLineReader(new ByteArrayInputStream(data), 0);
+        assertEquals("x", reader.readLine());
+        assertEquals(longLine, reader.readLine());
+        assertEquals(2 + 3 * 30000 + 2, reader.getOffset());
+        assertEquals("y", reader.readLine());
+        assertEquals(data.length, reader.getOffset());
+        assertNull(reader.readLine());
+        reader.close();
+    }
+
+    @Test
+    public void testResumeFromOffset() throws Exception {
+        byte[] data = "first\r\nzürich\nlast\n".getBytes(StandardCharsets.UTF_8);
+        ByteOffsetLineReader reader = new ByteOffsetLineReader(new ByteArrayInputStream(data), 0);
+        assertEquals("first", reader.readLine());
+        long offset = reader.getOffset();
+        reader.close();
+
+        // a new reader over the rest of the data source continues with the next line and keeps counting from the offset
+        reader = new ByteOffsetLineReader(new ByteArrayInputStream(data, (int) offset, data.length - (int) offset), offset);
+        assertEquals("zürich", reader.readLine());
+        assertEquals(offset + 8, reader.getOffset());
+        assertEquals("last", reader.readLine());
+        assertEquals(data.length, reader.getOffset());
+        assertNull(reader.readLine());
+        reader.close();
+    }
+}
@@ -34,6 +34,12 @@ public class FHIRConfiguration {
     public static final String PROPERTY_CONDITIONAL_DELETE_MAX_NUMBER = "fhirServer/core/conditionalDeleteMaxNumber";
     public static final String PROPERTY_SERVER_REGISTRY_RESOURCE_PROVIDER_ENABLED = "fhirServer/core/serverRegistryResourceProviderEnabled";
     public static final String PROPERTY_CAPABILITY_STATEMENT_CACHE = "fhirServer/core/capabilityStatementCacheTimeout";
+    public static final String PROPERTY_CONFIG_REFRESH_INTERVAL = "fhirServer/core/configRefreshInterval";
+    public static final String PROPERTY_BATCH_BUNDLE_THREADS = "fhirServer/core/batchBundleThreads";
+    public static final String PROPERTY_PAYLOAD_PASS_THROUGH = "fhirServer/core/payloadPassThrough";
+    public static final String PROPERTY_PRELOAD_VALUE_SET_EXPANSIONS = "fhirServer/core/preloadValueSetExpansions";
+    public static final String PROPERTY_VALUE_SET_EXPANSION_FILE = "fhirServer/core/valueSetExpansionFile";
+    public static final String PROPERTY_PRELOAD_REGISTRY_RESOURCES = "fhirServer/core/preloadRegistryResources";
 
     public static final String PROPERTY_SEARCH_PARAMETER_FILTER = "fhirServer/searchParameterFilter";
 
@@ -53,6 +59,9 @@ public class FHIRConfiguration {
 
     // Notification config properties
     public static final String PROPERTY_NOTIFICATION_RESOURCE_TYPES = "fhirServer/notifications/common/includeResourceTypes";
+    public static final String PROPERTY_NOTIFICATION_ASYNC_QUEUE_SIZE = "fhirServer/notifications/common/asyncQueueSize";
+    public static final String PROPERTY_NOTIFICATION_ASYNC_BATCH_SIZE = "fhirServer/notifications/common/asyncBatchSize";
+    public static final String PROPERTY_NOTIFICATION_ASYNC_SHUTDOWN_TIMEOUT = "fhirServer/notifications/common/asyncShutdownTimeout";
     public static final String PROPERTY_WEBSOCKET_ENABLED = "fhirServer/notifications/websocket/enabled";
     public static final String PROPERTY_KAFKA_ENABLED = "fhirServer/notifications/kafka/enabled";
     public static final String PROPERTY_KAFKA_TOPICNAME = "fhirServer/notifications/kafka/topicName";
@@ -77,10 +86,16 @@ public class FHIRConfiguration {
     public static final String PROPERTY_JDBC_ENABLE_CODE_SYSTEMS_CACHE = "fhirServer/persistence/jdbc/enableCodeSystemsCache";
     public static final String PROPERTY_JDBC_ENABLE_PARAMETER_NAMES_CACHE = "fhirServer/persistence/jdbc/enableParameterNamesCache";
     public static final String PROPERTY_JDBC_ENABLE_RESOURCE_TYPES_CACHE = "fhirServer/persistence/jdbc/enableResourceTypesCache";
+    public static final String PROPERTY_JDBC_ENABLE_PARAMETER_HASH = "fhirServer/persistence/jdbc/enableParameterHash";
+    public static final String PROPERTY_JDBC_SKIP_UNCHANGED_UPDATES = "fhirServer/persistence/jdbc/skipUnchangedUpdates";
+    public static final String PROPERTY_JDBC_PAYLOAD_CODEC = "fhirServer/persistence/jdbc/payloadCodec";
 
     // fhir-search - Bounding area
     public static final String PROPERTY_SEARCH_BOUNDING_AREA_RADIUS_TYPE = "fhirServer/search/useBoundingRadius";
 
+    // fhir-search - default _total behavior
+    public static final String PROPERTY_SEARCH_DEFAULT_TOTAL = "fhirServer/search/defaultTotal";
+
     // bulkdata
     // JavaBatch Job id encryption key
     public static final String PROPERTY_BULKDATA_BATCHJOBID_ENCRYPTION_KEY = "fhirServer/bulkdata/bulkDataBatchJobIdEncryptionKey";
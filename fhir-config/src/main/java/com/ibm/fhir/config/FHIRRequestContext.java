@@ -71,6 +71,24 @@ public class FHIRRequestContext {
         setDataStoreId(dataStoreId);
     }
 
+    /**
+     * Creates a copy of the passed request context, for use by another thread that processes part of the same request.
+     * The copy has the same request unique id; the map of http headers is shared.
+     *
+     * @param context
+     *            the request context to copy
+     */
+    public FHIRRequestContext(FHIRRequestContext context) {
+        this.tenantId = context.tenantId;
+        this.tenantKey = context.tenantKey;
+        this.dataStoreId = context.dataStoreId;
+        this.requestUniqueId = context.requestUniqueId;
+        this.originalRequestUri = context.originalRequestUri;
+        this.httpHeaders = context.httpHeaders;
+        this.handlingPreference = context.handlingPreference;
+        this.returnPreference = context.returnPreference;
+    }
+
     public String getTenantId() {
         return tenantId;
     }
@@ -10,7 +10,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
@@ -18,6 +20,7 @@ import javax.json.JsonString;
 import javax.json.JsonValue;
 
 import com.ibm.fhir.core.FHIRUtilities;
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
 
 /**
  * This class represents a collection of properties - a property group. This could be the entire set of properties
@@ -37,9 +40,18 @@ public class PropertyGroup {
      */
     public static final String PATH_ELEMENT_SEPARATOR = "/";
 
+    // Property names are mostly constants, so their path elements are split only once.
+    private static final Map<String, String[]> PATH_ELEMENTS_CACHE = ConcurrentLRUCache.createConcurrentLRUCache(2048);
+
+    // Marks a property that was looked up and not found in the resolved values.
+    private static final JsonValue NOT_FOUND = Json.createObjectBuilder().build();
+
     // This is the JsonObject which holds the property group
     protected JsonObject jsonObj;
 
+    // The values of the properties that have been looked up, keyed by hierarchical property name.
+    private final Map<String, JsonValue> resolvedValues = new ConcurrentHashMap<>();
+
     public PropertyGroup(JsonObject jsonObj) {
         this.jsonObj = jsonObj;
     }
@@ -50,6 +62,7 @@ public class PropertyGroup {
     
     protected void setJsonObj(JsonObject jsonObj) {
         this.jsonObj = jsonObj;
+        resolvedValues.clear();
     }
 
     /**
@@ -310,11 +323,21 @@ public class PropertyGroup {
     
     /**
      * Finds the specified property and returns it as a generic JsonValue.
+     * The result is remembered, so subsequent calls for the same property don't walk the JsonObject hierarchy again.
      * 
      * @param propertyName
      *            the possibly hierarchical property name.
      */
     public JsonValue getJsonValue(String propertyName) {
+        JsonValue result = resolvedValues.get(propertyName);
+        if (result == null) {
+            result = findJsonValue(propertyName);
+            resolvedValues.put(propertyName, result != null ? result : NOT_FOUND);
+        }
+        return result != NOT_FOUND ? result : null;
+    }
+
+    private JsonValue findJsonValue(String propertyName) {
         String[] pathElements = getPathElements(propertyName);
         JsonObject subGroup = getPropertySubGroup(pathElements);
         JsonValue result = null;
@@ -332,7 +355,12 @@ public class PropertyGroup {
      * @return
      */
     protected String[] getPathElements(String propertyName) {
-        return propertyName.split(PATH_ELEMENT_SEPARATOR);
+        String[] pathElements = PATH_ELEMENTS_CACHE.get(propertyName);
+        if (pathElements == null) {
+            pathElements = propertyName.split(PATH_ELEMENT_SEPARATOR);
+            PATH_ELEMENTS_CACHE.put(propertyName, pathElements);
+        }
+        return pathElements.clone();
     }
 
     /**
@@ -13,6 +13,7 @@ import static org.testng.AssertJUnit.assertTrue;
 import org.testng.annotations.Test;
 
 import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.core.HTTPReturnPreference;
 
 public class FHIRRequestContextTest {
     
@@ -95,4 +96,19 @@ public class FHIRRequestContextTest {
         t.join(1000);
         assertTrue(test.getTestPassed());
     }
+
+    @Test
+    public void testCopy() throws Exception {
+        FHIRRequestContext ctxt = new FHIRRequestContext("tenant1", "dsid1");
+        ctxt.setOriginalRequestUri("https://localhost:9443/fhir-server/api/v4");
+        ctxt.setReturnPreference(HTTPReturnPreference.REPRESENTATION);
+
+        FHIRRequestContext copy = new FHIRRequestContext(ctxt);
+        assertEquals("tenant1", copy.getTenantId());
+        assertEquals("dsid1", copy.getDataStoreId());
+        assertEquals(ctxt.getRequestUniqueId(), copy.getRequestUniqueId());
+        assertEquals("https://localhost:9443/fhir-server/api/v4", copy.getOriginalRequestUri());
+        assertEquals(HTTPReturnPreference.REPRESENTATION, copy.getReturnPreference());
+        assertEquals(ctxt.getHandlingPreference(), copy.getHandlingPreference());
+    }
 }
@@ -18,6 +18,8 @@ public class CachedObjectHolder<T> {
     private String fileName;
     private long lastModified;
     private T cachedObject;
+    // Set by a background staleness check, see TenantSpecificFileBasedCache.setStalenessCheckInterval.
+    private volatile boolean markedStale;
 
     public CachedObjectHolder(String fileName, T cachedObject) {
         setFileName(fileName);
@@ -56,14 +58,37 @@ public class CachedObjectHolder<T> {
 
     /**
      * @return true iff the file from which the cached object was initially derived has been 
-     * modified since the object was cached.
+     * modified since the object was cached. If the file didn't exist when the object was cached
+     * (i.e. the holder records its absence), then true iff the file has been created since.
      */
     public boolean isStale() {
         if (fileName != null) {
             File f = new File(fileName);
-            return !f.exists() || f.lastModified() > getLastModified();
+            if (!f.exists()) {
+                return getLastModified() != 0;
+            }
+            return f.lastModified() > getLastModified();
         }
         
         return false;
     }
+
+    /**
+     * Checks the file for modifications and records the result, so that it can be retrieved
+     * with {@link #isMarkedStale()} without accessing the file system.
+     * @return true iff the cached object is stale
+     */
+    public boolean checkStale() {
+        if (!markedStale && isStale()) {
+            markedStale = true;
+        }
+        return markedStale;
+    }
+
+    /**
+     * @return true iff the cached object was found to be stale by the last call to {@link #checkStale()}
+     */
+    public boolean isMarkedStale() {
+        return markedStale;
+    }
 }
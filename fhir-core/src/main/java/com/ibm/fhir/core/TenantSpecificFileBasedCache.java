@@ -7,8 +7,17 @@
 package com.ibm.fhir.core;
 
 import java.io.File;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,19 +25,32 @@ import java.util.logging.Logger;
  * This class is a parameterized abstract base class to be used for situations where
  * we need to implement a tenant-specific cache of file-based objects.
  * Examples include: configuration parameters, structure definitions, search parameters, etc.
+ * <p>
+ * By default, the file of a cached object is checked for modifications on every lookup.
+ * If a staleness check interval is set with {@link #setStalenessCheckInterval(long, TimeUnit)},
+ * the files of all caches are instead checked by a background thread at that interval and
+ * lookups don't access the file system.
  * 
  * @author padams
  */
 public abstract class TenantSpecificFileBasedCache<T> {
     private static final Logger log = Logger.getLogger(TenantSpecificFileBasedCache.class.getName());
 
+    // All live caches, so that the background staleness check can visit their entries.
+    private static final Set<TenantSpecificFileBasedCache<?>> caches =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<TenantSpecificFileBasedCache<?>, Boolean>()));
+    private static ScheduledExecutorService stalenessCheckExecutor;
+    private static ScheduledFuture<?> stalenessCheck;
+    private static volatile boolean backgroundStalenessCheck = false;
+
     private Map<String, CachedObjectHolder<T>> cache;
     
     // cacheType is used only in trace messages.
     private String cacheType = "<unknown>";
     
     public TenantSpecificFileBasedCache() {
-        cache = new HashMap<String, CachedObjectHolder<T>>();
+        cache = new ConcurrentHashMap<String, CachedObjectHolder<T>>();
+        caches.add(this);
     }
     
     public TenantSpecificFileBasedCache(String cacheType) {
@@ -46,6 +68,62 @@ public abstract class TenantSpecificFileBasedCache<T> {
         }
     }
 
+    /**
+     * Sets the interval at which the files of the objects in all caches are checked for modifications
+     * by a background thread. With an interval of 0 (the default), the file of a cached object is
+     * checked on every lookup instead and the background thread is stopped.
+     * 
+     * @param interval the staleness check interval, or 0 to check on every lookup
+     * @param unit the time unit of the interval
+     */
+    public static synchronized void setStalenessCheckInterval(long interval, TimeUnit unit) {
+        if (stalenessCheck != null) {
+            stalenessCheck.cancel(false);
+            stalenessCheck = null;
+        }
+
+        if (interval > 0) {
+            if (stalenessCheckExecutor == null) {
+                stalenessCheckExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "fhir-cache-staleness-check");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            // Bring the markers up to date before lookups start relying on them.
+            checkStaleness();
+            stalenessCheck = stalenessCheckExecutor.scheduleWithFixedDelay(TenantSpecificFileBasedCache::checkStaleness,
+                    interval, interval, unit);
+            backgroundStalenessCheck = true;
+        } else {
+            backgroundStalenessCheck = false;
+            if (stalenessCheckExecutor != null) {
+                stalenessCheckExecutor.shutdown();
+                stalenessCheckExecutor = null;
+            }
+        }
+    }
+
+    private static void checkStaleness() {
+        List<TenantSpecificFileBasedCache<?>> snapshot;
+        synchronized (caches) {
+            snapshot = new ArrayList<>(caches);
+        }
+        for (TenantSpecificFileBasedCache<?> c : snapshot) {
+            for (CachedObjectHolder<?> holder : c.cache.values()) {
+                try {
+                    holder.checkStale();
+                } catch (Throwable t) {
+                    log.log(Level.WARNING, "Unable to check cached " + c.cacheType + " for staleness", t);
+                }
+            }
+        }
+    }
+
+    private boolean isStale(CachedObjectHolder<T> holder) {
+        return backgroundStalenessCheck ? holder.isMarkedStale() : holder.isStale();
+    }
+
     public abstract String getCacheEntryFilename(String tenantId);
     public abstract T createCachedObject(File file) throws Exception;
     
@@ -63,14 +141,14 @@ public abstract class TenantSpecificFileBasedCache<T> {
             CachedObjectHolder<T> holder = cache.get(tenantId);
 
             // If we didn't find it or it was stale, then we'll need to lock the cache.
-            if (holder == null || holder.isStale()) {
+            if (holder == null || isStale(holder)) {
                 synchronized (cache) {
 
                     // Check again to see if we can retrieve the cached object from the cache.
                     holder = cache.get(tenantId);
 
                     // If the cache object is stale, then discard and re-load below.
-                    if (holder != null && holder.isStale()) {
+                    if (holder != null && isStale(holder)) {
                         log.fine("Cached " + this.cacheType + " for tenant-id '" + tenantId + "' is stale, discarding...");
                         cache.remove(tenantId);
                         holder = null;
@@ -87,10 +165,11 @@ public abstract class TenantSpecificFileBasedCache<T> {
                             cachedObject = createCachedObject(f);
                         }
                         
-                        // If we were able to load the object from disk, then add it to the cache.
+                        // Add the result to the cache; if the object couldn't be loaded, the holder records that,
+                        // so that subsequent lookups don't need to look for the file until it is created or modified.
+                        holder = new CachedObjectHolder<T>(fileName, cachedObject);
+                        cache.put(tenantId, holder);
                         if (cachedObject != null) {
-                            holder = new CachedObjectHolder<T>(fileName, cachedObject);
-                            cache.put(tenantId, holder);
                             log.fine("Loaded " + this.cacheType + " for tenant-id '" + tenantId + "' and added it to the cache.");
                         } else {
                             log.fine("Tenant-specific " + this.cacheType + " for tenant '" + tenantId + "' not found, skipping...");
@@ -72,4 +72,26 @@ public interface FHIRPagingContext {
      * @param lenient whether the request should be handled with leniency
      */
     void setLenient(boolean lenient);
+
+    /**
+     * @return the opaque keyset cursor that marks the position after the last result of the previous page,
+     *         or null if the page is selected by page number only
+     */
+    String getCursor();
+
+    /**
+     * @param cursor the opaque keyset cursor that marks the position after the last result of the previous page
+     */
+    void setCursor(String cursor);
+
+    /**
+     * @return the opaque keyset cursor for the page after the current one, or null if the persistence layer
+     *         does not support keyset paging for the corresponding query
+     */
+    String getNextCursor();
+
+    /**
+     * @param nextCursor the opaque keyset cursor for the page after the current one
+     */
+    void setNextCursor(String nextCursor);
 }
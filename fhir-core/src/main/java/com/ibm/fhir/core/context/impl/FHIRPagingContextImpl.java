@@ -18,6 +18,8 @@ public class FHIRPagingContextImpl implements FHIRPagingContext {
     protected int pageSize;
     protected int totalCount;
     protected boolean lenient = true;
+    protected String cursor;
+    protected String nextCursor;
 
     /**
      * Create a FHIRPagingContextImpl with the default values:
@@ -82,4 +84,24 @@ public class FHIRPagingContextImpl implements FHIRPagingContext {
     public void setLenient(boolean lenient) {
         this.lenient = lenient;
     }
+
+    @Override
+    public String getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -0,0 +1,317 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.core.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe cache with approximate Least Recently Used (LRU) eviction backed by a ConcurrentHashMap
+ *
+ * <p>Reads do not take any locks: each entry records the logical time of its most recent access and, once the cache
+ * grows beyond its maximum size, a single thread evicts the least recently used entries in a batch. Because eviction
+ * is batched and concurrent writers do not wait for it, the size of the cache may briefly exceed the maximum.
+ *
+ * <p>Unlike {@link LRUCache}, this cache does not permit null keys or values, and {@link #computeIfAbsent(Object, Function)}
+ * applies the mapping function without holding a lock, so concurrent callers that miss on the same key may each
+ * compute a value (the first value to be stored is returned to all of them).
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of cached values
+ */
+public class ConcurrentLRUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private static final int EVICTION_BATCH_DIVISOR = 16;
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final int maxEntries;
+    private final int evictionBatchSize;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private Set<Map.Entry<K, V>> entrySet;
+
+    private ConcurrentLRUCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        this.map = new ConcurrentHashMap<>(maxEntries);
+        this.maxEntries = maxEntries;
+        this.evictionBatchSize = maxEntries / EVICTION_BATCH_DIVISOR;
+    }
+
+    /**
+     * Create a new cache that holds at most (approximately) maxEntries entries
+     *
+     * @param maxEntries
+     *     the maximum number of entries
+     * @return a new cache
+     */
+    public static <K, V> ConcurrentLRUCache<K, V> createConcurrentLRUCache(int maxEntries) {
+        return new ConcurrentLRUCache<>(maxEntries);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return touch(node).value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Node<K, V> previous = map.put(key, newNode(key, value));
+        if (previous == null) {
+            evictIfNecessary();
+            return null;
+        }
+        return previous.value;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Node<K, V> existing = map.putIfAbsent(key, newNode(key, value));
+        if (existing == null) {
+            evictIfNecessary();
+            return null;
+        }
+        return touch(existing).value;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            hitCount.increment();
+            return touch(node).value;
+        }
+        missCount.increment();
+        V value = mappingFunction.apply(key);
+        if (value == null) {
+            return null;
+        }
+        Node<K, V> existing = map.putIfAbsent(key, newNode(key, value));
+        if (existing != null) {
+            return touch(existing).value;
+        }
+        evictIfNecessary();
+        return value;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> previous = map.remove(key);
+        return (previous != null) ? previous.value : null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Node<K, V> node = map.get(key);
+        return node != null && node.value.equals(value) && map.remove(key, node);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Node<K, V> replacement = newNode(key, value);
+        Node<K, V> previous;
+        while ((previous = map.get(key)) != null) {
+            if (map.replace(key, previous, replacement)) {
+                return previous.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue);
+        Node<K, V> node = map.get(key);
+        return node != null && node.value.equals(oldValue) && map.replace(key, node, newNode(key, newValue));
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * @return the maximum number of entries in this cache
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of lookups (get or computeIfAbsent) that found a cached value
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of lookups (get or computeIfAbsent) that did not find a cached value
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of entries that have been evicted to keep the cache within its maximum size
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private Node<K, V> newNode(K key, V value) {
+        return new Node<>(key, Objects.requireNonNull(value), clock.incrementAndGet());
+    }
+
+    /**
+     * Record an access to the passed node; the logical clock only advances when entries are added, so reads never
+     * write to shared state other than the node itself (and only when its access time has changed)
+     */
+    private Node<K, V> touch(Node<K, V> node) {
+        long now = clock.get();
+        if (node.accessTime != now) {
+            node.accessTime = now;
+        }
+        return node;
+    }
+
+    private void evictIfNecessary() {
+        // writers that find another thread evicting do not wait for it, so the evicting thread checks the size again
+        // after each batch to account for entries that were added in the meantime
+        while (map.size() > maxEntries && evictionLock.tryLock()) {
+            try {
+                evict();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void evict() {
+        int excess = map.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        // evict a batch of entries beyond the excess so that the next eviction is deferred
+        int count = excess + evictionBatchSize;
+        // access times keep changing while we sort, so sort a snapshot of them
+        List<Candidate<K, V>> candidates = new ArrayList<>(map.size());
+        for (Node<K, V> node : map.values()) {
+            candidates.add(new Candidate<>(node, node.accessTime));
+        }
+        candidates.sort(Comparator.comparingLong(c -> c.accessTime));
+        for (int i = 0; i < count && i < candidates.size(); i++) {
+            Node<K, V> node = candidates.get(i).node;
+            if (map.remove(node.key, node)) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private volatile long accessTime;
+
+        private Node(K key, V value, long accessTime) {
+            this.key = key;
+            this.value = value;
+            this.accessTime = accessTime;
+        }
+    }
+
+    private static final class Candidate<K, V> {
+        private final Node<K, V> node;
+        private final long accessTime;
+
+        private Candidate(Node<K, V> node, long accessTime) {
+            this.node = node;
+            this.accessTime = accessTime;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            Iterator<Node<K, V>> iterator = map.values().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    Node<K, V> node = iterator.next();
+                    return new SimpleImmutableEntry<>(node.key, node.value);
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+}
@@ -30,6 +30,11 @@ public class LRUCache<K, V> extends LinkedHashMap<K, V> {
         return size() > maxEntries;
     }
     
+    /**
+     * @deprecated every access to the returned map (including get) synchronizes on a single monitor; use
+     *     {@link ConcurrentLRUCache#createConcurrentLRUCache(int)} instead
+     */
+    @Deprecated
     public static <K, V> Map<K, V> createLRUCache(int maxEntries) {
         return Collections.synchronizedMap(new LRUCache<>(maxEntries));
     }
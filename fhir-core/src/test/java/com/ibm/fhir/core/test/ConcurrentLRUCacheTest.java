@@ -0,0 +1,107 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.core.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
+
+public class ConcurrentLRUCacheTest {
+    @Test
+    public void testComputeIfAbsent() {
+        ConcurrentLRUCache<String, String> cache = ConcurrentLRUCache.createConcurrentLRUCache(16);
+        assertEquals(cache.computeIfAbsent("a", String::toUpperCase), "A");
+        assertEquals(cache.computeIfAbsent("a", k -> "B"), "A");
+        assertNull(cache.computeIfAbsent("b", k -> null));
+        assertFalse(cache.containsKey("b"));
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 2);
+        assertEquals(cache.getEvictionCount(), 0);
+    }
+
+    @Test
+    public void testMapOperations() {
+        ConcurrentLRUCache<String, Integer> cache = ConcurrentLRUCache.createConcurrentLRUCache(16);
+        assertNull(cache.put("a", 1));
+        assertEquals(cache.put("a", 2), Integer.valueOf(1));
+        assertEquals(cache.putIfAbsent("a", 3), Integer.valueOf(2));
+        assertEquals(cache.replace("a", 4), Integer.valueOf(2));
+        assertFalse(cache.replace("a", 2, 5));
+        assertTrue(cache.replace("a", 4, 5));
+        assertFalse(cache.remove("a", 4));
+        assertEquals(cache.get("a"), Integer.valueOf(5));
+        assertNull(cache.get("b"));
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.entrySet().iterator().next().getValue(), Integer.valueOf(5));
+        assertTrue(cache.remove("a", 5));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testEviction() {
+        ConcurrentLRUCache<Integer, Integer> cache = ConcurrentLRUCache.createConcurrentLRUCache(64);
+        for (int i = 0; i < 64; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(cache.getEvictionCount(), 0);
+
+        // keep using the first half of the entries so that only the other entries are evicted
+        for (int i = 64; i < 128; i++) {
+            for (int j = 0; j < 32; j++) {
+                cache.get(j);
+            }
+            cache.put(i, i);
+        }
+        assertTrue(cache.size() <= 64);
+        assertTrue(cache.getEvictionCount() >= 64);
+        for (int i = 0; i < 32; i++) {
+            assertTrue(cache.containsKey(i), "recently used entry was evicted: " + i);
+        }
+        assertFalse(cache.containsKey(33));
+        assertTrue(cache.containsKey(127));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        ConcurrentLRUCache<Integer, Integer> cache = ConcurrentLRUCache.createConcurrentLRUCache(128);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        int key = (i * 31 + offset) % 512;
+                        assertEquals(cache.computeIfAbsent(key, k -> k * 2), Integer.valueOf(key * 2));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(cache.getHitCount() + cache.getMissCount(), 80000);
+        assertTrue(cache.size() <= 128 + 8);
+        for (Map.Entry<Integer, Integer> entry : cache.entrySet()) {
+            assertEquals(entry.getValue(), Integer.valueOf(entry.getKey() * 2));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.core.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.core.TenantSpecificFileBasedCache;
+
+public class TenantSpecificFileBasedCacheTest {
+    private File dir;
+    private TenantSpecificFileBasedCache<String> cache;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        dir = Files.createTempDirectory("tenant-cache").toFile();
+        cache = new TenantSpecificFileBasedCache<String>("String") {
+            @Override
+            public String getCacheEntryFilename(String tenantId) {
+                return new File(dir, tenantId + ".txt").getPath();
+            }
+
+            @Override
+            public String createCachedObject(File file) throws Exception {
+                return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        TenantSpecificFileBasedCache.setStalenessCheckInterval(0, TimeUnit.MILLISECONDS);
+        for (File f : dir.listFiles()) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testCheckOnLookup() throws Exception {
+        assertNull(cache.getCachedObjectForTenant("tenant1"));
+
+        File f = write("tenant1", "value1", 1000);
+        assertEquals(cache.getCachedObjectForTenant("tenant1"), "value1");
+
+        write("tenant1", "value2", 2000);
+        assertEquals(cache.getCachedObjectForTenant("tenant1"), "value2");
+
+        f.delete();
+        assertNull(cache.getCachedObjectForTenant("tenant1"));
+    }
+
+    @Test
+    public void testBackgroundCheck() throws Exception {
+        write("tenant1", "value1", 1000);
+        TenantSpecificFileBasedCache.setStalenessCheckInterval(50, TimeUnit.MILLISECONDS);
+        assertEquals(cache.getCachedObjectForTenant("tenant1"), "value1");
+        assertNull(cache.getCachedObjectForTenant("tenant2"));
+
+        write("tenant1", "value2", 2000);
+        write("tenant2", "value3", 2000);
+        waitFor("tenant1", "value2");
+        waitFor("tenant2", "value3");
+    }
+
+    private File write(String tenantId, String value, long lastModifiedOffset) throws Exception {
+        File f = new File(cache.getCacheEntryFilename(tenantId));
+        Files.write(f.toPath(), value.getBytes(StandardCharsets.UTF_8));
+        // Don't depend on the resolution of the file system timestamps.
+        f.setLastModified(System.currentTimeMillis() + lastModifiedOffset);
+        return f;
+    }
+
+    private void waitFor(String tenantId, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String value = cache.getCachedObjectForTenant(tenantId);
+        while (!expected.equals(value) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            value = cache.getCachedObjectForTenant(tenantId);
+        }
+        assertEquals(value, expected);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.database.utils.common;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.ibm.fhir.database.utils.api.IDatabaseStatement;
+import com.ibm.fhir.database.utils.api.IDatabaseTranslator;
+
+/**
+ * Drop one overload of a (PostgreSQL) function, if it exists. Unlike the other overloads of the
+ * function, an overload with a different signature is not replaced by "CREATE OR REPLACE FUNCTION".
+ */
+public class DropFunction implements IDatabaseStatement {
+    private final String schemaName;
+    private final String functionName;
+    private final String argumentTypes;
+
+    /**
+     * Public constructor
+     * @param schemaName
+     * @param functionName
+     * @param argumentTypes the comma-separated types of the input arguments of the overload
+     */
+    public DropFunction(String schemaName, String functionName, String argumentTypes) {
+        DataDefinitionUtil.assertValidName(schemaName);
+        DataDefinitionUtil.assertValidName(functionName);
+        this.schemaName = schemaName;
+        this.functionName = functionName;
+        this.argumentTypes = argumentTypes;
+    }
+
+    @Override
+    public void run(IDatabaseTranslator translator, Connection c) {
+        final String qname = DataDefinitionUtil.getQualifiedName(schemaName, functionName);
+
+        try (Statement s = c.createStatement()) {
+            s.executeUpdate("DROP FUNCTION IF EXISTS " + qname + "(" + argumentTypes + ")");
+        }
+        catch (SQLException x) {
+            throw translator.translate(x);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.database.utils.common;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+import com.ibm.fhir.database.utils.api.DataAccessException;
+import com.ibm.fhir.database.utils.api.IDatabaseStatement;
+import com.ibm.fhir.database.utils.api.IDatabaseTranslator;
+import com.ibm.fhir.database.utils.api.UndefinedNameException;
+
+/**
+ * Drop one overload of a (Db2) procedure, if it exists. Unlike the other overloads of the
+ * procedure, an overload with a different number of parameters is not replaced by "CREATE OR REPLACE PROCEDURE".
+ */
+public class DropProcedure implements IDatabaseStatement {
+    private static final Logger logger = Logger.getLogger(DropProcedure.class.getName());
+    private final String schemaName;
+    private final String procedureName;
+    private final String parameterTypes;
+
+    /**
+     * Public constructor
+     * @param schemaName
+     * @param procedureName
+     * @param parameterTypes the comma-separated types of all parameters of the overload
+     */
+    public DropProcedure(String schemaName, String procedureName, String parameterTypes) {
+        DataDefinitionUtil.assertValidName(schemaName);
+        DataDefinitionUtil.assertValidName(procedureName);
+        this.schemaName = schemaName;
+        this.procedureName = procedureName;
+        this.parameterTypes = parameterTypes;
+    }
+
+    @Override
+    public void run(IDatabaseTranslator translator, Connection c) {
+        final String qname = DataDefinitionUtil.getQualifiedName(schemaName, procedureName);
+        final String ddl = "DROP PROCEDURE " + qname + "(" + parameterTypes + ")";
+
+        try (Statement s = c.createStatement()) {
+            s.executeUpdate(ddl);
+        }
+        catch (SQLException x) {
+            DataAccessException dax = translator.translate(x);
+            if (dax instanceof UndefinedNameException) {
+                logger.warning(ddl + "; PROCEDURE not found");
+            } else {
+                throw dax;
+            }
+        }
+    }
+}
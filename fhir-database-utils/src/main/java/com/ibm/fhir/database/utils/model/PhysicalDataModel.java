@@ -313,7 +313,25 @@ public class PhysicalDataModel implements IDataModel {
      */
     public ProcedureDef addProcedure(String schemaName, String objectName, int version, Supplier<String> templateProvider,
             Collection<IDatabaseObject> dependencies, Collection<GroupPrivilege> privileges) {
-        ProcedureDef proc = new ProcedureDef(schemaName, objectName, version, templateProvider);
+        return addProcedure(schemaName, objectName, version, templateProvider, dependencies, privileges, Collections.emptyList());
+    }
+
+    /**
+     * Add a stored procedure definition with the steps to perform before the procedure is replaced
+     * when upgrading from a previous version (see {@link #addProcedure(String, String, int, Supplier, Collection, Collection)}).
+     *
+     * @param schemaName
+     * @param objectName the name of the procedure object
+     * @param version
+     * @param templateProvider supplier of the procedure text
+     * @param dependencies
+     * @param privileges
+     * @param migrations
+     * @return
+     */
+    public ProcedureDef addProcedure(String schemaName, String objectName, int version, Supplier<String> templateProvider,
+            Collection<IDatabaseObject> dependencies, Collection<GroupPrivilege> privileges, List<Migration> migrations) {
+        ProcedureDef proc = new ProcedureDef(schemaName, objectName, version, templateProvider, migrations);
         privileges.forEach(p -> p.addToObject(proc));
 
         if (dependencies != null) {
@@ -338,7 +356,25 @@ public class PhysicalDataModel implements IDataModel {
      */
     public FunctionDef addFunction(String schemaName, String objectName, int version, Supplier<String> templateProvider,
         Collection<IDatabaseObject> dependencies, Collection<GroupPrivilege> privileges) {
-        FunctionDef func = new FunctionDef(schemaName, objectName, version, templateProvider);
+        return addFunction(schemaName, objectName, version, templateProvider, dependencies, privileges, Collections.emptyList());
+    }
+
+    /**
+     * adds the function to the model, with the steps to perform before the function is replaced
+     * when upgrading from a previous version.
+     *
+     * @param schemaName
+     * @param objectName
+     * @param version
+     * @param templateProvider
+     * @param dependencies
+     * @param privileges
+     * @param migrations
+     * @return
+     */
+    public FunctionDef addFunction(String schemaName, String objectName, int version, Supplier<String> templateProvider,
+        Collection<IDatabaseObject> dependencies, Collection<GroupPrivilege> privileges, List<Migration> migrations) {
+        FunctionDef func = new FunctionDef(schemaName, objectName, version, templateProvider, migrations);
         privileges.forEach(p -> p.addToObject(func));
     
         if (dependencies != null) {
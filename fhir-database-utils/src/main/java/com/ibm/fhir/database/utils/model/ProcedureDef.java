@@ -6,9 +6,10 @@
 
 package com.ibm.fhir.database.utils.model;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
-import java.util.logging.Logger;
 
 import com.ibm.fhir.database.utils.api.IDatabaseAdapter;
 
@@ -16,8 +17,6 @@ import com.ibm.fhir.database.utils.api.IDatabaseAdapter;
  * The definition of a stored procedure, whose content is provided by a Supplier<String> function
  */
 public class ProcedureDef extends BaseObject {
-    private static final Logger logger = Logger.getLogger(ProcedureDef.class.getName());
-
     // supplier provides the procedure body when requested
     private Supplier<String> supplier;
 
@@ -29,7 +28,19 @@ public class ProcedureDef extends BaseObject {
      * @param supplier
      */
     public ProcedureDef(String schemaName, String procedureName, int version, Supplier<String> supplier) {
-        super(schemaName, procedureName, DatabaseObjectType.PROCEDURE, version);
+        this(schemaName, procedureName, version, supplier, Collections.emptyList());
+    }
+
+    /**
+     * Public constructor
+     * @param schemaName
+     * @param procedureName
+     * @param version
+     * @param supplier
+     * @param migrations the steps to perform before the procedure is replaced when upgrading from a previous version
+     */
+    public ProcedureDef(String schemaName, String procedureName, int version, Supplier<String> supplier, List<Migration> migrations) {
+        super(schemaName, procedureName, DatabaseObjectType.PROCEDURE, version, migrations);
         this.supplier = supplier;
     }
 
@@ -44,11 +55,14 @@ public class ProcedureDef extends BaseObject {
 
     @Override
     public void apply(Integer priorVersion, IDatabaseAdapter target) {
-        if (priorVersion != null && priorVersion > 0 && this.getVersion() > priorVersion && !migrations.isEmpty()) {
-            logger.warning("Found '" + migrations.size() + "' migration steps, but performing 'create or replace' instead");
+        if (priorVersion != null && priorVersion > 0 && this.getVersion() > priorVersion) {
+            for (Migration step : migrations) {
+                step.migrateFrom(priorVersion).stream().forEachOrdered(target::runStatement);
+            }
         }
 
-        // Procedures are applied with "Create or replace", so just do a regular apply
+        // Procedures are applied with "Create or replace", so the migration steps only need to drop
+        // what isn't replaced (such as an overload with a different signature)
         apply(target);
     }
 
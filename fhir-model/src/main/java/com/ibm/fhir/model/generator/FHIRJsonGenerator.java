@@ -10,10 +10,12 @@ import static com.ibm.fhir.model.util.JsonSupport.nonClosingOutputStream;
 import static com.ibm.fhir.model.util.JsonSupport.nonClosingWriter;
 import static com.ibm.fhir.model.util.ModelSupport.isPrimitiveType;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FilterOutputStream;
 import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
@@ -30,6 +32,7 @@ import javax.json.stream.JsonGenerator;
 import javax.json.stream.JsonGeneratorFactory;
 
 import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.PayloadPassThrough.Payload;
 import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
 import com.ibm.fhir.model.resource.Patient;
 import com.ibm.fhir.model.resource.Resource;
@@ -67,6 +70,10 @@ public class FHIRJsonGenerator extends FHIRAbstractGenerator {
 
     @Override
     public void generate(Visitable visitable, OutputStream out) throws FHIRGeneratorException {
+        if (!prettyPrinting && PayloadPassThrough.isEnabled()) {
+            generatePassThrough(visitable, out);
+            return;
+        }
         GeneratingVisitor visitor = null;
         try (JsonGenerator generator = getGeneratorFactory().createGenerator(prettyPrinting ? wrap(out) : nonClosingOutputStream(out), StandardCharsets.UTF_8)) {
             visitor = new JsonGeneratingVisitor(generator);
@@ -94,6 +101,30 @@ public class FHIRJsonGenerator extends FHIRAbstractGenerator {
         return prettyPrinting;
     }
 
+    /**
+     * Generate the passed visitable while copying the payloads registered with {@link PayloadPassThrough} for the
+     * resources it contains (or for the visitable itself) to the output instead of generating them.
+     */
+    private void generatePassThrough(Visitable visitable, OutputStream out) throws FHIRGeneratorException {
+        GeneratingVisitor visitor = null;
+        try {
+            Payload payload = (visitable instanceof Resource) ? PayloadPassThrough.get((Resource) visitable) : null;
+            if (payload != null) {
+                payload.writeTo(out);
+            } else {
+                SplicingOutputStream splicingOut = new SplicingOutputStream(out);
+                try (JsonGenerator generator = GENERATOR_FACTORY.createGenerator(splicingOut, StandardCharsets.UTF_8)) {
+                    visitor = new JsonGeneratingVisitor(generator, splicingOut);
+                    visitable.accept(visitor);
+                    generator.flush();
+                }
+            }
+            out.flush();
+        } catch (Exception e) {
+            throw new FHIRGeneratorException(e.getMessage(), (visitor != null) ? visitor.getPath() : null, e);
+        }
+    }
+
     /**
      * Temporary workaround for: https://github.com/eclipse-ee4j/jsonp/issues/190
      */
@@ -141,11 +172,99 @@ public class FHIRJsonGenerator extends FHIRAbstractGenerator {
         };
     }
 
+    /**
+     * An output stream that replaces the value written by the JSON generator between {@link #startCapture()} and
+     * {@link #endCapture(Payload)} with a payload.
+     *
+     * <p>Flushing this stream does not flush the underlying output stream, so that the generator can be flushed for
+     * each splice without flushing the final destination.
+     */
+    private static class SplicingOutputStream extends FilterOutputStream {
+        private final ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        private boolean capturing = false;
+
+        private SplicingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (capturing) {
+                capture.write(b);
+            } else {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (capturing) {
+                capture.write(b, off, len);
+            } else {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() {
+            // do nothing
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        private void startCapture() {
+            capture.reset();
+            capturing = true;
+        }
+
+        /**
+         * Write the captured output (the separator and member name, if any) without the captured empty string value,
+         * followed by the payload
+         */
+        private void endCapture(Payload payload) throws IOException {
+            capturing = false;
+            byte[] bytes = capture.toByteArray();
+            int length = bytes.length;
+            if (length < 2 || bytes[length - 2] != '"' || bytes[length - 1] != '"') {
+                throw new IllegalStateException("Expected an empty string value to replace with the payload");
+            }
+            out.write(bytes, 0, length - 2);
+            payload.writeTo(out);
+        }
+    }
+
     private static class JsonGeneratingVisitor extends GeneratingVisitor {
         private final JsonGenerator generator;
-                
+        private final SplicingOutputStream splicingOut;
+        // the resource whose payload was spliced into the output in place of its children
+        private Resource splicedResource;
+
         private JsonGeneratingVisitor(JsonGenerator generator) {
+            this(generator, null);
+        }
+
+        private JsonGeneratingVisitor(JsonGenerator generator, SplicingOutputStream splicingOut) {
             this.generator = generator;
+            this.splicingOut = splicingOut;
+        }
+
+        /**
+         * Let the generator write the separator and member name for the resource (with an empty string value) and
+         * replace the value with the payload of the resource
+         */
+        private void splice(java.lang.String elementName, int elementIndex, Payload payload) {
+            try {
+                generator.flush();
+                splicingOut.startCapture();
+                writeValue(elementName, elementIndex, "");
+                generator.flush();
+                splicingOut.endCapture(payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
         
         private void generate(Element element) {
@@ -358,8 +477,20 @@ public class FHIRJsonGenerator extends FHIRAbstractGenerator {
             }
         }
         
+        @Override
+        public boolean visit(java.lang.String elementName, int elementIndex, Resource resource) {
+            if (resource == splicedResource) {
+                return false;
+            }
+            return super.visit(elementName, elementIndex, resource);
+        }
+
         @Override
         public void doVisitEnd(java.lang.String elementName, int elementIndex, Resource resource) {
+            if (resource == splicedResource) {
+                splicedResource = null;
+                return;
+            }
             generator.writeEnd();
         }
         
@@ -385,6 +516,14 @@ public class FHIRJsonGenerator extends FHIRAbstractGenerator {
     
         @Override
         public void doVisitStart(java.lang.String elementName, int elementIndex, Resource resource) {
+            if (splicingOut != null && getDepth() > 1) {
+                Payload payload = PayloadPassThrough.get(resource);
+                if (payload != null) {
+                    splice(elementName, elementIndex, payload);
+                    splicedResource = resource;
+                    return;
+                }
+            }
             writeStartObject(elementName, elementIndex);
             Class<?> resourceType = resource.getClass();
             java.lang.String resourceTypeName = resourceType.getSimpleName();
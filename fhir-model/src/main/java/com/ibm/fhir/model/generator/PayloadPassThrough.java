@@ -0,0 +1,111 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import com.ibm.fhir.model.resource.Resource;
+
+/**
+ * A per-thread registry of the stored JSON payloads of parsed resources.
+ *
+ * <p>When pass-through is enabled on the current thread, the code that parses a resource from a stored JSON payload
+ * (e.g. the persistence layer) can register that payload for the parsed resource instance. The JSON generator then
+ * copies the registered payload to the output instead of generating the resource again, both for the resource itself
+ * and for resources that are nested in other resources (e.g. Bundle entries).
+ *
+ * <p>Payloads are registered for a resource <em>instance</em>. Since the model is immutable, any change to a
+ * resource (e.g. by a persistence interceptor) results in a new instance, which is generated as usual.
+ *
+ * <p>Only payloads that were generated with a non-pretty-printing {@link FHIRJsonGenerator} may be registered.
+ */
+public final class PayloadPassThrough {
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<Map<Resource, Payload>> PAYLOADS = new ThreadLocal<>();
+
+    private PayloadPassThrough() { }
+
+    /**
+     * Enable pass-through on the current thread. Every call must be paired with a call to {@link #disable()}.
+     */
+    public static void enable() {
+        PAYLOADS.set(new IdentityHashMap<>());
+    }
+
+    /**
+     * Disable pass-through on the current thread and discard all payloads registered on it.
+     */
+    public static void disable() {
+        PAYLOADS.remove();
+    }
+
+    /**
+     * @return true if pass-through is enabled on the current thread; otherwise false
+     */
+    public static boolean isEnabled() {
+        return PAYLOADS.get() != null;
+    }
+
+    /**
+     * Register the stored JSON payload of a resource on the current thread. Does nothing if pass-through is not enabled
+     * on the current thread.
+     *
+     * @param resource
+     *     the resource that was parsed from the payload
+     * @param data
+     *     the UTF-8 encoded JSON payload
+     * @param compressed
+     *     true if the payload is GZIP compressed
+     */
+    public static void register(Resource resource, byte[] data, boolean compressed) {
+        Map<Resource, Payload> payloads = PAYLOADS.get();
+        if (payloads != null) {
+            payloads.put(resource, new Payload(data, compressed));
+        }
+    }
+
+    /**
+     * @return the payload registered for the passed resource on the current thread, or null if there is none
+     */
+    static Payload get(Resource resource) {
+        Map<Resource, Payload> payloads = PAYLOADS.get();
+        return (payloads != null) ? payloads.get(resource) : null;
+    }
+
+    static final class Payload {
+        private final byte[] data;
+        private final boolean compressed;
+
+        private Payload(byte[] data, boolean compressed) {
+            this.data = data;
+            this.compressed = compressed;
+        }
+
+        /**
+         * Copy the uncompressed payload to the passed output stream
+         */
+        void writeTo(OutputStream out) throws IOException {
+            if (!compressed) {
+                out.write(data);
+                return;
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data), BUFFER_SIZE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                }
+            }
+        }
+    }
+}
@@ -53,6 +53,13 @@ public abstract class FHIRAbstractParser implements FHIRParser {
         return Objects.requireNonNull(type).cast(getPropertyOrDefault(name, defaultValue));
     }
     
+    /**
+     * @return true if the {@link FHIRParser#PROPERTY_TRUSTED} property is set
+     */
+    protected boolean isTrusted() {
+        return getPropertyOrDefault(FHIRParser.PROPERTY_TRUSTED, Boolean.FALSE, Boolean.class);
+    }
+    
     @Override
     public boolean isPropertySupported(String name) {
         return false;
@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.parser;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.type.code.BundleType;
+
+/**
+ * Read a Bundle resource one entry at a time.
+ *
+ * <p>Entries are parsed from the underlying input as they are requested, so callers can start processing the first
+ * entries before the rest of the input has been read and only need to hold on to the entries they are working on.
+ *
+ * <pre>
+ * try (FHIRBundleReader reader = FHIRBundleReader.reader(parser, in)) {
+ *     while (reader.hasNext()) {
+ *         Bundle.Entry entry = reader.next();
+ *         // process the entry
+ *     }
+ *     Bundle bundle = reader.getBundle();
+ * }
+ * </pre>
+ *
+ * Parser properties (e.g. {@link FHIRParser#PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS}) are taken from the FHIRParser that
+ * was used to create the reader.
+ */
+public interface FHIRBundleReader extends AutoCloseable {
+    /**
+     * @return true if there is another Bundle.entry to read
+     * @throws FHIRParserException if the input is not a valid Bundle
+     */
+    boolean hasNext() throws FHIRParserException;
+
+    /**
+     * Read the next Bundle.entry
+     *
+     * @return the next Bundle.entry
+     * @throws FHIRParserException if the entry could not be parsed
+     * @throws NoSuchElementException if there are no more entries
+     */
+    Bundle.Entry next() throws FHIRParserException;
+
+    /**
+     * The Bundle.type of the bundle being read.
+     *
+     * <p>Only elements that precede the current entry have been read, so this method returns null if the 'type'
+     * element has not been read yet (or if its value is not a valid BundleType).
+     *
+     * @return the Bundle.type or null if it is not known yet
+     */
+    BundleType getType();
+
+    /**
+     * Read the remainder of the input and return the Bundle.
+     *
+     * <p>Entries that were already returned by {@link #next()} are not included in the result; all other elements
+     * (including any entries that have not been read yet) are.
+     *
+     * @return the Bundle
+     * @throws FHIRParserException if the input is not a valid Bundle
+     */
+    Bundle getBundle() throws FHIRParserException;
+
+    /**
+     * Release the resources associated with this reader. This method does not close the InputStream or Reader
+     * that the bundle is being read from.
+     */
+    @Override
+    void close() throws FHIRParserException;
+
+    /**
+     * Create a FHIRBundleReader that uses the passed parser to read a Bundle from the passed InputStream.
+     *
+     * @param parser
+     *     the parser for the format of the input
+     * @param in
+     *     the input
+     * @return a new FHIRBundleReader
+     * @throws FHIRParserException if the reader could not be created
+     * @throws IllegalArgumentException if the parser does not support reading bundles one entry at a time
+     */
+    static FHIRBundleReader reader(FHIRParser parser, InputStream in) throws FHIRParserException {
+        if (parser instanceof FHIRJsonParser) {
+            return new FHIRJsonBundleReader((FHIRJsonParser) parser, in);
+        }
+        if (parser instanceof FHIRXMLParser) {
+            return new FHIRXMLBundleReader((FHIRXMLParser) parser, in);
+        }
+        throw new IllegalArgumentException("Unsupported parser: " + parser.getClass().getName());
+    }
+
+    /**
+     * Create a FHIRBundleReader that uses the passed parser to read a Bundle using the passed Reader.
+     *
+     * @param parser
+     *     the parser for the format of the input
+     * @param reader
+     *     the input
+     * @return a new FHIRBundleReader
+     * @throws FHIRParserException if the reader could not be created
+     * @throws IllegalArgumentException if the parser does not support reading bundles one entry at a time
+     */
+    static FHIRBundleReader reader(FHIRParser parser, Reader reader) throws FHIRParserException {
+        if (parser instanceof FHIRJsonParser) {
+            return new FHIRJsonBundleReader((FHIRJsonParser) parser, reader);
+        }
+        if (parser instanceof FHIRXMLParser) {
+            return new FHIRXMLBundleReader((FHIRXMLParser) parser, reader);
+        }
+        throw new IllegalArgumentException("Unsupported parser: " + parser.getClass().getName());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.parser;
+
+import static com.ibm.fhir.model.util.JsonSupport.hasNextObject;
+import static com.ibm.fhir.model.util.JsonSupport.nonClosingInputStream;
+import static com.ibm.fhir.model.util.JsonSupport.nonClosingReader;
+import static com.ibm.fhir.model.util.JsonSupport.requireArray;
+import static com.ibm.fhir.model.util.JsonSupport.requireObject;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.json.Json;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.type.code.BundleType;
+
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A {@link FHIRBundleReader} for the JSON format.
+ *
+ * <p>All members of the Bundle object except for 'entry' are buffered and parsed into a Bundle by
+ * {@link #getBundle()}; each entry is parsed directly from the underlying JsonParser when it is requested.
+ */
+@NotThreadSafe
+class FHIRJsonBundleReader implements FHIRBundleReader {
+    private static final JsonParserFactory JSON_PARSER_FACTORY = Json.createParserFactory(null);
+    private static final JsonBuilderFactory JSON_BUILDER_FACTORY = Json.createBuilderFactory(null);
+
+    private final FHIRJsonParser parser;
+    private final JsonParser jsonParser;
+    private final JsonObjectBuilder bundleBuilder = JSON_BUILDER_FACTORY.createObjectBuilder();
+
+    private boolean started = false;
+    private boolean resourceTypeFound = false;
+    private boolean inEntries = false;
+    private boolean entryPending = false;
+    private int entryIndex = 0;
+    private String type;
+
+    FHIRJsonBundleReader(FHIRJsonParser parser, InputStream in) {
+        this.parser = parser;
+        this.jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingInputStream(in), StandardCharsets.UTF_8);
+    }
+
+    FHIRJsonBundleReader(FHIRJsonParser parser, Reader reader) {
+        this.parser = parser;
+        this.jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingReader(reader));
+    }
+
+    @Override
+    public boolean hasNext() throws FHIRParserException {
+        try {
+            if (!started) {
+                started = true;
+                requireObject(jsonParser, "resource");
+                readMembers();
+            }
+            while (inEntries && !entryPending) {
+                if (hasNextObject(jsonParser, "entry")) {
+                    entryPending = true;
+                } else {
+                    inEntries = false;
+                    readMembers();
+                }
+            }
+            return entryPending;
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), "Bundle", e);
+        }
+    }
+
+    @Override
+    public Bundle.Entry next() throws FHIRParserException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        entryPending = false;
+        return parser.parseBundleEntry(jsonParser, entryIndex++);
+    }
+
+    @Override
+    public BundleType getType() {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return BundleType.of(type);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Bundle getBundle() throws FHIRParserException {
+        List<Bundle.Entry> entries = new ArrayList<>();
+        while (hasNext()) {
+            entries.add(next());
+        }
+        Bundle bundle = parser.parse(bundleBuilder.build());
+        if (entries.isEmpty()) {
+            return bundle;
+        }
+        return bundle.toBuilder().entry(entries).build();
+    }
+
+    @Override
+    public void close() throws FHIRParserException {
+        try {
+            jsonParser.close();
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), "Bundle", e);
+        }
+    }
+
+    /**
+     * Buffer the members of the Bundle object until the start of the 'entry' array or the end of the object is reached.
+     */
+    private void readMembers() {
+        while (jsonParser.next() == JsonParser.Event.KEY_NAME) {
+            String key = jsonParser.getString();
+            if ("entry".equals(key) && resourceTypeFound) {
+                requireArray(jsonParser, "entry");
+                inEntries = true;
+                return;
+            }
+            // if 'entry' precedes 'resourceType' then the entries are buffered along with the other members
+            jsonParser.next();
+            JsonValue value = jsonParser.getValue();
+            if ("resourceType".equals(key)) {
+                if (!(value instanceof JsonString) || !"Bundle".equals(((JsonString) value).getString())) {
+                    throw new IllegalArgumentException("Expected resource type: 'Bundle' but found: " + value);
+                }
+                resourceTypeFound = true;
+            } else if ("type".equals(key) && value instanceof JsonString) {
+                type = ((JsonString) value).getString();
+            }
+            bundleBuilder.add(key, value);
+        }
+    }
+}
@@ -21,6 +21,20 @@ public interface FHIRParser {
      * Property name for a property that controls whether the parser will ignore or throw an exception on unrecognized elements
      */
     public static final String PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS = "com.ibm.fhir.model.parser.ignoreUnrecognizedElements";
+
+    /**
+     * Property name for a property that controls whether the parser builds the model directly from a stream of parse events
+     * instead of first reading the entire input into an intermediate representation (e.g. a JsonObject)
+     */
+    public static final String PROPERTY_STREAMING = "com.ibm.fhir.model.parser.streaming";
+
+    /**
+     * Property name for a property that controls whether the parser trusts its input to be valid. When set to true, the
+     * model objects are built without the checks of {@link com.ibm.fhir.model.util.ValidationSupport} (e.g. string and
+     * code patterns, reference types and the XHTML schema validation of narratives). Only use it for data that was
+     * validated before, such as resources read from the server's own database.
+     */
+    public static final String PROPERTY_TRUSTED = "com.ibm.fhir.model.parser.trusted";
     
     /**
      * Read a resource from the passed InputStream. This method does not close the passed InputStream.
@@ -0,0 +1,187 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.parser;
+
+import static com.ibm.fhir.model.util.XMLSupport.FHIR_NS_URI;
+import static com.ibm.fhir.model.util.XMLSupport.copyElement;
+import static com.ibm.fhir.model.util.XMLSupport.copyStartElement;
+import static com.ibm.fhir.model.util.XMLSupport.createStreamReaderDelegate;
+import static com.ibm.fhir.model.util.XMLSupport.createXMLStreamWriter;
+import static com.ibm.fhir.model.util.XMLSupport.requireNamespace;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.model.util.XMLSupport.StreamReaderDelegate;
+
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A {@link FHIRBundleReader} for the XML format.
+ *
+ * <p>All child elements of the Bundle element except for 'entry' are copied to a buffer and parsed into a Bundle by
+ * {@link #getBundle()}; each entry is parsed directly from the underlying XMLStreamReader when it is requested.
+ */
+@NotThreadSafe
+class FHIRXMLBundleReader implements FHIRBundleReader {
+    private final FHIRXMLParser parser;
+    private final StreamReaderDelegate reader;
+    private final StringWriter bundleWriter = new StringWriter();
+    private final XMLStreamWriter writer;
+
+    private boolean started = false;
+    private boolean finished = false;
+    private boolean entryPending = false;
+    private boolean signatureFound = false;
+    private int entryIndex = 0;
+    private String type;
+
+    FHIRXMLBundleReader(FHIRXMLParser parser, InputStream in) throws FHIRParserException {
+        try {
+            this.parser = parser;
+            this.reader = createStreamReaderDelegate(in);
+            this.writer = createXMLStreamWriter(bundleWriter);
+        } catch (XMLStreamException e) {
+            throw new FHIRParserException(e.getMessage(), "", e);
+        }
+    }
+
+    FHIRXMLBundleReader(FHIRXMLParser parser, Reader reader) throws FHIRParserException {
+        try {
+            this.parser = parser;
+            this.reader = createStreamReaderDelegate(reader);
+            this.writer = createXMLStreamWriter(bundleWriter);
+        } catch (XMLStreamException e) {
+            throw new FHIRParserException(e.getMessage(), "", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws FHIRParserException {
+        try {
+            if (!started) {
+                started = true;
+                readBundleStartElement();
+            }
+            if (!entryPending && !finished) {
+                readElements();
+            }
+            return entryPending;
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), "Bundle", e);
+        }
+    }
+
+    @Override
+    public Bundle.Entry next() throws FHIRParserException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        entryPending = false;
+        return parser.parseBundleEntry(reader, entryIndex++);
+    }
+
+    @Override
+    public BundleType getType() {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return BundleType.of(type);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Bundle getBundle() throws FHIRParserException {
+        List<Bundle.Entry> entries = new ArrayList<>();
+        while (hasNext()) {
+            entries.add(next());
+        }
+        Bundle bundle = parser.parse(new StringReader(bundleWriter.toString()));
+        if (entries.isEmpty()) {
+            return bundle;
+        }
+        return bundle.toBuilder().entry(entries).build();
+    }
+
+    @Override
+    public void close() throws FHIRParserException {
+        try {
+            writer.close();
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new FHIRParserException(e.getMessage(), "Bundle", e);
+        }
+    }
+
+    private void readBundleStartElement() throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamReader.START_ELEMENT) {
+                requireNamespace(reader, FHIR_NS_URI);
+                if (!"Bundle".equals(reader.getLocalName())) {
+                    throw new IllegalArgumentException("Expected resource type: 'Bundle' but found: '" + reader.getLocalName() + "'");
+                }
+                copyStartElement(reader, writer);
+                return;
+            }
+        }
+        throw new XMLStreamException("Unexpected end of stream");
+    }
+
+    /**
+     * Copy the child elements of the Bundle element to the buffer until the next 'entry' element or the end of the
+     * Bundle element is reached.
+     */
+    private void readElements() throws XMLStreamException {
+        while (reader.hasNext()) {
+            int eventType = reader.next();
+            switch (eventType) {
+            case XMLStreamReader.START_ELEMENT:
+                requireNamespace(reader, FHIR_NS_URI);
+                String localName = reader.getLocalName();
+                if ("entry".equals(localName)) {
+                    if (signatureFound) {
+                        throw new IllegalArgumentException("Element: 'entry' is out of order");
+                    }
+                    entryPending = true;
+                    return;
+                }
+                if (entryIndex > 0 && !"signature".equals(localName)) {
+                    throw new IllegalArgumentException("Element: '" + localName + "' is out of order");
+                }
+                if ("signature".equals(localName)) {
+                    signatureFound = true;
+                } else if ("type".equals(localName)) {
+                    type = reader.getAttributeValue(null, "value");
+                }
+                copyElement(reader, writer);
+                break;
+            case XMLStreamReader.END_ELEMENT:
+                // the end of the Bundle element
+                writer.writeEndElement();
+                writer.flush();
+                finished = true;
+                return;
+            }
+        }
+        throw new XMLStreamException("Unexpected end of stream");
+    }
+}
@@ -24,6 +24,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
 import com.ibm.fhir.model.parser.FHIRAbstractParser;
+import com.ibm.fhir.model.parser.FHIRParser;
 import com.ibm.fhir.model.parser.exception.FHIRParserException;
 import com.ibm.fhir.model.resource.*;
 import com.ibm.fhir.model.type.*;
@@ -31,6 +32,7 @@ import com.ibm.fhir.model.type.code.*;
 import com.ibm.fhir.model.type.Boolean;
 import com.ibm.fhir.model.type.Integer;
 import com.ibm.fhir.model.type.String;
+import com.ibm.fhir.model.util.ValidationSupport;
 import com.ibm.fhir.model.util.XMLSupport.StreamReaderDelegate;
 
 import net.jcip.annotations.NotThreadSafe;
@@ -49,6 +51,7 @@ public class FHIRXMLParser extends FHIRAbstractParser {
     @SuppressWarnings("unchecked")
     @Override
     public <T extends Resource> T parse(InputStream in) throws FHIRParserException {
+        boolean trusted = ValidationSupport.setTrusted(isTrusted());
         try (StreamReaderDelegate delegate = createStreamReaderDelegate(in)) {
             reset();
             while (delegate.hasNext()) {
@@ -62,12 +65,15 @@ public class FHIRXMLParser extends FHIRAbstractParser {
             throw new XMLStreamException("Unexpected end of stream");
         } catch (Exception e) {
             throw new FHIRParserException(e.getMessage(), getPath(), e);
+        } finally {
+            ValidationSupport.setTrusted(trusted);
         }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T extends Resource> T parse(Reader reader) throws FHIRParserException {
+        boolean trusted = ValidationSupport.setTrusted(isTrusted());
         try (StreamReaderDelegate delegate = createStreamReaderDelegate(reader)) {
             reset();
             while (delegate.hasNext()) {
@@ -81,6 +87,8 @@ public class FHIRXMLParser extends FHIRAbstractParser {
             throw new XMLStreamException("Unexpected end of stream");
         } catch (Exception e) {
             throw new FHIRParserException(e.getMessage(), getPath(), e);
+        } finally {
+            ValidationSupport.setTrusted(trusted);
         }
     }
 
@@ -88,6 +96,28 @@ public class FHIRXMLParser extends FHIRAbstractParser {
         stack.clear();
     }
 
+    @Override
+    public boolean isPropertySupported(java.lang.String name) {
+        if (FHIRParser.PROPERTY_TRUSTED.equals(name)) {
+            return true;
+        }
+        return false;
+    }
+
+    Bundle.Entry parseBundleEntry(XMLStreamReader reader, int elementIndex) throws FHIRParserException {
+        // parse a single Bundle.entry element (used by FHIRXMLBundleReader)
+        boolean trusted = ValidationSupport.setTrusted(isTrusted());
+        try {
+            reset();
+            stackPush("Bundle", -1);
+            return parseBundleEntry("entry", reader, elementIndex);
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), getPath(), e);
+        } finally {
+            ValidationSupport.setTrusted(trusted);
+        }
+    }
+
     private Resource parseResource(java.lang.String elementName, XMLStreamReader reader, int elementIndex) throws XMLStreamException {
         if (isResourceContainer(elementName)) {
             reader.nextTag();
@@ -27,11 +27,11 @@ public class FHIRJsonPatch implements FHIRPatch {
     private static final JsonProvider PROVIDER = JsonProvider.provider();
     private final JsonPatch patch;
     
-    FHIRJsonPatch(JsonArray array) {
+    protected FHIRJsonPatch(JsonArray array) {
         this(PROVIDER.createPatch(array));
     }
     
-    FHIRJsonPatch(JsonPatch patch) {
+    protected FHIRJsonPatch(JsonPatch patch) {
         this.patch = Objects.requireNonNull(patch);
     }
     
@@ -1,11 +1,12 @@
 /*
- * (C) Copyright IBM Corp. 2018,2019
+ * (C) Copyright IBM Corp. 2018, 2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.model.util;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -14,9 +15,13 @@ import java.util.Set;
 import java.util.function.Function;
 
 import javax.json.Json;
+import javax.json.JsonArray;
 import javax.json.JsonBuilderFactory;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
 
 public class ElementFilter implements Function<JsonObject, JsonObject> {
     private static final JsonBuilderFactory BUILDER_FACTORY = Json.createBuilderFactory(null);
@@ -45,4 +50,121 @@ public class ElementFilter implements Function<JsonObject, JsonObject> {
             .forEach(e -> builder.add(e.getKey(), e.getValue()));
         return builder.build();
     }
+
+    /**
+     * Wrap a parser that is positioned within the top-level object of a resource so that top-level
+     * keys (and their values) which are not included by this filter are skipped.
+     */
+    public JsonParser apply(JsonParser parser) {
+        return new FilteringJsonParser(parser);
+    }
+
+    private class FilteringJsonParser implements JsonParser {
+        private final JsonParser delegate;
+        private Event event;
+        // the parser starts out within the top-level object
+        private int depth = 1;
+
+        private FilteringJsonParser(JsonParser delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Event next() {
+            event = delegate.next();
+            while (depth == 1 && event == Event.KEY_NAME && !includeElements.contains(delegate.getString())) {
+                JsonSupport.skipValue(delegate);
+                event = delegate.next();
+            }
+            switch (event) {
+            case START_OBJECT:
+            case START_ARRAY:
+                depth++;
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                break;
+            default:
+                break;
+            }
+            return event;
+        }
+
+        @Override
+        public String getString() {
+            return delegate.getString();
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            return delegate.isIntegralNumber();
+        }
+
+        @Override
+        public int getInt() {
+            return delegate.getInt();
+        }
+
+        @Override
+        public long getLong() {
+            return delegate.getLong();
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            return delegate.getBigDecimal();
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return delegate.getLocation();
+        }
+
+        @Override
+        public JsonObject getObject() {
+            JsonObject jsonObject = delegate.getObject();
+            depth--;
+            return jsonObject;
+        }
+
+        @Override
+        public JsonArray getArray() {
+            JsonArray jsonArray = delegate.getArray();
+            depth--;
+            return jsonArray;
+        }
+
+        @Override
+        public JsonValue getValue() {
+            JsonValue jsonValue = delegate.getValue();
+            if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                // the delegate consumed the entire structure
+                depth--;
+            }
+            return jsonValue;
+        }
+
+        @Override
+        public void skipObject() {
+            delegate.skipObject();
+            depth--;
+        }
+
+        @Override
+        public void skipArray() {
+            delegate.skipArray();
+            depth--;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019
+ * (C) Copyright IBM Corp. 2019, 2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -25,10 +25,13 @@ import java.util.stream.Collectors;
 
 import javax.json.Json;
 import javax.json.JsonArray;
+import javax.json.JsonBuilderFactory;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonString;
 import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
 
 import com.ibm.fhir.model.format.Format;
 import com.ibm.fhir.model.generator.FHIRGenerator;
@@ -37,6 +40,7 @@ import com.ibm.fhir.model.resource.Resource;
 
 public final class JsonSupport {
     private static final JsonReaderFactory JSON_READER_FACTORY = Json.createReaderFactory(null);
+    private static final JsonBuilderFactory JSON_BUILDER_FACTORY = Json.createBuilderFactory(null);
     
     private static final Map<Class<?>, Set<String>> ELEMENT_NAME_MAP = buildElementNameMap(false);
     private static final Map<Class<?>, Set<String>> REQUIRED_ELEMENT_NAME_MAP = buildElementNameMap(true);
@@ -213,6 +217,141 @@ public final class JsonSupport {
         }
     }
 
+    /**
+     * Read the value that follows the current key from the parser and add it to the passed builder.
+     *
+     * @param builder
+     *     the builder to add the value to or null if a new builder should be created
+     * @param key
+     *     the current key
+     * @param parser
+     *     a parser positioned on the key
+     * @return the builder that the value was added to
+     */
+    public static JsonObjectBuilder bufferValue(JsonObjectBuilder builder, String key, JsonParser parser) {
+        if (builder == null) {
+            builder = JSON_BUILDER_FACTORY.createObjectBuilder();
+        }
+        parser.next();
+        builder.add(key, parser.getValue());
+        return builder;
+    }
+
+    /**
+     * Advance the parser to the value of the current key and check that it is the start of an object.
+     */
+    public static void requireObject(JsonParser parser, String key) {
+        JsonParser.Event event = parser.next();
+        if (event != JsonParser.Event.START_OBJECT) {
+            throw new IllegalArgumentException("Expected: JsonObject but found: " + getValueType(event) + " for element: " + key);
+        }
+    }
+
+    /**
+     * Advance the parser to the value of the current key and check that it is the start of an array.
+     */
+    public static void requireArray(JsonParser parser, String key) {
+        JsonParser.Event event = parser.next();
+        if (event != JsonParser.Event.START_ARRAY) {
+            throw new IllegalArgumentException("Expected: JsonArray but found: " + getValueType(event) + " for element: " + key);
+        }
+    }
+
+    /**
+     * Advance the parser to the next item of the current array.
+     *
+     * @return true if the parser is positioned at the start of an object, false if the end of the array was reached
+     * @throws IllegalArgumentException
+     *     if the next item of the array is not an object
+     */
+    public static boolean hasNextObject(JsonParser parser, String key) {
+        JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.END_ARRAY) {
+            return false;
+        }
+        if (event != JsonParser.Event.START_OBJECT) {
+            throw new IllegalArgumentException("Expected: JsonObject but found: " + getValueType(event) + " for element: " + key);
+        }
+        return true;
+    }
+
+    /**
+     * Skip the value that follows the current key, including any nested objects or arrays.
+     */
+    public static void skipValue(JsonParser parser) {
+        int depth = 0;
+        do {
+            switch (parser.next()) {
+            case START_OBJECT:
+            case START_ARRAY:
+                depth++;
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                break;
+            default:
+                break;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Read the remainder of the current object into a JsonObject.
+     *
+     * @param parser
+     *     the parser
+     * @param event
+     *     the event that the parser is currently positioned on (either a KEY_NAME or the END_OBJECT of the current object)
+     */
+    public static JsonObject readObject(JsonParser parser, JsonParser.Event event) {
+        JsonObjectBuilder builder = JSON_BUILDER_FACTORY.createObjectBuilder();
+        while (event == JsonParser.Event.KEY_NAME) {
+            String key = parser.getString();
+            parser.next();
+            builder.add(key, parser.getValue());
+            event = parser.next();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Read the value of the 'resourceType' key that the parser is currently positioned on.
+     */
+    public static Class<?> getResourceType(JsonParser parser) {
+        JsonParser.Event event = parser.next();
+        if (event != JsonParser.Event.VALUE_STRING) {
+            throw new IllegalArgumentException("Expected: JsonString but found: " + getValueType(event) + " for element: resourceType");
+        }
+        String resourceTypeName = parser.getString();
+        Class<?> resourceType = ModelSupport.getResourceType(resourceTypeName);
+        if (resourceType == null) {
+            throw new IllegalArgumentException("Invalid resource type: '" + resourceTypeName + "'");
+        }
+        return resourceType;
+    }
+
+    private static JsonValue.ValueType getValueType(JsonParser.Event event) {
+        switch (event) {
+        case START_ARRAY:
+            return JsonValue.ValueType.ARRAY;
+        case START_OBJECT:
+            return JsonValue.ValueType.OBJECT;
+        case VALUE_STRING:
+            return JsonValue.ValueType.STRING;
+        case VALUE_NUMBER:
+            return JsonValue.ValueType.NUMBER;
+        case VALUE_TRUE:
+            return JsonValue.ValueType.TRUE;
+        case VALUE_FALSE:
+            return JsonValue.ValueType.FALSE;
+        case VALUE_NULL:
+            return JsonValue.ValueType.NULL;
+        default:
+            throw new IllegalArgumentException("Expected a value but found: " + event);
+        }
+    }
+
     public static Class<?> getResourceType(JsonObject jsonObject) {
         JsonString resourceTypeString = jsonObject.getJsonString("resourceType");
         if (resourceTypeString == null) {
@@ -25,12 +25,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.ibm.fhir.model.annotation.Binding;
@@ -112,7 +114,8 @@ public final class ModelSupport {
     private static final Map<Class<?>, Class<?>> CONCRETE_TYPE_MAP = buildConcreteTypeMap();
     private static final Map<Class<?>, Map<String, ElementInfo>> MODEL_CLASS_ELEMENT_INFO_MAP = buildModelClassElementInfoMap();
     private static final Map<String, Class<? extends Resource>> RESOURCE_TYPE_MAP = buildResourceTypeMap();
-    private static final Map<Class<?>, Set<Constraint>> MODEL_CLASS_CONSTRAINT_MAP = buildModelClassConstraintMap();
+    // constraints are collected from the class annotations on first use rather than for every model class up front
+    private static final Map<Class<?>, Set<Constraint>> MODEL_CLASS_CONSTRAINT_MAP = new ConcurrentHashMap<>(1024);
     // LinkedHashSet is used just to preserve the order, for convenience only
     private static final Set<Class<? extends Element>> CHOICE_ELEMENT_TYPES = new LinkedHashSet<>(Arrays.asList(
         Base64Binary.class,
@@ -234,9 +237,13 @@ public final class ModelSupport {
         private final Set<Class<?>> choiceTypes;
         private final boolean reference;
         private final Set<String> referenceTypes;
-        private final Binding binding;
+        private final String fieldName;
         private final boolean summary;
 
+        // the binding annotation is looked up on first use; see getBinding()
+        private volatile Binding binding;
+        private volatile boolean bindingResolved;
+
         private final Set<String> choiceElementNames;
 
         ElementInfo(String name,
@@ -248,7 +255,7 @@ public final class ModelSupport {
                 Set<Class<?>> choiceTypes,
                 boolean reference,
                 Set<String> referenceTypes,
-                Binding binding,
+                String fieldName,
                 boolean isSummary) {
             this.name = name;
             this.declaringType = declaringType;
@@ -259,7 +266,7 @@ public final class ModelSupport {
             this.choiceTypes = choiceTypes;
             this.reference = reference;
             this.referenceTypes = referenceTypes;
-            this.binding = binding;
+            this.fieldName = fieldName;
             this.summary = isSummary;
             Set<String> choiceElementNames = new LinkedHashSet<>();
             if (this.choice) {
@@ -315,11 +322,19 @@ public final class ModelSupport {
         }
 
         public Binding getBinding() {
+            if (!bindingResolved) {
+                try {
+                    binding = declaringType.getDeclaredField(fieldName).getAnnotation(Binding.class);
+                } catch (NoSuchFieldException e) {
+                    throw new Error(e);
+                }
+                bindingResolved = true;
+            }
             return binding;
         }
 
         public boolean hasBinding() {
-            return (binding != null);
+            return (getBinding() != null);
         }
 
         public Set<String> getChoiceElementNames() {
@@ -327,6 +342,57 @@ public final class ModelSupport {
         }
     }
 
+    /**
+     * Collects the elements declared by each model class from the generated {@link ModelMetadata}.
+     */
+    static final class MetadataBuilder {
+        private final Map<Class<?>, List<ElementInfo>> declaredElementInfoMap = new HashMap<>(1024);
+        private Class<?> declaringType;
+        private List<ElementInfo> declaredElementInfo;
+
+        private MetadataBuilder() { }
+
+        /**
+         * Start the declarations of the passed model class; subsequent elements are declared by this class.
+         */
+        void type(Class<?> declaringType) {
+            this.declaringType = declaringType;
+            this.declaredElementInfo = new ArrayList<>();
+            declaredElementInfoMap.put(declaringType, declaredElementInfo);
+        }
+
+        void element(String fieldName, Class<?> type, int flags) {
+            add(fieldName, type, flags, false, Collections.emptySet(), false, Collections.emptySet());
+        }
+
+        void choice(String fieldName, int flags, Class<?>... choiceTypes) {
+            Set<Class<?>> choiceTypeSet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(choiceTypes)));
+            add(fieldName, Element.class, flags, true, choiceTypeSet, false, Collections.emptySet());
+        }
+
+        void reference(String fieldName, Class<?> type, int flags, String... referenceTypes) {
+            Set<String> referenceTypeSet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(referenceTypes)));
+            add(fieldName, type, flags, false, Collections.emptySet(), true, referenceTypeSet);
+        }
+
+        private void add(String fieldName, Class<?> type, int flags, boolean choice, Set<Class<?>> choiceTypes, boolean reference, Set<String> referenceTypes) {
+            declaredElementInfo.add(new ElementInfo(
+                    getElementName(fieldName),
+                    type,
+                    declaringType,
+                    (flags & ModelMetadata.REQUIRED) != 0,
+                    (flags & ModelMetadata.REPEATING) != 0,
+                    choice,
+                    choiceTypes,
+                    reference,
+                    referenceTypes,
+                    fieldName,
+                    (flags & ModelMetadata.SUMMARY) != 0
+                )
+            );
+        }
+    }
+
     private static Map<String, Class<?>> buildDataTypeMap() {
         Map<String, Class<?>> dataTypeMap = new LinkedHashMap<>();
         for (Class<?> dataType : DATA_TYPES) {
@@ -342,53 +408,32 @@ public final class ModelSupport {
         return Collections.unmodifiableMap(concreteTypeMap);
     }
 
-    private static Map<Class<?>, Set<Constraint>> buildModelClassConstraintMap() {
-        Map<Class<?>, Set<Constraint>> modelClassConstraintMap = new LinkedHashMap<>(1024);
-        for (Class<?> modelClass : getModelClasses()) {
-            Set<Constraint> constraints = new LinkedHashSet<>();
-            for (Class<?> clazz : getClosure(modelClass)) {
-                for (Constraint constraint : clazz.getDeclaredAnnotationsByType(Constraint.class)) {
-                    constraints.add(constraint);
-                }
+    private static Set<Constraint> buildConstraints(Class<?> modelClass) {
+        Set<Constraint> constraints = new LinkedHashSet<>();
+        for (Class<?> clazz : getClosure(modelClass)) {
+            for (Constraint constraint : clazz.getDeclaredAnnotationsByType(Constraint.class)) {
+                constraints.add(constraint);
             }
-            modelClassConstraintMap.put(modelClass, Collections.unmodifiableSet(constraints));
         }
-        return Collections.unmodifiableMap(modelClassConstraintMap);
+        return Collections.unmodifiableSet(constraints);
     }
 
     private static Map<Class<?>, Map<String, ElementInfo>> buildModelClassElementInfoMap() {
+        MetadataBuilder builder = new MetadataBuilder();
+        ModelMetadata.declare(builder);
+        Map<Class<?>, List<ElementInfo>> declaredElementInfoMap = builder.declaredElementInfoMap;
         try (InputStream in = ModelSupport.class.getClassLoader().getResourceAsStream("modelClasses")) {
             Map<Class<?>, Map<String, ElementInfo>> modelClassElementInfoMap = new LinkedHashMap<>(1024);
             List<String> lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
             for (String className : lines) {
-                Class<?> modelClass = Class.forName(className);
+                // model classes are loaded here but initialized on first use
+                Class<?> modelClass = Class.forName(className, false, ModelSupport.class.getClassLoader());
                 Map<String, ElementInfo> elementInfoMap = new LinkedHashMap<>();
-                for (Field field : getAllFields(modelClass)) {
-                    String elementName = getElementName(field);
-                    Class<?> type = getFieldType(field);
-                    Class<?> declaringType = field.getDeclaringClass();
-                    boolean required = isRequired(field);
-                    boolean summary = isSummary(field);
-                    boolean repeating = isRepeating(field);
-                    boolean choice = isChoice(field);
-                    boolean reference = isReference(field);
-                    Binding binding = field.getAnnotation(Binding.class);
-                    Set<Class<?>> choiceTypes = choice ? Collections.unmodifiableSet(getChoiceTypes(field)) : Collections.emptySet();
-                    Set<String> referenceTypes = reference ? Collections.unmodifiableSet(getReferenceTypes(field)) : Collections.emptySet();
-                    elementInfoMap.put(elementName, new ElementInfo(
-                            elementName,
-                            type,
-                            declaringType,
-                            required,
-                            repeating,
-                            choice,
-                            choiceTypes,
-                            reference,
-                            referenceTypes,
-                            binding,
-                            summary
-                        )
-                    );
+                for (Class<?> clazz : getClosure(modelClass)) {
+                    // classes that are not covered by the generated metadata (e.g. AbstractVisitable) fall back to reflection
+                    for (ElementInfo elementInfo : declaredElementInfoMap.computeIfAbsent(clazz, ModelSupport::buildDeclaredElementInfo)) {
+                        elementInfoMap.put(elementInfo.getName(), elementInfo);
+                    }
                 }
                 modelClassElementInfoMap.put(modelClass, Collections.unmodifiableMap(elementInfoMap));
             }
@@ -398,6 +443,35 @@ public final class ModelSupport {
         }
     }
 
+    private static List<ElementInfo> buildDeclaredElementInfo(Class<?> clazz) {
+        List<ElementInfo> declaredElementInfo = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isVolatile(modifiers)) {
+                continue;
+            }
+            boolean choice = isChoice(field);
+            boolean reference = isReference(field);
+            Set<Class<?>> choiceTypes = choice ? Collections.unmodifiableSet(getChoiceTypes(field)) : Collections.emptySet();
+            Set<String> referenceTypes = reference ? Collections.unmodifiableSet(getReferenceTypes(field)) : Collections.emptySet();
+            declaredElementInfo.add(new ElementInfo(
+                    getElementName(field),
+                    getFieldType(field),
+                    clazz,
+                    isRequired(field),
+                    isRepeating(field),
+                    choice,
+                    choiceTypes,
+                    reference,
+                    referenceTypes,
+                    field.getName(),
+                    isSummary(field)
+                )
+            );
+        }
+        return declaredElementInfo;
+    }
+
     @SuppressWarnings("unchecked")
     private static Map<String, Class<? extends Resource>> buildResourceTypeMap() {
         Map<String, Class<? extends Resource>> resourceTypeMap = new LinkedHashMap<>(256);
@@ -409,20 +483,6 @@ public final class ModelSupport {
         return Collections.unmodifiableMap(resourceTypeMap);
     }
 
-    private static List<Field> getAllFields(Class<?> modelClass) {
-        List<Field> fields = new ArrayList<>();
-        for (Class<?> clazz : getClosure(modelClass)) {
-            for (Field field : clazz.getDeclaredFields()) {
-                int modifiers = field.getModifiers();
-                if (Modifier.isStatic(modifiers) || Modifier.isVolatile(modifiers)) {
-                    continue;
-                }
-                fields.add(field);
-            }
-        }
-        return fields;
-    }
-
     /**
      * @param name
      *            the name of the choice element without any type suffix
@@ -506,7 +566,10 @@ public final class ModelSupport {
      * @return the set of constraints for the modelClass or empty if there are none
      */
     public static Set<Constraint> getConstraints(Class<?> modelClass) {
-        return MODEL_CLASS_CONSTRAINT_MAP.getOrDefault(modelClass, Collections.emptySet());
+        if (!MODEL_CLASS_ELEMENT_INFO_MAP.containsKey(modelClass)) {
+            return Collections.emptySet();
+        }
+        return MODEL_CLASS_CONSTRAINT_MAP.computeIfAbsent(modelClass, ModelSupport::buildConstraints);
     }
 
     /**
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -62,9 +63,45 @@ public final class ValidationSupport {
         'w', 'x', 'y', 'z', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '/'
     };
     private static final Map<Character, Integer> BASE64_INDEX_MAP = buildBase64IndexMap();
+    private static final ThreadLocal<Boolean> TRUSTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    // the number of threads in trusted mode; while it is zero, the checks don't need to look up the thread local
+    private static final AtomicInteger TRUSTED_THREAD_COUNT = new AtomicInteger();
 
     private ValidationSupport() { }
 
+    /**
+     * Turn trusted mode on or off for the current thread. While it is on, the methods of this class skip their checks
+     * (other than the check that a required element is present) and return the passed values as-is, so that model
+     * objects can be built from data that was already validated, e.g. resources read back from the database.
+     *
+     * <p>Callers must restore the previous value when they are done:
+     * <pre>
+     * boolean previous = ValidationSupport.setTrusted(true);
+     * try {
+     *     ...
+     * } finally {
+     *     ValidationSupport.setTrusted(previous);
+     * }
+     * </pre>
+     *
+     * @return the previous value for the current thread
+     */
+    public static boolean setTrusted(boolean trusted) {
+        boolean previous = TRUSTED.get();
+        if (trusted != previous) {
+            TRUSTED.set(trusted);
+            TRUSTED_THREAD_COUNT.addAndGet(trusted ? 1 : -1);
+        }
+        return previous;
+    }
+
+    /**
+     * @return true if trusted mode is on for the current thread
+     */
+    public static boolean isTrusted() {
+        return TRUSTED_THREAD_COUNT.get() > 0 && TRUSTED.get();
+    }
+
     private static Map<Character, Integer> buildBase64IndexMap() {
         Map<Character, Integer> base64IndexMap = new LinkedHashMap<>();
         for (int i = 0; i < BASE64_CHARS.length; i++) {
@@ -82,7 +119,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String is not a valid FHIR String value
      */
     public static void checkString(String s) {
-        if (s == null) {
+        if (s == null || isTrusted()) {
             return;
         }
         if (s.length() > MAX_STRING_LENGTH) {
@@ -112,7 +149,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String is not a valid FHIR Code value
      */
     public static void checkCode(String s) {
-        if (s == null) {
+        if (s == null || isTrusted()) {
             return;
         }
         if (s.length() == 0 || Character.isWhitespace(s.charAt(0))) {
@@ -149,7 +186,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String is not a valid FHIR Id value
      */
     public static void checkId(String s) {
-        if (s == null) {
+        if (s == null || isTrusted()) {
             return;
         }
         if (s.isEmpty()) {
@@ -183,7 +220,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String is not a valid FHIR uri value
      */
     public static void checkUri(String s) {
-        if (s == null) {
+        if (s == null || isTrusted()) {
             return;
         }
         if (s.length() > MAX_STRING_LENGTH) {
@@ -200,7 +237,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String is longer than the maximum string length
      */
     public static void checkMaxLength(String value) {
-        if (value != null) {
+        if (value != null && !isTrusted()) {
             if (value.length() > MAX_STRING_LENGTH) {
                 throw new IllegalStateException(String.format("String value length: %d is greater than maximum allowed length: %d", value.length(), MAX_STRING_LENGTH));
             }
@@ -211,7 +248,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String is shorter than the minimum string length
      */
     public static void checkMinLength(String value) {
-        if (value != null) {
+        if (value != null && !isTrusted()) {
             if (value.trim().length() < MIN_STRING_LENGTH) {
                 throw new IllegalStateException(String.format("Trimmed String value length: %d is less than minimum required length: %d", value.trim().length(), MIN_STRING_LENGTH));
             }
@@ -222,7 +259,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed Integer value is less than the passed minValue
      */
     public static void checkValue(Integer value, int minValue) {
-        if (value != null) {
+        if (value != null && !isTrusted()) {
             if (value < minValue) {
                 throw new IllegalStateException(String.format("Integer value: %d is less than minimum required value: %d", value, minValue));
             }
@@ -233,7 +270,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String value does not match the passed pattern
      */
     public static void checkValue(String value, Pattern pattern) {
-        if (value != null) {
+        if (value != null && !isTrusted()) {
             if (!pattern.matcher(value).matches()) {
                 throw new IllegalStateException(String.format("String value: '%s' is not valid with respect to pattern: %s", value, pattern.pattern()));
             }
@@ -244,7 +281,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the type of the passed value is not one of the passed types
      */
     public static <T> T checkValueType(T value, Class<?>... types) {
-        if (value != null) {
+        if (value != null && !isTrusted()) {
             List<Class<?>> typeList = Arrays.asList(types);
             Class<?> valueType = value.getClass();
             if (!typeList.contains(valueType)) {
@@ -260,7 +297,7 @@ public final class ValidationSupport {
      * @apiNote Only differs from {@link #checkValueType} in that we can provide a better error message
      */
     public static <T extends Element> T choiceElement(T element, String elementName, Class<?>... types) {
-        if (element != null) {
+        if (element != null && !isTrusted()) {
             Class<?> elementType = element.getClass();
             if (Arrays.stream(types).noneMatch(t -> t.isAssignableFrom(elementType))) {
                 List<String> typeNameList = Arrays.stream(types).map(Class::getSimpleName).collect(Collectors.toList());
@@ -274,6 +311,9 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed String value is not valid XHTML
      */
     public static void checkXHTMLContent(String value) {
+        if (isTrusted()) {
+            return;
+        }
         try {
             Validator validator = THREAD_LOCAL_VALIDATOR.get();
             validator.reset();
@@ -338,6 +378,9 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed list contains any null objects
      */
     public static <T> List<T> requireNonNull(List<T> elements, String elementName) {
+        if (isTrusted()) {
+            return elements;
+        }
         if (elements.stream().anyMatch(Objects::isNull)) {
             throw new IllegalStateException(String.format("Repeating element: '%s' does not permit null elements", elementName));
         }
@@ -348,7 +391,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed element has no value and no children
      */
     public static void requireValueOrChildren(Element element) {
-        if (!element.hasValue() && !element.hasChildren()) {
+        if (!isTrusted() && !element.hasValue() && !element.hasChildren()) {
             throw new IllegalStateException("ele-1: All FHIR elements must have a @value or children");
         }
     }
@@ -357,7 +400,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed element has no children
      */
     public static void requireChildren(Resource resource) {
-        if (!resource.hasChildren()) {
+        if (!isTrusted() && !resource.hasChildren()) {
             throw new IllegalStateException("global-1: All FHIR elements must have a @value or children");
         }
     }
@@ -366,7 +409,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed element is not null
      */
     public static void prohibited(Element element, String elementName) {
-        if (element != null) {
+        if (element != null && !isTrusted()) {
             throw new IllegalStateException(String.format("Element: '%s' is prohibited.", elementName));
         }
     }
@@ -375,7 +418,7 @@ public final class ValidationSupport {
      * @throws IllegalStateException if the passed list is not empty
      */
     public static <T extends Element> void prohibited(List<T> elements, String elementName) {
-        if (!elements.isEmpty()) {
+        if (!elements.isEmpty() && !isTrusted()) {
             throw new IllegalStateException(String.format("Element: '%s' is prohibited.", elementName));
         }
     }
@@ -384,7 +427,7 @@ public final class ValidationSupport {
      * @throws IllegalStateExeption if the codeableConcept has coding elements that do not include codes from the required binding
      */
     public static void checkCodeableConcept(CodeableConcept codeableConcept, String elementName, String valueSet, String system, String... codes) {
-        if (codeableConcept != null && !codeableConcept.getCoding().isEmpty() && hasCodingWithSystemAndCodeValues(codeableConcept)) {
+        if (codeableConcept != null && !isTrusted() && !codeableConcept.getCoding().isEmpty() && hasCodingWithSystemAndCodeValues(codeableConcept)) {
             List<String> codeList = Arrays.asList(codes);
             for (Coding coding : codeableConcept.getCoding()) {
                 if (hasSystemAndCodeValues(coding) &&
@@ -419,7 +462,7 @@ public final class ValidationSupport {
      */
     public static void checkReferenceType(Reference reference, String elementName, String... referenceTypes) {
         boolean checkReferenceTypes = FHIRModelConfig.getCheckReferenceTypes();
-        if (reference != null && checkReferenceTypes) {
+        if (reference != null && checkReferenceTypes && !isTrusted()) {
             String referenceType = getReferenceType(reference);
             if (referenceType != null && !ModelSupport.isResourceType(referenceType)) {
                 throw new IllegalStateException(
@@ -481,6 +524,9 @@ public final class ValidationSupport {
     }
 
     public static void validateBase64EncodedString(String value) {
+        if (isTrusted()) {
+            return;
+        }
         int length = value.length();
         if ((length % 4) != 0) {
             throw new IllegalArgumentException("Invalid base64 string length: " + value.length());
@@ -147,6 +147,49 @@ public final class XMLSupport {
         throw new XMLStreamException("Unexpected end of stream");
     }
 
+    /**
+     * Copy the element that the reader is currently positioned on (including its attributes and descendants) to the
+     * writer. When this method returns, the reader is positioned on the END_ELEMENT event of the copied element.
+     */
+    public static void copyElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        int depth = 0;
+
+        depth++;
+        writeStartElement(reader, writer);
+
+        while (reader.hasNext()) {
+            int eventType = reader.next();
+            switch (eventType) {
+            case XMLStreamReader.START_ELEMENT:
+                depth++;
+                writeStartElement(reader, writer);
+                break;
+            case XMLStreamReader.SPACE:
+            case XMLStreamReader.CHARACTERS:
+            case XMLStreamReader.CDATA:
+                writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            case XMLStreamReader.END_ELEMENT:
+                writer.writeEndElement();
+                depth--;
+                if (depth == 0) {
+                    return;
+                }
+                break;
+            }
+        }
+
+        throw new XMLStreamException("Unexpected end of stream");
+    }
+
+    /**
+     * Write the start tag (including namespace declarations and attributes) of the element that the reader is currently
+     * positioned on to the writer.
+     */
+    public static void copyStartElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        writeStartElement(reader, writer);
+    }
+
     public static void requireNamespace(XMLStreamReader reader, String namespaceURI) throws XMLStreamException {
         reader.require(XMLStreamReader.START_ELEMENT, namespaceURI, null);
     }
@@ -148,13 +148,16 @@ public class CopyingVisitor<T extends Visitable> extends DefaultVisitor {
         BuilderWrapper wrapper = builderStack.pop();
         if (index != -1) {
             ListWrapper listWrapper = listStack.peek();
+            // No way to know if one of the other elements in the list will be dirty so we need to collect them all,
+            // but only the ones that changed need to be rebuilt
             if (wrapper.isDirty()) {
                 listWrapper.dirty(true);
-            }
-            // No way to know if one of the other elements in the list will be dirty so we need to build them all
-            Visitable item = wrapper.getBuilder().build();
-            if (item != null) {
-                listWrapper.getList().add(wrapper.getBuilder().build());
+                Visitable item = wrapper.getBuilder().build();
+                if (item != null) {
+                    listWrapper.getList().add(item);
+                }
+            } else {
+                listWrapper.getList().add(visited);
             }
         } else {
             if (builderStack.isEmpty()) {
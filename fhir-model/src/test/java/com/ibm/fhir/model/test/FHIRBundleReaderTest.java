@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.examples.ExamplesUtil;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRBundleReader;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.type.code.BundleType;
+
+public class FHIRBundleReaderTest {
+    private static final String[] EXAMPLES = {
+        "bundle-example",
+        "bundle-references",
+        "bundle-request-medsallergies",
+        "bundle-response",
+        "bundle-transaction"
+    };
+
+    @Test
+    public void testJsonSpecExamples() throws Exception {
+        for (String example : EXAMPLES) {
+            testExample(Format.JSON, "json/spec/" + example + ".json");
+        }
+    }
+
+    @Test
+    public void testXMLSpecExamples() throws Exception {
+        for (String example : EXAMPLES) {
+            testExample(Format.XML, "xml/spec/" + example + ".xml");
+        }
+    }
+
+    @Test
+    public void testGetBundle() throws Exception {
+        Bundle expected;
+        try (Reader reader = ExamplesUtil.resourceReader("json/spec/bundle-transaction.json")) {
+            expected = FHIRParser.parser(Format.JSON).parse(reader);
+        }
+        try (Reader reader = ExamplesUtil.resourceReader("json/spec/bundle-transaction.json");
+                FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(Format.JSON), reader)) {
+            assertTrue(bundleReader.hasNext());
+            assertEquals(bundleReader.getType(), BundleType.TRANSACTION);
+            Bundle.Entry first = bundleReader.next();
+            assertEquals(first, expected.getEntry().get(0));
+
+            // the entries that have not been read yet are returned with the rest of the bundle
+            Bundle actual = bundleReader.getBundle();
+            assertEquals(actual.getEntry(), expected.getEntry().subList(1, expected.getEntry().size()));
+            assertEquals(actual.toBuilder().entry(expected.getEntry()).build(), expected);
+            assertFalse(bundleReader.hasNext());
+        }
+    }
+
+    @Test
+    public void testEntryBeforeResourceType() throws Exception {
+        String json = "{\"type\":\"batch\",\"entry\":[{\"request\":{\"method\":\"GET\",\"url\":\"Patient/1\"}}],\"resourceType\":\"Bundle\"}";
+        try (FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(Format.JSON), new StringReader(json))) {
+            // the entries can't be streamed, so they are returned with the rest of the bundle
+            assertFalse(bundleReader.hasNext());
+            assertEquals(bundleReader.getType(), BundleType.BATCH);
+            Bundle bundle = bundleReader.getBundle();
+            assertEquals(bundle.getEntry().size(), 1);
+        }
+    }
+
+    @Test
+    public void testTypeAfterEntries() throws Exception {
+        String json = "{\"resourceType\":\"Bundle\",\"entry\":[{\"request\":{\"method\":\"GET\",\"url\":\"Patient/1\"}}],\"type\":\"batch\"}";
+        try (FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(Format.JSON), new StringReader(json))) {
+            assertTrue(bundleReader.hasNext());
+            assertNull(bundleReader.getType());
+            bundleReader.next();
+            assertFalse(bundleReader.hasNext());
+            assertEquals(bundleReader.getType(), BundleType.BATCH);
+            assertTrue(bundleReader.getBundle().getEntry().isEmpty());
+        }
+    }
+
+    @Test
+    public void testNotABundle() throws Exception {
+        String json = "{\"resourceType\":\"Patient\",\"id\":\"1\"}";
+        try (FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(Format.JSON), new StringReader(json))) {
+            bundleReader.hasNext();
+            fail();
+        } catch (FHIRParserException e) {
+            assertTrue(e.getMessage().startsWith("Expected resource type: 'Bundle'"));
+        }
+        String xml = "<Patient xmlns=\"http://hl7.org/fhir\"><id value=\"1\"/></Patient>";
+        try (FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(Format.XML), new StringReader(xml))) {
+            bundleReader.hasNext();
+            fail();
+        } catch (FHIRParserException e) {
+            assertTrue(e.getMessage().startsWith("Expected resource type: 'Bundle'"));
+        }
+    }
+
+    @Test
+    public void testInvalidEntry() throws Exception {
+        String json = "{\"resourceType\":\"Bundle\",\"type\":\"batch\",\"entry\":["
+                + "{\"request\":{\"method\":\"GET\",\"url\":\"Patient/1\"}},"
+                + "{\"request\":{\"method\":\"GET\",\"url\":\"Patient/2\",\"bogus\":true}}]}";
+        try (FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(Format.JSON), new StringReader(json))) {
+            bundleReader.next();
+            bundleReader.next();
+            fail();
+        } catch (FHIRParserException e) {
+            assertEquals(e.getPath(), "Bundle.entry[1].request");
+        }
+    }
+
+    @Test
+    public void testXMLElementOrder() throws Exception {
+        String xml = "<Bundle xmlns=\"http://hl7.org/fhir\">"
+                + "<entry><request><method value=\"GET\"/><url value=\"Patient/1\"/></request></entry>"
+                + "<type value=\"batch\"/>"
+                + "</Bundle>";
+        try (FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(Format.XML), new StringReader(xml))) {
+            bundleReader.next();
+            bundleReader.hasNext();
+            fail();
+        } catch (FHIRParserException e) {
+            assertTrue(e.getMessage().startsWith("Element: 'type' is out of order"));
+        }
+    }
+
+    private void testExample(Format format, String example) throws Exception {
+        Bundle expected;
+        try (Reader reader = ExamplesUtil.resourceReader(example)) {
+            expected = FHIRParser.parser(format).parse(reader);
+        }
+        List<Bundle.Entry> entries = new ArrayList<>();
+        Bundle bundle;
+        try (Reader reader = ExamplesUtil.resourceReader(example);
+                FHIRBundleReader bundleReader = FHIRBundleReader.reader(FHIRParser.parser(format), reader)) {
+            while (bundleReader.hasNext()) {
+                entries.add(bundleReader.next());
+            }
+            bundle = bundleReader.getBundle();
+        }
+        assertTrue(bundle.getEntry().isEmpty(), example);
+        assertEquals(entries, expected.getEntry(), example);
+        assertEquals(bundle.toBuilder().entry(entries).build(), expected, example);
+    }
+}
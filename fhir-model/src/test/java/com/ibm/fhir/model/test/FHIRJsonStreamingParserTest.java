@@ -0,0 +1,155 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.examples.ExamplesUtil;
+import com.ibm.fhir.examples.Index;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRJsonParser;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Observation;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.Quantity;
+
+public class FHIRJsonStreamingParserTest {
+    private static final String PATIENT = "{"
+            + "\"_birthDate\":{\"extension\":[{\"url\":\"http://example.com/ext\",\"valueString\":\"x\"}]},"
+            + "\"resourceType\":\"Patient\","
+            + "\"id\":\"1\","
+            + "\"name\":[{\"family\":\"Doe\",\"given\":[\"John\",\"Q\"],\"_given\":[null,{\"id\":\"g2\"}]}],"
+            + "\"contained\":[{\"id\":\"o\",\"resourceType\":\"Organization\",\"name\":\"Acme\"}],"
+            + "\"birthDate\":\"1970-01-01\","
+            + "\"active\":true"
+            + "}";
+
+    @Test
+    public void testSpecExamples() throws Exception {
+        int count = 0;
+        try (BufferedReader indexReader = new BufferedReader(ExamplesUtil.indexReader(Index.ALL_JSON))) {
+            String line;
+            while ((line = indexReader.readLine()) != null) {
+                String[] tokens = line.split("\\s+");
+                if (tokens.length != 2 || !tokens[1].endsWith(".json")) {
+                    continue;
+                }
+                String example = tokens[1];
+                String json;
+                try (BufferedReader reader = new BufferedReader(ExamplesUtil.resourceReader(example))) {
+                    json = reader.lines().collect(Collectors.joining("\n"));
+                } catch (FileNotFoundException e) {
+                    // some of the larger examples are not packaged
+                    continue;
+                }
+                Resource expected = null;
+                String expectedMessage = null;
+                try {
+                    expected = FHIRParser.parser(Format.JSON).parse(new StringReader(json));
+                } catch (FHIRParserException e) {
+                    expectedMessage = e.getMessage();
+                }
+                try {
+                    Resource actual = streamingParser().parse(new StringReader(json));
+                    assertNotNull(expected, example + " was parsed by the streaming parser but not the JsonObject parser: " + expectedMessage);
+                    assertEquals(actual, expected, example);
+                } catch (FHIRParserException e) {
+                    assertTrue(expected == null, example + " was parsed by the JsonObject parser but not the streaming parser: " + e.getMessage());
+                }
+                count++;
+            }
+        }
+        assertTrue(count > 0);
+    }
+
+    @Test
+    public void testKeyOrder() throws Exception {
+        Patient patient = streamingParser().parse(new StringReader(PATIENT));
+        assertEquals(patient, FHIRParser.parser(Format.JSON).parse(new StringReader(PATIENT)));
+        assertEquals(patient.getBirthDate().getExtension().size(), 1);
+        assertEquals(patient.getName().get(0).getGiven().get(1).getId(), "g2");
+        assertEquals(patient.getContained().size(), 1);
+    }
+
+    @Test
+    public void testResourceTypeNotFirst() throws Exception {
+        String json = "{\"id\":\"1\",\"resourceType\":\"Patient\",\"active\":true}";
+        Patient patient = streamingParser().parse(new StringReader(json));
+        assertEquals(patient.getId(), "1");
+        assertTrue(patient.getActive().getValue());
+    }
+
+    @Test
+    public void testChoiceElement() throws Exception {
+        String json = "{\"resourceType\":\"Observation\",\"status\":\"final\",\"code\":{\"text\":\"weight\"},"
+                + "\"valueQuantity\":{\"value\":70,\"unit\":\"kg\"}}";
+        Observation observation = streamingParser().parse(new StringReader(json));
+        assertEquals(observation.getValue().as(Quantity.class).getUnit().getValue(), "kg");
+    }
+
+    @Test
+    public void testFilter() throws Exception {
+        List<String> elementsToInclude = Arrays.asList("name");
+        Patient expected = FHIRParser.parser(Format.JSON).as(FHIRJsonParser.class).parseAndFilter(new StringReader(PATIENT), elementsToInclude);
+        Patient actual = streamingParser().as(FHIRJsonParser.class).parseAndFilter(new StringReader(PATIENT), elementsToInclude);
+        assertEquals(actual, expected);
+        assertFalse(actual.getName().isEmpty());
+        assertTrue(actual.getContained().isEmpty());
+        assertTrue(actual.getActive() == null);
+        assertTrue(actual.getBirthDate() == null);
+    }
+
+    @Test
+    public void testUnrecognizedElements() throws Exception {
+        try (InputStream in = FHIRJsonStreamingParserTest.class.getClassLoader().getResourceAsStream("JSON/observation-unrecognized-elements.json")) {
+            streamingParser().parse(in);
+            fail();
+        } catch (FHIRParserException e) {
+            assertTrue(e.getMessage().startsWith("Unrecognized element"));
+        }
+        try (InputStream in = FHIRJsonStreamingParserTest.class.getClassLoader().getResourceAsStream("JSON/observation-unrecognized-elements.json")) {
+            FHIRParser parser = streamingParser();
+            parser.setProperty(FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS, true);
+            assertNotNull(parser.parse(in));
+        }
+    }
+
+    @Test
+    public void testInvalidElementType() throws Exception {
+        String json = "{\"resourceType\":\"Patient\",\"name\":{\"family\":\"Doe\"}}";
+        try (Reader reader = new StringReader(json)) {
+            streamingParser().parse(reader);
+            fail();
+        } catch (FHIRParserException e) {
+            assertTrue(e.getMessage().startsWith("Expected: JsonArray but found: OBJECT for element: name"));
+            assertEquals(e.getPath(), "Patient");
+        }
+    }
+
+    private FHIRParser streamingParser() {
+        FHIRParser parser = FHIRParser.parser(Format.JSON);
+        parser.setProperty(FHIRParser.PROPERTY_STREAMING, true);
+        return parser;
+    }
+}
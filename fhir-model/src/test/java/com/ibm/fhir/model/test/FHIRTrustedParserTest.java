@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+import java.io.StringReader;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.Id;
+import com.ibm.fhir.model.util.ValidationSupport;
+
+public class FHIRTrustedParserTest {
+    private static final String VALID_JSON = "{"
+            + "\"resourceType\":\"Patient\","
+            + "\"id\":\"1\","
+            + "\"text\":{\"status\":\"generated\",\"div\":\"<div xmlns=\\\"http://www.w3.org/1999/xhtml\\\"><p>John <b>Doe</b></p></div>\"},"
+            + "\"name\":[{\"family\":\"Doe\",\"given\":[\"John\"]}],"
+            + "\"managingOrganization\":{\"reference\":\"Organization/1\"}"
+            + "}";
+
+    // the id, the narrative and the reference are all invalid
+    private static final String INVALID_JSON = "{"
+            + "\"resourceType\":\"Patient\","
+            + "\"id\":\"not a valid id\","
+            + "\"text\":{\"status\":\"generated\",\"div\":\"<div><p>no namespace</p></div>\"},"
+            + "\"managingOrganization\":{\"reference\":\"Patient/1\"}"
+            + "}";
+
+    private static final String VALID_XML = "<Patient xmlns=\"http://hl7.org/fhir\">"
+            + "<id value=\"1\"/>"
+            + "<text><status value=\"generated\"/><div xmlns=\"http://www.w3.org/1999/xhtml\"><p>John <b>Doe</b></p></div></text>"
+            + "<name><family value=\"Doe\"/><given value=\"John\"/></name>"
+            + "</Patient>";
+
+    @Test
+    public void testValidInput() throws Exception {
+        Patient expected = FHIRParser.parser(Format.JSON).parse(new StringReader(VALID_JSON));
+        Patient actual = trustedParser(Format.JSON).parse(new StringReader(VALID_JSON));
+        assertEquals(actual, expected);
+
+        expected = FHIRParser.parser(Format.XML).parse(new StringReader(VALID_XML));
+        actual = trustedParser(Format.XML).parse(new StringReader(VALID_XML));
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testStreamingValidInput() throws Exception {
+        FHIRParser parser = trustedParser(Format.JSON);
+        parser.setProperty(FHIRParser.PROPERTY_STREAMING, true);
+        Patient actual = parser.parse(new StringReader(VALID_JSON));
+        assertEquals(actual, FHIRParser.parser(Format.JSON).parse(new StringReader(VALID_JSON)));
+    }
+
+    @Test
+    public void testInvalidInput() throws Exception {
+        try {
+            FHIRParser.parser(Format.JSON).parse(new StringReader(INVALID_JSON));
+            fail();
+        } catch (FHIRParserException e) {
+            // expected
+        }
+
+        // checks are skipped in trusted mode
+        Patient patient = trustedParser(Format.JSON).parse(new StringReader(INVALID_JSON));
+        assertEquals(patient.getId(), "not a valid id");
+        assertEquals(patient.getManagingOrganization().getReference().getValue(), "Patient/1");
+    }
+
+    @Test
+    public void testTrustedModeIsRestored() throws Exception {
+        trustedParser(Format.JSON).parse(new StringReader(VALID_JSON));
+        assertFalse(ValidationSupport.isTrusted());
+        try {
+            trustedParser(Format.JSON).parse(new StringReader("{\"resourceType\":\"Patient\",\"unknown\":true}"));
+            fail();
+        } catch (FHIRParserException e) {
+            // expected
+        }
+        assertFalse(ValidationSupport.isTrusted());
+        try {
+            Id.of("not a valid id");
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static FHIRParser trustedParser(Format format) {
+        FHIRParser parser = FHIRParser.parser(format);
+        parser.setProperty(FHIRParser.PROPERTY_TRUSTED, true);
+        return parser;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.generator.PayloadPassThrough;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Bundle.Entry;
+import com.ibm.fhir.model.resource.Observation;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.Boolean;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.CodeableConcept;
+import com.ibm.fhir.model.type.Coding;
+import com.ibm.fhir.model.type.Reference;
+import com.ibm.fhir.model.type.String;
+import com.ibm.fhir.model.type.UnsignedInt;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.model.type.code.ObservationStatus;
+import com.ibm.fhir.model.type.code.SearchEntryMode;
+
+public class PayloadPassThroughTest {
+    private static final java.lang.String SPLICED = "{\"resourceType\":\"Patient\",\"id\":\"spliced\"}";
+
+    @AfterMethod
+    public void cleanup() {
+        PayloadPassThrough.disable();
+    }
+
+    @Test
+    public void testResource() throws Exception {
+        Patient patient = buildPatient("1");
+        java.lang.String expected = generate(patient, false);
+
+        PayloadPassThrough.enable();
+        PayloadPassThrough.register(patient, gzip(expected), true);
+        assertEquals(generate(patient, false), expected);
+
+        PayloadPassThrough.register(patient, SPLICED.getBytes(StandardCharsets.UTF_8), false);
+        assertEquals(generate(patient, false), SPLICED);
+    }
+
+    @Test
+    public void testBundle() throws Exception {
+        Patient patient1 = buildPatient("1");
+        Patient patient2 = buildPatient("2");
+        Patient contained = buildPatient("3");
+        Observation observation = Observation.builder()
+                .id("4")
+                .contained(contained)
+                .status(ObservationStatus.FINAL)
+                .code(CodeableConcept.builder().coding(Coding.builder().code(Code.of("code")).build()).build())
+                .subject(Reference.builder().reference(String.of("#3")).build())
+                .build();
+        Bundle bundle = Bundle.builder()
+                .type(BundleType.SEARCHSET)
+                .total(UnsignedInt.of(3))
+                .entry(Entry.builder()
+                    .fullUrl(Uri.of("Patient/1"))
+                    .resource(patient1)
+                    .search(Entry.Search.builder().mode(SearchEntryMode.MATCH).build())
+                    .build())
+                // resource is the first member of this entry
+                .entry(Entry.builder()
+                    .resource(patient2)
+                    .search(Entry.Search.builder().mode(SearchEntryMode.MATCH).build())
+                    .build())
+                .entry(Entry.builder()
+                    .fullUrl(Uri.of("Observation/4"))
+                    .resource(observation)
+                    .build())
+                .build();
+        java.lang.String expected = generate(bundle, false);
+        java.lang.String containedJson = generate(contained, false);
+
+        PayloadPassThrough.enable();
+        register(patient1);
+        register(patient2);
+        register(observation);
+        assertEquals(generate(bundle, false), expected);
+
+        // contained resources are spliced into an array
+        PayloadPassThrough.disable();
+        PayloadPassThrough.enable();
+        PayloadPassThrough.register(contained, SPLICED.getBytes(StandardCharsets.UTF_8), false);
+        assertEquals(generate(bundle, false), expected.replace(containedJson, SPLICED));
+
+        // payloads are not used for pretty-printed output
+        assertFalse(generate(bundle, true).contains("spliced"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        Patient patient = buildPatient("1");
+        java.lang.String expected = generate(patient, false);
+
+        // register does nothing while pass-through is disabled
+        PayloadPassThrough.register(patient, SPLICED.getBytes(StandardCharsets.UTF_8), false);
+        PayloadPassThrough.enable();
+        assertEquals(generate(patient, false), expected);
+    }
+
+    private void register(Resource resource) throws Exception {
+        PayloadPassThrough.register(resource, gzip(generate(resource, false)), true);
+    }
+
+    private Patient buildPatient(java.lang.String id) {
+        return Patient.builder()
+                .id(id)
+                .active(Boolean.TRUE)
+                .build();
+    }
+
+    private java.lang.String generate(Resource resource, boolean prettyPrinting) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FHIRGenerator.generator(Format.JSON, prettyPrinting).generate(resource, out);
+        return new java.lang.String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] gzip(java.lang.String json) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream zipStream = new GZIPOutputStream(out)) {
+            zipStream.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.util.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.annotation.Binding;
+import com.ibm.fhir.model.annotation.Choice;
+import com.ibm.fhir.model.annotation.Constraint;
+import com.ibm.fhir.model.annotation.ReferenceTarget;
+import com.ibm.fhir.model.annotation.Required;
+import com.ibm.fhir.model.annotation.Summary;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.model.util.ModelSupport.ElementInfo;
+
+/**
+ * Checks the element metadata that ModelSupport loads from the generated tables against the annotations on the model
+ * classes themselves
+ */
+public class ModelSupportTest {
+    @Test
+    public void testElementInfoMatchesModelClasses() {
+        for (Class<?> modelClass : ModelSupport.getModelClasses()) {
+            List<Field> fields = getFields(modelClass);
+            Collection<ElementInfo> elementInfos = ModelSupport.getElementInfo(modelClass);
+            assertEquals(elementInfos.size(), fields.size(), modelClass.getName());
+
+            int i = 0;
+            for (ElementInfo elementInfo : elementInfos) {
+                Field field = fields.get(i++);
+                String message = modelClass.getName() + "." + field.getName();
+                assertEquals(elementInfo.getName(), ModelSupport.getElementName(field), message);
+                assertEquals(elementInfo.getType(), getType(field), message);
+                assertEquals(elementInfo.getDeclaringType(), field.getDeclaringClass(), message);
+                assertEquals(elementInfo.isRequired(), field.isAnnotationPresent(Required.class), message);
+                assertEquals(elementInfo.isSummary(), field.isAnnotationPresent(Summary.class), message);
+                assertEquals(elementInfo.isRepeating(), List.class.equals(field.getType()), message);
+                assertEquals(elementInfo.isChoice(), field.isAnnotationPresent(Choice.class), message);
+                if (elementInfo.isChoice()) {
+                    assertEquals(elementInfo.getChoiceTypes(), new LinkedHashSet<>(Arrays.asList(field.getAnnotation(Choice.class).value())), message);
+                }
+                assertEquals(elementInfo.isReference(), field.isAnnotationPresent(ReferenceTarget.class), message);
+                if (elementInfo.isReference()) {
+                    assertEquals(elementInfo.getReferenceTypes(), new LinkedHashSet<>(Arrays.asList(field.getAnnotation(ReferenceTarget.class).value())), message);
+                }
+                assertEquals(elementInfo.getBinding(), field.getAnnotation(Binding.class), message);
+            }
+        }
+    }
+
+    @Test
+    public void testConstraints() {
+        assertFalse(ModelSupport.getConstraints(Patient.class).isEmpty());
+        for (Constraint constraint : Patient.class.getDeclaredAnnotationsByType(Constraint.class)) {
+            assertTrue(ModelSupport.getConstraints(Patient.class).contains(constraint));
+        }
+        assertTrue(ModelSupport.getConstraints(String.class).isEmpty());
+        assertNotNull(ModelSupport.getElementInfo(Patient.class, "gender").getBinding());
+    }
+
+    private List<Field> getFields(Class<?> modelClass) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> clazz : ModelSupport.getClosure(modelClass)) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isVolatile(modifiers)) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private Class<?> getType(Field field) {
+        if (field.getGenericType() instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+        }
+        return field.getType();
+    }
+}
@@ -15,6 +15,10 @@ public class FHIRNotificationEvent {
     private String resourceId = null;
     private Resource resource = null;
 
+    // the serialized forms of this event, cached by FHIRNotificationUtil.toJsonString
+    private String jsonString = null;
+    private String jsonStringWithResource = null;
+
     public FHIRNotificationEvent() {
     }
 
@@ -24,6 +28,7 @@ public class FHIRNotificationEvent {
 
     public void setResourceId(String resourceId) {
         this.resourceId = resourceId;
+        clearJsonString();
     }
 
     public String getLastUpdated() {
@@ -32,6 +37,7 @@ public class FHIRNotificationEvent {
 
     public void setLastUpdated(String lastUpdated) {
         this.lastUpdated = lastUpdated;
+        clearJsonString();
     }
 
     public String getLocation() {
@@ -40,6 +46,7 @@ public class FHIRNotificationEvent {
 
     public void setLocation(String location) {
         this.location = location;
+        clearJsonString();
     }
 
     public String getOperationType() {
@@ -48,6 +55,7 @@ public class FHIRNotificationEvent {
 
     public void setOperationType(String operationType) {
         this.operationType = operationType;
+        clearJsonString();
     }
 
     @Override
@@ -68,5 +76,34 @@ public class FHIRNotificationEvent {
 
     public void setResource(Resource resource) {
         this.resource = resource;
+        clearJsonString();
+    }
+
+    /**
+     * Returns the serialized form of this event that was cached with {@link #setJsonString(boolean, String)}.
+     * @param includeResource whether the serialized form includes the resource
+     * @return the serialized form, or null if it was not cached yet
+     */
+    public String getJsonString(boolean includeResource) {
+        return includeResource ? jsonStringWithResource : jsonString;
+    }
+
+    /**
+     * Caches a serialized form of this event, so that it is serialized only once no matter how many subscribers
+     * publish it. The cache is cleared by any change to the event.
+     * @param includeResource whether the serialized form includes the resource
+     * @param jsonString the serialized form
+     */
+    public void setJsonString(boolean includeResource, String jsonString) {
+        if (includeResource) {
+            this.jsonStringWithResource = jsonString;
+        } else {
+            this.jsonString = jsonString;
+        }
+    }
+
+    private void clearJsonString() {
+        jsonString = null;
+        jsonStringWithResource = null;
     }
 }
@@ -11,11 +11,18 @@ import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.naming.InitialContext;
+import javax.transaction.Status;
+import javax.transaction.TransactionSynchronizationRegistry;
+
 import com.ibm.fhir.config.FHIRConfiguration;
+import com.ibm.fhir.config.PropertyGroup;
 import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.notification.async.FHIRNotificationDispatcher;
 import com.ibm.fhir.notification.exception.FHIRNotificationException;
 import com.ibm.fhir.persistence.interceptor.FHIRPersistenceEvent;
 import com.ibm.fhir.persistence.interceptor.FHIRPersistenceInterceptor;
@@ -24,12 +31,25 @@ import com.ibm.fhir.persistence.interceptor.impl.FHIRPersistenceInterceptorMgr;
 
 /**
  * This class coordinates the activities of the FHIR Server notification service.
+ *
+ * <p>Events for persistence operations that run in a JTA transaction are held back until that transaction commits,
+ * and are discarded if it rolls back. By default, each event is then delivered to the subscribers one after the other
+ * on the committing thread. When {@link FHIRConfiguration#PROPERTY_NOTIFICATION_ASYNC_QUEUE_SIZE} is greater than 0,
+ * the events are handed to a {@link FHIRNotificationDispatcher} instead, which delivers them to each subscriber on a
+ * background thread.
  */
 public class FHIRNotificationService implements FHIRPersistenceInterceptor {
     private static final Logger log = java.util.logging.Logger.getLogger(FHIRNotificationService.class.getName());
+    private static final String TRX_SYNCH_REG_JNDI_NAME = "java:comp/TransactionSynchronizationRegistry";
+    private static final int DEFAULT_ASYNC_BATCH_SIZE = 100;
+    private static final int DEFAULT_ASYNC_SHUTDOWN_TIMEOUT = 30;
     private List<FHIRNotificationSubscriber> subscribers = new CopyOnWriteArrayList<FHIRNotificationSubscriber>();
     private static final FHIRNotificationService INSTANCE = new FHIRNotificationService();
     private Set<String> includedResourceTypes = Collections.synchronizedSortedSet(new TreeSet<String>());
+    private FHIRNotificationDispatcher dispatcher = null;
+    private int shutdownTimeout = DEFAULT_ASYNC_SHUTDOWN_TIMEOUT;
+    private TransactionSynchronizationRegistry trxSynchRegistry = null;
+    private boolean trxSynchRegistryUnavailable = false;
 
     private FHIRNotificationService() {
         log.entering(this.getClass().getName(), "FHIRNotificationService");
@@ -38,6 +58,7 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
         // interceptor methods to trigger the 'publish' of the notification events.
         FHIRPersistenceInterceptorMgr.getInstance().addPrioritizedInterceptor(this);
         initNotificationResourceTypes();
+        initDispatcher();
         } catch (Throwable t) {
             throw new RuntimeException("Unexpected error during initialization.", t);
         }
@@ -57,6 +78,17 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
                 + (includedResourceTypes.isEmpty() ? "ALL" : "\n" + includedResourceTypes.toString()));
     }
 
+    private void initDispatcher() throws Exception {
+        PropertyGroup fhirConfig = FHIRConfiguration.getInstance().loadConfiguration();
+        int queueSize = fhirConfig.getIntProperty(FHIRConfiguration.PROPERTY_NOTIFICATION_ASYNC_QUEUE_SIZE, 0);
+        if (queueSize > 0) {
+            int batchSize = fhirConfig.getIntProperty(FHIRConfiguration.PROPERTY_NOTIFICATION_ASYNC_BATCH_SIZE, DEFAULT_ASYNC_BATCH_SIZE);
+            shutdownTimeout = fhirConfig.getIntProperty(FHIRConfiguration.PROPERTY_NOTIFICATION_ASYNC_SHUTDOWN_TIMEOUT, DEFAULT_ASYNC_SHUTDOWN_TIMEOUT);
+            dispatcher = new FHIRNotificationDispatcher(queueSize, batchSize, this::unsubscribe);
+            log.info("Publishing notification events asynchronously: queueSize=" + queueSize + ", batchSize=" + batchSize);
+        }
+    }
+
     public static FHIRNotificationService getInstance() {
         return INSTANCE;
     }
@@ -64,11 +96,18 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
     /**
      * Method for broadcasting message to each subscriber.
      *
+     * <p>When asynchronous publishing is enabled, the event is only queued for each subscriber; it must not be
+     * modified afterwards.
+     *
      * @param event
      */
     public void publish(FHIRNotificationEvent event) {
         log.entering(this.getClass().getName(), "publish");
         for (FHIRNotificationSubscriber subscriber : subscribers) {
+            if (dispatcher != null) {
+                dispatcher.dispatch(subscriber, event);
+                continue;
+            }
             try {
                 subscriber.notify(event);
             } catch (FHIRNotificationException e) {
@@ -79,6 +118,21 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
         log.exiting(this.getClass().getName(), "publish");
     }
 
+    /**
+     * Delivers the events that are still queued for asynchronous publishing, waiting at most for the configured
+     * shutdown timeout, and stops the background threads. Events published afterwards are dropped.
+     */
+    public void shutdown() {
+        log.entering(this.getClass().getName(), "shutdown");
+        try {
+            if (dispatcher != null) {
+                dispatcher.close(shutdownTimeout, TimeUnit.SECONDS);
+            }
+        } finally {
+            log.exiting(this.getClass().getName(), "shutdown");
+        }
+    }
+
     /**
      * Method to subscribe the target notification implementation
      *
@@ -106,6 +160,9 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
             if (subscribers.contains(subscriber)) {
                 subscribers.remove(subscriber);
             }
+            if (dispatcher != null) {
+                dispatcher.remove(subscriber);
+            }
         } finally {
             log.exiting(this.getClass().getName(), "unsubscribe");
         }
@@ -129,20 +186,20 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
     ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // The following set of methods are from the FHIRPersistenceInterceptor interface and are implemented here to allow
     // the notification service to be registered as a persistence interceptor. All we really need to do in these methods
-    // is perform the "publish" action.
+    // is perform the "publish" action (once the transaction commits).
     ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     @Override
     public void afterCreate(FHIRPersistenceEvent pEvent) throws FHIRPersistenceInterceptorException {
         if (shouldPublish(pEvent)) {
-            this.publish(buildNotificationEvent("create", pEvent));
+            publishAfterCommit(buildNotificationEvent("create", pEvent));
         }
     }
 
     @Override
     public void afterUpdate(FHIRPersistenceEvent pEvent) throws FHIRPersistenceInterceptorException {
         if (shouldPublish(pEvent)) {
-            this.publish(buildNotificationEvent("update", pEvent));
+            publishAfterCommit(buildNotificationEvent("update", pEvent));
         }
     }
 
@@ -156,6 +213,50 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
         // Nothing to do for 'beforeUpdate'.
     }
 
+    /**
+     * Publishes the event once the JTA transaction of the current thread commits, or right away if there is no such
+     * transaction. The events of a transaction are published in the order in which they occurred.
+     */
+    private void publishAfterCommit(FHIRNotificationEvent event) {
+        log.entering(this.getClass().getName(), "publishAfterCommit");
+        try {
+            TransactionSynchronizationRegistry registry = getTrxSynchRegistry();
+            if (registry == null || registry.getTransactionKey() == null) {
+                publish(event);
+                return;
+            }
+            if (registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+                log.fine("Transaction will not commit, discarding notification event: " + event);
+                return;
+            }
+            PendingNotifications pending = (PendingNotifications) registry.getResource(PendingNotifications.class);
+            if (pending == null) {
+                pending = new PendingNotifications(this::publish);
+                registry.putResource(PendingNotifications.class, pending);
+                registry.registerInterposedSynchronization(pending);
+            }
+            pending.add(event);
+        } finally {
+            log.exiting(this.getClass().getName(), "publishAfterCommit");
+        }
+    }
+
+    /**
+     * Looks up the TransactionSynchronizationRegistry on first use.
+     * @return the registry, or null if it is not available (e.g. outside of the server)
+     */
+    private TransactionSynchronizationRegistry getTrxSynchRegistry() {
+        if (trxSynchRegistry == null && !trxSynchRegistryUnavailable) {
+            try {
+                trxSynchRegistry = (TransactionSynchronizationRegistry) new InitialContext().lookup(TRX_SYNCH_REG_JNDI_NAME);
+            } catch (Throwable t) {
+                trxSynchRegistryUnavailable = true;
+                log.log(Level.FINE, "TrxSynchRegistry service is not available, notification events are published right away", t);
+            }
+        }
+        return trxSynchRegistry;
+    }
+
     /**
      * Returns true iff we should publish the specified persistence event as a notification event.
      */
@@ -0,0 +1,54 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+/**
+ * Holds the notification events of a transaction until it completes. The events are published in the order in which
+ * they were added if the transaction commits, and discarded otherwise.
+ */
+class PendingNotifications implements Synchronization {
+    private static final Logger log = Logger.getLogger(PendingNotifications.class.getName());
+
+    private final Consumer<FHIRNotificationEvent> publisher;
+    private final List<FHIRNotificationEvent> events = new ArrayList<>();
+
+    /**
+     * @param publisher - Publishes a single event once the transaction commits.
+     */
+    PendingNotifications(Consumer<FHIRNotificationEvent> publisher) {
+        this.publisher = publisher;
+    }
+
+    void add(FHIRNotificationEvent event) {
+        events.add(event);
+    }
+
+    @Override
+    public void beforeCompletion() {
+    }
+
+    @Override
+    public void afterCompletion(int completionStatus) {
+        if (completionStatus == Status.STATUS_COMMITTED) {
+            for (FHIRNotificationEvent event : events) {
+                publisher.accept(event);
+            }
+        } else if (log.isLoggable(Level.FINE)) {
+            log.fine("Transaction did not commit, discarding " + events.size() + " notification events");
+        }
+        events.clear();
+    }
+}
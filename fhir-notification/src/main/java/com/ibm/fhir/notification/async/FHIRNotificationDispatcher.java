@@ -0,0 +1,322 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.notification.async;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.ibm.fhir.notification.FHIRNotificationEvent;
+import com.ibm.fhir.notification.FHIRNotificationSubscriber;
+
+/**
+ * Delivers notification events to subscribers on background threads, so that publishing an event does not wait for
+ * the subscribers.
+ *
+ * <p>Each subscriber gets its own bounded queue and worker thread, so a slow subscriber only delays its own events.
+ * The worker takes up to batchSize events at a time from the queue and hands them to the subscriber with one call to
+ * {@link FHIRNotificationSubscriber#notify(List)}. When the queue of a subscriber is full, the event is dropped for that
+ * subscriber. A subscriber that fails to accept a batch is removed and the failure handler is invoked for it.
+ *
+ * <p>{@link #close(long, TimeUnit)} delivers the events that are still queued before it returns. The metrics of the
+ * dispatcher are registered as the MXBean {@value #OBJECT_NAME}.
+ */
+public class FHIRNotificationDispatcher implements FHIRNotificationDispatcherMXBean {
+    private static final Logger log = Logger.getLogger(FHIRNotificationDispatcher.class.getName());
+    private static final String CLASSNAME = FHIRNotificationDispatcher.class.getName();
+    public static final String OBJECT_NAME = "com.ibm.fhir.notification:type=FHIRNotificationDispatcher";
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final int queueSize;
+    private final int batchSize;
+    private final Consumer<FHIRNotificationSubscriber> failureHandler;
+    private final Map<FHIRNotificationSubscriber, SubscriberQueue> queues = new ConcurrentHashMap<>();
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile long lastLagMillis = 0;
+    private volatile long maxLagMillis = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * @param queueSize - The maximum number of events waiting to be delivered to a single subscriber.
+     * @param batchSize - The maximum number of events delivered to a subscriber with one call.
+     * @param failureHandler - Invoked (on the worker thread) with a subscriber that failed to accept a batch.
+     */
+    public FHIRNotificationDispatcher(int queueSize, int batchSize, Consumer<FHIRNotificationSubscriber> failureHandler) {
+        if (queueSize < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("The notification queue size and batch size must be greater than 0");
+        }
+        this.queueSize = queueSize;
+        this.batchSize = batchSize;
+        this.failureHandler = failureHandler;
+
+        registerMXBean();
+    }
+
+    /**
+     * Queues the passed event for delivery to the passed subscriber.
+     *
+     * <p>The same event instance may be queued for any number of subscribers; it must not be modified afterwards.
+     *
+     * @param subscriber - The subscriber to deliver the event to.
+     * @param event - The event.
+     */
+    public void dispatch(FHIRNotificationSubscriber subscriber, FHIRNotificationEvent event) {
+        if (closed) {
+            drop(1);
+            return;
+        }
+        QueuedEvent queuedEvent = new QueuedEvent(event, System.nanoTime());
+        queues.computeIfAbsent(subscriber, SubscriberQueue::new).offer(queuedEvent);
+    }
+
+    /**
+     * Stops delivering events to the passed subscriber. Events that are still queued for the subscriber are dropped.
+     *
+     * @param subscriber - The subscriber.
+     */
+    public void remove(FHIRNotificationSubscriber subscriber) {
+        SubscriberQueue queue = queues.remove(subscriber);
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    /**
+     * Stops accepting events and delivers the events that are still queued. Events that could not be delivered within
+     * the timeout are dropped.
+     */
+    public void close(long timeout, TimeUnit unit) {
+        final String METHODNAME = "close";
+        log.entering(CLASSNAME, METHODNAME);
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (SubscriberQueue queue : queues.values()) {
+            try {
+                queue.worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        int remaining = 0;
+        for (SubscriberQueue queue : queues.values()) {
+            if (queue.worker.isAlive()) {
+                queue.worker.interrupt();
+            }
+            remaining += queue.stop();
+        }
+        queues.clear();
+        if (remaining > 0) {
+            log.warning("Unable to deliver " + remaining + " queued notification events before shutdown");
+        }
+
+        unregisterMXBean();
+        log.info("Stopped notification dispatcher: published=" + publishedCount.get() + ", dropped=" + droppedCount.get()
+                + ", failed=" + failedCount.get());
+
+        log.exiting(CLASSNAME, METHODNAME);
+    }
+
+    private void drop(int count) {
+        long dropped = droppedCount.addAndGet(count);
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Dropped " + count + " notification events; total dropped: " + dropped);
+        }
+    }
+
+    private void registerMXBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.registerMBean(this, name);
+            } catch (InstanceAlreadyExistsException e) {
+                // replace the dispatcher of a previous notification service instance
+                server.unregisterMBean(name);
+                server.registerMBean(this, name);
+            }
+        } catch (Exception e) {
+            log.log(Level.WARNING, "Unable to register the notification dispatcher metrics", e);
+        }
+    }
+
+    private void unregisterMXBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            log.log(Level.FINE, "Unable to unregister the notification dispatcher metrics", e);
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return queues.size();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        int depth = 0;
+        for (SubscriberQueue queue : queues.values()) {
+            depth += queue.queue.size();
+        }
+        return depth;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueSize;
+    }
+
+    @Override
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    @Override
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * The queue and worker thread of a single subscriber
+     */
+    private final class SubscriberQueue implements Runnable {
+        private final FHIRNotificationSubscriber subscriber;
+        private final BlockingQueue<QueuedEvent> queue = new ArrayBlockingQueue<>(queueSize);
+        private final Thread worker;
+        private volatile boolean stopped = false;
+
+        private SubscriberQueue(FHIRNotificationSubscriber subscriber) {
+            this.subscriber = subscriber;
+            worker = new Thread(this, "fhir-notification-" + subscriber.getClass().getSimpleName());
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        private void offer(QueuedEvent queuedEvent) {
+            if (stopped || !queue.offer(queuedEvent)) {
+                drop(1);
+            }
+        }
+
+        /**
+         * Makes the worker exit and drops the events that are still queued
+         *
+         * @return the number of dropped events
+         */
+        private int stop() {
+            stopped = true;
+            List<QueuedEvent> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            if (!remaining.isEmpty()) {
+                drop(remaining.size());
+            }
+            return remaining.size();
+        }
+
+        @Override
+        public void run() {
+            List<QueuedEvent> batch = new ArrayList<>(batchSize);
+            while (!stopped) {
+                try {
+                    QueuedEvent first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (closed) {
+                            return;
+                        }
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    send(batch);
+                    batch.clear();
+                } catch (InterruptedException e) {
+                    // close timed out; the remaining events are dropped there
+                    return;
+                }
+            }
+        }
+
+        private void send(List<QueuedEvent> batch) {
+            List<FHIRNotificationEvent> events = new ArrayList<>(batch.size());
+            for (QueuedEvent queuedEvent : batch) {
+                events.add(queuedEvent.event);
+            }
+            try {
+                subscriber.notify(events);
+                publishedCount.addAndGet(events.size());
+                // the first event of the batch is the one that waited the longest
+                long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.get(0).queuedNanos);
+                lastLagMillis = lag;
+                if (lag > maxLagMillis) {
+                    maxLagMillis = lag;
+                }
+            } catch (Exception e) {
+                failedCount.addAndGet(events.size());
+                log.log(Level.WARNING, "Failed to deliver " + events.size() + " notification events; removing subscriber "
+                        + subscriber, e);
+                if (queues.remove(subscriber, this)) {
+                    stop();
+                    failureHandler.accept(subscriber);
+                }
+            }
+        }
+    }
+
+    private static final class QueuedEvent {
+        private final FHIRNotificationEvent event;
+        private final long queuedNanos;
+
+        private QueuedEvent(FHIRNotificationEvent event, long queuedNanos) {
+            this.event = event;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+}
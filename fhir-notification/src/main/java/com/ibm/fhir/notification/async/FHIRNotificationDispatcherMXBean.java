@@ -0,0 +1,54 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.notification.async;
+
+/**
+ * The metrics of the {@link FHIRNotificationDispatcher}, as exposed through JMX.
+ */
+public interface FHIRNotificationDispatcherMXBean {
+
+    /**
+     * @return the number of subscribers that have a queue
+     */
+    int getSubscriberCount();
+
+    /**
+     * @return the number of events waiting in the queues of all subscribers
+     */
+    int getQueueDepth();
+
+    /**
+     * @return the maximum number of events that the queue of a single subscriber can hold
+     */
+    int getQueueCapacity();
+
+    /**
+     * @return the number of events that were delivered to a subscriber
+     */
+    long getPublishedCount();
+
+    /**
+     * @return the number of events that were discarded because the queue of a subscriber was full or the subscriber
+     *     was removed before they were delivered
+     */
+    long getDroppedCount();
+
+    /**
+     * @return the number of events that a subscriber failed to accept
+     */
+    long getFailedCount();
+
+    /**
+     * @return the time in milliseconds between queueing the oldest event of the last batch and delivering that batch
+     */
+    long getLastLagMillis();
+
+    /**
+     * @return the largest value of {@link #getLastLagMillis()} so far
+     */
+    long getMaxLagMillis();
+}
@@ -40,6 +40,8 @@ public class FHIRNotificationUtil {
     
     /**
      * Serializes the notification event into a JSON string.
+     * The result is cached in the event, so subsequent calls for the same event (e.g. from other subscribers)
+     * return the same string without serializing the event again.
      * @param event the FHIRNotificationEvent structure to be serialized
      * @param includeResource a flag that controls whether or not the resource object within
      * the event structure should be included in the serialized message.
@@ -47,16 +49,22 @@ public class FHIRNotificationUtil {
      * @throws FHIRException 
      */
     public static String toJsonString(FHIRNotificationEvent event, boolean includeResource) throws FHIRException {
-        JsonObjectBuilder builder = JSON_BUILDER_FACTORY.createObjectBuilder();
-        builder.add("lastUpdated", event.getLastUpdated());
-        builder.add("location", event.getLocation());
-        builder.add("operationType", event.getOperationType());
-        builder.add("resourceId", event.getResourceId());
-        if (includeResource && event.getResource() != null) {
-            builder.add("resource", JsonSupport.toJsonObject(event.getResource()));
+        synchronized (event) {
+            String jsonString = event.getJsonString(includeResource);
+            if (jsonString == null) {
+                JsonObjectBuilder builder = JSON_BUILDER_FACTORY.createObjectBuilder();
+                builder.add("lastUpdated", event.getLastUpdated());
+                builder.add("location", event.getLocation());
+                builder.add("operationType", event.getOperationType());
+                builder.add("resourceId", event.getResourceId());
+                if (includeResource && event.getResource() != null) {
+                    builder.add("resource", JsonSupport.toJsonObject(event.getResource()));
+                }
+                JsonObject jsonObject = builder.build();
+                jsonString = jsonObject.toString();
+                event.setJsonString(includeResource, jsonString);
+            }
+            return jsonString;
         }
-        JsonObject jsonObject = builder.build();
-        String jsonString = jsonObject.toString();
-        return jsonString;
     }
 }
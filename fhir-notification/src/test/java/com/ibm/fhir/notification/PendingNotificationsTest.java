@@ -0,0 +1,70 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.notification;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.transaction.Status;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the notification events of a transaction are only published if it commits
+ */
+public class PendingNotificationsTest {
+
+    @Test
+    public void testCommitted() {
+        List<FHIRNotificationEvent> published = new ArrayList<>();
+        PendingNotifications pending = new PendingNotifications(published::add);
+        FHIRNotificationEvent event1 = event("1");
+        FHIRNotificationEvent event2 = event("2");
+        pending.add(event1);
+        pending.add(event2);
+        pending.beforeCompletion();
+        assertTrue(published.isEmpty());
+
+        pending.afterCompletion(Status.STATUS_COMMITTED);
+        assertEquals(published, Arrays.asList(event1, event2));
+    }
+
+    @Test
+    public void testRolledBack() {
+        List<FHIRNotificationEvent> published = new ArrayList<>();
+        PendingNotifications pending = new PendingNotifications(published::add);
+        pending.add(event("1"));
+        pending.add(event("2"));
+        pending.beforeCompletion();
+
+        pending.afterCompletion(Status.STATUS_ROLLEDBACK);
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void testUnknown() {
+        // the outcome of a heuristic completion is unknown, so the events are not published
+        List<FHIRNotificationEvent> published = new ArrayList<>();
+        PendingNotifications pending = new PendingNotifications(published::add);
+        pending.add(event("1"));
+
+        pending.afterCompletion(Status.STATUS_UNKNOWN);
+        assertTrue(published.isEmpty());
+    }
+
+    private FHIRNotificationEvent event(String id) {
+        FHIRNotificationEvent event = new FHIRNotificationEvent();
+        event.setOperationType("create");
+        event.setLocation("Patient/" + id + "/_history/1");
+        event.setResourceId(id);
+        return event;
+    }
+}
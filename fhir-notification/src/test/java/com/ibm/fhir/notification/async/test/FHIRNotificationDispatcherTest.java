@@ -0,0 +1,203 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.notification.async.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.notification.FHIRNotificationEvent;
+import com.ibm.fhir.notification.FHIRNotificationSubscriber;
+import com.ibm.fhir.notification.async.FHIRNotificationDispatcher;
+import com.ibm.fhir.notification.exception.FHIRNotificationException;
+
+public class FHIRNotificationDispatcherTest {
+
+    @Test
+    public void testDeliverInOrder() throws Exception {
+        RecordingSubscriber subscriber1 = new RecordingSubscriber();
+        RecordingSubscriber subscriber2 = new RecordingSubscriber();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(1000, 10, s -> {});
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            FHIRNotificationEvent event = event(i);
+            expected.add(event.getResourceId());
+            dispatcher.dispatch(subscriber1, event);
+            dispatcher.dispatch(subscriber2, event);
+        }
+        dispatcher.close(10, TimeUnit.SECONDS);
+
+        assertEquals(subscriber1.getResourceIds(), expected);
+        assertEquals(subscriber2.getResourceIds(), expected);
+        assertEquals(dispatcher.getPublishedCount(), 1000);
+        assertEquals(dispatcher.getDroppedCount(), 0);
+    }
+
+    @Test
+    public void testBatching() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(100, 4, s -> {});
+        dispatcher.dispatch(subscriber, event(0));
+        // wait for the worker to take the first event, then queue up more than a batch
+        assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            dispatcher.dispatch(subscriber, event(i));
+        }
+        assertEquals(dispatcher.getQueueDepth(), 10);
+
+        subscriber.release.countDown();
+        dispatcher.close(10, TimeUnit.SECONDS);
+
+        assertEquals(subscriber.getBatchSizes(), Arrays.asList(1, 4, 4, 2));
+        assertEquals(subscriber.getResourceIds().size(), 11);
+    }
+
+    @Test
+    public void testCloseDeliversQueuedEvents() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(100, 1, s -> {});
+        dispatcher.dispatch(subscriber, event(0));
+        assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < 50; i++) {
+            dispatcher.dispatch(subscriber, event(i));
+        }
+
+        subscriber.release.countDown();
+        dispatcher.close(10, TimeUnit.SECONDS);
+        assertEquals(subscriber.getResourceIds().size(), 50);
+        assertEquals(dispatcher.getPublishedCount(), 50);
+        assertEquals(dispatcher.getDroppedCount(), 0);
+
+        // events dispatched after close are dropped
+        dispatcher.dispatch(subscriber, event(50));
+        assertEquals(subscriber.getResourceIds().size(), 50);
+        assertEquals(dispatcher.getDroppedCount(), 1);
+    }
+
+    @Test
+    public void testQueueFull() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(2, 1, s -> {});
+        dispatcher.dispatch(subscriber, event(0));
+        assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            dispatcher.dispatch(subscriber, event(i));
+        }
+        assertEquals(dispatcher.getDroppedCount(), 2);
+
+        subscriber.release.countDown();
+        dispatcher.close(10, TimeUnit.SECONDS);
+        assertEquals(subscriber.getResourceIds(), Arrays.asList("0", "1", "2"));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(100, 1, s -> {});
+        dispatcher.dispatch(subscriber, event(0));
+        assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));
+        dispatcher.dispatch(subscriber, event(1));
+        dispatcher.dispatch(subscriber, event(2));
+
+        // the events that are still queued are dropped, and the event that is being delivered is not affected
+        dispatcher.remove(subscriber);
+        assertEquals(dispatcher.getSubscriberCount(), 0);
+        assertEquals(dispatcher.getDroppedCount(), 2);
+
+        subscriber.release.countDown();
+        dispatcher.close(10, TimeUnit.SECONDS);
+        assertEquals(subscriber.getResourceIds(), Collections.singletonList("0"));
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        List<FHIRNotificationSubscriber> failed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch handled = new CountDownLatch(1);
+        FailingSubscriber subscriber = new FailingSubscriber();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(100, 10, s -> {
+            failed.add(s);
+            handled.countDown();
+        });
+        dispatcher.dispatch(subscriber, event(0));
+        assertTrue(handled.await(10, TimeUnit.SECONDS));
+        dispatcher.close(10, TimeUnit.SECONDS);
+
+        assertEquals(failed, Collections.singletonList(subscriber));
+        assertEquals(dispatcher.getSubscriberCount(), 0);
+        assertEquals(dispatcher.getFailedCount(), 1);
+        assertEquals(dispatcher.getPublishedCount(), 0);
+    }
+
+    private FHIRNotificationEvent event(int i) {
+        FHIRNotificationEvent event = new FHIRNotificationEvent();
+        event.setOperationType("create");
+        event.setLocation("Patient/" + i + "/_history/1");
+        event.setResourceId(Integer.toString(i));
+        return event;
+    }
+
+    /**
+     * A subscriber that records the events and the size of each batch it receives
+     */
+    private static class RecordingSubscriber implements FHIRNotificationSubscriber {
+        private final List<String> resourceIds = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public synchronized void notify(FHIRNotificationEvent event) throws FHIRNotificationException {
+            resourceIds.add(event.getResourceId());
+        }
+
+        @Override
+        public synchronized void notify(List<FHIRNotificationEvent> events) throws FHIRNotificationException {
+            batchSizes.add(events.size());
+            FHIRNotificationSubscriber.super.notify(events);
+        }
+
+        synchronized List<String> getResourceIds() {
+            return new ArrayList<>(resourceIds);
+        }
+
+        synchronized List<Integer> getBatchSizes() {
+            return new ArrayList<>(batchSizes);
+        }
+    }
+
+    /**
+     * A subscriber that blocks the worker in the first call until it is released
+     */
+    private static class BlockingSubscriber extends RecordingSubscriber {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void notify(List<FHIRNotificationEvent> events) throws FHIRNotificationException {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.notify(events);
+        }
+    }
+
+    private static class FailingSubscriber implements FHIRNotificationSubscriber {
+        @Override
+        public void notify(FHIRNotificationEvent event) throws FHIRNotificationException {
+            throw new FHIRNotificationException("unavailable");
+        }
+    }
+}
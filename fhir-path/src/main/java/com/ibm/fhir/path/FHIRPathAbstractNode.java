@@ -9,23 +9,30 @@ package com.ibm.fhir.path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public abstract class FHIRPathAbstractNode implements FHIRPathNode {
     protected final String name;
-    protected final String path;
     protected final FHIRPathType type;
-    protected final FHIRPathSystemValue value;
-    protected final Collection<FHIRPathNode> children;
+    private final Source source;
+    private String path;
+    private FHIRPathSystemValue value;
+    private Collection<FHIRPathNode> children;
+    private volatile boolean expanded;
     
     protected FHIRPathAbstractNode(Builder builder) {
         name = builder.name;
-        path = builder.path;
         type = Objects.requireNonNull(builder.type);
-        value = builder.value;
-        children = Collections.unmodifiableCollection(builder.children);
+        source = builder.source;
+        if (source == null) {
+            path = builder.path;
+            value = builder.value;
+            children = Collections.unmodifiableCollection(builder.children);
+            expanded = true;
+        }
     }
     
     @Override
@@ -35,7 +42,12 @@ public abstract class FHIRPathAbstractNode implements FHIRPathNode {
     
     @Override
     public String path() {
-        return path;
+        String result = path;
+        if (result == null && source != null) {
+            // computing the path more than once is harmless
+            path = result = source.path();
+        }
+        return result;
     }
     
     @Override
@@ -45,19 +57,34 @@ public abstract class FHIRPathAbstractNode implements FHIRPathNode {
     
     @Override
     public boolean hasValue() {
-        return value != null;
+        return getValue() != null;
     }
     
     @Override
     public FHIRPathSystemValue getValue() {
+        expand();
         return value;
     }
     
     @Override
     public Collection<FHIRPathNode> children() {
+        expand();
         return children;
     }
     
+    private void expand() {
+        if (!expanded) {
+            synchronized (this) {
+                if (!expanded) {
+                    List<FHIRPathNode> children = new ArrayList<>();
+                    value = source.expand(children);
+                    this.children = Collections.unmodifiableCollection(children);
+                    expanded = true;
+                }
+            }
+        }
+    }
+    
     @Override
     public Collection<FHIRPathNode> descendants() {
         return stream().skip(1).collect(Collectors.toList());
@@ -86,6 +113,24 @@ public abstract class FHIRPathAbstractNode implements FHIRPathNode {
      */
     public abstract Builder toBuilder();
     
+    /**
+     * Computes the path, the value and the children of a node when they are first needed; used by {@link FHIRPathTree}
+     */
+    interface Source {
+        /**
+         * @return the path of the node
+         */
+        String path();
+        
+        /**
+         * @param children
+         *     the list to which the children of the node, including its value (if any), are added
+         * @return
+         *     the value of the node, or null
+         */
+        FHIRPathSystemValue expand(List<FHIRPathNode> children);
+    }
+    
     public static abstract class Builder implements FHIRPathNode.Builder {
         // required
         protected final FHIRPathType type;
@@ -96,6 +141,9 @@ public abstract class FHIRPathAbstractNode implements FHIRPathNode {
         protected FHIRPathSystemValue value;
         protected Collection<FHIRPathNode> children = new ArrayList<>();
         
+        // if set, the path, value and children above are ignored
+        Source source;
+        
         protected Builder(FHIRPathType type) {
             super();
             this.type = type;
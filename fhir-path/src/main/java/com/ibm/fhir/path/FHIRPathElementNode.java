@@ -90,8 +90,8 @@ public class FHIRPathElementNode extends FHIRPathAbstractNode {
     public Builder toBuilder() {
         Builder builder = new Builder(type, element);
         builder.name = name;
-        builder.value = value;
-        builder.children = children;
+        builder.value = getValue();
+        builder.children = children();
         return builder;
     }
     
@@ -231,7 +231,7 @@ public class FHIRPathElementNode extends FHIRPathAbstractNode {
     @Override
     public String toString() {
         if (hasValue()) {
-            return "FHIRPathElementNode: [type: " + type() + ", value: " + value.toString() + "]";
+            return "FHIRPathElementNode: [type: " + type() + ", value: " + getValue().toString() + "]";
         }
         return super.toString();
     }
@@ -80,8 +80,8 @@ public class FHIRPathResourceNode extends FHIRPathAbstractNode {
     public Builder toBuilder() {
         Builder builder = new Builder(type, resource);
         builder.name = name;
-        builder.value = value;
-        builder.children = children;
+        builder.value = getValue();
+        builder.children = children();
         return builder;
     }
     
@@ -6,6 +6,10 @@
 
 package com.ibm.fhir.path;
 
+import static com.ibm.fhir.model.util.ModelSupport.delimit;
+import static com.ibm.fhir.model.util.ModelSupport.getTypeName;
+import static com.ibm.fhir.model.util.ModelSupport.isKeyword;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -15,27 +19,28 @@ import java.time.ZonedDateTime;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
-import java.util.Stack;
 import java.util.stream.Collectors;
 
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.Element;
 import com.ibm.fhir.model.type.Quantity;
-import com.ibm.fhir.model.visitor.PathAwareVisitor;
+import com.ibm.fhir.model.visitor.DefaultVisitor;
+import com.ibm.fhir.model.visitor.Visitable;
 
 /**
  * A tree of {@link FHIRPathNode} nodes created from a {@link Resource} or an {@link Element}
+ *
+ * <p>The nodes of the tree are created when they are first navigated to: the children, the value and the path of a
+ * node are computed from the element or resource that it wraps when they are first requested, so evaluating an
+ * expression that touches a few elements of a large resource only creates the nodes along the way.
  */
 public class FHIRPathTree {
     private final FHIRPathNode root;
-    private final Map<String, FHIRPathNode> pathNodeMap;
 
-    private FHIRPathTree(FHIRPathNode root, Map<String, FHIRPathNode> pathNodeMap) {
+    private FHIRPathTree(FHIRPathNode root) {
         this.root = root;
-        this.pathNodeMap = Collections.unmodifiableMap(pathNodeMap);
     }
 
     /**
@@ -57,7 +62,45 @@ public class FHIRPathTree {
      *     the node at the location given by the path parameter if exists, otherwise null
      */
     public FHIRPathNode getNode(String path) {
-        return pathNodeMap.get(path);
+        if (path == null) {
+            return null;
+        }
+        String[] segments = path.split("\\.");
+        if (!segments[0].equals(root.path())) {
+            return null;
+        }
+        FHIRPathNode node = root;
+        for (int i = 1; i < segments.length && node != null; i++) {
+            node = getChild(node, segments[i]);
+        }
+        return node;
+    }
+
+    /**
+     * @return the child of the passed node at the passed path segment, e.g. {@code name[1]}, or null
+     */
+    private FHIRPathNode getChild(FHIRPathNode node, String segment) {
+        String name = segment;
+        int index = 0;
+        int bracket = segment.indexOf('[');
+        if (bracket != -1 && segment.endsWith("]")) {
+            name = segment.substring(0, bracket);
+            try {
+                index = Integer.parseInt(segment.substring(bracket + 1, segment.length() - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (name.length() > 1 && name.startsWith("`") && name.endsWith("`")) {
+            name = name.substring(1, name.length() - 1);
+        }
+        for (FHIRPathNode child : node.children()) {
+            // the elements of a repeating element are children with the same name, in order
+            if (!child.isSystemValue() && name.equals(child.name()) && index-- == 0) {
+                return child;
+            }
+        }
+        return null;
     }
 
     /**
@@ -69,13 +112,13 @@ public class FHIRPathTree {
      *     the parent of the node parameter if exists, otherwise null
      */
     public FHIRPathNode getParent(FHIRPathNode node) {
-        if (node == null) {
+        if (node == null || node.path() == null) {
             return null;
         }
 
         int index = node.path().lastIndexOf(".");
         if (index != -1) {
-            return pathNodeMap.get(node.path().substring(0, index));
+            return getNode(node.path().substring(0, index));
         }
 
         return null;
@@ -142,11 +185,7 @@ public class FHIRPathTree {
      */
     public static FHIRPathTree tree(Resource resource) {
         Objects.requireNonNull(resource);
-
-        BuildingVisitor visitor = new BuildingVisitor();
-        resource.accept(visitor);
-
-        return new FHIRPathTree(visitor.getRoot(), visitor.getPathNodeMap());
+        return new FHIRPathTree(node(null, getTypeName(resource.getClass()), -1, resource));
     }
 
     /**
@@ -159,118 +198,177 @@ public class FHIRPathTree {
      */
     public static FHIRPathTree tree(Element element) {
         Objects.requireNonNull(element);
-
-        BuildingVisitor visitor = new BuildingVisitor();
-        element.accept(visitor);
-
-        return new FHIRPathTree(visitor.getRoot(), visitor.getPathNodeMap());
+        return new FHIRPathTree(node(null, getTypeName(element.getClass()), -1, element));
     }
 
-    private static class BuildingVisitor extends PathAwareVisitor {
-        private Stack<FHIRPathNode.Builder> builderStack = new Stack<>();
-        private FHIRPathNode root;
-        private Map<String, FHIRPathNode> pathNodeMap = new HashMap<>();
-
-        private void build() {
-            String path = getPath();
-
-            FHIRPathNode.Builder builder = builderStack.pop();
-            FHIRPathNode node = builder.path(path).build();
+    /**
+     * Create a node whose path, value and children are computed on demand
+     */
+    private static FHIRPathNode node(NodeSource parent, String elementName, int elementIndex, Visitable visitable) {
+        FHIRPathAbstractNode.Builder builder;
+        if (visitable instanceof Resource) {
+            builder = FHIRPathResourceNode.builder((Resource) visitable);
+        } else if (visitable instanceof Quantity) {
+            builder = FHIRPathQuantityNode.builder((Quantity) visitable);
+        } else {
+            builder = FHIRPathElementNode.builder((Element) visitable);
+        }
+        builder.name(elementName);
+        builder.source = new NodeSource(parent, elementName, elementIndex, visitable);
+        return builder.build();
+    }
 
-            pathNodeMap.put(path, node);
+    private static class NodeSource implements FHIRPathAbstractNode.Source {
+        private final NodeSource parent;
+        private final String elementName;
+        private final int elementIndex;
+        private final Visitable visitable;
+        private String path;
+
+        private NodeSource(NodeSource parent, String elementName, int elementIndex, Visitable visitable) {
+            this.parent = parent;
+            this.elementName = elementName;
+            this.elementIndex = elementIndex;
+            this.visitable = visitable;
+        }
 
-            if (!builderStack.isEmpty()) {
-                builderStack.peek().children(node);
-            } else {
-                root = node;
+        @Override
+        public String path() {
+            String result = path;
+            if (result == null) {
+                StringBuilder sb = new StringBuilder();
+                if (parent != null) {
+                    sb.append(parent.path()).append(".");
+                }
+                sb.append(isKeyword(elementName) ? delimit(elementName) : elementName);
+                if (elementIndex != -1) {
+                    sb.append("[").append(elementIndex).append("]");
+                }
+                path = result = sb.toString();
             }
+            return result;
         }
 
-        private Map<String, FHIRPathNode> getPathNodeMap() {
-            return pathNodeMap;
+        @Override
+        public FHIRPathSystemValue expand(List<FHIRPathNode> children) {
+            ExpandingVisitor visitor = new ExpandingVisitor(this, children);
+            visitable.accept(elementName, elementIndex, visitor);
+            return visitor.value;
         }
+    }
 
-        private FHIRPathNode getRoot() {
-            return root;
+    /**
+     * Visits the direct children of a single element or resource.
+     *
+     * <p>The value of the node is the last primitive value that is visited, and it is a child of the node as well, after
+     * the children that were visited before it.
+     */
+    private static class ExpandingVisitor extends DefaultVisitor {
+        private final NodeSource source;
+        private final List<FHIRPathNode> children;
+        private FHIRPathSystemValue value;
+        private int depth = 0;
+
+        private ExpandingVisitor(NodeSource source, List<FHIRPathNode> children) {
+            super(true);
+            this.source = source;
+            this.children = children;
         }
 
-        @Override
-        protected void doVisitEnd(String elementName, int elementIndex, Element element) {
-            build();
+        private void value(FHIRPathSystemValue value) {
+            children.remove(this.value);
+            this.value = value;
+            children.add(value);
+        }
+
+        private void child(String elementName, int elementIndex, Visitable visitable) {
+            children.add(node(source, elementName, elementIndex, visitable));
         }
 
         @Override
-        protected void doVisitEnd(String elementName, int elementIndex, Resource resource) {
-            build();
+        public boolean visit(java.lang.String elementName, int elementIndex, Visitable visitable) {
+            return depth == 1;
         }
 
         @Override
-        protected void doVisitStart(String elementName, int elementIndex, Element element) {
-            if (element instanceof Quantity) {
-                Quantity quantity = (Quantity) element;
-                builderStack.push(FHIRPathQuantityNode.builder(quantity).name(elementName));
-                FHIRPathQuantityValue value = FHIRPathQuantityValue.quantityValue(quantity);
-                if (value != null) {
-                    builderStack.peek().value(value);
+        public void visitStart(java.lang.String elementName, int elementIndex, Element element) {
+            if (++depth == 1) {
+                if (element instanceof Quantity) {
+                    FHIRPathQuantityValue quantityValue = FHIRPathQuantityValue.quantityValue((Quantity) element);
+                    if (quantityValue != null) {
+                        value(quantityValue);
+                    }
                 }
             } else {
-                builderStack.push(FHIRPathElementNode.builder(element).name(elementName));
+                child(elementName, elementIndex, element);
             }
         }
 
         @Override
-        protected void doVisitStart(String elementName, int elementIndex, Resource resource) {
-            builderStack.push(FHIRPathResourceNode.builder(resource).name(elementName));
+        public void visitStart(java.lang.String elementName, int elementIndex, Resource resource) {
+            if (++depth > 1) {
+                child(elementName, elementIndex, resource);
+            }
+        }
+
+        @Override
+        public void visitEnd(java.lang.String elementName, int elementIndex, Element element) {
+            depth--;
+        }
+
+        @Override
+        public void visitEnd(java.lang.String elementName, int elementIndex, Resource resource) {
+            depth--;
         }
 
         @Override
         public void visit(java.lang.String elementName, BigDecimal value) {
-            builderStack.peek().value(FHIRPathDecimalValue.decimalValue(elementName, value));
+            value(FHIRPathDecimalValue.decimalValue(elementName, value));
         }
 
         @Override
         public void visit(java.lang.String elementName, byte[] value) {
-            builderStack.peek().value(FHIRPathStringValue.stringValue(elementName, Base64.getEncoder().encodeToString(value)));
+            value(FHIRPathStringValue.stringValue(elementName, Base64.getEncoder().encodeToString(value)));
         }
 
         @Override
         public void visit(java.lang.String elementName, java.lang.Boolean value) {
-            builderStack.peek().value(FHIRPathBooleanValue.booleanValue(elementName, value));
+            value(FHIRPathBooleanValue.booleanValue(elementName, value));
         }
 
         @Override
         public void visit(java.lang.String elementName, java.lang.Integer value) {
-            builderStack.peek().value(FHIRPathIntegerValue.integerValue(elementName, value));
+            value(FHIRPathIntegerValue.integerValue(elementName, value));
         }
 
         @Override
-        public void doVisit(java.lang.String elementName, java.lang.String value) {
-            builderStack.peek().value(FHIRPathStringValue.stringValue(elementName, value));
+        public void visit(java.lang.String elementName, java.lang.String value) {
+            value(FHIRPathStringValue.stringValue(elementName, value));
         }
 
         @Override
         public void visit(java.lang.String elementName, LocalDate value) {
-            builderStack.peek().value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
+            value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
         }
 
         @Override
         public void visit(java.lang.String elementName, LocalTime value) {
-            builderStack.peek().value(FHIRPathTimeValue.timeValue(elementName, value));
+            value(FHIRPathTimeValue.timeValue(elementName, value));
         }
 
         @Override
         public void visit(java.lang.String elementName, Year value) {
-            builderStack.peek().value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
+            value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
         }
 
         @Override
         public void visit(java.lang.String elementName, YearMonth value) {
-            builderStack.peek().value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
+            value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
         }
 
         @Override
         public void visit(java.lang.String elementName, ZonedDateTime value) {
-            builderStack.peek().value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
+            value(FHIRPathDateTimeValue.dateTimeValue(elementName, value));
         }
     }
 }
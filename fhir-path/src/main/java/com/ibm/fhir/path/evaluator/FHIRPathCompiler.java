@@ -0,0 +1,680 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.path.evaluator;
+
+import static com.ibm.fhir.path.evaluator.FHIRPathEvaluator.SINGLETON_FALSE;
+import static com.ibm.fhir.path.evaluator.FHIRPathEvaluator.SINGLETON_TRUE;
+import static com.ibm.fhir.path.util.FHIRPathUtil.empty;
+import static com.ibm.fhir.path.util.FHIRPathUtil.evaluatesToBoolean;
+import static com.ibm.fhir.path.util.FHIRPathUtil.evaluatesToTrue;
+import static com.ibm.fhir.path.util.FHIRPathUtil.getSingleton;
+import static com.ibm.fhir.path.util.FHIRPathUtil.getString;
+import static com.ibm.fhir.path.util.FHIRPathUtil.isFalse;
+import static com.ibm.fhir.path.util.FHIRPathUtil.isSingleton;
+import static com.ibm.fhir.path.util.FHIRPathUtil.isUnordered;
+import static com.ibm.fhir.path.util.FHIRPathUtil.singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.path.FHIRPathBaseVisitor;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.FHIRPathParser;
+import com.ibm.fhir.path.FHIRPathParser.ExpressionContext;
+import com.ibm.fhir.path.FHIRPathParser.FunctionContext;
+import com.ibm.fhir.path.FHIRPathParser.FunctionInvocationContext;
+import com.ibm.fhir.path.FHIRPathParser.InvocationContext;
+import com.ibm.fhir.path.FHIRPathParser.InvocationExpressionContext;
+import com.ibm.fhir.path.FHIRPathParser.InvocationTermContext;
+import com.ibm.fhir.path.FHIRPathParser.TermExpressionContext;
+import com.ibm.fhir.path.FHIRPathType;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluatingVisitor;
+import com.ibm.fhir.path.function.EmptyFunction;
+import com.ibm.fhir.path.function.FHIRPathFunction;
+import com.ibm.fhir.path.function.FirstFunction;
+import com.ibm.fhir.path.util.FHIRPathUtil;
+
+/**
+ * Compiles the parse tree of a FHIRPath expression into a tree of closures.
+ *
+ * <p>Evaluating the compiled form does not visit the parse tree: identifiers, literals, type specifiers and functions
+ * are resolved when the expression is compiled, and operators whose operands are literals are folded into constants.
+ * Member invocations skip the children of model objects that have no element with the invoked name (see
+ * {@link ModelSupport#getElementNames(Class)}), and {@code where(criteria)} followed by {@code exists()},
+ * {@code empty()} or {@code first()} stops at the first match. Errors, such as an unknown function, are raised when
+ * the part of the expression that contains them is evaluated, as they are by the interpreter.
+ *
+ * <p>The operators are shared with the interpreter ({@link EvaluatingVisitor}), which remains the reference
+ * implementation and evaluates the parts of the parse tree that have no compiled form ({@code $index} and
+ * {@code $total}). Compiled expressions are immutable and may be shared between threads.
+ */
+final class FHIRPathCompiler extends FHIRPathBaseVisitor<FHIRPathCompiler.Closure> {
+    private static final Logger log = Logger.getLogger(FHIRPathCompiler.class.getName());
+
+    private static final String SYSTEM_NAMESPACE = "System";
+
+    /**
+     * A compiled expression, term or invocation
+     */
+    @FunctionalInterface
+    interface Closure {
+        /**
+         * @param visitor
+         *     the interpreter that holds the evaluation context of this evaluation
+         * @param context
+         *     the input collection of the closure
+         * @return
+         *     the result of evaluation
+         */
+        Collection<FHIRPathNode> evaluate(EvaluatingVisitor visitor, Collection<FHIRPathNode> context);
+    }
+
+    /**
+     * A FHIRPath expression with its parse tree and compiled form
+     */
+    static final class CompiledExpression {
+        private final ExpressionContext expressionContext;
+        private final Closure closure;
+
+        private CompiledExpression(ExpressionContext expressionContext, Closure closure) {
+            this.expressionContext = expressionContext;
+            this.closure = closure;
+        }
+
+        ExpressionContext getExpressionContext() {
+            return expressionContext;
+        }
+
+        Closure getClosure() {
+            return closure;
+        }
+    }
+
+    private static final class Constant implements Closure {
+        private final Collection<FHIRPathNode> value;
+
+        private Constant(Collection<FHIRPathNode> value) {
+            this.value = value;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> evaluate(EvaluatingVisitor visitor, Collection<FHIRPathNode> context) {
+            return value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BinaryOperator {
+        Collection<FHIRPathNode> apply(Collection<FHIRPathNode> left, Collection<FHIRPathNode> right);
+    }
+
+    // evaluates literals when the expression is compiled
+    private final EvaluatingVisitor interpreter = new EvaluatingVisitor();
+
+    private FHIRPathCompiler() { }
+
+    /**
+     * Parse and compile a FHIRPath expression
+     *
+     * @param expr
+     *     the FHIRPath expression
+     * @return
+     *     the compiled expression
+     */
+    static CompiledExpression compile(String expr) {
+        ExpressionContext expressionContext = FHIRPathUtil.compile(expr);
+        return new CompiledExpression(expressionContext, new FHIRPathCompiler().visit(expressionContext));
+    }
+
+    /**
+     * A closure that evaluates the passed parse tree with the interpreter
+     */
+    private static Closure interpret(ParseTree tree) {
+        return (visitor, context) -> visitor.interpret(tree, context);
+    }
+
+    /**
+     * A closure that throws the supplied exception when it is evaluated
+     */
+    private static Closure error(Supplier<RuntimeException> exception) {
+        return (visitor, context) -> {
+            throw exception.get();
+        };
+    }
+
+    private static Closure unexpectedNumberOfArguments(int arity, String functionName) {
+        return error(() -> EvaluatingVisitor.unexpectedNumberOfArguments(arity, functionName));
+    }
+
+    private static Closure constant(Collection<FHIRPathNode> value) {
+        if (value == null || isUnordered(value)) {
+            return new Constant(value);
+        }
+        // folded results are shared by every evaluation of the expression
+        return new Constant(Collections.unmodifiableList(new ArrayList<>(value)));
+    }
+
+    /**
+     * A closure that applies the passed operator to the result of the passed operands, or the result of the operator
+     * if both operands are constant and the operator succeeds
+     */
+    private static Closure binary(Closure left, Closure right, BinaryOperator operator) {
+        if (left instanceof Constant && right instanceof Constant) {
+            try {
+                return constant(operator.apply(((Constant) left).value, ((Constant) right).value));
+            } catch (RuntimeException e) {
+                // the error is raised when the expression is evaluated
+            }
+        }
+        return (visitor, context) -> operator.apply(left.evaluate(visitor, context), right.evaluate(visitor, context));
+    }
+
+    private static String identifier(FHIRPathParser.IdentifierContext ctx) {
+        String text = ctx.getText();
+        return text.startsWith("`") ? text.substring(1, text.length() - 1) : text;
+    }
+
+    private static String typeName(ExpressionContext ctx) {
+        return ctx.getText().replace("`", "");
+    }
+
+    private static List<ExpressionContext> arguments(FunctionContext ctx) {
+        return (ctx.paramList() != null) ? ctx.paramList().expression() : Collections.emptyList();
+    }
+
+    /**
+     * @return the function of the passed invocation if it is a function invocation, otherwise null
+     */
+    private static FunctionContext function(InvocationContext ctx) {
+        return (ctx instanceof FunctionInvocationContext) ? ((FunctionInvocationContext) ctx).function() : null;
+    }
+
+    /**
+     * @return the function of the passed expression if it is a term that invokes a function, otherwise null
+     */
+    private static FunctionContext function(ExpressionContext ctx) {
+        if (ctx instanceof TermExpressionContext && ((TermExpressionContext) ctx).term() instanceof InvocationTermContext) {
+            return function(((InvocationTermContext) ((TermExpressionContext) ctx).term()).invocation());
+        }
+        return null;
+    }
+
+    private static boolean isFunction(FunctionContext ctx, String functionName, int arity) {
+        return ctx != null && functionName.equals(identifier(ctx.identifier())) && arguments(ctx).size() == arity;
+    }
+
+    @Override
+    public Closure visitIndexerExpression(FHIRPathParser.IndexerExpressionContext ctx) {
+        return binary(visit(ctx.expression(0)), visit(ctx.expression(1)), EvaluatingVisitor::indexer);
+    }
+
+    @Override
+    public Closure visitPolarityExpression(FHIRPathParser.PolarityExpressionContext ctx) {
+        String polarity = ctx.getChild(0).getText();
+        Closure operand = visit(ctx.expression());
+        if (operand instanceof Constant) {
+            try {
+                return constant(EvaluatingVisitor.polarity(polarity, ((Constant) operand).value));
+            } catch (RuntimeException e) {
+                // the error is raised when the expression is evaluated
+            }
+        }
+        return (visitor, context) -> EvaluatingVisitor.polarity(polarity, operand.evaluate(visitor, context));
+    }
+
+    @Override
+    public Closure visitAdditiveExpression(FHIRPathParser.AdditiveExpressionContext ctx) {
+        String operator = ctx.getChild(1).getText();
+        return binary(visit(ctx.expression(0)), visit(ctx.expression(1)), (left, right) -> EvaluatingVisitor.additive(operator, left, right));
+    }
+
+    @Override
+    public Closure visitMultiplicativeExpression(FHIRPathParser.MultiplicativeExpressionContext ctx) {
+        String operator = ctx.getChild(1).getText();
+        return binary(visit(ctx.expression(0)), visit(ctx.expression(1)), (left, right) -> EvaluatingVisitor.multiplicative(operator, left, right));
+    }
+
+    @Override
+    public Closure visitUnionExpression(FHIRPathParser.UnionExpressionContext ctx) {
+        return binary(visit(ctx.expression(0)), visit(ctx.expression(1)), EvaluatingVisitor::union);
+    }
+
+    @Override
+    public Closure visitOrExpression(FHIRPathParser.OrExpressionContext ctx) {
+        Closure left = visit(ctx.expression(0));
+        Closure right = visit(ctx.expression(1));
+        switch (ctx.getChild(1).getText()) {
+        case "or":
+            if (left instanceof Constant && EvaluatingVisitor.orShortCircuits(((Constant) left).value)) {
+                return new Constant(SINGLETON_TRUE);
+            }
+            return (visitor, context) -> {
+                Collection<FHIRPathNode> leftResult = left.evaluate(visitor, context);
+                // short-circuit evaluation
+                if (EvaluatingVisitor.orShortCircuits(leftResult)) {
+                    return SINGLETON_TRUE;
+                }
+                return EvaluatingVisitor.or(leftResult, right.evaluate(visitor, context));
+            };
+        case "xor":
+            return binary(left, right, EvaluatingVisitor::xor);
+        default:
+            return new Constant(empty());
+        }
+    }
+
+    @Override
+    public Closure visitAndExpression(FHIRPathParser.AndExpressionContext ctx) {
+        Closure left = visit(ctx.expression(0));
+        Closure right = visit(ctx.expression(1));
+        if (left instanceof Constant && EvaluatingVisitor.andShortCircuits(((Constant) left).value)) {
+            return new Constant(SINGLETON_FALSE);
+        }
+        return (visitor, context) -> {
+            Collection<FHIRPathNode> leftResult = left.evaluate(visitor, context);
+            // short-circuit evaluation
+            if (EvaluatingVisitor.andShortCircuits(leftResult)) {
+                return SINGLETON_FALSE;
+            }
+            return EvaluatingVisitor.and(leftResult, right.evaluate(visitor, context));
+        };
+    }
+
+    @Override
+    public Closure visitMembershipExpression(FHIRPathParser.MembershipExpressionContext ctx) {
+        String operator = ctx.getChild(1).getText();
+        Closure left = visit(ctx.expression(0));
+        Closure right = visit(ctx.expression(1));
+        // not folded: 'in' may invoke the terminology service through the evaluation context
+        return (visitor, context) -> {
+            Collection<FHIRPathNode> leftResult = left.evaluate(visitor, context);
+            Collection<FHIRPathNode> rightResult = right.evaluate(visitor, context);
+            return EvaluatingVisitor.membership(visitor.getEvaluationContext(), operator, leftResult, rightResult);
+        };
+    }
+
+    @Override
+    public Closure visitInequalityExpression(FHIRPathParser.InequalityExpressionContext ctx) {
+        String operator = ctx.getChild(1).getText();
+        return binary(visit(ctx.expression(0)), visit(ctx.expression(1)), (left, right) -> EvaluatingVisitor.inequality(operator, left, right));
+    }
+
+    @Override
+    public Closure visitInvocationExpression(FHIRPathParser.InvocationExpressionContext ctx) {
+        FunctionContext function = function(ctx.invocation());
+        if (function != null) {
+            Closure closure = compileWhere(ctx.expression(), function);
+            if (closure != null) {
+                return closure;
+            }
+        }
+        Closure input = visit(ctx.expression());
+        Closure invocation = visit(ctx.invocation());
+        return (visitor, context) -> invocation.evaluate(visitor, input.evaluate(visitor, context));
+    }
+
+    /**
+     * Compile {@code where(criteria)} followed by {@code exists()}, {@code empty()} or {@code first()} into a single
+     * loop over the input of where that stops at the first node that matches the criteria
+     *
+     * @return the closure, or null if the passed expression and function are not such a combination
+     */
+    private Closure compileWhere(ExpressionContext ctx, FunctionContext next) {
+        Collection<FHIRPathNode> found;
+        Collection<FHIRPathNode> notFound;
+        if (isFunction(next, "exists", 0)) {
+            found = SINGLETON_TRUE;
+            notFound = SINGLETON_FALSE;
+        } else if (isFunction(next, "empty", 0) && FHIRPathFunction.registry().getFunction("empty") instanceof EmptyFunction) {
+            found = SINGLETON_FALSE;
+            notFound = SINGLETON_TRUE;
+        } else if (isFunction(next, "first", 0) && FHIRPathFunction.registry().getFunction("first") instanceof FirstFunction) {
+            // the first matching node
+            found = null;
+            notFound = empty();
+        } else {
+            return null;
+        }
+
+        FunctionContext where = (ctx instanceof InvocationExpressionContext) ? function(((InvocationExpressionContext) ctx).invocation()) : function(ctx);
+        if (!isFunction(where, "where", 1)) {
+            return null;
+        }
+        Closure input = (ctx instanceof InvocationExpressionContext) ? visit(((InvocationExpressionContext) ctx).expression()) : (visitor, context) -> context;
+        Closure criteria = visit(arguments(where).get(0));
+        return (visitor, context) -> {
+            for (FHIRPathNode node : input.evaluate(visitor, context)) {
+                if (evaluatesToTrue(criteria.evaluate(visitor, singleton(node)))) {
+                    return (found != null) ? found : singleton(node);
+                }
+            }
+            return notFound;
+        };
+    }
+
+    @Override
+    public Closure visitEqualityExpression(FHIRPathParser.EqualityExpressionContext ctx) {
+        String operator = ctx.getChild(1).getText();
+        return binary(visit(ctx.expression(0)), visit(ctx.expression(1)), (left, right) -> EvaluatingVisitor.equality(operator, left, right));
+    }
+
+    @Override
+    public Closure visitImpliesExpression(FHIRPathParser.ImpliesExpressionContext ctx) {
+        return binary(visit(ctx.expression(0)), visit(ctx.expression(1)), EvaluatingVisitor::implies);
+    }
+
+    @Override
+    public Closure visitTermExpression(FHIRPathParser.TermExpressionContext ctx) {
+        return visit(ctx.term());
+    }
+
+    @Override
+    public Closure visitTypeExpression(FHIRPathParser.TypeExpressionContext ctx) {
+        String operator = ctx.getChild(1).getText();
+        Closure operand = visit(ctx.expression());
+        String qualifiedIdentifier = ctx.typeSpecifier().getText().replace("`", "");
+        FHIRPathType type = FHIRPathType.from(qualifiedIdentifier);
+        if (type == null) {
+            return (visitor, context) -> {
+                operand.evaluate(visitor, context);
+                throw new IllegalArgumentException(String.format("Argument '%s' cannot be resolved to a valid type identifier", qualifiedIdentifier));
+            };
+        }
+        return (visitor, context) -> EvaluatingVisitor.type(operator, operand.evaluate(visitor, context), type);
+    }
+
+    @Override
+    public Closure visitInvocationTerm(FHIRPathParser.InvocationTermContext ctx) {
+        return visit(ctx.invocation());
+    }
+
+    @Override
+    public Closure visitLiteralTerm(FHIRPathParser.LiteralTermContext ctx) {
+        try {
+            return constant(interpreter.visit(ctx));
+        } catch (RuntimeException e) {
+            // the error is raised when the expression is evaluated
+            return interpret(ctx);
+        }
+    }
+
+    @Override
+    public Closure visitExternalConstantTerm(FHIRPathParser.ExternalConstantTermContext ctx) {
+        return visit(ctx.externalConstant());
+    }
+
+    @Override
+    public Closure visitParenthesizedTerm(FHIRPathParser.ParenthesizedTermContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public Closure visitExternalConstant(FHIRPathParser.ExternalConstantContext ctx) {
+        if (ctx.identifier() == null) {
+            return interpret(ctx);
+        }
+        String name = identifier(ctx.identifier());
+        return (visitor, context) -> visitor.getEvaluationContext().getExternalConstant(name);
+    }
+
+    @Override
+    public Closure visitMemberInvocation(FHIRPathParser.MemberInvocationContext ctx) {
+        String identifier = identifier(ctx.identifier());
+        // only the names of FHIR types can select the input node itself, e.g. 'Patient' in 'Patient.name'
+        boolean fhirTypeName = FHIRPathType.from("FHIR", identifier) != null;
+        return (visitor, context) -> {
+            if (fhirTypeName && isSingleton(context) && isTypeOf(getSingleton(context).type(), identifier)) {
+                return context;
+            }
+            List<FHIRPathNode> result = new ArrayList<>();
+            for (FHIRPathNode node : context) {
+                if (!hasElement(node, identifier)) {
+                    continue;
+                }
+                for (FHIRPathNode child : node.children()) {
+                    if (identifier.equals(child.name())) {
+                        result.add(child);
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    /**
+     * @return true if the passed FHIR type, or one of its base types, has the passed name
+     */
+    private static boolean isTypeOf(FHIRPathType type, String typeName) {
+        if (type == null || SYSTEM_NAMESPACE.equals(type.namespace())) {
+            return false;
+        }
+        while (type != null && !FHIRPathType.FHIR_ANY.equals(type)) {
+            if (type.getName().equals(typeName)) {
+                return true;
+            }
+            type = type.baseType();
+        }
+        return false;
+    }
+
+    /**
+     * @return false if the passed node is a model object without an element of the passed name, so that its children
+     *     need not be built
+     */
+    private static boolean hasElement(FHIRPathNode node, String elementName) {
+        Object modelObject = null;
+        if (node.isResourceNode()) {
+            modelObject = node.asResourceNode().resource();
+        } else if (node.isElementNode()) {
+            modelObject = node.asElementNode().element();
+        }
+        if (modelObject == null) {
+            return true;
+        }
+        // the element names of some model classes (e.g. subclasses of Code) are those of their superclass
+        Set<String> elementNames = ModelSupport.getElementNames(modelObject.getClass());
+        return elementNames.isEmpty() || elementNames.contains(elementName);
+    }
+
+    @Override
+    public Closure visitFunctionInvocation(FHIRPathParser.FunctionInvocationContext ctx) {
+        return visit(ctx.function());
+    }
+
+    @Override
+    public Closure visitThisInvocation(FHIRPathParser.ThisInvocationContext ctx) {
+        return (visitor, context) -> context;
+    }
+
+    @Override
+    public Closure visitIndexInvocation(FHIRPathParser.IndexInvocationContext ctx) {
+        return interpret(ctx);
+    }
+
+    @Override
+    public Closure visitTotalInvocation(FHIRPathParser.TotalInvocationContext ctx) {
+        return interpret(ctx);
+    }
+
+    @Override
+    public Closure visitFunction(FHIRPathParser.FunctionContext ctx) {
+        String functionName = identifier(ctx.identifier());
+        List<ExpressionContext> arguments = arguments(ctx);
+
+        switch (functionName) {
+        case "all":
+            return (arguments.size() == 1) ? all(visit(arguments.get(0))) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        case "as":
+        case "ofType":
+            return (arguments.size() == 1) ? ofType(arguments.get(0)) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        case "exists":
+            return (arguments.size() <= 1) ? exists(arguments) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        case "iif":
+            return (arguments.size() >= 2 && arguments.size() <= 3) ? iif(arguments) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        case "is":
+            return (arguments.size() == 1) ? is(arguments.get(0)) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        case "select":
+            return (arguments.size() == 1) ? select(visit(arguments.get(0))) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        case "trace":
+            return (arguments.size() >= 1 && arguments.size() <= 2) ? trace(arguments) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        case "where":
+            return (arguments.size() == 1) ? where(visit(arguments.get(0))) : unexpectedNumberOfArguments(arguments.size(), functionName);
+        default:
+            return function(functionName, arguments);
+        }
+    }
+
+    private Closure all(Closure criteria) {
+        return (visitor, context) -> {
+            for (FHIRPathNode node : context) {
+                Collection<FHIRPathNode> result = criteria.evaluate(visitor, singleton(node));
+                if (evaluatesToBoolean(result) && isFalse(result)) {
+                    return SINGLETON_FALSE;
+                }
+            }
+            return SINGLETON_TRUE;
+        };
+    }
+
+    private Closure ofType(ExpressionContext typeName) {
+        String identifier = typeName(typeName);
+        FHIRPathType type = FHIRPathType.from(identifier);
+        if (type == null) {
+            return error(() -> new IllegalArgumentException(String.format("Argument '%s' cannot be resolved to a valid type identifier", identifier)));
+        }
+        boolean systemType = SYSTEM_NAMESPACE.equals(type.namespace());
+        return (visitor, context) -> {
+            List<FHIRPathNode> result = new ArrayList<>();
+            for (FHIRPathNode node : context) {
+                FHIRPathType nodeType = node.type();
+                if (systemType && node.hasValue()) {
+                    nodeType = node.getValue().type();
+                }
+                if (type.isAssignableFrom(nodeType)) {
+                    result.add(node);
+                }
+            }
+            return result;
+        };
+    }
+
+    private Closure exists(List<ExpressionContext> arguments) {
+        if (arguments.isEmpty()) {
+            return (visitor, context) -> !context.isEmpty() ? SINGLETON_TRUE : SINGLETON_FALSE;
+        }
+        Closure criteria = visit(arguments.get(0));
+        return (visitor, context) -> evaluatesToTrue(criteria.evaluate(visitor, context)) ? SINGLETON_TRUE : SINGLETON_FALSE;
+    }
+
+    private Closure iif(List<ExpressionContext> arguments) {
+        Closure criterion = visit(arguments.get(0));
+        Closure trueResult = visit(arguments.get(1));
+        Closure otherwiseResult = (arguments.size() == 3) ? visit(arguments.get(2)) : null;
+        return (visitor, context) -> {
+            Collection<FHIRPathNode> result = criterion.evaluate(visitor, context);
+            if (!evaluatesToBoolean(result) && !result.isEmpty()) {
+                throw new IllegalArgumentException("'iff' function criterion must evaluate to a boolean or empty");
+            }
+            if (evaluatesToTrue(result)) {
+                return trueResult.evaluate(visitor, context);
+            } else if (otherwiseResult != null) {
+                return otherwiseResult.evaluate(visitor, context);
+            }
+            return empty();
+        };
+    }
+
+    private Closure is(ExpressionContext typeName) {
+        FHIRPathType type = FHIRPathType.from(typeName(typeName));
+        return (visitor, context) -> {
+            if (context.isEmpty()) {
+                return SINGLETON_FALSE;
+            } else if (context.size() > 1) {
+                throw new IllegalArgumentException(String.format("Input collection has %d items, but only 1 is allowed", context.size()));
+            }
+            if (type == null) {
+                return SINGLETON_FALSE;
+            }
+            return type.isAssignableFrom(getSingleton(context).type()) ? SINGLETON_TRUE : SINGLETON_FALSE;
+        };
+    }
+
+    private Closure select(Closure projection) {
+        return (visitor, context) -> {
+            List<FHIRPathNode> result = new ArrayList<>();
+            for (FHIRPathNode node : context) {
+                result.addAll(projection.evaluate(visitor, singleton(node)));
+            }
+            return result;
+        };
+    }
+
+    private Closure trace(List<ExpressionContext> arguments) {
+        Closure name = visit(arguments.get(0));
+        Closure projection = (arguments.size() == 2) ? visit(arguments.get(1)) : null;
+        return (visitor, context) -> {
+            String traceName = getString(name.evaluate(visitor, context));
+            Collection<FHIRPathNode> nodes = (projection == null) ? context : projection.evaluate(visitor, context);
+            if (!nodes.isEmpty()) {
+                if (log.isLoggable(Level.FINER)) {
+                    log.finer(traceName + ": " + nodes);
+                }
+            }
+            return context;
+        };
+    }
+
+    private Closure where(Closure criteria) {
+        return (visitor, context) -> {
+            List<FHIRPathNode> result = new ArrayList<>();
+            for (FHIRPathNode node : context) {
+                if (evaluatesToTrue(criteria.evaluate(visitor, singleton(node)))) {
+                    result.add(node);
+                }
+            }
+            return result;
+        };
+    }
+
+    private Closure function(String functionName, List<ExpressionContext> arguments) {
+        List<Closure> compiledArguments = new ArrayList<>(arguments.size());
+        for (ExpressionContext argument : arguments) {
+            compiledArguments.add(visit(argument));
+        }
+        FHIRPathFunction compiledFunction = FHIRPathFunction.registry().getFunction(functionName);
+        if (compiledFunction != null && (arguments.size() < compiledFunction.getMinArity() || arguments.size() > compiledFunction.getMaxArity())) {
+            return unexpectedNumberOfArguments(arguments.size(), functionName);
+        }
+        return (visitor, context) -> {
+            FHIRPathFunction function = compiledFunction;
+            if (function == null) {
+                // the function may have been registered after the expression was compiled
+                function = FHIRPathFunction.registry().getFunction(functionName);
+                if (function == null) {
+                    throw new IllegalArgumentException("Function: '" + functionName + "' not found");
+                }
+                if (arguments.size() < function.getMinArity() || arguments.size() > function.getMaxArity()) {
+                    throw EvaluatingVisitor.unexpectedNumberOfArguments(arguments.size(), functionName);
+                }
+            }
+            List<Collection<FHIRPathNode>> values = new ArrayList<>(compiledArguments.size());
+            for (Closure argument : compiledArguments) {
+                values.add(argument.evaluate(visitor, context));
+            }
+            return function.apply(visitor.getEvaluationContext(), context, values);
+        };
+    }
+}
@@ -6,7 +6,7 @@
 
 package com.ibm.fhir.path.evaluator;
 
-import static com.ibm.fhir.core.util.LRUCache.createLRUCache;
+import static com.ibm.fhir.core.util.ConcurrentLRUCache.createConcurrentLRUCache;
 import static com.ibm.fhir.path.FHIRPathDateTimeValue.dateTimeValue;
 import static com.ibm.fhir.path.FHIRPathDateValue.dateValue;
 import static com.ibm.fhir.path.FHIRPathDecimalValue.decimalValue;
@@ -83,9 +83,9 @@ import com.ibm.fhir.path.FHIRPathTemporalValue;
 import com.ibm.fhir.path.FHIRPathTermServiceNode;
 import com.ibm.fhir.path.FHIRPathTree;
 import com.ibm.fhir.path.FHIRPathType;
+import com.ibm.fhir.path.evaluator.FHIRPathCompiler.CompiledExpression;
 import com.ibm.fhir.path.exception.FHIRPathException;
 import com.ibm.fhir.path.function.FHIRPathFunction;
-import com.ibm.fhir.path.util.FHIRPathUtil;
 
 /**
  * A FHIRPath evaluation engine that implements the FHIRPath 2.0.0 <a href="http://hl7.org/fhirpath/N1/">specification</a>
@@ -96,12 +96,15 @@ public class FHIRPathEvaluator {
     public static final Collection<FHIRPathNode> SINGLETON_TRUE = singleton(FHIRPathBooleanValue.TRUE);
     public static final Collection<FHIRPathNode> SINGLETON_FALSE = singleton(FHIRPathBooleanValue.FALSE);
 
-    private static final int EXPRESSION_CONTEXT_CACHE_MAX_ENTRIES = 512;
-    private static final Map<String, ExpressionContext> EXPRESSION_CONTEXT_CACHE = createLRUCache(EXPRESSION_CONTEXT_CACHE_MAX_ENTRIES);
+    private static final int COMPILED_EXPRESSION_CACHE_MAX_ENTRIES = 512;
+    private static final Map<String, CompiledExpression> COMPILED_EXPRESSION_CACHE = createConcurrentLRUCache(COMPILED_EXPRESSION_CACHE_MAX_ENTRIES);
 
     private final EvaluatingVisitor visitor = new EvaluatingVisitor();
+    private final boolean interpret;
 
-    private FHIRPathEvaluator() { }
+    private FHIRPathEvaluator(boolean interpret) {
+        this.interpret = interpret;
+    }
 
     /**
      * Get the EvaluationContext associated with this FHIRPathEvaluator
@@ -252,7 +255,11 @@ public class FHIRPathEvaluator {
         try {
             evaluationContext.setExternalConstant("context", initialContext);
             setDateTimeConstants(evaluationContext);
-            return visitor.evaluate(evaluationContext, getExpressionContext(expr), initialContext);
+            CompiledExpression compiledExpression = getCompiledExpression(expr);
+            if (interpret) {
+                return visitor.evaluate(evaluationContext, compiledExpression.getExpressionContext(), initialContext);
+            }
+            return visitor.evaluate(evaluationContext, compiledExpression, initialContext);
         } catch (Exception e) {
             throw new FHIRPathException("An error occurred while evaluating expression: " + expr, e);
         }
@@ -265,8 +272,8 @@ public class FHIRPathEvaluator {
         evaluationContext.setExternalConstant("timeOfDay", singleton(timeValue(LocalTime.from(now))));
     }
 
-    private static ExpressionContext getExpressionContext(String expr) {
-        return EXPRESSION_CONTEXT_CACHE.computeIfAbsent(Objects.requireNonNull(expr), FHIRPathUtil::compile);
+    private static CompiledExpression getCompiledExpression(String expr) {
+        return COMPILED_EXPRESSION_CACHE.computeIfAbsent(Objects.requireNonNull(expr), FHIRPathCompiler::compile);
     }
 
     /**
@@ -276,24 +283,35 @@ public class FHIRPathEvaluator {
      *     a new FHIRPathEvaluator instance
      */
     public static FHIRPathEvaluator evaluator() {
-        return new FHIRPathEvaluator();
+        return new FHIRPathEvaluator(false);
+    }
+
+    /**
+     * Static factory method for creating FHIRPathEvaluator instances that interpret the parse tree of each expression
+     * instead of evaluating its compiled form; the interpreter is the reference implementation of the compiled form
+     *
+     * @return
+     *     a new FHIRPathEvaluator instance
+     */
+    public static FHIRPathEvaluator interpreter() {
+        return new FHIRPathEvaluator(true);
     }
 
     public static class EvaluatingVisitor extends FHIRPathBaseVisitor<Collection<FHIRPathNode>> {
         private static final String SYSTEM_NAMESPACE = "System";
 
         private static final int IDENTIFIER_CACHE_MAX_ENTRIES = 2048;
-        private static final Map<String, Collection<FHIRPathNode>> IDENTIFIER_CACHE = createLRUCache(IDENTIFIER_CACHE_MAX_ENTRIES);
+        private static final Map<String, Collection<FHIRPathNode>> IDENTIFIER_CACHE = createConcurrentLRUCache(IDENTIFIER_CACHE_MAX_ENTRIES);
 
         private static final int LITERAL_CACHE_MAX_ENTRIES = 128;
-        private static final Map<String, Collection<FHIRPathNode>> LITERAL_CACHE = createLRUCache(LITERAL_CACHE_MAX_ENTRIES);
+        private static final Map<String, Collection<FHIRPathNode>> LITERAL_CACHE = createConcurrentLRUCache(LITERAL_CACHE_MAX_ENTRIES);
 
         private EvaluationContext evaluationContext;
         private final Stack<Collection<FHIRPathNode>> contextStack = new Stack<>();
 
         private int indentLevel = 0;
 
-        private EvaluatingVisitor() { }
+        EvaluatingVisitor() { }
 
         private Collection<FHIRPathNode> evaluate(EvaluationContext evaluationContext, ExpressionContext expressionContext, Collection<FHIRPathNode> initialContext) {
             reset();
@@ -304,7 +322,24 @@ public class FHIRPathEvaluator {
             return Collections.unmodifiableCollection(result);
         }
 
-        private EvaluationContext getEvaluationContext() {
+        private Collection<FHIRPathNode> evaluate(EvaluationContext evaluationContext, CompiledExpression compiledExpression, Collection<FHIRPathNode> initialContext) {
+            reset();
+            this.evaluationContext = evaluationContext;
+            Collection<FHIRPathNode> result = compiledExpression.getClosure().evaluate(this, initialContext);
+            return Collections.unmodifiableCollection(result);
+        }
+
+        /**
+         * Interpret part of a compiled expression that has no compiled form
+         */
+        Collection<FHIRPathNode> interpret(ParseTree tree, Collection<FHIRPathNode> context) {
+            pushContext(context);
+            Collection<FHIRPathNode> result = visit(tree);
+            popContext();
+            return result;
+        }
+
+        EvaluationContext getEvaluationContext() {
             return evaluationContext;
         }
 
@@ -489,7 +524,7 @@ public class FHIRPathEvaluator {
             return currentContext;
         }
 
-        private IllegalArgumentException unexpectedNumberOfArguments(int arity, String functionName) {
+        static IllegalArgumentException unexpectedNumberOfArguments(int arity, String functionName) {
             return new IllegalArgumentException(String.format("Unexpected number of arguments: %d for function: '%s'", arity, functionName));
         }
 
@@ -509,42 +544,27 @@ public class FHIRPathEvaluator {
             return result;
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitIndexerExpression(FHIRPathParser.IndexerExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> result = empty();
-
-            Collection<FHIRPathNode> nodes = visit(ctx.expression(0));
+        /*
+         * The operators below are shared with the compiled form of expressions, see FHIRPathCompiler
+         */
 
+        static Collection<FHIRPathNode> indexer(Collection<FHIRPathNode> nodes, Collection<FHIRPathNode> index) {
             List<?> list = (nodes instanceof List) ? (List<?>) nodes : new ArrayList<>(nodes);
-            int index = getInteger(visit(ctx.expression(1)));
-
-            if (index >= 0 && index < list.size()) {
-                result = singleton((FHIRPathNode) list.get(index));
+            int i = getInteger(index);
+            if (i >= 0 && i < list.size()) {
+                return singleton((FHIRPathNode) list.get(i));
             }
-
-            indentLevel--;
-            return result;
+            return empty();
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitPolarityExpression(FHIRPathParser.PolarityExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> nodes = visit(ctx.expression());
-
+        static Collection<FHIRPathNode> polarity(String polarity, Collection<FHIRPathNode> nodes) {
             if (!isSingleton(nodes)) {
-                indentLevel--;
                 return empty();
             }
 
             Collection<FHIRPathNode> result = empty();
 
             FHIRPathSystemValue value = getSystemValue(nodes);
-            String polarity = ctx.getChild(0).getText();
 
             if (value.isNumberValue()) {
                 switch (polarity) {
@@ -557,22 +577,12 @@ public class FHIRPathEvaluator {
                 }
             }
 
-            indentLevel--;
             return result;
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitAdditiveExpression(FHIRPathParser.AdditiveExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-            Collection<FHIRPathNode> right = visit(ctx.expression(1));
-
+        static Collection<FHIRPathNode> additive(String operator, Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             Collection<FHIRPathNode> result = empty();
 
-            String operator = ctx.getChild(1).getText();
-
             if ((hasNumberValue(left) && hasNumberValue(right)) || (hasStringValue(left) && hasStringValue(right))) {
                 if (hasNumberValue(left) && hasNumberValue(right)) {
                     switch (operator) {
@@ -642,20 +652,11 @@ public class FHIRPathEvaluator {
                 throw new IllegalArgumentException("Invalid argument(s) for '" + operator + "' operator");
             }
 
-            indentLevel--;
             return result;
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitMultiplicativeExpression(FHIRPathParser.MultiplicativeExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-            Collection<FHIRPathNode> right = visit(ctx.expression(1));
-
+        static Collection<FHIRPathNode> multiplicative(String operator, Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             if (!hasSystemValue(left) || !hasSystemValue(right)) {
-                indentLevel--;
                 return empty();
             }
 
@@ -664,8 +665,6 @@ public class FHIRPathEvaluator {
             FHIRPathSystemValue leftValue = getSystemValue(left);
             FHIRPathSystemValue rightValue = getSystemValue(right);
 
-            String operator = ctx.getChild(1).getText();
-
             if (leftValue.isNumberValue() && rightValue.isNumberValue()) {
                 try {
                     switch (operator) {
@@ -687,110 +686,62 @@ public class FHIRPathEvaluator {
                 }
             }
 
-            indentLevel--;
             return result;
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitUnionExpression(FHIRPathParser.UnionExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-            Collection<FHIRPathNode> right = visit(ctx.expression(1));
-
+        static Collection<FHIRPathNode> union(Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             Set<FHIRPathNode> union = new LinkedHashSet<>(left);
             union.addAll(right);
-
-            indentLevel--;
             return new ArrayList<>(union);
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitOrExpression(FHIRPathParser.OrExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> result = empty();
-
-            // evaluate left operand
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-
-            String operator = ctx.getChild(1).getText();
-
-            switch (operator) {
-            case "or":
-                // Returns false if both operands evaluate to false, true if either operand evaluates to true, and empty ({ }) otherwise:
-                if (evaluatesToBoolean(left) && evaluatesToTrue(left)) {
-                    // short-circuit evaluation
-                    result = SINGLETON_TRUE;
-                } else {
-                    // evaluate right operand
-                    Collection<FHIRPathNode> right = visit(ctx.expression(1));
-                    if (evaluatesToBoolean(right) && evaluatesToTrue(right)) {
-                        result = SINGLETON_TRUE;
-                    } else if (evaluatesToBoolean(left) && evaluatesToBoolean(right) &&
-                            isFalse(left) && isFalse(right)) {
-                        result = SINGLETON_FALSE;
-                    }
-                }
-                break;
-            case "xor":
-                // evaluate right operand
-                Collection<FHIRPathNode> right = visit(ctx.expression(1));
+        /**
+         * @return true if the result of the 'or' operator is true regardless of its right operand
+         */
+        static boolean orShortCircuits(Collection<FHIRPathNode> left) {
+            return evaluatesToBoolean(left) && evaluatesToTrue(left);
+        }
 
-                // Returns true if exactly one of the operands evaluates to true, false if either both operands evaluate to true or both operands evaluate to false, and the empty collection ({ }) otherwise:
-                if (evaluatesToBoolean(left) && evaluatesToBoolean(right)) {
-                    result = ((evaluatesToTrue(left) || evaluatesToTrue(right)) && !(evaluatesToTrue(left) && evaluatesToTrue(right))) ? SINGLETON_TRUE : SINGLETON_FALSE;
-                }
-                break;
+        static Collection<FHIRPathNode> or(Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
+            // Returns false if both operands evaluate to false, true if either operand evaluates to true, and empty ({ }) otherwise:
+            if (orShortCircuits(left) || (evaluatesToBoolean(right) && evaluatesToTrue(right))) {
+                return SINGLETON_TRUE;
+            } else if (evaluatesToBoolean(left) && evaluatesToBoolean(right) &&
+                    isFalse(left) && isFalse(right)) {
+                return SINGLETON_FALSE;
             }
-
-            indentLevel--;
-            return result;
+            return empty();
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitAndExpression(FHIRPathParser.AndExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> result = empty();
+        static Collection<FHIRPathNode> xor(Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
+            // Returns true if exactly one of the operands evaluates to true, false if either both operands evaluate to true or both operands evaluate to false, and the empty collection ({ }) otherwise:
+            if (evaluatesToBoolean(left) && evaluatesToBoolean(right)) {
+                return ((evaluatesToTrue(left) || evaluatesToTrue(right)) && !(evaluatesToTrue(left) && evaluatesToTrue(right))) ? SINGLETON_TRUE : SINGLETON_FALSE;
+            }
+            return empty();
+        }
 
-            // evaluate left operand
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+        /**
+         * @return true if the result of the 'and' operator is false regardless of its right operand
+         */
+        static boolean andShortCircuits(Collection<FHIRPathNode> left) {
+            return evaluatesToBoolean(left) && isFalse(left);
+        }
 
+        static Collection<FHIRPathNode> and(Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             // Returns true if both operands evaluate to true, false if either operand evaluates to false, and the empty collection ({ }) otherwise.
-            if (evaluatesToBoolean(left) && isFalse(left)) {
-                // short-circuit evaluation
-                result = SINGLETON_FALSE;
-            } else {
-                // evaluate right operand
-                Collection<FHIRPathNode> right = visit(ctx.expression(1));
-                if (evaluatesToBoolean(right) && isFalse(right)) {
-                    result = SINGLETON_FALSE;
-                } else if (evaluatesToBoolean(left) && evaluatesToBoolean(right) &&
-                        evaluatesToTrue(left) && evaluatesToTrue(right)) {
-                    result = SINGLETON_TRUE;
-                }
+            if (andShortCircuits(left) || (evaluatesToBoolean(right) && isFalse(right))) {
+                return SINGLETON_FALSE;
+            } else if (evaluatesToBoolean(left) && evaluatesToBoolean(right) &&
+                    evaluatesToTrue(left) && evaluatesToTrue(right)) {
+                return SINGLETON_TRUE;
             }
-
-            indentLevel--;
-            return result;
+            return empty();
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitMembershipExpression(FHIRPathParser.MembershipExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
+        static Collection<FHIRPathNode> membership(EvaluationContext evaluationContext, String operator, Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             Collection<FHIRPathNode> result = SINGLETON_FALSE;
 
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-            Collection<FHIRPathNode> right = visit(ctx.expression(1));
-
-            String operator = ctx.getChild(1).getText();
-
             switch (operator) {
             case "in":
                 if ((isCodedElementNode(left) || isStringElementNode(left) || isUriElementNode(left)) && isStringValue(right)) {
@@ -808,20 +759,11 @@ public class FHIRPathEvaluator {
                 break;
             }
 
-            indentLevel--;
             return result;
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitInequalityExpression(FHIRPathParser.InequalityExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-            Collection<FHIRPathNode> right = visit(ctx.expression(1));
-
+        static Collection<FHIRPathNode> inequality(String operator, Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             if (!isSingleton(left) || !isSingleton(right)) {
-                indentLevel--;
                 return SINGLETON_FALSE;
             }
 
@@ -835,8 +777,6 @@ public class FHIRPathEvaluator {
                 throw new IllegalArgumentException("Type: '" + leftNode.type().getName() + "' is not compatible with type: '" + rightNode.type().getName() + "'");
             }
 
-            String operator = ctx.getChild(1).getText();
-
             if (leftNode.isComparableTo(rightNode)) {
                 switch (operator) {
                 case "<=":
@@ -864,49 +804,23 @@ public class FHIRPathEvaluator {
                 result = empty();
             }
 
-            indentLevel--;
-            return result;
-        }
-
-        @Override
-        public Collection<FHIRPathNode> visitInvocationExpression(FHIRPathParser.InvocationExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            pushContext(visit(ctx.expression()));
-            Collection<FHIRPathNode> result = visit(ctx.invocation());
-            popContext();
-
-            indentLevel--;
             return result;
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitEqualityExpression(FHIRPathParser.EqualityExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> result = SINGLETON_FALSE;
-
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-            Collection<FHIRPathNode> right = visit(ctx.expression(1));
-
+        static Collection<FHIRPathNode> equality(String operator, Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             if (left.isEmpty() || right.isEmpty()) {
-                indentLevel--;
                 return empty();
             }
 
             if (left.size() != right.size()) {
-                indentLevel--;
                 return SINGLETON_FALSE;
             }
 
             if (!isComparableTo(left, right)) {
-                indentLevel--;
                 return empty();
             }
 
-            String operator = ctx.getChild(1).getText();
+            Collection<FHIRPathNode> result = SINGLETON_FALSE;
 
             // TODO: "equals" and "equivalent" have different semantics
             switch (operator) {
@@ -924,58 +838,31 @@ public class FHIRPathEvaluator {
                 break;
             }
 
-            indentLevel--;
             return result;
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitImpliesExpression(FHIRPathParser.ImpliesExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> result = empty();
-
-            Collection<FHIRPathNode> left = visit(ctx.expression(0));
-            Collection<FHIRPathNode> right = visit(ctx.expression(1));
-
+        static Collection<FHIRPathNode> implies(Collection<FHIRPathNode> left, Collection<FHIRPathNode> right) {
             // If the left operand evaluates to true, this operator returns the boolean evaluation of the right operand. If the left operand evaluates to false, this operator returns true. Otherwise, this operator returns true if the right operand evaluates to true, and the empty collection ({ }) otherwise.
             if (evaluatesToBoolean(left) && evaluatesToBoolean(right)) {
                 // !left || right
-                result = (!evaluatesToTrue(left) || evaluatesToTrue(right)) ? SINGLETON_TRUE : SINGLETON_FALSE;
+                return (!evaluatesToTrue(left) || evaluatesToTrue(right)) ? SINGLETON_TRUE : SINGLETON_FALSE;
             } else if ((left.isEmpty() && evaluatesToBoolean(right) && evaluatesToTrue(right)) ||
                     (evaluatesToBoolean(left) && isFalse(left) && right.isEmpty())) {
-                result = SINGLETON_TRUE;
+                return SINGLETON_TRUE;
             }
-
-            indentLevel--;
-            return result;
-        }
-
-        @Override
-        public Collection<FHIRPathNode> visitTermExpression(FHIRPathParser.TermExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-            Collection<FHIRPathNode> result = visitChildren(ctx);
-            indentLevel--;
-            return result;
+            return empty();
         }
 
-        @Override
-        public Collection<FHIRPathNode> visitTypeExpression(FHIRPathParser.TypeExpressionContext ctx) {
-            debug(ctx);
-            indentLevel++;
-
-            Collection<FHIRPathNode> nodes = visit(ctx.expression());
-
-            String operator = ctx.getChild(1).getText();
-
-            Collection<FHIRPathNode> result = "is".equals(operator) ? SINGLETON_FALSE : new ArrayList<>();
-
-            String qualifiedIdentifier = getString(visit(ctx.typeSpecifier()));
+        static FHIRPathType getType(String qualifiedIdentifier) {
             FHIRPathType type = FHIRPathType.from(qualifiedIdentifier);
             if (type == null) {
                 throw new IllegalArgumentException(String.format("Argument '%s' cannot be resolved to a valid type identifier", qualifiedIdentifier));
             }
+            return type;
+        }
+
+        static Collection<FHIRPathNode> type(String operator, Collection<FHIRPathNode> nodes, FHIRPathType type) {
+            Collection<FHIRPathNode> result = "is".equals(operator) ? SINGLETON_FALSE : new ArrayList<>();
 
             switch (operator) {
             case "is":
@@ -997,6 +884,196 @@ public class FHIRPathEvaluator {
                 break;
             }
 
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitIndexerExpression(FHIRPathParser.IndexerExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> nodes = visit(ctx.expression(0));
+            Collection<FHIRPathNode> result = indexer(nodes, visit(ctx.expression(1)));
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitPolarityExpression(FHIRPathParser.PolarityExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> result = polarity(ctx.getChild(0).getText(), visit(ctx.expression()));
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitAdditiveExpression(FHIRPathParser.AdditiveExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+            Collection<FHIRPathNode> right = visit(ctx.expression(1));
+            Collection<FHIRPathNode> result = additive(ctx.getChild(1).getText(), left, right);
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitMultiplicativeExpression(FHIRPathParser.MultiplicativeExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+            Collection<FHIRPathNode> right = visit(ctx.expression(1));
+            Collection<FHIRPathNode> result = multiplicative(ctx.getChild(1).getText(), left, right);
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitUnionExpression(FHIRPathParser.UnionExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+            Collection<FHIRPathNode> right = visit(ctx.expression(1));
+            Collection<FHIRPathNode> result = union(left, right);
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitOrExpression(FHIRPathParser.OrExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> result = empty();
+
+            // evaluate left operand
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+
+            String operator = ctx.getChild(1).getText();
+
+            switch (operator) {
+            case "or":
+                // short-circuit evaluation
+                result = orShortCircuits(left) ? SINGLETON_TRUE : or(left, visit(ctx.expression(1)));
+                break;
+            case "xor":
+                result = xor(left, visit(ctx.expression(1)));
+                break;
+            }
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitAndExpression(FHIRPathParser.AndExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            // evaluate left operand
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+
+            // short-circuit evaluation
+            Collection<FHIRPathNode> result = andShortCircuits(left) ? SINGLETON_FALSE : and(left, visit(ctx.expression(1)));
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitMembershipExpression(FHIRPathParser.MembershipExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+            Collection<FHIRPathNode> right = visit(ctx.expression(1));
+            Collection<FHIRPathNode> result = membership(evaluationContext, ctx.getChild(1).getText(), left, right);
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitInequalityExpression(FHIRPathParser.InequalityExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+            Collection<FHIRPathNode> right = visit(ctx.expression(1));
+            Collection<FHIRPathNode> result = inequality(ctx.getChild(1).getText(), left, right);
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitInvocationExpression(FHIRPathParser.InvocationExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            pushContext(visit(ctx.expression()));
+            Collection<FHIRPathNode> result = visit(ctx.invocation());
+            popContext();
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitEqualityExpression(FHIRPathParser.EqualityExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+            Collection<FHIRPathNode> right = visit(ctx.expression(1));
+            Collection<FHIRPathNode> result = equality(ctx.getChild(1).getText(), left, right);
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitImpliesExpression(FHIRPathParser.ImpliesExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> left = visit(ctx.expression(0));
+            Collection<FHIRPathNode> right = visit(ctx.expression(1));
+            Collection<FHIRPathNode> result = implies(left, right);
+
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitTermExpression(FHIRPathParser.TermExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+            Collection<FHIRPathNode> result = visitChildren(ctx);
+            indentLevel--;
+            return result;
+        }
+
+        @Override
+        public Collection<FHIRPathNode> visitTypeExpression(FHIRPathParser.TypeExpressionContext ctx) {
+            debug(ctx);
+            indentLevel++;
+
+            Collection<FHIRPathNode> nodes = visit(ctx.expression());
+
+            String qualifiedIdentifier = getString(visit(ctx.typeSpecifier()));
+            Collection<FHIRPathNode> result = type(ctx.getChild(1).getText(), nodes, getType(qualifiedIdentifier));
+
             indentLevel--;
             return result;
         }
@@ -0,0 +1,457 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.path.patch;
+
+import static com.ibm.fhir.model.util.ModelSupport.delimit;
+import static com.ibm.fhir.model.util.ModelSupport.isKeyword;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonPatch;
+import javax.json.JsonValue;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRJsonParser;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.patch.FHIRJsonPatch;
+import com.ibm.fhir.model.patch.exception.FHIRPatchException;
+import com.ibm.fhir.model.resource.Parameters;
+import com.ibm.fhir.model.resource.Parameters.Parameter;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.Element;
+import com.ibm.fhir.model.type.Extension;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.model.util.ModelSupport.ElementInfo;
+import com.ibm.fhir.model.visitor.Visitable;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.FHIRPathTree;
+import com.ibm.fhir.path.exception.FHIRPathException;
+import com.ibm.fhir.path.util.FHIRPathUtil;
+
+/**
+ * A JSON Patch that is applied directly to the model: each operation is translated into the add, delete, insert,
+ * move or replace operation of {@link FHIRPathUtil}, so only the changed elements and their ancestors are rebuilt
+ * and the rest of the resource is shared with the input.
+ *
+ * <p>If an operation can't be expressed this way (e.g. a pointer into the {@code _element} of a primitive, or a value
+ * of a type that can't be parsed on its own), or if it fails, the whole patch is applied by {@link FHIRJsonPatch}
+ * instead, so the result and the error messages are the same as those of the JSON representation.
+ */
+public class FHIRPathJsonPatch extends FHIRJsonPatch {
+    private static final JsonBuilderFactory BUILDER_FACTORY = Json.createBuilderFactory(null);
+    private static final String VALUE = "value";
+    private static final String EXTENSION = "extension";
+
+    // the types that can be parsed as the value of a Parameters parameter
+    private static final Set<Class<?>> VALUE_TYPES = ModelSupport.getChoiceElementTypes(Parameter.class, VALUE);
+
+    FHIRPathJsonPatch(JsonArray array) {
+        super(array);
+    }
+
+    FHIRPathJsonPatch(JsonPatch patch) {
+        super(patch);
+    }
+
+    @Override
+    public <T extends Resource> T apply(T resource) throws FHIRPatchException {
+        T result = resource;
+        try {
+            for (JsonValue operation : getJsonPatch().toJsonArray()) {
+                result = apply(result, operation.asJsonObject());
+                if (result == null) {
+                    break;
+                }
+            }
+        } catch (FHIRPatchException | FHIRPathException | FHIRParserException | RuntimeException e) {
+            result = null;
+        }
+        if (result == null) {
+            return super.apply(resource);
+        }
+        return result;
+    }
+
+    /**
+     * @return the result of applying the operation, or null if it can't be applied to the model directly
+     */
+    private <T extends Resource> T apply(T resource, JsonObject operation) throws FHIRPatchException, FHIRPathException, FHIRParserException {
+        FHIRPathTree tree = FHIRPathTree.tree(resource);
+        Location location = Location.resolve(tree, operation.getString("path"));
+        if (location == null) {
+            return null;
+        }
+        switch (operation.getString("op")) {
+        case "add":
+            return add(resource, location, operation.get(VALUE));
+        case "remove":
+            return remove(resource, location);
+        case "replace":
+            return replace(resource, location, operation.get(VALUE));
+        case "move":
+            return move(resource, Location.resolve(tree, operation.getString("from")), location);
+        case "copy":
+            return copy(resource, Location.resolve(tree, operation.getString("from")), location);
+        case "test":
+            return test(resource, location, operation.get(VALUE));
+        default:
+            return null;
+        }
+    }
+
+    private <T extends Resource> T add(T resource, Location location, JsonValue jsonValue) throws FHIRPatchException, FHIRPathException, FHIRParserException {
+        if (location.repeating && location.index == null) {
+            // the value of the whole list
+            return setAll(resource, location, jsonValue);
+        }
+        Visitable value = toModel(jsonValue, location.type);
+        if (value == null) {
+            return null;
+        }
+        return add(resource, location, value);
+    }
+
+    private <T extends Resource> T add(T resource, Location location, Visitable value) throws FHIRPatchException, FHIRPathException {
+        if (!location.repeating) {
+            if (location.values.isEmpty()) {
+                return FHIRPathUtil.add(resource, location.parent.path(), location.elementName, value);
+            }
+            // adding a member that already exists replaces it
+            return FHIRPathUtil.replace(resource, location.values.get(0).path(), value);
+        }
+        int size = location.values.size();
+        if (size == 0) {
+            // an empty list is absent from the JSON representation, so there is no array to add to
+            return null;
+        }
+        int index = location.index();
+        if (index == -1 || index == size) {
+            return FHIRPathUtil.add(resource, location.parent.path(), location.elementName, value);
+        }
+        if (index > size) {
+            return null;
+        }
+        return FHIRPathUtil.insert(resource, location.path(), index, value);
+    }
+
+    private <T extends Resource> T remove(T resource, Location location) throws FHIRPatchException, FHIRPathException {
+        if (location.repeating && location.index == null) {
+            if (location.values.isEmpty()) {
+                return null;
+            }
+            return removeAll(resource, location);
+        }
+        FHIRPathNode node = location.getValue();
+        if (node == null) {
+            return null;
+        }
+        return FHIRPathUtil.delete(resource, node.path());
+    }
+
+    private <T extends Resource> T replace(T resource, Location location, JsonValue jsonValue) throws FHIRPatchException, FHIRPathException, FHIRParserException {
+        if (location.repeating && location.index == null) {
+            if (location.values.isEmpty()) {
+                return null;
+            }
+            return setAll(resource, location, jsonValue);
+        }
+        FHIRPathNode node = location.getValue();
+        Visitable value = toModel(jsonValue, location.type);
+        if (node == null || value == null) {
+            return null;
+        }
+        return FHIRPathUtil.replace(resource, node.path(), value);
+    }
+
+    private <T extends Resource> T move(T resource, Location from, Location to) throws FHIRPatchException, FHIRPathException {
+        // only moves within a single list
+        if (from == null || !from.repeating || from.index == null || !to.repeating || to.index == null
+                || !from.path().equals(to.path())) {
+            return null;
+        }
+        int source = from.index();
+        int target = to.index();
+        int size = from.values.size();
+        if (source == -1 || source >= size || target == -1 || target >= size) {
+            return null;
+        }
+        return FHIRPathUtil.move(resource, from.path(), source, target);
+    }
+
+    private <T extends Resource> T copy(T resource, Location from, Location to) throws FHIRPatchException, FHIRPathException {
+        FHIRPathNode node = (from != null) ? from.getValue() : null;
+        if (node == null || (to.repeating && to.index == null)) {
+            return null;
+        }
+        Visitable value = visitable(node);
+        if (!to.type.isInstance(value) && !(value instanceof Code && Code.class.isAssignableFrom(to.type))) {
+            return null;
+        }
+        return add(resource, to, value);
+    }
+
+    private <T extends Resource> T test(T resource, Location location, JsonValue jsonValue) throws FHIRParserException {
+        FHIRPathNode node = location.getValue();
+        Visitable value = toModel(jsonValue, location.type);
+        if (node == null || value == null || !matches(visitable(node), value)) {
+            // let FHIRJsonPatch decide
+            return null;
+        }
+        return resource;
+    }
+
+    /**
+     * Replace the values of a repeating element with the values of the passed JSON array
+     */
+    private <T extends Resource> T setAll(T resource, Location location, JsonValue jsonValue) throws FHIRPatchException, FHIRPathException, FHIRParserException {
+        if (jsonValue == null || jsonValue.getValueType() != JsonValue.ValueType.ARRAY) {
+            return null;
+        }
+        List<Visitable> values = new ArrayList<>();
+        for (JsonValue item : jsonValue.asJsonArray()) {
+            Visitable value = toModel(item, location.type);
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+        T result = removeAll(resource, location);
+        for (Visitable value : values) {
+            result = FHIRPathUtil.add(result, location.parent.path(), location.elementName, value);
+        }
+        return result;
+    }
+
+    private <T extends Resource> T removeAll(T resource, Location location) throws FHIRPatchException, FHIRPathException {
+        T result = resource;
+        // from the end, so that the paths of the values that are left don't change
+        for (int i = location.values.size() - 1; i >= 0; i--) {
+            result = FHIRPathUtil.delete(result, location.values.get(i).path());
+        }
+        return result;
+    }
+
+    /**
+     * @return the model object for the passed JSON value, or null if a value of the passed type can't be parsed on
+     *     its own
+     */
+    private static Visitable toModel(JsonValue jsonValue, Class<?> type) throws FHIRParserException {
+        if (jsonValue == null || jsonValue.getValueType() == JsonValue.ValueType.NULL) {
+            return null;
+        }
+        FHIRJsonParser parser = FHIRParser.parser(Format.JSON).as(FHIRJsonParser.class);
+        if (Resource.class.isAssignableFrom(type)) {
+            if (jsonValue.getValueType() != JsonValue.ValueType.OBJECT) {
+                return null;
+            }
+            Resource resource = parser.parse(jsonValue.asJsonObject());
+            return type.isInstance(resource) ? resource : null;
+        }
+        // the value is parsed as the value or the extension of a Parameters parameter
+        JsonObjectBuilder parameterBuilder = BUILDER_FACTORY.createObjectBuilder().add("name", VALUE);
+        if (Extension.class.equals(type)) {
+            parameterBuilder.add(EXTENSION, BUILDER_FACTORY.createArrayBuilder().add(jsonValue));
+        } else {
+            // code subtypes are converted by the visitors
+            Class<?> valueType = ModelSupport.isCodeSubtype(type) ? Code.class : type;
+            if (!VALUE_TYPES.contains(valueType)) {
+                return null;
+            }
+            parameterBuilder.add(ModelSupport.getChoiceElementName(VALUE, valueType), jsonValue);
+        }
+        JsonObject parameters = BUILDER_FACTORY.createObjectBuilder()
+                .add("resourceType", "Parameters")
+                .add("parameter", BUILDER_FACTORY.createArrayBuilder().add(parameterBuilder))
+                .build();
+        Parameter parameter = parser.<Parameters>parse(parameters).getParameter().get(0);
+        return Extension.class.equals(type) ? parameter.getExtension().get(0) : parameter.getValue();
+    }
+
+    private static boolean matches(Visitable actual, Visitable expected) {
+        if (actual instanceof Code && expected instanceof Code && actual.getClass() != expected.getClass()) {
+            // a code subtype and the code that was parsed for it
+            Code actualCode = (Code) actual;
+            Code expectedCode = (Code) expected;
+            return Objects.equals(actualCode.getValue(), expectedCode.getValue())
+                    && Objects.equals(actualCode.getId(), expectedCode.getId())
+                    && actualCode.getExtension().equals(expectedCode.getExtension());
+        }
+        return actual.equals(expected);
+    }
+
+    private static Visitable visitable(FHIRPathNode node) {
+        if (node.isResourceNode()) {
+            return node.asResourceNode().resource();
+        }
+        if (node.isElementNode()) {
+            return node.asElementNode().element();
+        }
+        return null;
+    }
+
+    public static FHIRPathJsonPatch patch(JsonArray array) {
+        return new FHIRPathJsonPatch(array);
+    }
+
+    public static FHIRPathJsonPatch patch(JsonPatch patch) {
+        return new FHIRPathJsonPatch(patch);
+    }
+
+    /**
+     * The element of the model that a JSON pointer refers to
+     */
+    private static class Location {
+        // the resource or element node that contains the element
+        private final FHIRPathNode parent;
+        private final String elementName;
+        // the type of the element; for choice elements, the type given by the suffix of the member name
+        private final Class<?> type;
+        private final boolean repeating;
+        // the current values of the element
+        private final List<FHIRPathNode> values;
+        // the last token of the pointer if it is an index into a repeating element, otherwise null
+        private final String index;
+
+        private Location(FHIRPathNode parent, ElementInfo elementInfo, Class<?> type, List<FHIRPathNode> values, String index) {
+            this.parent = parent;
+            this.elementName = elementInfo.getName();
+            this.type = type;
+            this.repeating = elementInfo.isRepeating();
+            this.values = values;
+            this.index = index;
+        }
+
+        /**
+         * @return the FHIRPath path of the element (without an index)
+         */
+        private String path() {
+            return parent.path() + "." + (isKeyword(elementName) ? delimit(elementName) : elementName);
+        }
+
+        /**
+         * @return the index, or -1 for the end of the list ("-")
+         */
+        private int index() {
+            return "-".equals(index) ? -1 : Integer.parseInt(index);
+        }
+
+        /**
+         * @return the single value that the pointer refers to, or null if there is no such value
+         */
+        private FHIRPathNode getValue() {
+            if (repeating) {
+                if (index == null) {
+                    return null;
+                }
+                int i = index();
+                return (i != -1 && i < values.size()) ? values.get(i) : null;
+            }
+            return (index == null && !values.isEmpty()) ? values.get(0) : null;
+        }
+
+        /**
+         * @return the location that the passed JSON pointer refers to, or null if it can't be expressed in terms of the
+         *     model, or if one of the elements on the way doesn't exist
+         */
+        private static Location resolve(FHIRPathTree tree, String pointer) {
+            if (pointer == null || !pointer.startsWith("/")) {
+                return null;
+            }
+            String[] tokens = pointer.substring(1).split("/", -1);
+            FHIRPathNode node = tree.getRoot();
+            for (int i = 0; i < tokens.length; i++) {
+                Visitable visitable = visitable(node);
+                if (visitable == null || ModelSupport.isPrimitiveType(visitable.getClass())) {
+                    return null;
+                }
+                Class<?> modelClass = visitable.getClass();
+                ElementInfo elementInfo = ModelSupport.getElementInfo(modelClass, tokens[i]);
+                Class<?> type;
+                if (elementInfo != null) {
+                    if (elementInfo.isChoice()) {
+                        // choice element members have a type suffix
+                        return null;
+                    }
+                    type = elementInfo.getType();
+                } else {
+                    elementInfo = ModelSupport.getChoiceElementInfo(modelClass, tokens[i]);
+                    if (elementInfo == null) {
+                        return null;
+                    }
+                    type = getChoiceType(elementInfo, tokens[i]);
+                }
+                if (!Element.class.isAssignableFrom(type) && !Resource.class.isAssignableFrom(type)) {
+                    // e.g. Resource.id, Element.id and Extension.url
+                    return null;
+                }
+
+                List<FHIRPathNode> values = new ArrayList<>();
+                for (FHIRPathNode child : node.children()) {
+                    if (!child.isSystemValue() && elementInfo.getName().equals(child.name())) {
+                        values.add(child);
+                    }
+                }
+                if (elementInfo.isChoice() && !values.isEmpty() && !type.isInstance(visitable(values.get(0)))) {
+                    // a value of another type
+                    return null;
+                }
+
+                String index = null;
+                if (elementInfo.isRepeating() && i + 1 < tokens.length) {
+                    index = tokens[++i];
+                    if (!isIndex(index)) {
+                        return null;
+                    }
+                }
+                if (i == tokens.length - 1) {
+                    return new Location(node, elementInfo, type, values, index);
+                }
+
+                int position = (index != null) ? ("-".equals(index) ? -1 : Integer.parseInt(index)) : 0;
+                if (position == -1 || position >= values.size()) {
+                    return null;
+                }
+                node = values.get(position);
+            }
+            return null;
+        }
+
+        private static Class<?> getChoiceType(ElementInfo elementInfo, String typeSpecificElementName) {
+            for (Class<?> choiceType : elementInfo.getChoiceTypes()) {
+                if (ModelSupport.getChoiceElementName(elementInfo.getName(), choiceType).equals(typeSpecificElementName)) {
+                    return choiceType;
+                }
+            }
+            return null;
+        }
+
+        private static boolean isIndex(String token) {
+            if ("-".equals(token)) {
+                return true;
+            }
+            if (token.isEmpty() || token.length() > 9 || (token.length() > 1 && token.charAt(0) == '0')) {
+                return false;
+            }
+            for (int i = 0; i < token.length(); i++) {
+                if (!Character.isDigit(token.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.path.patch.test;
+
+import static com.ibm.fhir.model.type.String.string;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.patch.FHIRPatch;
+import com.ibm.fhir.model.patch.exception.FHIRPatchException;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.Boolean;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.CodeableConcept;
+import com.ibm.fhir.model.type.Coding;
+import com.ibm.fhir.model.type.Date;
+import com.ibm.fhir.model.type.Extension;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.AdministrativeGender;
+import com.ibm.fhir.path.patch.FHIRPathJsonPatch;
+
+public class FHIRPathJsonPatchTest {
+    private static final HumanName NAME_1 = HumanName.builder()
+            .given(string("John"))
+            .family(string("Doe"))
+            .build();
+    private static final HumanName NAME_2 = HumanName.builder()
+            .given(string("Johnny"))
+            .build();
+    private static final CodeableConcept MARITAL_STATUS = CodeableConcept.builder()
+            .coding(Coding.builder()
+                .system(Uri.of("http://terminology.hl7.org/CodeSystem/v3-MaritalStatus"))
+                .code(Code.of("M"))
+                .build())
+            .build();
+    private static final Patient PATIENT = Patient.builder()
+            .id("1")
+            .active(Boolean.TRUE)
+            .name(NAME_1, NAME_2)
+            .gender(AdministrativeGender.MALE)
+            .maritalStatus(MARITAL_STATUS)
+            .build();
+
+    @Test
+    public void testAdd() throws Exception {
+        Patient patient = patch(PATIENT, op("add", "/name/0/given/-").add("value", "Jack"));
+        assertEquals(patient, PATIENT.toBuilder()
+            .name(Arrays.asList(NAME_1.toBuilder().given(string("Jack")).build(), NAME_2))
+            .build());
+
+        // the unchanged elements are shared with the input
+        assertSame(patient.getName().get(1), NAME_2);
+        assertSame(patient.getMaritalStatus(), MARITAL_STATUS);
+
+        patient = patch(PATIENT, op("add", "/name/0/given/0").add("value", "Jack"));
+        assertEquals(patient.getName().get(0).getGiven(), Arrays.asList(string("Jack"), string("John")));
+
+        patient = patch(PATIENT, op("add", "/birthDate").add("value", "1970-01-01"));
+        assertEquals(patient, PATIENT.toBuilder().birthDate(Date.of("1970-01-01")).build());
+
+        // adding a member that already exists replaces it
+        patient = patch(PATIENT, op("add", "/gender").add("value", "female"));
+        assertEquals(patient, PATIENT.toBuilder().gender(AdministrativeGender.FEMALE).build());
+
+        // choice elements are addressed by their type-specific name
+        patient = patch(PATIENT, op("add", "/deceasedBoolean").add("value", true));
+        assertEquals(patient, PATIENT.toBuilder().deceased(Boolean.TRUE).build());
+    }
+
+    @Test
+    public void testAddList() throws Exception {
+        Extension extension = Extension.builder()
+                .url("http://example.com/extension")
+                .value(string("value"))
+                .build();
+        Patient patient = patch(PATIENT,
+            op("add", "/extension").add("value", Json.createArrayBuilder()),
+            op("add", "/extension/-").add("value", Json.createObjectBuilder()
+                .add("url", "http://example.com/extension")
+                .add("valueString", "value")));
+        assertEquals(patient, PATIENT.toBuilder().extension(extension).build());
+
+        patient = patch(PATIENT, op("add", "/name").add("value", Json.createArrayBuilder()
+            .add(Json.createObjectBuilder().add("family", "Smith"))));
+        assertEquals(patient, PATIENT.toBuilder()
+            .name(Collections.singletonList(HumanName.builder().family(string("Smith")).build()))
+            .build());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        Patient patient = patch(PATIENT, op("remove", "/active"), op("remove", "/name/0"));
+        assertEquals(patient, PATIENT.toBuilder()
+            .active(null)
+            .name(Collections.singletonList(NAME_2))
+            .build());
+
+        patient = patch(PATIENT, op("remove", "/name"));
+        assertEquals(patient, PATIENT.toBuilder().name(Collections.emptyList()).build());
+    }
+
+    @Test
+    public void testReplace() throws Exception {
+        Patient patient = patch(PATIENT,
+            op("replace", "/name/1/given/0").add("value", "Jack"),
+            op("replace", "/maritalStatus/coding/0/code").add("value", "S"));
+        assertEquals(patient, PATIENT.toBuilder()
+            .name(Arrays.asList(NAME_1, NAME_2.toBuilder().given(Collections.singletonList(string("Jack"))).build()))
+            .maritalStatus(MARITAL_STATUS.toBuilder()
+                .coding(Collections.singletonList(MARITAL_STATUS.getCoding().get(0).toBuilder()
+                    .code(Code.of("S"))
+                    .build()))
+                .build())
+            .build());
+        assertSame(patient.getName().get(0), NAME_1);
+    }
+
+    @Test
+    public void testMoveAndCopy() throws Exception {
+        Patient patient = patch(PATIENT, op("move", "/name/0").add("from", "/name/1"));
+        assertEquals(patient, PATIENT.toBuilder().name(Arrays.asList(NAME_2, NAME_1)).build());
+
+        patient = patch(PATIENT, op("copy", "/name/-").add("from", "/name/0"));
+        assertEquals(patient, PATIENT.toBuilder().name(NAME_1).build());
+    }
+
+    @Test
+    public void testTest() throws Exception {
+        Patient patient = patch(PATIENT,
+            op("test", "/gender").add("value", "male"),
+            op("test", "/name/0/family").add("value", "Doe"),
+            op("replace", "/active").add("value", false));
+        assertEquals(patient, PATIENT.toBuilder().active(Boolean.FALSE).build());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        // operations that fail are applied to the JSON representation, so the error is the same as that of FHIRJsonPatch
+        assertSameError(Json.createArrayBuilder()
+            .add(op("remove", "/birthDate"))
+            .build());
+
+        // an empty list is absent from the JSON representation, so it can't be added to by index
+        assertSameError(Json.createArrayBuilder()
+            .add(op("add", "/contact/-").add("value", Json.createObjectBuilder()
+                .add("name", Json.createObjectBuilder().add("family", "Doe"))))
+            .build());
+    }
+
+    @Test
+    public void testSameAsJsonPatch() throws Exception {
+        // operations that can't be applied to the model directly have the same result as with FHIRJsonPatch
+        JsonArray array = Json.createArrayBuilder()
+                .add(op("add", "/_active").add("value", Json.createObjectBuilder().add("id", "a")))
+                .add(op("replace", "/id").add("value", "2"))
+                .add(op("test", "/name/0/given").add("value", Json.createArrayBuilder().add("John")))
+                .add(op("add", "/contact").add("value", Json.createArrayBuilder()
+                    .add(Json.createObjectBuilder()
+                        .add("name", Json.createObjectBuilder().add("family", "Doe")))))
+                .build();
+        Patient patient = FHIRPathJsonPatch.patch(array).apply(PATIENT);
+        assertEquals(patient, FHIRPatch.patch(array).apply(PATIENT));
+        assertEquals(patient.getId(), "2");
+        assertEquals(patient.getActive().getId(), "a");
+        assertEquals(patient.getContact().get(0).getName().getFamily(), string("Doe"));
+
+        // the patch was applied to the JSON representation, so not even the unchanged elements are shared with the input
+        assertNotSame(patient.getMaritalStatus(), MARITAL_STATUS);
+    }
+
+    private static void assertSameError(JsonArray array) {
+        FHIRPatchException expected = null;
+        try {
+            FHIRPatch.patch(array).apply(PATIENT);
+            fail();
+        } catch (FHIRPatchException e) {
+            expected = e;
+        }
+        try {
+            FHIRPathJsonPatch.patch(array).apply(PATIENT);
+            fail();
+        } catch (FHIRPatchException e) {
+            assertEquals(e.getMessage(), expected.getMessage());
+        }
+    }
+
+    private static Patient patch(Patient patient, JsonObjectBuilder... operations) throws FHIRPatchException {
+        JsonArrayBuilder arrayBuilder = Json.createArrayBuilder();
+        for (JsonObjectBuilder operation : operations) {
+            arrayBuilder.add(operation);
+        }
+        return FHIRPathJsonPatch.patch(arrayBuilder.build()).apply(patient);
+    }
+
+    private static JsonObjectBuilder op(String op, String path) {
+        return Json.createObjectBuilder()
+                .add("op", op)
+                .add("path", path);
+    }
+}
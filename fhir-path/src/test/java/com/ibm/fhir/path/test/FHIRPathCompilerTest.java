@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.path.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.Boolean;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.String;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
+import com.ibm.fhir.path.exception.FHIRPathException;
+
+/**
+ * Tests the compiled form of expressions against the interpreter
+ */
+public class FHIRPathCompilerTest {
+    private static final Patient PATIENT = Patient.builder()
+            .active(Boolean.TRUE)
+            .name(HumanName.builder()
+                .given(String.of("John"))
+                .given(String.of("Jacob"))
+                .family(String.of("Doe"))
+                .build())
+            .name(HumanName.builder()
+                .given(String.of("Johnny"))
+                .build())
+            .build();
+
+    @DataProvider
+    public static Object[][] specTests() throws Exception {
+        List<Object[]> testData = new ArrayList<>();
+        for (Object[] test : FHIRPathSpecTest.provideAllTestData()) {
+            // test name, context, expression
+            testData.add(new Object[] { test[0], test[1], ((FHIRPathSpecTest.TestExpression) test[2]).text });
+        }
+        return testData.toArray(new Object[testData.size()][]);
+    }
+
+    @Test(dataProvider = "specTests")
+    public void testSpecExpression(java.lang.String testName, EvaluationContext context, java.lang.String expr) {
+        Collection<FHIRPathNode> expected = null;
+        Exception expectedException = null;
+        try {
+            expected = FHIRPathEvaluator.interpreter().evaluate(context, expr);
+        } catch (FHIRPathException e) {
+            expectedException = e;
+        }
+
+        try {
+            Collection<FHIRPathNode> actual = FHIRPathEvaluator.evaluator().evaluate(context, expr);
+            assertNotNull(expected, testName + ": " + expr + " did not fail: " + expectedException);
+            assertEquals(new ArrayList<>(actual), new ArrayList<>(expected), testName + ": " + expr);
+        } catch (FHIRPathException e) {
+            assertNotNull(expectedException, testName + ": " + expr + " failed: " + e.getCause());
+            assertEquals(e.getCause().getClass(), expectedException.getCause().getClass(), testName + ": " + expr);
+        }
+    }
+
+    @DataProvider
+    public static Object[][] expressions() {
+        return new Object[][] {
+            { "Patient.name.given" },
+            { "Patient.name.where(given = 'Johnny').exists()" },
+            { "Patient.name.where(given = 'Jane').empty()" },
+            { "Patient.name.where(family.exists()).first().given" },
+            { "name.where(given.count() > 1).given.first()" },
+            { "Patient.telecom.value" },
+            { "Patient.active and (1 + 2 = 3)" },
+            { "(1 + 2 * 3) | (7 - 0)" },
+            { "Patient.name.given.select($this + ' Doe')" },
+            { "Patient.name[1].given" },
+            { "Patient.active.is(FHIR.boolean) and Patient.name.all(given.exists())" },
+            { "iif(Patient.active, 'active', 'inactive')" }
+        };
+    }
+
+    @Test(dataProvider = "expressions")
+    public void testExpression(java.lang.String expr) throws Exception {
+        EvaluationContext context = new EvaluationContext(PATIENT);
+        Collection<FHIRPathNode> expected = FHIRPathEvaluator.interpreter().evaluate(context, expr);
+        Collection<FHIRPathNode> actual = FHIRPathEvaluator.evaluator().evaluate(context, expr);
+        assertEquals(new ArrayList<>(actual), new ArrayList<>(expected), expr);
+    }
+
+    @Test
+    public void testDeferredErrors() throws Exception {
+        EvaluationContext context = new EvaluationContext(PATIENT);
+        // the unknown function is not evaluated, so it is not an error
+        Collection<FHIRPathNode> result = FHIRPathEvaluator.evaluator().evaluate(context, "Patient.active or Patient.unknownFunction()");
+        assertEquals(new ArrayList<>(result), new ArrayList<>(FHIRPathEvaluator.SINGLETON_TRUE));
+        try {
+            FHIRPathEvaluator.evaluator().evaluate(context, "Patient.unknownFunction()");
+            fail();
+        } catch (FHIRPathException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+}
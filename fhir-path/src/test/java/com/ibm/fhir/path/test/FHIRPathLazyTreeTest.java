@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.path.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.Boolean;
+import com.ibm.fhir.model.type.Extension;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.String;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.FHIRPathTree;
+
+public class FHIRPathLazyTreeTest {
+    private static final Patient PATIENT = Patient.builder()
+            .id("test")
+            .active(Boolean.TRUE)
+            .name(HumanName.builder()
+                .given(String.builder()
+                    .value("John")
+                    .extension(Extension.builder()
+                        .url("http://www.ibm.com/someExtension")
+                        .value(String.of("value and extension"))
+                        .build())
+                    .build())
+                .given(String.of("Jacob"))
+                .family(String.of("Doe"))
+                .build())
+            .build();
+
+    @Test
+    public void testGetNode() {
+        FHIRPathTree tree = FHIRPathTree.tree(PATIENT);
+        assertEquals(tree.getNode("Patient").asResourceNode().resource(), PATIENT);
+        assertEquals(tree.getNode("Patient.name[0].given[1]").getValue().asStringValue().string(), "Jacob");
+        assertEquals(tree.getNode("Patient.name[0].given[0].extension[0].value").getValue().asStringValue().string(), "value and extension");
+        assertNull(tree.getNode("Patient.name[0].given[2]"));
+        assertNull(tree.getNode("Patient.telecom[0]"));
+    }
+
+    @Test
+    public void testPaths() {
+        FHIRPathTree tree = FHIRPathTree.tree(PATIENT);
+        List<FHIRPathNode> nodes = new ArrayList<>();
+        tree.getRoot().stream().forEach(nodes::add);
+        for (FHIRPathNode node : nodes) {
+            if (node.path() != null) {
+                assertEquals(tree.getNode(node.path()), node, node.path());
+            }
+        }
+        assertTrue(nodes.size() > 10);
+    }
+
+    @Test
+    public void testGetParent() {
+        FHIRPathTree tree = FHIRPathTree.tree(PATIENT);
+        FHIRPathNode given = tree.getNode("Patient.name[0].given[0]");
+        assertEquals(tree.getParent(given), tree.getNode("Patient.name[0]"));
+        assertEquals(tree.getSiblings(given).size(), 2);
+        assertNull(tree.getParent(tree.getRoot()));
+    }
+}
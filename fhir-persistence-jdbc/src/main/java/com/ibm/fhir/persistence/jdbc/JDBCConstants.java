@@ -22,6 +22,11 @@ public class JDBCConstants {
      */
     public static final int MAX_NUM_OF_COMPOSITE_COMPONENTS = 3;
 
+    /**
+     * The maximum number of search results that are counted for searches with _total=estimate
+     */
+    public static final int MAX_ESTIMATED_TOTAL = 1000;
+
     // Constants for the IBM FHIR Server database schema
     public static final String STR_VALUE = "STR_VALUE";
     public static final String STR_VALUE_LCASE = "STR_VALUE_LCASE";
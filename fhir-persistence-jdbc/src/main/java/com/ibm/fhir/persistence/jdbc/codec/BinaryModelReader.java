@@ -0,0 +1,358 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.codec;
+
+import static com.ibm.fhir.persistence.jdbc.codec.BinaryModelWriter.MAX_INTERNED_LENGTH;
+import static com.ibm.fhir.persistence.jdbc.codec.BinaryModelWriter.TEMPORAL_DATE;
+import static com.ibm.fhir.persistence.jdbc.codec.BinaryModelWriter.TEMPORAL_DATE_TIME;
+import static com.ibm.fhir.persistence.jdbc.codec.BinaryModelWriter.TEMPORAL_YEAR;
+import static com.ibm.fhir.persistence.jdbc.codec.BinaryModelWriter.TEMPORAL_YEAR_MONTH;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.persistence.jdbc.codec.BinaryModelSchema.ElementCodec;
+import com.ibm.fhir.persistence.jdbc.codec.BinaryModelSchema.Kind;
+import com.ibm.fhir.persistence.jdbc.codec.BinaryModelSchema.TypeInfo;
+
+/**
+ * Reads a resource in the binary model encoding.
+ *
+ * <p>A resource is its type name followed by its elements. Each element of a model object that has a value is its name,
+ * a byte (kind &lt;&lt; 1 | repeating) with the ordinal of its {@link BinaryModelSchema.Kind} and whether it repeats,
+ * and then the value, or the varint count and the values of a repeating element. An empty name ends the model object.
+ * Values are encoded according to their kind:
+ * <ul>
+ * <li>strings as a varint (length &lt;&lt; 1) followed by the UTF-8 bytes, or as a varint (index &lt;&lt; 1 | 1)
+ * referring to an earlier string of the same resource; every string of at most {@value BinaryModelWriter#MAX_INTERNED_LENGTH}
+ * bytes can be referred to, in the order of appearance
+ * <li>integers, decimals and dates as zig-zag varints; dates and date-times keep their precision and offset
+ * <li>choice elements as the simple name of the type of the value, followed by the value
+ * <li>other elements as the model object of the declared type of the element, and resources as a resource
+ * </ul>
+ *
+ * <p>Since every element carries its name and kind, a payload can be read with a different version of the model:
+ * elements that the model no longer has, or that changed their kind, are skipped, and a single value of an element that
+ * became repeating is read as a list of one.
+ *
+ * <p>Instances are not thread-safe and read a single resource.
+ */
+final class BinaryModelReader {
+    private static final Kind[] KINDS = Kind.values();
+
+    private final List<String> strings = new ArrayList<>();
+    private final byte[] buf;
+    private final int limit;
+    private int pos;
+
+    BinaryModelReader(byte[] buf, int offset, int length) {
+        this.buf = buf;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * @param elements if not null, only the top-level elements with these names and the elements that are required,
+     *     or always included (id and meta), are set on the resource
+     */
+    Resource read(Collection<String> elements) throws IOException {
+        try {
+            return readResource(elements);
+        } catch (IllegalArgumentException | IllegalStateException | ClassCastException | IndexOutOfBoundsException e) {
+            throw new IOException("Invalid binary resource payload", e);
+        }
+    }
+
+    private boolean[] include(TypeInfo typeInfo, Collection<String> elements) {
+        boolean[] include = new boolean[typeInfo.elements.length];
+        for (int i = 0; i < include.length; i++) {
+            ModelSupport.ElementInfo elementInfo = typeInfo.elements[i].elementInfo;
+            String name = elementInfo.getName();
+            include[i] = "id".equals(name) || "meta".equals(name) || elementInfo.isRequired() || elements.contains(name);
+            for (String choiceElementName : elementInfo.getChoiceElementNames()) {
+                include[i] |= elements.contains(choiceElementName);
+            }
+        }
+        return include;
+    }
+
+    private Resource readResource(Collection<String> elements) throws IOException {
+        String typeName = readString();
+        Class<? extends Resource> resourceType = ModelSupport.getResourceType(typeName);
+        if (resourceType == null) {
+            throw new IOException("Invalid resource type: " + typeName);
+        }
+        TypeInfo typeInfo = BinaryModelSchema.getTypeInfo(resourceType);
+        return (Resource) readElements(typeInfo, (elements != null) ? include(typeInfo, elements) : null);
+    }
+
+    private Object readElements(TypeInfo typeInfo, boolean[] include) throws IOException {
+        Object builder = typeInfo.newBuilder();
+        int header;
+        while ((header = readVarint()) != 0) {
+            String name = readString(header);
+            int wireType = readByte();
+            Kind kind = readKind(wireType);
+            boolean repeating = (wireType & 1) != 0;
+            ElementCodec element = typeInfo.getElement(name);
+            if (element == null || element.kind != kind || (repeating && !element.repeating)) {
+                // the payload was written with a version of the model that has a different element of this name
+                skipElement(kind, repeating);
+                continue;
+            }
+            Object value;
+            if (repeating) {
+                int count = readVarint();
+                List<Object> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    Object item = readValue(element);
+                    if (item != null) {
+                        values.add(item);
+                    }
+                }
+                value = values;
+            } else {
+                value = readValue(element);
+                if (value != null && element.repeating) {
+                    value = Collections.singletonList(value);
+                }
+            }
+            // excluded elements are still read so that the strings they contain can be referred to
+            if (value != null && (include == null || include[element.index])) {
+                element.set(builder, value);
+            }
+        }
+        return typeInfo.build(builder);
+    }
+
+    /**
+     * @return the value of the passed element, or null if it is a choice value of a type that the element no longer has
+     */
+    private Object readValue(ElementCodec element) throws IOException {
+        switch (element.kind) {
+        case STRING:
+            return readString();
+        case INTEGER:
+            return unZigZag(readVarint());
+        case BOOLEAN:
+            return readByte() != 0;
+        case DECIMAL:
+            return readDecimal();
+        case BYTES:
+            return readBytes(readVarint());
+        case TEMPORAL:
+            return readTemporal();
+        case ZONED_DATE_TIME:
+            return readZonedDateTime();
+        case LOCAL_TIME:
+            return LocalTime.ofNanoOfDay(readVarlong());
+        case ELEMENT:
+            return readElements(BinaryModelSchema.getTypeInfo(element.elementInfo.getType()), null);
+        case CHOICE:
+            Class<?> choiceType = element.choiceType(readString());
+            if (choiceType == null) {
+                skipElements();
+                return null;
+            }
+            return readElements(BinaryModelSchema.getTypeInfo(choiceType), null);
+        case RESOURCE:
+            return readResource(null);
+        default:
+            throw new IllegalStateException("Unsupported element kind: " + element.kind);
+        }
+    }
+
+    private Kind readKind(int wireType) throws IOException {
+        int ordinal = wireType >>> 1;
+        if (ordinal >= KINDS.length) {
+            throw new IOException("Invalid element kind: " + ordinal);
+        }
+        return KINDS[ordinal];
+    }
+
+    private void skipElements() throws IOException {
+        int header;
+        while ((header = readVarint()) != 0) {
+            readString(header);
+            int wireType = readByte();
+            skipElement(readKind(wireType), (wireType & 1) != 0);
+        }
+    }
+
+    private void skipElement(Kind kind, boolean repeating) throws IOException {
+        int count = repeating ? readVarint() : 1;
+        for (int i = 0; i < count; i++) {
+            skipValue(kind);
+        }
+    }
+
+    /**
+     * Reads past a value of the passed kind; strings are still read so that later references to them resolve
+     */
+    private void skipValue(Kind kind) throws IOException {
+        switch (kind) {
+        case STRING:
+            readString();
+            break;
+        case INTEGER:
+            readVarint();
+            break;
+        case BOOLEAN:
+            readByte();
+            break;
+        case DECIMAL:
+            readDecimal();
+            break;
+        case BYTES:
+            readBytes(readVarint());
+            break;
+        case TEMPORAL:
+            readTemporal();
+            break;
+        case ZONED_DATE_TIME:
+            readZonedDateTime();
+            break;
+        case LOCAL_TIME:
+            readVarlong();
+            break;
+        case ELEMENT:
+            skipElements();
+            break;
+        case CHOICE:
+        case RESOURCE:
+            readString();
+            skipElements();
+            break;
+        default:
+            throw new IllegalStateException("Unsupported element kind: " + kind);
+        }
+    }
+
+    private Object readTemporal() throws IOException {
+        int kind = readByte();
+        switch (kind) {
+        case TEMPORAL_DATE_TIME:
+            return readZonedDateTime();
+        case TEMPORAL_DATE:
+            return LocalDate.of(unZigZag(readVarint()), readByte(), readByte());
+        case TEMPORAL_YEAR_MONTH:
+            return YearMonth.of(unZigZag(readVarint()), readByte());
+        case TEMPORAL_YEAR:
+            return Year.of(unZigZag(readVarint()));
+        default:
+            throw new IOException("Invalid temporal kind: " + kind);
+        }
+    }
+
+    private ZonedDateTime readZonedDateTime() throws IOException {
+        boolean offsetZone = readByte() == 0;
+        long epochSecond = unZigZag(readVarlong());
+        int nano = readVarint();
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(unZigZag(readVarint()));
+        if (offsetZone) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+        }
+        ZoneId zone = ZoneId.of(readString());
+        return ZonedDateTime.ofStrict(LocalDateTime.ofEpochSecond(epochSecond, nano, offset), offset, zone);
+    }
+
+    private BigDecimal readDecimal() throws IOException {
+        int header = readVarint();
+        int scale = unZigZag(header >>> 1);
+        if ((header & 1) == 0) {
+            return BigDecimal.valueOf(unZigZag(readVarlong()), scale);
+        }
+        return new BigDecimal(new BigInteger(readBytes(readVarint())), scale);
+    }
+
+    private String readString() throws IOException {
+        return readString(readVarint());
+    }
+
+    private String readString(int header) throws IOException {
+        if ((header & 1) != 0) {
+            return strings.get(header >>> 1);
+        }
+        int length = header >>> 1;
+        if (length > limit - pos) {
+            throw new EOFException();
+        }
+        String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        if (length <= MAX_INTERNED_LENGTH) {
+            strings.add(value);
+        }
+        return value;
+    }
+
+    private int readVarint() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private long readVarlong() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private int readByte() throws IOException {
+        if (pos >= limit) {
+            throw new EOFException();
+        }
+        return buf[pos++] & 0xff;
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        if (length > limit - pos) {
+            throw new EOFException();
+        }
+        byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+        pos += length;
+        return bytes;
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.codec;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.lang.model.SourceVersion;
+
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.model.util.ModelSupport.ElementInfo;
+
+/**
+ * The model metadata used by the binary payload encoding.
+ *
+ * <p>Elements are identified in the encoding by their name, and the types of choice elements by their type name, so a
+ * payload does not depend on the order of the elements in the model. Values are read with the getters of the model
+ * class and written with the setters of its builder, through method handles that are looked up once per class.
+ */
+final class BinaryModelSchema {
+    private static final Map<Class<?>, TypeInfo> TYPE_INFO_MAP = new ConcurrentHashMap<>();
+
+    private BinaryModelSchema() { }
+
+    /**
+     * @return the metadata of the passed (concrete) model class
+     */
+    static TypeInfo getTypeInfo(Class<?> modelClass) {
+        TypeInfo typeInfo = TYPE_INFO_MAP.get(modelClass);
+        if (typeInfo == null) {
+            typeInfo = TYPE_INFO_MAP.computeIfAbsent(modelClass, TypeInfo::new);
+        }
+        return typeInfo;
+    }
+
+    /**
+     * How the value of an element is encoded; the ordinal is part of the encoding, so new kinds must be added last
+     */
+    enum Kind {
+        STRING, INTEGER, BOOLEAN, DECIMAL, BYTES, TEMPORAL, ZONED_DATE_TIME, LOCAL_TIME, ELEMENT, CHOICE, RESOURCE;
+
+        static Kind of(ElementInfo elementInfo) {
+            Class<?> type = elementInfo.getType();
+            if (elementInfo.isChoice()) {
+                return CHOICE;
+            } else if (Resource.class.isAssignableFrom(type)) {
+                return RESOURCE;
+            } else if (ModelSupport.isModelClass(type)) {
+                return ELEMENT;
+            } else if (type == String.class) {
+                return STRING;
+            } else if (type == Integer.class) {
+                return INTEGER;
+            } else if (type == Boolean.class) {
+                return BOOLEAN;
+            } else if (type == BigDecimal.class) {
+                return DECIMAL;
+            } else if (type == byte[].class) {
+                return BYTES;
+            } else if (type == ZonedDateTime.class) {
+                return ZONED_DATE_TIME;
+            } else if (type == LocalTime.class) {
+                return LOCAL_TIME;
+            } else if (type == TemporalAccessor.class) {
+                return TEMPORAL;
+            }
+            throw new IllegalArgumentException("Unsupported element type: " + type.getName());
+        }
+    }
+
+    static final class TypeInfo {
+        final Class<?> modelClass;
+        final String typeName;
+        final ElementCodec[] elements;
+        private final Map<String, ElementCodec> elementMap = new HashMap<>();
+        private final MethodHandle builderFactory;
+        private final MethodHandle build;
+
+        private TypeInfo(Class<?> modelClass) {
+            if (Modifier.isAbstract(modelClass.getModifiers())) {
+                throw new IllegalArgumentException("Abstract model class: " + modelClass.getName());
+            }
+            this.modelClass = modelClass;
+            this.typeName = modelClass.getSimpleName();
+            try {
+                Method builderMethod = modelClass.getMethod("builder");
+                Class<?> builderClass = builderMethod.getReturnType();
+                builderFactory = unreflect(builderMethod);
+                build = unreflect(builderClass.getMethod("build"));
+
+                // the subclasses of Code that bind a value set have the elements of Code
+                Class<?> elementsClass = modelClass;
+                while (ModelSupport.getElementInfo(elementsClass).isEmpty() && ModelSupport.isModelClass(elementsClass.getSuperclass())) {
+                    elementsClass = elementsClass.getSuperclass();
+                }
+                Collection<ElementInfo> elementInfos = ModelSupport.getElementInfo(elementsClass);
+                elements = new ElementCodec[elementInfos.size()];
+                int i = 0;
+                for (ElementInfo elementInfo : elementInfos) {
+                    ElementCodec element = new ElementCodec(modelClass, builderClass, elementInfo, i);
+                    elements[i++] = element;
+                    elementMap.put(elementInfo.getName(), element);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to bind model class: " + modelClass.getName(), e);
+            }
+        }
+
+        /**
+         * @return the element with the passed name, or null if this type has no such element
+         */
+        ElementCodec getElement(String name) {
+            return elementMap.get(name);
+        }
+
+        Object newBuilder() {
+            try {
+                return builderFactory.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        Object build(Object builder) {
+            try {
+                return build.invokeExact(builder);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+
+    static final class ElementCodec {
+        final ElementInfo elementInfo;
+        final String name;
+        // the position of this element in the elements of its type
+        final int index;
+        final Kind kind;
+        final boolean repeating;
+        final Class<?>[] choiceTypes;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private ElementCodec(Class<?> modelClass, Class<?> builderClass, ElementInfo elementInfo, int index) throws ReflectiveOperationException {
+            this.elementInfo = elementInfo;
+            this.name = elementInfo.getName();
+            this.index = index;
+            this.kind = Kind.of(elementInfo);
+            this.repeating = elementInfo.isRepeating();
+            this.choiceTypes = elementInfo.getChoiceTypes().toArray(new Class<?>[0]);
+
+            String javaName = "class".equals(name) ? "clazz" : name;
+            getter = unreflect(modelClass.getMethod("get" + Character.toUpperCase(javaName.charAt(0)) + javaName.substring(1)));
+
+            Class<?> parameterType = repeating ? Collection.class : (elementInfo.isChoice() ? com.ibm.fhir.model.type.Element.class : elementInfo.getType());
+            String setterName = SourceVersion.isKeyword(javaName) ? "_" + javaName : javaName;
+            setter = unreflect(builderClass.getMethod(setterName, parameterType));
+        }
+
+        Object get(Object modelObject) {
+            try {
+                return getter.invokeExact(modelObject);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        void set(Object builder, Object value) {
+            try {
+                Object unused = setter.invokeExact(builder, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * @return the choice type of this element that the passed value is written as
+         */
+        Class<?> choiceType(Object value) {
+            Class<?> type = value.getClass();
+            for (Class<?> choiceType : choiceTypes) {
+                if (choiceType == type) {
+                    return choiceType;
+                }
+            }
+            for (Class<?> choiceType : choiceTypes) {
+                if (choiceType.isInstance(value)) {
+                    return choiceType;
+                }
+            }
+            throw new IllegalArgumentException("Invalid type '" + type.getName() + "' for choice element: " + name);
+        }
+
+        /**
+         * @return the choice type of this element with the passed simple name, or null if there is no such choice type
+         */
+        Class<?> choiceType(String typeName) {
+            for (Class<?> choiceType : choiceTypes) {
+                if (choiceType.getSimpleName().equals(typeName)) {
+                    return choiceType;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return a method handle for the passed method with all parameter and return types erased to Object
+     */
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        MethodHandle methodHandle = MethodHandles.publicLookup().unreflect(method);
+        return methodHandle.asType(MethodType.genericMethodType(methodHandle.type().parameterCount()));
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.persistence.jdbc.codec.BinaryModelSchema.ElementCodec;
+import com.ibm.fhir.persistence.jdbc.codec.BinaryModelSchema.TypeInfo;
+
+/**
+ * Writes a resource in the binary model encoding; see {@link BinaryModelReader} for the format.
+ *
+ * <p>Instances are not thread-safe and write a single resource.
+ */
+final class BinaryModelWriter {
+    static final int MAX_INTERNED_LENGTH = 256;
+
+    static final int TEMPORAL_YEAR = 1;
+    static final int TEMPORAL_YEAR_MONTH = 2;
+    static final int TEMPORAL_DATE = 3;
+    static final int TEMPORAL_DATE_TIME = 4;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private byte[] buf = new byte[4096];
+    private int pos = 0;
+
+    /**
+     * @return the encoded resource
+     */
+    byte[] write(Resource resource) {
+        writeResource(resource);
+        return Arrays.copyOf(buf, pos);
+    }
+
+    private void writeResource(Resource resource) {
+        TypeInfo typeInfo = BinaryModelSchema.getTypeInfo(resource.getClass());
+        writeString(typeInfo.typeName);
+        writeElements(typeInfo, resource);
+    }
+
+    private void writeElements(TypeInfo typeInfo, Object modelObject) {
+        for (ElementCodec element : typeInfo.elements) {
+            Object value = element.get(modelObject);
+            if (value == null) {
+                continue;
+            }
+            if (element.repeating) {
+                List<?> values = (List<?>) value;
+                if (values.isEmpty()) {
+                    continue;
+                }
+                writeElementHeader(element);
+                writeVarint(values.size());
+                for (Object item : values) {
+                    writeValue(element, item);
+                }
+            } else {
+                writeElementHeader(element);
+                writeValue(element, value);
+            }
+        }
+        // no element name is empty, so an empty string ends the model object
+        writeVarint(0);
+    }
+
+    private void writeElementHeader(ElementCodec element) {
+        writeString(element.name);
+        writeByte(element.kind.ordinal() << 1 | (element.repeating ? 1 : 0));
+    }
+
+    private void writeValue(ElementCodec element, Object value) {
+        switch (element.kind) {
+        case STRING:
+            writeString((String) value);
+            break;
+        case INTEGER:
+            writeVarint(zigZag((Integer) value));
+            break;
+        case BOOLEAN:
+            writeByte(((Boolean) value) ? 1 : 0);
+            break;
+        case DECIMAL:
+            writeDecimal((BigDecimal) value);
+            break;
+        case BYTES:
+            byte[] bytes = (byte[]) value;
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+            break;
+        case TEMPORAL:
+            writeTemporal(value);
+            break;
+        case ZONED_DATE_TIME:
+            writeZonedDateTime((ZonedDateTime) value);
+            break;
+        case LOCAL_TIME:
+            writeVarlong(((LocalTime) value).toNanoOfDay());
+            break;
+        case ELEMENT:
+            // always written (and read) as the declared type of the element
+            writeElements(BinaryModelSchema.getTypeInfo(element.elementInfo.getType()), value);
+            break;
+        case CHOICE:
+            TypeInfo choiceTypeInfo = BinaryModelSchema.getTypeInfo(element.choiceType(value));
+            writeString(choiceTypeInfo.typeName);
+            writeElements(choiceTypeInfo, value);
+            break;
+        case RESOURCE:
+            writeResource((Resource) value);
+            break;
+        default:
+            throw new IllegalStateException("Unsupported element kind: " + element.kind);
+        }
+    }
+
+    private void writeTemporal(Object value) {
+        if (value instanceof ZonedDateTime) {
+            writeByte(TEMPORAL_DATE_TIME);
+            writeZonedDateTime((ZonedDateTime) value);
+        } else if (value instanceof LocalDate) {
+            LocalDate date = (LocalDate) value;
+            writeByte(TEMPORAL_DATE);
+            writeVarint(zigZag(date.getYear()));
+            writeByte(date.getMonthValue());
+            writeByte(date.getDayOfMonth());
+        } else if (value instanceof YearMonth) {
+            YearMonth yearMonth = (YearMonth) value;
+            writeByte(TEMPORAL_YEAR_MONTH);
+            writeVarint(zigZag(yearMonth.getYear()));
+            writeByte(yearMonth.getMonthValue());
+        } else if (value instanceof Year) {
+            writeByte(TEMPORAL_YEAR);
+            writeVarint(zigZag(((Year) value).getValue()));
+        } else {
+            throw new IllegalArgumentException("Unsupported temporal value: " + value.getClass().getName());
+        }
+    }
+
+    private void writeZonedDateTime(ZonedDateTime dateTime) {
+        // the zone is almost always the offset itself; otherwise the zone id follows
+        boolean offsetZone = dateTime.getZone() instanceof ZoneOffset;
+        writeByte(offsetZone ? 0 : 1);
+        writeVarlong(zigZag(dateTime.toEpochSecond()));
+        writeVarint(dateTime.getNano());
+        writeVarint(zigZag(dateTime.getOffset().getTotalSeconds()));
+        if (!offsetZone) {
+            writeString(dateTime.getZone().getId());
+        }
+    }
+
+    private void writeDecimal(BigDecimal decimal) {
+        // the scale is kept so that e.g. 1.50 stays 1.50
+        BigInteger unscaled = decimal.unscaledValue();
+        boolean small = unscaled.bitLength() < 64;
+        writeVarint(zigZag(decimal.scale()) << 1 | (small ? 0 : 1));
+        if (small) {
+            writeVarlong(zigZag(unscaled.longValue()));
+        } else {
+            byte[] bytes = unscaled.toByteArray();
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        }
+    }
+
+    /**
+     * Writes a reference to an earlier occurrence of the same string, or the string itself
+     */
+    private void writeString(String value) {
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarint(index << 1 | 1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length << 1);
+        writeBytes(bytes);
+        if (bytes.length <= MAX_INTERNED_LENGTH) {
+            strings.put(value, strings.size());
+        }
+    }
+
+    private void writeVarint(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7f) != 0) {
+            buf[pos++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    private void writeVarlong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7fL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buf[pos++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void ensureCapacity(int length) {
+        if (pos + length > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + length));
+        }
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
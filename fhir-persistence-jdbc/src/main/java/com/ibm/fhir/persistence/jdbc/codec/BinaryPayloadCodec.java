@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.ibm.fhir.exception.FHIRException;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.ValidationSupport;
+
+/**
+ * A compact payload format: the resource in the binary model encoding (see {@link BinaryModelReader}), compressed with
+ * raw DEFLATE and a preset dictionary of strings that are common in FHIR resources.
+ *
+ * <p>The binary model encoding is read straight into model builders, so decoding skips JSON parsing and the validation
+ * of values that were already validated when the resource was stored. Elements are encoded by name, so a payload stays
+ * readable after an upgrade of the model. The payload starts with a 9 byte header:
+ * <ol>
+ * <li>the signature 0xFB 'F' 'H'
+ * <li>the format version
+ * <li>flags: bit 0 is set if the body is compressed; bits 4-7 are the id of the preset dictionary
+ * <li>the length of the uncompressed body (4 bytes)
+ * </ol>
+ */
+public class BinaryPayloadCodec implements PayloadCodec {
+    public static final String NAME = "binary";
+
+    private static final byte[] SIGNATURE = { (byte) 0xFB, 'F', 'H' };
+    // version 1 tagged elements by their position in the model and was never released
+    private static final int VERSION = 2;
+    private static final int HEADER_LENGTH = 9;
+    private static final int FLAG_COMPRESSED = 0x01;
+    private static final int DICTIONARY_ID = 1;
+
+    // bodies shorter than this are not worth compressing
+    private static final int MIN_COMPRESS_LENGTH = 64;
+
+    // deflate matches more cheaply at the end of the dictionary, so the most common strings go last
+    private static final byte[] DICTIONARY = String.join("",
+            "http://loinc.org", "http://snomed.info/sct", "http://unitsofmeasure.org", "urn:ietf:bcp:47",
+            "http://hl7.org/fhir/StructureDefinition/",
+            "http://hl7.org/fhir/sid/us-ssn", "http://hl7.org/fhir/us/core/StructureDefinition/",
+            "observation-category", "condition-clinical", "condition-ver-status", "v3-ActCode", "v2-0203",
+            "vital-signs", "laboratory", "survey", "encounter-diagnosis", "problem-list-item",
+            "active", "inactive", "resolved", "confirmed", "final", "amended", "completed", "in-progress",
+            "finished", "planned", "cancelled", "entered-in-error", "unknown", "official", "usual", "home",
+            "work", "mobile", "phone", "email", "male", "female", "generated", "additional",
+            "<div xmlns=\"http://www.w3.org/1999/xhtml\">", "</div>",
+            "Patient/", "Practitioner/", "Organization/", "Encounter/", "Observation/", "Condition/",
+            "urn:uuid:", "http://hl7.org/fhir/", "http://terminology.hl7.org/CodeSystem/")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean accepts(byte[] data) {
+        return data.length >= HEADER_LENGTH && data[0] == SIGNATURE[0] && data[1] == SIGNATURE[1] && data[2] == SIGNATURE[2];
+    }
+
+    @Override
+    public byte[] encode(Resource resource) throws FHIRException, IOException {
+        byte[] body;
+        try {
+            body = new BinaryModelWriter().write(resource);
+        } catch (RuntimeException e) {
+            throw new FHIRException("Unable to encode resource", e);
+        }
+
+        boolean compress = body.length >= MIN_COMPRESS_LENGTH;
+        int flags = compress ? FLAG_COMPRESSED | DICTIONARY_ID << 4 : 0;
+        byte[] result = new byte[HEADER_LENGTH + (compress ? body.length + 64 : body.length)];
+        ByteBuffer.wrap(result)
+            .put(SIGNATURE)
+            .put((byte) VERSION)
+            .put((byte) flags)
+            .putInt(body.length);
+
+        if (!compress) {
+            System.arraycopy(body, 0, result, HEADER_LENGTH, body.length);
+            return result;
+        }
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(body);
+            deflater.finish();
+            int length = HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (length == result.length) {
+                    result = Arrays.copyOf(result, result.length * 2);
+                }
+                length += deflater.deflate(result, length, result.length - length);
+            }
+            return Arrays.copyOf(result, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public <T extends Resource> T decode(byte[] data, Class<T> resourceType, List<String> elements) throws FHIRException, IOException {
+        if (!accepts(data)) {
+            throw new IOException("Not a binary resource payload");
+        }
+        ByteBuffer header = ByteBuffer.wrap(data, SIGNATURE.length, HEADER_LENGTH - SIGNATURE.length);
+        int version = header.get() & 0xff;
+        int flags = header.get() & 0xff;
+        int length = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary resource payload version: " + version);
+        }
+
+        byte[] body;
+        int offset;
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            if ((flags >>> 4) != DICTIONARY_ID) {
+                throw new IOException("Unsupported binary resource payload dictionary: " + (flags >>> 4));
+            }
+            body = inflate(data, length);
+            offset = 0;
+        } else {
+            body = data;
+            offset = HEADER_LENGTH;
+        }
+
+        Resource resource;
+        // the resource was validated before it was stored
+        boolean trusted = ValidationSupport.setTrusted(true);
+        try {
+            resource = new BinaryModelReader(body, offset, length).read(elements);
+        } finally {
+            ValidationSupport.setTrusted(trusted);
+        }
+        if (!resourceType.isInstance(resource)) {
+            throw new FHIRException("Expected resource of type '" + resourceType.getSimpleName() + "' but found '"
+                    + resource.getClass().getSimpleName() + "'");
+        }
+        return resourceType.cast(resource);
+    }
+
+    private byte[] inflate(byte[] data, int length) throws IOException {
+        byte[] body = new byte[length];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            int n = 0;
+            while (n < length) {
+                int count = inflater.inflate(body, n, length - n);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated binary resource payload");
+                }
+                n += count;
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid binary resource payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.ibm.fhir.exception.FHIRException;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.parser.FHIRJsonParser;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Resource;
+
+/**
+ * The original payload format: the resource as compact JSON, compressed with GZIP.
+ *
+ * <p>The signature of this codec is the GZIP magic number, so every row written before codecs were introduced is
+ * read with this codec.
+ */
+public class JsonPayloadCodec implements PayloadCodec {
+    public static final String NAME = "json";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean accepts(byte[] data) {
+        return data.length >= 2 && (data[0] & 0xff) == 0x1f && (data[1] & 0xff) == 0x8b;
+    }
+
+    @Override
+    public byte[] encode(Resource resource) throws FHIRException, IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (GZIPOutputStream zipStream = new GZIPOutputStream(stream)) {
+            FHIRGenerator.generator(Format.JSON, false).generate(resource, zipStream);
+            zipStream.finish();
+        }
+        return stream.toByteArray();
+    }
+
+    @Override
+    public <T extends Resource> T decode(byte[] data, Class<T> resourceType, List<String> elements) throws FHIRException, IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            FHIRParser parser = FHIRParser.parser(Format.JSON);
+            // the resource was validated before it was stored
+            parser.setProperty(FHIRParser.PROPERTY_TRUSTED, true);
+            if (elements != null) {
+                return parser.as(FHIRJsonParser.class).parseAndFilter(in, elements);
+            }
+            return parser.parse(in);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.codec;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.ibm.fhir.exception.FHIRException;
+import com.ibm.fhir.model.resource.Resource;
+
+/**
+ * Converts resources to and from the payload that is stored in the DATA column of the resources table.
+ *
+ * <p>Every payload starts with a signature that identifies the codec that wrote it, so the rows of a table may be
+ * written by different codecs and each row is read with the codec that wrote it; see
+ * {@link PayloadCodecFactory#getCodec(byte[])}.
+ */
+public interface PayloadCodec {
+
+    /**
+     * @return the name of this codec, as used in the fhirServer/persistence/jdbc/payloadCodec property
+     */
+    String getName();
+
+    /**
+     * @param data a stored payload
+     * @return true if the passed payload starts with the signature of this codec
+     */
+    boolean accepts(byte[] data);
+
+    /**
+     * Serialize the passed resource into a payload.
+     *
+     * @param resource the resource
+     * @return the payload
+     * @throws FHIRException
+     * @throws IOException
+     */
+    byte[] encode(Resource resource) throws FHIRException, IOException;
+
+    /**
+     * Deserialize a resource from the passed payload. The payload is trusted to hold a valid resource, so the model
+     * objects are built without the checks of {@link com.ibm.fhir.model.util.ValidationSupport}.
+     *
+     * @param data the payload
+     * @param resourceType the type of the resource
+     * @param elements if not null, only the top-level elements with these names (and the elements that are required
+     *     or always included, like id and meta) are deserialized
+     * @return the resource
+     * @throws FHIRException
+     * @throws IOException
+     */
+    <T extends Resource> T decode(byte[] data, Class<T> resourceType, List<String> elements) throws FHIRException, IOException;
+}
@@ -0,0 +1,49 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.codec;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Provides the {@link PayloadCodec} implementations.
+ */
+public final class PayloadCodecFactory {
+    private static final JsonPayloadCodec JSON_CODEC = new JsonPayloadCodec();
+    private static final BinaryPayloadCodec BINARY_CODEC = new BinaryPayloadCodec();
+    private static final List<PayloadCodec> CODECS = Arrays.asList(JSON_CODEC, BINARY_CODEC);
+
+    private PayloadCodecFactory() { }
+
+    /**
+     * @param name the name of a codec, or null for the default (json) codec
+     * @return the codec with the passed name
+     * @throws IllegalArgumentException if there is no codec with the passed name
+     */
+    public static PayloadCodec getCodec(String name) {
+        if (name == null) {
+            return JSON_CODEC;
+        }
+        for (PayloadCodec codec : CODECS) {
+            if (codec.getName().equalsIgnoreCase(name)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Invalid payload codec: " + name);
+    }
+
+    /**
+     * @param data a stored payload
+     * @return the codec that wrote the passed payload; payloads without a known signature are assumed to be json
+     */
+    public static PayloadCodec getCodec(byte[] data) {
+        if (BINARY_CODEC.accepts(data)) {
+            return BINARY_CODEC;
+        }
+        return JSON_CODEC;
+    }
+}
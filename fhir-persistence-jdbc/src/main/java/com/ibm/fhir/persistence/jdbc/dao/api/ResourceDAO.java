@@ -7,6 +7,7 @@
 package com.ibm.fhir.persistence.jdbc.dao.api;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -49,6 +50,32 @@ public interface ResourceDAO extends FHIRDbDAO {
     Resource versionRead(String logicalId, String resourceType, int versionId)
             throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
 
+    /**
+     * Reads and returns the most recent version of each of the Resources with the passed logical ids and resource type.
+     * The logical ids are bound to as few queries as possible (a single query unless there are a lot of them).
+     * Logical ids without a matching resource are not present in the returned map.
+     * @param resourceType
+     * @param logicalIds
+     * @return Map<String, Resource> - A map containing key=logical-id, value=most-recent-version
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    Map<String, Resource> readMany(String resourceType, Collection<String> logicalIds)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
+
+    /**
+     * Reads the current version of each of the Resources with the passed logical ids and resource type in a single query.
+     * Only the logical id, version id, last updated time and fingerprint of the returned Resource DTOs are set (the
+     * payload is not read). Logical ids without a matching resource are not present in the returned map.
+     * @param resourceType
+     * @param logicalIds
+     * @return Map<String, Resource> - A map containing key=logical-id, value=current-version
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    Map<String, Resource> readCurrentVersions(String resourceType, Collection<String> logicalIds)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
+
     /**
      * Reads and returns all versions of the Resource with the passed logicalId, ordered by descending version id.
      * If non-null, the passed fromDateTime is used to limit the returned Resource
@@ -56,11 +83,15 @@ public interface ResourceDAO extends FHIRDbDAO {
      * @param resourceType - The name of a FHIR Resource type
      * @param logicalId - The logical id of a FHIR Resource
      * @param fromDateTime - The starting date/time of the version history.
+     * @param beforeVersionId - If non-null, only the versions before this version are returned (keyset paging).
+     * @param offset - The number of versions to skip.
+     * @param maxResults - The maximum number of versions to return.
      * @return List<Resource> - An ordered list of Resource versions.
      * @throws FHIRPersistenceDataAccessException
      * @throws FHIRPersistenceDBConnectException
      */
-    List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, int offset, int maxResults)
+    List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, Integer beforeVersionId,
+            int offset, int maxResults)
             throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
 
     /**
@@ -197,4 +228,19 @@ public interface ResourceDAO extends FHIRDbDAO {
     Resource insert(Resource resource, List<ExtractedParameterValue> parameters, ParameterDAO parameterDao)
             throws FHIRPersistenceException;
 
+    /**
+     * Inserts the passed Resource DTOs and their associated search parameters to the appropriate FHIR resource tables,
+     * reusing the same statements for all of them and batching the search parameters of all of them together.
+     * After insert, the generated primary key is acquired and set in each Resource object.
+     * @param resources Resource Data Transfer Objects which must all be of the same resource type
+     * @param parameters The search parameters to be persisted along with each of the passed Resources (in the same order)
+     * @param parameterDao The Parameter DAO
+     * @return List<Resource> The Resource DTOs
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     * @throws FHIRPersistenceVersionIdMismatchException
+     * @throws FHIRPersistenceException
+     */
+    List<Resource> insertAll(List<Resource> resources, List<List<ExtractedParameterValue>> parameters, ParameterDAO parameterDao)
+            throws FHIRPersistenceException;
 }
@@ -52,7 +52,7 @@ public class ParameterVisitorBatchDAO implements ExtractedParameterValueVisitor,
     private final int batchSize;
 
     // FK to the logical resource for the parameters being added
-    private final long logicalResourceId;
+    private long logicalResourceId;
 
     // Maintainers: remember to close all statements in AutoCloseable#close()
     private final String insertString;
@@ -620,10 +620,21 @@ public class ParameterVisitorBatchDAO implements ExtractedParameterValueVisitor,
         }
     }
 
-    @Override
-    public void close() throws Exception {
-        // flush any stragglers, remembering to reset each count because
-        // close() should be idempotent.
+    /**
+     * Set the logical resource for the parameters visited from now on. This allows a single
+     * instance to batch the parameters of many resources of the same resource type.
+     * @param logicalResourceId
+     */
+    public void setLogicalResourceId(long logicalResourceId) {
+        this.logicalResourceId = logicalResourceId;
+    }
+
+    /**
+     * Execute any pending batches
+     * @throws SQLException
+     */
+    public void flush() throws SQLException {
+        // remember to reset each count because flush() is called again by close()
         try {
             if (stringCount > 0) {
                 strings.executeBatch();
@@ -680,6 +691,12 @@ public class ParameterVisitorBatchDAO implements ExtractedParameterValueVisitor,
                 throw x;
             }
         }
+    }
+
+    @Override
+    public void close() throws Exception {
+        // flush any stragglers
+        flush();
 
         closeStatement(strings);
         closeStatement(numbers);
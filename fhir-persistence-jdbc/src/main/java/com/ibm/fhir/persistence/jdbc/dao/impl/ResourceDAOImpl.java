@@ -21,10 +21,14 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -37,11 +41,18 @@ import com.ibm.fhir.persistence.exception.FHIRPersistenceVersionIdMismatchExcept
 import com.ibm.fhir.persistence.jdbc.JDBCConstants;
 import com.ibm.fhir.persistence.jdbc.dao.api.ParameterDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.ResourceDAO;
+import com.ibm.fhir.persistence.jdbc.dto.DateParmVal;
 import com.ibm.fhir.persistence.jdbc.dto.ExtractedParameterValue;
+import com.ibm.fhir.persistence.jdbc.dto.LocationParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.NumberParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.QuantityParmVal;
 import com.ibm.fhir.persistence.jdbc.dto.Resource;
+import com.ibm.fhir.persistence.jdbc.dto.StringParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.TokenParmVal;
 import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceDBConnectException;
 import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceDataAccessException;
 import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceFKVException;
+import com.ibm.fhir.persistence.jdbc.util.ParameterHashVisitor;
 import com.ibm.fhir.persistence.jdbc.util.ResourceTypesCache;
 import com.ibm.fhir.persistence.jdbc.util.ResourceTypesCacheUpdater;
 import com.ibm.fhir.persistence.jdbc.util.SqlQueryData;
@@ -59,21 +70,33 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
                                             "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
                                            "LR.LOGICAL_ID = ? AND R.RESOURCE_ID = LR.CURRENT_RESOURCE_ID";
 
+    // Read the current version of a set of resources identified by their logical-ids
+    private static final String SQL_READ_MANY = "SELECT R.RESOURCE_ID, R.LOGICAL_RESOURCE_ID, R.VERSION_ID, R.LAST_UPDATED, R.IS_DELETED, R.DATA, LR.LOGICAL_ID " +
+                                                  "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
+                                                  "R.RESOURCE_ID = LR.CURRENT_RESOURCE_ID AND LR.LOGICAL_ID IN ";
+
     // Read a specific version of the resource
     private static final String SQL_VERSION_READ = "SELECT R.RESOURCE_ID, R.LOGICAL_RESOURCE_ID, R.VERSION_ID, R.LAST_UPDATED, R.IS_DELETED, R.DATA, LR.LOGICAL_ID " +
                                                       "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
                                                       "LR.LOGICAL_ID = ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID AND R.VERSION_ID = ?";
 
+    // Read the current version id, last updated time and fingerprint of a set of resources identified by their logical-ids
+    private static final String SQL_READ_CURRENT_VERSIONS = "SELECT LR.LOGICAL_ID, R.VERSION_ID, R.LAST_UPDATED, LR.RESOURCE_FINGERPRINT " +
+                                                                  "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
+                                                                  "R.RESOURCE_ID = LR.CURRENT_RESOURCE_ID AND LR.LOGICAL_ID IN ";
+
+    // The max number of logical-ids bound to a single SQL_READ_MANY or SQL_READ_CURRENT_VERSIONS query
+    private static final int MAX_LOGICAL_IDS_PER_QUERY = 500;
+
     //                                                                                 0
     //                                                                                 1 2 3 4 5 6 7 8
     // Don't forget that we must account for IN and OUT parameters.
-    private static final String SQL_INSERT_WITH_PARAMETERS = "CALL %s.add_any_resource(?,?,?,?,?,?,?,?)";
+    private static final String SQL_INSERT_WITH_PARAMETERS = "CALL %s.add_any_resource(?,?,?,?,?,?,?,?,?,?,?)";
 
     // Read version history of the resource identified by its logical-id
     private static final String SQL_HISTORY = "SELECT R.RESOURCE_ID, R.LOGICAL_RESOURCE_ID, R.VERSION_ID, R.LAST_UPDATED, R.IS_DELETED, R.DATA, LR.LOGICAL_ID " +
                                                  "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
-                                                 "LR.LOGICAL_ID = ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID " +
-                                              "ORDER BY R.VERSION_ID DESC ";
+                                                 "LR.LOGICAL_ID = ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID ";
 
     // Count the number of versions we have for the resource identified by its logical-id
     private static final String SQL_HISTORY_COUNT = "SELECT COUNT(R.VERSION_ID) FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE LR.LOGICAL_ID = ? AND " +
@@ -81,8 +104,12 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
 
     private static final String SQL_HISTORY_FROM_DATETIME = "SELECT R.RESOURCE_ID, R.LOGICAL_RESOURCE_ID, R.VERSION_ID, R.LAST_UPDATED, R.IS_DELETED, R.DATA, LR.LOGICAL_ID " +
                                                               "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
-                                                              "LR.LOGICAL_ID = ? AND R.LAST_UPDATED >= ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID " +
-                                                              "ORDER BY R.VERSION_ID DESC ";
+                                                              "LR.LOGICAL_ID = ? AND R.LAST_UPDATED >= ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID ";
+
+    // Seek predicate for paging through the version history with a cursor
+    private static final String SQL_HISTORY_BEFORE_VERSION = "AND R.VERSION_ID < ? ";
+
+    private static final String SQL_HISTORY_ORDER_BY = "ORDER BY R.VERSION_ID DESC ";
 
     private static final String SQL_HISTORY_FROM_DATETIME_COUNT = "SELECT COUNT(R.VERSION_ID) FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE LR.LOGICAL_ID = ? AND " +
                                                                   "R.LAST_UPDATED >= ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID";
@@ -172,6 +199,127 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
 
     }
 
+    @Override
+    public Map<String, Resource> readMany(String resourceType, Collection<String> logicalIds)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        final String METHODNAME = "readMany";
+        log.entering(CLASSNAME, METHODNAME);
+
+        String stmtString = String.format(SQL_READ_MANY, resourceType, resourceType);
+
+        try {
+            return this.runLogicalIdsQuery(stmtString, logicalIds, this::createDTO, "DB read many");
+        } catch (FHIRPersistenceDataAccessException | FHIRPersistenceDBConnectException e) {
+            throw e;
+        } catch (Throwable e) {
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Failure reading resources");
+            throw severe(log, fx, "Failure reading resources. SQL=[" + stmtString + "]", e);
+        } finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    @Override
+    public Map<String, Resource> readCurrentVersions(String resourceType, Collection<String> logicalIds)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        final String METHODNAME = "readCurrentVersions";
+        log.entering(CLASSNAME, METHODNAME);
+
+        String stmtString = String.format(SQL_READ_CURRENT_VERSIONS, resourceType, resourceType);
+
+        try {
+            return this.runLogicalIdsQuery(stmtString, logicalIds, resultSet -> {
+                Resource currentVersion = new Resource();
+                currentVersion.setResourceType(resourceType);
+                currentVersion.setLogicalId(resultSet.getString(1));
+                currentVersion.setVersionId(resultSet.getInt(2));
+                currentVersion.setLastUpdated(resultSet.getTimestamp(3, UTC));
+                currentVersion.setResourceFingerprint(resultSet.getString(4));
+                return currentVersion;
+            }, "DB read current versions");
+        } catch (FHIRPersistenceDBConnectException e) {
+            throw e;
+        } catch (Throwable e) {
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Failure reading current versions");
+            throw severe(log, fx, "Failure reading current versions. SQL=[" + stmtString + "]", e);
+        } finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    /**
+     * Runs the passed query once for every {@link #MAX_LOGICAL_IDS_PER_QUERY} logical ids, binding the ids
+     * to an IN-list appended to the query, and maps each row of the results to a Resource DTO.
+     * @param stmtString the query, ending with "IN "
+     * @param logicalIds the logical ids to bind
+     * @param rowMapper creates a Resource DTO from the current row of the ResultSet
+     * @param description used to log the execution time of each query
+     * @return a map of the Resource DTOs, keyed by logical id
+     * @throws SQLException
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    private Map<String, Resource> runLogicalIdsQuery(String stmtString, Collection<String> logicalIds, RowMapper rowMapper,
+            String description) throws SQLException, FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        Map<String, Resource> resources = new HashMap<>();
+        if (logicalIds.isEmpty()) {
+            return resources;
+        }
+
+        Connection connection = null;
+        PreparedStatement stmt = null;
+        ResultSet resultSet = null;
+        long dbCallStartTime;
+        double dbCallDuration;
+
+        try {
+            connection = this.getConnection();
+            Iterator<String> iterator = logicalIds.iterator();
+            while (iterator.hasNext()) {
+                List<String> batch = new ArrayList<>();
+                while (iterator.hasNext() && batch.size() < MAX_LOGICAL_IDS_PER_QUERY) {
+                    batch.add(iterator.next());
+                }
+
+                StringBuilder query = new StringBuilder(stmtString).append("(");
+                for (int i = 0; i < batch.size(); i++) {
+                    query.append(i == 0 ? "?" : ",?");
+                }
+                query.append(")");
+
+                stmt = connection.prepareStatement(query.toString());
+                for (int i = 0; i < batch.size(); i++) {
+                    stmt.setString(i + 1, batch.get(i));
+                }
+                dbCallStartTime = System.nanoTime();
+                resultSet = stmt.executeQuery();
+                while (resultSet.next()) {
+                    Resource resource = rowMapper.map(resultSet);
+                    resources.put(resource.getLogicalId(), resource);
+                }
+                dbCallDuration = (System.nanoTime()-dbCallStartTime)/1e6;
+                if (log.isLoggable(Level.FINE)) {
+                    log.fine(description + " complete. logicalIds=" + batch.size() + "  executionTime=" + dbCallDuration + "ms");
+                }
+                resultSet.close();
+                resultSet = null;
+                stmt.close();
+                stmt = null;
+            }
+        } finally {
+            this.cleanup(resultSet, stmt, connection);
+        }
+        return resources;
+    }
+
+    /**
+     * Maps the current row of a ResultSet to a Resource DTO
+     */
+    @FunctionalInterface
+    private interface RowMapper {
+        Resource map(ResultSet resultSet) throws SQLException, FHIRPersistenceDataAccessException;
+    }
+
     /**
      * Creates and returns a Resource DTO based on the contents of the passed ResultSet
      * @param resultSet A ResultSet containing FHIR persistent object data.
@@ -188,7 +336,7 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
         try {
             resource.setData(resultSet.getBytes("DATA"));
             resource.setId(resultSet.getLong("RESOURCE_ID"));
-            resource.setLastUpdated(resultSet.getTimestamp("LAST_UPDATED"));
+            resource.setLastUpdated(resultSet.getTimestamp("LAST_UPDATED", UTC));
             resource.setLogicalId(resultSet.getString("LOGICAL_ID"));
             resource.setVersionId(resultSet.getInt("VERSION_ID"));
             resource.setDeleted(resultSet.getString("IS_DELETED").equals("Y") ? true : false);
@@ -203,34 +351,39 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
     }
 
     @Override
-    public List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, int offset, int maxResults)
+    public List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, Integer beforeVersionId,
+                                  int offset, int maxResults)
                                     throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
         final String METHODNAME = "history";
         log.entering(CLASSNAME, METHODNAME);
 
         List<Resource> resources = null;
         String stmtString = null;
+        List<Object> bindVariables = new ArrayList<>();
 
         try {
+            bindVariables.add(logicalId);
             if (fromDateTime != null) {
                 stmtString = String.format(SQL_HISTORY_FROM_DATETIME, resourceType, resourceType);
-                if (this.isDb2Database()) {
-                    stmtString = stmtString + DB2_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, fromDateTime, maxResults, offset);
-                } else {
-                    stmtString = stmtString + DERBY_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, fromDateTime, offset, maxResults);
-                }
+                bindVariables.add(fromDateTime);
             } else {
                 stmtString = String.format(SQL_HISTORY, resourceType, resourceType);
-                if (this.isDb2Database()) {
-                    stmtString = stmtString + DB2_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, maxResults, offset);
-                } else {
-                    stmtString = stmtString + DERBY_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, offset, maxResults);
-                }
             }
+            if (beforeVersionId != null) {
+                stmtString = stmtString + SQL_HISTORY_BEFORE_VERSION;
+                bindVariables.add(beforeVersionId);
+            }
+            stmtString = stmtString + SQL_HISTORY_ORDER_BY;
+            if (this.isDb2Database()) {
+                stmtString = stmtString + DB2_PAGINATION_PARMS;
+                bindVariables.add(maxResults);
+                bindVariables.add(offset);
+            } else {
+                stmtString = stmtString + DERBY_PAGINATION_PARMS;
+                bindVariables.add(offset);
+                bindVariables.add(maxResults);
+            }
+            resources = this.runQuery(stmtString, bindVariables.toArray());
         } catch (SQLException e) {
             FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Failure running history query");
             String errMsg = "Failure running history query: " + stmtString;
@@ -518,21 +671,29 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
             stmt.setString(5, resource.isDeleted() ? "Y": "N");
             stmt.setString(6, UUID.randomUUID().toString());
             stmt.setInt(7, resource.getVersionId());
-            stmt.registerOutParameter(8, Types.BIGINT);
+            setStringOrNull(stmt, 8, resource.getParameterHash());
+            setStringOrNull(stmt, 9, resource.getResourceFingerprint());
+            stmt.registerOutParameter(10, Types.BIGINT);
+            stmt.registerOutParameter(11, Types.VARCHAR);
 
             dbCallStartTime = System.nanoTime();
             stmt.execute();
             dbCallDuration = (System.nanoTime()-dbCallStartTime)/1e6;
 
-            resource.setId(stmt.getLong(8));
+            resource.setId(stmt.getLong(10));
 
             // Parameter time
             // TODO FHIR_ADMIN schema name needs to come from the configuration/context
             if (parameters != null) {
+                boolean unchanged = parametersUnchanged(resource, stmt.getString(11));
                 try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(connection, "FHIR_ADMIN", resource.getResourceType(), true,
                         resource.getId(), 100, new ParameterNameCacheAdapter(parameterDao), new CodeSystemCacheAdapter(parameterDao))) {
-                    for (ExtractedParameterValue p: parameters) {
-                        p.accept(pvd);
+                    if (unchanged) {
+                        replaceVersionSpecificParameters(connection, resource.getResourceType(), resource.getId(), parameters, parameterDao, pvd);
+                    } else {
+                        for (ExtractedParameterValue p: parameters) {
+                            p.accept(pvd);
+                        }
                     }
                 }
             }
@@ -565,6 +726,231 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
     }
 
 
+    @Override
+    public List<Resource> insertAll(List<Resource> resources, List<List<ExtractedParameterValue>> parameters, ParameterDAO parameterDao)
+            throws FHIRPersistenceException {
+        final String METHODNAME = "insertAll";
+        log.entering(CLASSNAME, METHODNAME);
+
+        if (resources.isEmpty()) {
+            log.exiting(CLASSNAME, METHODNAME);
+            return resources;
+        }
+
+        Connection connection = null;
+        CallableStatement stmt = null;
+        String currentSchema;
+        String resourceType = checkResourceType(resources);
+        Integer resourceTypeId;
+        Set<String> logicalIds = new HashSet<>();
+        long dbCallStartTime;
+        double dbCallDuration;
+
+        try {
+            connection = this.getConnection();
+
+            resourceTypeId = getResourceTypeIdFromCaches(resourceType);
+            if (resourceTypeId == null) {
+                resourceTypeId = this.readResourceTypeId(resourceType);
+                this.addResourceTypeCacheCandidate(resourceType, resourceTypeId);
+            }
+
+            // TODO avoid the round-trip and use the configured data schema name
+            currentSchema = connection.getSchema().trim();
+            stmt = connection.prepareCall(getInsertWithParametersSql(currentSchema));
+
+            dbCallStartTime = System.nanoTime();
+            try (ParameterVisitorBatchDAO pvd = createParameterVisitor(connection, resourceType, parameterDao)) {
+                for (int i = 0; i < resources.size(); i++) {
+                    Resource resource = resources.get(i);
+                    if (!logicalIds.add(resource.getLogicalId())) {
+                        // the stored procedure replaces the parameters of the previous version,
+                        // so we need to make sure they are written before it gets called again
+                        pvd.flush();
+                    }
+
+                    stmt.setString(1, resourceType);
+                    stmt.setString(2, resource.getLogicalId());
+                    stmt.setBytes(3, resource.getData());
+                    stmt.setTimestamp(4, resource.getLastUpdated(), UTC);
+                    stmt.setString(5, resource.isDeleted() ? "Y": "N");
+                    stmt.setString(6, UUID.randomUUID().toString());
+                    stmt.setInt(7, resource.getVersionId());
+                    setStringOrNull(stmt, 8, resource.getParameterHash());
+                    setStringOrNull(stmt, 9, resource.getResourceFingerprint());
+                    stmt.registerOutParameter(10, Types.BIGINT);
+                    stmt.registerOutParameter(11, Types.VARCHAR);
+                    stmt.execute();
+
+                    resource.setId(stmt.getLong(10));
+
+                    // Parameters of all the resources share the same batches
+                    if (parameters.get(i) != null) {
+                        pvd.setLogicalResourceId(resource.getId());
+                        if (parametersUnchanged(resource, stmt.getString(11))) {
+                            replaceVersionSpecificParameters(connection, resourceType, resource.getId(), parameters.get(i), parameterDao, pvd);
+                        } else {
+                            for (ExtractedParameterValue p: parameters.get(i)) {
+                                p.accept(pvd);
+                            }
+                        }
+                    }
+                }
+            }
+            dbCallDuration = (System.nanoTime()-dbCallStartTime)/1e6;
+
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("Successfully inserted " + resources.size() + " Resources. resourceType=" + resourceType + " executionTime=" + dbCallDuration + "ms");
+            }
+        } catch(FHIRPersistenceDBConnectException | FHIRPersistenceDataAccessException e) {
+            throw e;
+        } catch(SQLIntegrityConstraintViolationException e) {
+            FHIRPersistenceFKVException fx = new FHIRPersistenceFKVException("Encountered FK violation while inserting Resources.");
+            throw severe(log, fx, e);
+        } catch(SQLException e) {
+            if ("99001".equals(e.getSQLState())) {
+                // this is just a concurrency update, so there's no need to log the SQLException here
+                throw new FHIRPersistenceVersionIdMismatchException("Encountered version id mismatch while inserting Resources");
+            } else {
+                FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("SQLException encountered while inserting Resources.");
+                throw severe(log, fx, e);
+            }
+        } catch(Throwable e) {
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Failure inserting Resources.");
+            throw severe(log, fx, e);
+        } finally {
+            this.cleanup(stmt, connection);
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+
+        return resources;
+    }
+
+    /**
+     * @param resources
+     * @return the resource type shared by all of the passed Resource DTOs
+     * @throws IllegalArgumentException if the Resource DTOs are not all of the same resource type
+     */
+    protected String checkResourceType(List<Resource> resources) {
+        String resourceType = resources.get(0).getResourceType();
+        for (Resource resource : resources) {
+            if (!resourceType.equals(resource.getResourceType())) {
+                throw new IllegalArgumentException("Resources must all be of the same resource type");
+            }
+        }
+        return resourceType;
+    }
+
+    /**
+     * Bind an optional string argument (like the parameter hash or the resource fingerprint) of the
+     * add_any_resource stored procedure
+     * @param stmt
+     * @param index
+     * @param value the value to bind, or null if not computed
+     * @throws SQLException
+     */
+    protected void setStringOrNull(PreparedStatement stmt, int index, String value) throws SQLException {
+        if (value != null) {
+            stmt.setString(index, value);
+        } else {
+            stmt.setNull(index, Types.VARCHAR);
+        }
+    }
+
+    /**
+     * @param resource
+     * @param currentParameterHash the parameter hash of the current version of the resource before it was replaced
+     * @return true if the search parameters of the passed resource are already stored, in which case the
+     *     stored procedure kept the existing parameter rows and only the version-specific ones must be replaced
+     * @see #replaceVersionSpecificParameters(Connection, String, long, List, ParameterDAO, ParameterVisitorBatchDAO)
+     */
+    protected boolean parametersUnchanged(Resource resource, String currentParameterHash) {
+        boolean unchanged = resource.getParameterHash() != null && resource.getParameterHash().equals(currentParameterHash);
+        if (unchanged && log.isLoggable(Level.FINE)) {
+            log.fine("Search parameters unchanged, skipping parameter inserts for " + resource.getResourceType() + "/" + resource.getLogicalId());
+        }
+        return unchanged;
+    }
+
+    /**
+     * Replace the rows of the version-specific search parameters (like _lastUpdated) of a resource whose other
+     * parameters were kept as they are because their hash was unchanged. The version-specific parameters are
+     * not part of the hash, so their rows still hold the values of the previous version.
+     * @param connection
+     * @param resourceType
+     * @param logicalResourceId
+     * @param parameters all the parameters extracted from the new version of the resource
+     * @param parameterDao
+     * @param pvd the visitor used to insert the new rows; its logical resource id must already be set
+     * @throws FHIRPersistenceException
+     * @throws SQLException
+     */
+    protected void replaceVersionSpecificParameters(Connection connection, String resourceType, long logicalResourceId,
+            List<ExtractedParameterValue> parameters, ParameterDAO parameterDao, ParameterVisitorBatchDAO pvd)
+            throws FHIRPersistenceException, SQLException {
+        ParameterNameCacheAdapter parameterNameCache = new ParameterNameCacheAdapter(parameterDao);
+        Set<String> replaced = new HashSet<>();
+        for (ExtractedParameterValue p: parameters) {
+            if (ParameterHashVisitor.isVersionSpecific(p)) {
+                if (replaced.add(p.getName())) {
+                    final String sql = "DELETE FROM " + resourceType + getParameterTableSuffix(p)
+                            + " WHERE logical_resource_id = ? AND parameter_name_id = ?";
+                    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                        stmt.setLong(1, logicalResourceId);
+                        stmt.setInt(2, parameterNameCache.readOrAddParameterNameId(p.getName()));
+                        stmt.executeUpdate();
+                    }
+                }
+                p.accept(pvd);
+            }
+        }
+    }
+
+    /**
+     * @param parameter
+     * @return the suffix of the name of the resource-specific table which holds the rows of the passed parameter
+     * @throws IllegalArgumentException if the parameter is a composite
+     */
+    private static String getParameterTableSuffix(ExtractedParameterValue parameter) {
+        if (parameter instanceof StringParmVal) {
+            return "_str_values";
+        } else if (parameter instanceof NumberParmVal) {
+            return "_number_values";
+        } else if (parameter instanceof DateParmVal) {
+            return "_date_values";
+        } else if (parameter instanceof LocationParmVal) {
+            return "_latlng_values";
+        } else if (parameter instanceof TokenParmVal) {
+            return "_token_values";
+        } else if (parameter instanceof QuantityParmVal) {
+            return "_quantity_values";
+        }
+        throw new IllegalArgumentException("Unsupported version-specific parameter: " + parameter.getName());
+    }
+
+    /**
+     * @param schemaName
+     * @return the statement used to call the add_any_resource stored procedure
+     */
+    protected String getInsertWithParametersSql(String schemaName) {
+        return String.format(SQL_INSERT_WITH_PARAMETERS, schemaName);
+    }
+
+    /**
+     * Create a visitor for batching the search parameters of one or more resources of the passed resource type.
+     * The logical resource id must be set on the visitor before visiting the parameters of each resource.
+     * @param connection
+     * @param resourceType
+     * @param parameterDao
+     * @return the parameter visitor
+     * @throws SQLException
+     */
+    protected ParameterVisitorBatchDAO createParameterVisitor(Connection connection, String resourceType, ParameterDAO parameterDao) throws SQLException {
+        // TODO FHIR_ADMIN schema name needs to come from the configuration/context
+        return new ParameterVisitorBatchDAO(connection, "FHIR_ADMIN", resourceType, true, -1, 100,
+                new ParameterNameCacheAdapter(parameterDao), new CodeSystemCacheAdapter(parameterDao));
+    }
+
     @Override
     public List<Resource> search(String sqlSelect) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
         final String METHODNAME = "search";
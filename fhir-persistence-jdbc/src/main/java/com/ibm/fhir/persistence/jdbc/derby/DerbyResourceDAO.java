@@ -14,7 +14,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Timestamp;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -119,8 +121,11 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
                 resource.isDeleted(),
                 sourceKey,
                 resource.getVersionId(),
+                resource.getParameterHash(),
+                resource.getResourceFingerprint(),
                 connection,
-                parameterDao
+                parameterDao,
+                null
                 );
 
 
@@ -155,6 +160,105 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
 
     }
 
+    /**
+     * Inserts the passed FHIR Resources and their associated search parameters to a Derby FHIR database.
+     * Each resource is stored by {@link #storeResource}, but the search parameters of all of them
+     * share the batches of a single parameter visitor.
+     * @param resources The FHIR Resources to be inserted, all of the same resource type.
+     * @param parameters The search parameters of each Resource to be inserted.
+     * @param parameterDao
+     * @return The Resource DTOs
+     * @throws FHIRPersistenceException
+     */
+    @Override
+    public List<Resource> insertAll(List<Resource> resources, List<List<ExtractedParameterValue>> parameters, ParameterDAO parameterDao)
+            throws FHIRPersistenceException {
+        final String METHODNAME = "insertAll";
+        logger.entering(CLASSNAME, METHODNAME);
+
+        if (resources.isEmpty()) {
+            logger.exiting(CLASSNAME, METHODNAME);
+            return resources;
+        }
+
+        Connection connection = null;
+        String resourceType = checkResourceType(resources);
+        Integer resourceTypeId;
+        Set<String> logicalIds = new HashSet<>();
+        long dbCallStartTime;
+        double dbCallDuration;
+
+        try {
+            connection = this.getConnection();
+            resourceTypeId = getResourceTypeIdFromCaches(resourceType);
+            if (resourceTypeId == null) {
+                resourceTypeId = getOrCreateResourceType(resourceType, connection);
+                this.addResourceTypeCacheCandidate(resourceType, resourceTypeId);
+            }
+
+            dbCallStartTime = System.nanoTime();
+            try (ParameterVisitorBatchDAO pvd = createParameterVisitor(connection, resourceType, parameterDao)) {
+                for (int i = 0; i < resources.size(); i++) {
+                    Resource resource = resources.get(i);
+                    if (!logicalIds.add(resource.getLogicalId())) {
+                        // storeResource deletes the parameters of the previous version,
+                        // so we need to make sure they are written before it gets called again
+                        pvd.flush();
+                    }
+
+                    long resourceId = this.storeResource(resourceType,
+                        parameters.get(i),
+                        resource.getLogicalId(),
+                        resource.getData(),
+                        resource.getLastUpdated(),
+                        resource.isDeleted(),
+                        UUID.randomUUID().toString(),
+                        resource.getVersionId(),
+                        resource.getParameterHash(),
+                        resource.getResourceFingerprint(),
+                        connection,
+                        parameterDao,
+                        pvd
+                        );
+                    resource.setId(resourceId);
+                }
+            }
+            dbCallDuration = (System.nanoTime() - dbCallStartTime)/1e6;
+
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine("Successfully inserted " + resources.size() + " Resources. resourceType=" + resourceType + " executionTime=" + dbCallDuration + "ms");
+            }
+        } catch(FHIRPersistenceDBConnectException | FHIRPersistenceDataAccessException e) {
+            throw e;
+        } catch(SQLIntegrityConstraintViolationException e) {
+            FHIRPersistenceFKVException fx = new FHIRPersistenceFKVException("Encountered FK violation while inserting Resources.");
+            throw severe(logger, fx, e);
+        } catch(SQLException e) {
+            if ("99001".equals(e.getSQLState())) {
+                // this is just a concurrency update, so there's no need to log the SQLException here
+                throw new FHIRPersistenceVersionIdMismatchException("Encountered version id mismatch while inserting Resources");
+            } else {
+                FHIRPersistenceException fx = new FHIRPersistenceException("SQLException encountered while inserting Resources.");
+                throw severe(logger, fx, e);
+            }
+        } catch(Throwable e) {
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Failure inserting Resources.");
+            throw severe(logger, fx, e);
+        } finally {
+            this.cleanup(null, connection);
+            logger.exiting(CLASSNAME, METHODNAME);
+        }
+
+        return resources;
+    }
+
+    @Override
+    protected ParameterVisitorBatchDAO createParameterVisitor(Connection connection, String resourceType, ParameterDAO parameterDao) throws SQLException {
+        // Derby doesn't support partitioned multi-tenancy, so we disable it on the DAO:
+        return new ParameterVisitorBatchDAO(connection, null, resourceType, false, -1, 100,
+                new ParameterNameCacheAdapter(parameterDao), new CodeSystemCacheAdapter(parameterDao));
+    }
+
     /**
      * Store the resource in the database, creating a new logical_resource entry if this is
      * the first version of this resource, or creating a new resource entry if this a new
@@ -191,12 +295,32 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
      */
     public long storeResource(String tablePrefix, List<ExtractedParameterValue> parameters, String p_logical_id, byte[] p_payload, Timestamp p_last_updated, boolean p_is_deleted,
         String p_source_key, Integer p_version, Connection conn, ParameterDAO parameterDao) throws Exception {
+        return storeResource(tablePrefix, parameters, p_logical_id, p_payload, p_last_updated, p_is_deleted, p_source_key, p_version, null, null, conn, parameterDao, null);
+    }
+
+    /**
+     * Store the resource in the database as described by
+     * {@link #storeResource(String, List, String, byte[], Timestamp, boolean, String, Integer, Connection, ParameterDAO)},
+     * but keep the existing parameters if their hash matches the passed one, and add new parameters to the
+     * batches of the passed visitor (if not null) instead of a new one. The caller is responsible for closing
+     * the visitor.
+     *
+     * @param p_parameter_hash the hash of the passed parameters, or null to always replace the existing parameters
+     * @param p_resource_fingerprint the fingerprint of the resource content, or null if not computed
+     * @param pvd the parameter visitor shared by resources of this type, or null
+     * @return the resource_id for the entry we created
+     * @throws Exception
+     */
+    public long storeResource(String tablePrefix, List<ExtractedParameterValue> parameters, String p_logical_id, byte[] p_payload, Timestamp p_last_updated, boolean p_is_deleted,
+        String p_source_key, Integer p_version, String p_parameter_hash, String p_resource_fingerprint, Connection conn, ParameterDAO parameterDao,
+        ParameterVisitorBatchDAO pvd) throws Exception {
 
         final String METHODNAME = "storeResource() for " + tablePrefix + " resource";
         logger.entering(CLASSNAME, METHODNAME);
 
         Long v_logical_resource_id = null;
         Long v_current_resource_id = null;
+        String v_current_parameter_hash = null;
         Long v_resource_id = null;
         Integer v_resource_type_id = null;
         boolean v_new_resource = false;
@@ -298,15 +422,18 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
             }
         }
 
+        // Set if the parameters to store are the same as those of the current version
+        boolean v_parameters_unchanged = false;
         if (!v_new_resource) {
-            // existing resource.  We need to know the current version from the
-            // resource-specific logical resources table.
-            final String sql3 = "SELECT current_resource_id FROM " + tablePrefix + "_logical_resources WHERE logical_resource_id = ?";
+            // existing resource.  We need to know the current version and the hash of its
+            // parameters from the resource-specific logical resources table.
+            final String sql3 = "SELECT current_resource_id, parameter_hash FROM " + tablePrefix + "_logical_resources WHERE logical_resource_id = ?";
             try (PreparedStatement stmt = conn.prepareStatement(sql3)) {
                 stmt.setLong(1, v_logical_resource_id);
                 ResultSet rs = stmt.executeQuery();
                 if (rs.next()) {
                     v_current_resource_id = rs.getLong(1);
+                    v_current_parameter_hash = rs.getString(2);
                 }
                 else {
                     // This database is broken, because we shouldn't have logical_resource records without
@@ -314,6 +441,7 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
                     throw new SQLException("Logical_id record '" + p_logical_id + "' missing for resource " + tablePrefix);
                 }
             }
+            v_parameters_unchanged = p_parameter_hash != null && p_parameter_hash.equals(v_current_parameter_hash);
 
             // so if we are storing a specific version, do a quick check to make
             // sure that this version doesn't currently exist. This is only done when processing
@@ -351,8 +479,9 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
 
             //If we have been passed a version number, this means that this is a replicated
             //resource, and so we only need to delete parameters if the given version is
-            // later than the current version
-            if (p_version == null || p_version > v_version) {
+            // later than the current version. The parameters are kept as they are if they
+            // are the same as those of the current version.
+            if ((p_version == null || p_version > v_version) && !v_parameters_unchanged) {
                 // existing resource, so need to delete all its parameters
                 // delete composites first, or else the foreign keys there restrict deletes on referenced tables
                 deleteFromParameterTable(conn, tablePrefix + "_composites", v_logical_resource_id);
@@ -409,23 +538,26 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
         if (p_version == null || p_version > v_version) {
             //only update the logical resource if the resource we are adding supercedes the
             //current resource
-            String sql4 = "UPDATE " + tablePrefix + "_logical_resources SET current_resource_id = ? WHERE logical_resource_id = ?";
+            String sql4 = "UPDATE " + tablePrefix + "_logical_resources SET current_resource_id = ?, parameter_hash = ?, resource_fingerprint = ? WHERE logical_resource_id = ?";
             try (PreparedStatement stmt = conn.prepareStatement(sql4)) {
                 // bind parameters
                 stmt.setLong(1, v_resource_id);
-                stmt.setLong(2, v_logical_resource_id);
+                setStringOrNull(stmt, 2, p_parameter_hash);
+                setStringOrNull(stmt, 3, p_resource_fingerprint);
+                stmt.setLong(4, v_logical_resource_id);
                 stmt.executeUpdate();
             }
 
             // To keep things simple for the Derby use-case, we just use a visitor to
             // handle inserts of parameters directly in the resource parameter tables.
             // Note we don't get any parameters for the resource soft-delete operation
+            // If the parameters are unchanged, only the rows of the version-specific ones are replaced.
             if (parameters != null) {
-                // Derby doesn't support partitioned multi-tenancy, so we disable it on the DAO:
-                try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(conn, null, tablePrefix, false, v_logical_resource_id, 100,
-                    new ParameterNameCacheAdapter(parameterDao), new CodeSystemCacheAdapter(parameterDao))) {
-                    for (ExtractedParameterValue p: parameters) {
-                        p.accept(pvd);
+                if (pvd != null) {
+                    storeParameters(conn, tablePrefix, v_logical_resource_id, parameters, v_parameters_unchanged, parameterDao, pvd);
+                } else {
+                    try (ParameterVisitorBatchDAO ownPvd = createParameterVisitor(conn, tablePrefix, parameterDao)) {
+                        storeParameters(conn, tablePrefix, v_logical_resource_id, parameters, v_parameters_unchanged, parameterDao, ownPvd);
                     }
                 }
             }
@@ -435,6 +567,24 @@ public class DerbyResourceDAO extends ResourceDAOImpl {
     }
 
 
+    /**
+     * Add the passed parameters of a resource to the batches of the passed visitor
+     *
+     * @param parametersUnchanged true if the existing parameters were kept because their hash is unchanged, in
+     *     which case only the version-specific parameters are replaced
+     */
+    private void storeParameters(Connection conn, String tablePrefix, long logicalResourceId, List<ExtractedParameterValue> parameters,
+        boolean parametersUnchanged, ParameterDAO parameterDao, ParameterVisitorBatchDAO pvd) throws Exception {
+        pvd.setLogicalResourceId(logicalResourceId);
+        if (parametersUnchanged) {
+            replaceVersionSpecificParameters(conn, tablePrefix, logicalResourceId, parameters, parameterDao, pvd);
+        } else {
+            for (ExtractedParameterValue p: parameters) {
+                p.accept(pvd);
+            }
+        }
+    }
+
     /**
      * Delete all parameters for the given resourceId from the parameters table
      *
@@ -20,6 +20,8 @@ public class Resource {
     private Timestamp lastUpdated;
     private byte[] data;
     private boolean deleted;
+    private String parameterHash;
+    private String resourceFingerprint;
 
     
     public Resource() {
@@ -81,6 +83,28 @@ public class Resource {
     public void setDeleted(boolean deleted) {
         this.deleted = deleted;
     }
+
+    /**
+     * @return the hash of the extracted search parameters of this resource, or null if not computed
+     */
+    public String getParameterHash() {
+        return parameterHash;
+    }
+
+    public void setParameterHash(String parameterHash) {
+        this.parameterHash = parameterHash;
+    }
+
+    /**
+     * @return the salt:hash fingerprint of the content of this resource, or null if not computed
+     */
+    public String getResourceFingerprint() {
+        return resourceFingerprint;
+    }
+
+    public void setResourceFingerprint(String resourceFingerprint) {
+        this.resourceFingerprint = resourceFingerprint;
+    }
     
     @Override
     public String toString() {
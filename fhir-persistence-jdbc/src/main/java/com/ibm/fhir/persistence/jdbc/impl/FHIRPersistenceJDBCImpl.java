@@ -7,26 +7,29 @@
 package com.ibm.fhir.persistence.jdbc.impl;
 
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_JDBC_ENABLE_CODE_SYSTEMS_CACHE;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_JDBC_ENABLE_PARAMETER_HASH;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_JDBC_ENABLE_PARAMETER_NAMES_CACHE;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_JDBC_ENABLE_RESOURCE_TYPES_CACHE;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_JDBC_PAYLOAD_CODEC;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_JDBC_SKIP_UNCHANGED_UPDATES;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_UPDATE_CREATE_ENABLED;
 import static com.ibm.fhir.model.type.String.string;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.MAX_NUM_OF_COMPOSITE_COMPONENTS;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,24 +39,21 @@ import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.naming.InitialContext;
 import javax.transaction.Status;
 import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
 
+import com.ibm.fhir.config.FHIRConfigHelper;
 import com.ibm.fhir.config.FHIRConfiguration;
 import com.ibm.fhir.config.PropertyGroup;
 import com.ibm.fhir.core.FHIRUtilities;
 import com.ibm.fhir.core.context.FHIRPagingContext;
 import com.ibm.fhir.database.utils.api.IConnectionProvider;
 import com.ibm.fhir.exception.FHIRException;
-import com.ibm.fhir.model.format.Format;
-import com.ibm.fhir.model.generator.FHIRGenerator;
-import com.ibm.fhir.model.parser.FHIRJsonParser;
-import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.exception.FHIROperationException;
+import com.ibm.fhir.model.generator.PayloadPassThrough;
 import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.resource.SearchParameter;
@@ -76,6 +76,7 @@ import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
 import com.ibm.fhir.persistence.FHIRPersistence;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
 import com.ibm.fhir.persistence.MultiResourceResult;
+import com.ibm.fhir.persistence.ResourceKey;
 import com.ibm.fhir.persistence.SingleResourceResult;
 import com.ibm.fhir.persistence.context.FHIRHistoryContext;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
@@ -84,6 +85,9 @@ import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceDeletedExceptio
 import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceNotFoundException;
 import com.ibm.fhir.persistence.jdbc.FHIRResourceDAOFactory;
 import com.ibm.fhir.persistence.jdbc.JDBCConstants;
+import com.ibm.fhir.persistence.jdbc.codec.JsonPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.PayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.PayloadCodecFactory;
 import com.ibm.fhir.persistence.jdbc.dao.api.FHIRDbDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.ParameterDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.ResourceDAO;
@@ -102,12 +106,17 @@ import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceFKVException;
 import com.ibm.fhir.persistence.jdbc.util.CodeSystemsCache;
 import com.ibm.fhir.persistence.jdbc.util.JDBCParameterBuildingVisitor;
 import com.ibm.fhir.persistence.jdbc.util.JDBCQueryBuilder;
+import com.ibm.fhir.persistence.jdbc.util.KeysetCursor;
+import com.ibm.fhir.persistence.jdbc.util.ParameterHashVisitor;
 import com.ibm.fhir.persistence.jdbc.util.ParameterNamesCache;
 import com.ibm.fhir.persistence.jdbc.util.ResourceTypesCache;
 import com.ibm.fhir.persistence.jdbc.util.SqlQueryData;
 import com.ibm.fhir.persistence.util.FHIRPersistenceUtil;
+import com.ibm.fhir.persistence.util.ResourceFingerprintVisitor;
+import com.ibm.fhir.persistence.util.SaltHash;
 import com.ibm.fhir.search.SearchConstants;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.date.DateTimeHandler;
 import com.ibm.fhir.search.parameters.QueryParameter;
@@ -136,6 +145,9 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
     protected Connection sharedConnection = null;
     protected UserTransaction userTransaction = null;
     protected Boolean updateCreateEnabled = null;
+    protected boolean parameterHashEnabled = false;
+    protected boolean skipUnchangedUpdates = false;
+    protected PayloadCodec payloadCodec = PayloadCodecFactory.getCodec((String) null);
 
     // only used outside a web container
     private Connection managedConnection;
@@ -153,6 +165,9 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             throw new IllegalStateException("Unable to load the default fhir-server-config.json");
         }
         this.updateCreateEnabled = fhirConfig.getBooleanProperty(PROPERTY_UPDATE_CREATE_ENABLED, Boolean.TRUE);
+        this.parameterHashEnabled = fhirConfig.getBooleanProperty(PROPERTY_JDBC_ENABLE_PARAMETER_HASH, Boolean.FALSE);
+        this.skipUnchangedUpdates = FHIRConfigHelper.getBooleanProperty(PROPERTY_JDBC_SKIP_UNCHANGED_UPDATES, Boolean.FALSE);
+        this.payloadCodec = PayloadCodecFactory.getCodec(FHIRConfigHelper.getStringProperty(PROPERTY_JDBC_PAYLOAD_CODEC, JsonPayloadCodec.NAME));
         this.userTransaction = retrieveUserTransaction(TXN_JNDI_NAME);
 
         ParameterNamesCache.setEnabled(fhirConfig.getBooleanProperty(PROPERTY_JDBC_ENABLE_PARAMETER_NAMES_CACHE,
@@ -178,6 +193,9 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
         log.entering(CLASSNAME, METHODNAME);
 
         this.updateCreateEnabled = Boolean.parseBoolean(configProps.getProperty("updateCreateEnabled"));
+        this.parameterHashEnabled = Boolean.parseBoolean(configProps.getProperty("enableParameterHash"));
+        this.skipUnchangedUpdates = Boolean.parseBoolean(configProps.getProperty("skipUnchangedUpdates"));
+        this.payloadCodec = PayloadCodecFactory.getCodec(configProps.getProperty("payloadCodec", JsonPayloadCodec.NAME));
 
         FHIRDbDAO dao = new FHIRDbDAOImpl(configProps);
 
@@ -198,6 +216,9 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
         log.entering(CLASSNAME, METHODNAME);
 
         this.updateCreateEnabled = Boolean.parseBoolean(configProps.getProperty("updateCreateEnabled"));
+        this.parameterHashEnabled = Boolean.parseBoolean(configProps.getProperty("enableParameterHash"));
+        this.skipUnchangedUpdates = Boolean.parseBoolean(configProps.getProperty("skipUnchangedUpdates"));
+        this.payloadCodec = PayloadCodecFactory.getCodec(configProps.getProperty("payloadCodec", JsonPayloadCodec.NAME));
 
         FHIRDbDAO dao = new FHIRDbDAOImpl(cp.getConnection());
 
@@ -214,7 +235,6 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
         final String METHODNAME = "create";
         log.entering(CLASSNAME, METHODNAME);
 
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
         String logicalId;
 
         // We need to update the meta in the resource, so we need a modifiable version
@@ -253,11 +273,10 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             resourceDTO.setResourceType(updatedResource.getClass().getSimpleName());
 
             // Serialize and compress the Resource
-            GZIPOutputStream zipStream = new GZIPOutputStream(stream);
-            FHIRGenerator.generator( Format.JSON, false).generate(updatedResource, zipStream);
-            zipStream.finish();
-            resourceDTO.setData(stream.toByteArray());
-            zipStream.close();
+            resourceDTO.setData(payloadCodec.encode(updatedResource));
+            if (skipUnchangedUpdates) {
+                resourceDTO.setResourceFingerprint(computeFingerprint(updatedResource, null).toString());
+            }
 
             // Persist the Resource DTO.
             this.getResourceDao().setPersistenceContext(context);
@@ -306,7 +325,6 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
 
         Class<? extends Resource> resourceType = resource.getClass();
         com.ibm.fhir.persistence.jdbc.dto.Resource existingResourceDTO;
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
         // Resources are immutable, so we need a new builder to update it (since R4)
         Resource.Builder resultResourceBuilder = resource.toBuilder();
@@ -315,6 +333,11 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             // Assume we have no existing resource.
             int existingVersion = 0;
 
+            // The last updated time and fingerprint of the existing version, used to detect
+            // an update which doesn't change the resource
+            Instant existingLastUpdated = null;
+            SaltHash existingFingerprint = null;
+
             // Compute the new version # from the existing version #.
 
             // If the "previous resource" is set in the persistence event, then get the
@@ -325,6 +348,24 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
                     log.fine("Using pre-fetched 'previous' resource.");
                     String version = existingResource.getMeta().getVersionId().getValue();
                     existingVersion = Integer.valueOf(version);
+                    if (skipUnchangedUpdates) {
+                        // we have the content already, so it's cheaper to fingerprint it than to read the stored fingerprint
+                        existingLastUpdated = existingResource.getMeta().getLastUpdated();
+                        existingFingerprint = computeFingerprint(existingResource, null);
+                    }
+                }
+            }
+
+            // When checking for unchanged updates, read the version # and fingerprint of the
+            // current version (but not its content) from the datastore.
+            else if (skipUnchangedUpdates) {
+                log.fine("Fetching current version of 'previous' resource for update.");
+                existingResourceDTO = this.getResourceDao()
+                        .readCurrentVersions(resourceType.getSimpleName(), Collections.singleton(logicalId)).get(logicalId);
+                if (existingResourceDTO != null) {
+                    existingVersion = existingResourceDTO.getVersionId();
+                    existingLastUpdated = toInstant(existingResourceDTO.getLastUpdated());
+                    existingFingerprint = toSaltHash(existingResourceDTO.getResourceFingerprint());
                 }
             }
 
@@ -346,6 +387,21 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
                 throw new FHIRPersistenceResourceNotFoundException(msg);
             }
 
+            // An update which doesn't change the content of the resource doesn't need a new version,
+            // so skip the parameter extraction and the write altogether.
+            String fingerprint = null;
+            if (skipUnchangedUpdates) {
+                SaltHash newFingerprint = computeFingerprint(resource, existingFingerprint);
+                if (existingLastUpdated != null && newFingerprint.equals(existingFingerprint)) {
+                    if (log.isLoggable(Level.FINE)) {
+                        log.fine("Skipping unchanged update of FHIR Resource '" + resourceType.getSimpleName() + "/" + logicalId + "', version=" + existingVersion);
+                    }
+                    supplementalIssues.add(buildUnchangedIssue(resourceType.getSimpleName(), logicalId, existingVersion));
+                    return unchangedResult(resource, existingVersion, existingLastUpdated, supplementalIssues);
+                }
+                fingerprint = newFingerprint.toString();
+            }
+
             // Bump up the existing version # to get the new version.
             int newVersionNumber = existingVersion + 1;
 
@@ -370,19 +426,8 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             T updatedResource = (T) resultResourceBuilder.build();
 
             // Create the new Resource DTO instance.
-            com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = new com.ibm.fhir.persistence.jdbc.dto.Resource();
-            resourceDTO.setLogicalId(logicalId);
-            resourceDTO.setVersionId(newVersionNumber);
-            Timestamp timestamp = FHIRUtilities.convertToTimestamp(lastUpdated.getValue());
-            resourceDTO.setLastUpdated(timestamp);
-            resourceDTO.setResourceType(updatedResource.getClass().getSimpleName());
-
-            // Serialize and compress the Resource
-            GZIPOutputStream zipStream = new GZIPOutputStream(stream);
-            FHIRGenerator.generator(Format.JSON, false).generate(updatedResource, zipStream);
-            zipStream.finish();
-            resourceDTO.setData(stream.toByteArray());
-            zipStream.close();
+            com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = createResourceDTO(logicalId, newVersionNumber, lastUpdated, updatedResource);
+            resourceDTO.setResourceFingerprint(fingerprint);
 
             // Persist the Resource DTO.
             this.getResourceDao().setPersistenceContext(context);
@@ -423,6 +468,226 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
         }
     }
 
+    @Override
+    public <T extends Resource> List<SingleResourceResult<T>> createOrUpdateAll(FHIRPersistenceContext context, List<T> resources)
+            throws FHIRPersistenceException {
+        final String METHODNAME = "createOrUpdateAll";
+        log.entering(CLASSNAME, METHODNAME);
+
+        List<SingleResourceResult<T>> results = new ArrayList<>(Collections.nCopies(resources.size(), null));
+
+        // Group the resources by resource type so that each group can be written with the same statements
+        Map<Class<? extends Resource>, List<Integer>> indexesByType = new LinkedHashMap<>();
+        for (int i = 0; i < resources.size(); i++) {
+            indexesByType.computeIfAbsent(resources.get(i).getClass(), k -> new ArrayList<>()).add(i);
+        }
+
+        try {
+            this.getResourceDao().setPersistenceContext(context);
+
+            for (Entry<Class<? extends Resource>, List<Integer>> entry : indexesByType.entrySet()) {
+                String resourceTypeName = entry.getKey().getSimpleName();
+                List<Integer> indexes = entry.getValue();
+
+                // Resolve the existing version # (and fingerprint) of all the resources of this type with a single query
+                Set<String> logicalIds = new LinkedHashSet<>();
+                for (int index : indexes) {
+                    if (resources.get(index).getId() != null) {
+                        logicalIds.add(resources.get(index).getId());
+                    }
+                }
+                Map<String, com.ibm.fhir.persistence.jdbc.dto.Resource> currentVersions =
+                        this.getResourceDao().readCurrentVersions(resourceTypeName, logicalIds);
+
+                List<Integer> insertIndexes = new ArrayList<>(indexes.size());
+                List<T> updatedResources = new ArrayList<>(indexes.size());
+                List<com.ibm.fhir.persistence.jdbc.dto.Resource> resourceDTOs = new ArrayList<>(indexes.size());
+                List<List<ExtractedParameterValue>> parameters = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    T resource = resources.get(index);
+                    try {
+                        String logicalId = resource.getId();
+                        if (logicalId == null) {
+                            throw new FHIRPersistenceException("Resource of type '" + resourceTypeName + "' has no id.");
+                        }
+
+                        com.ibm.fhir.persistence.jdbc.dto.Resource currentVersion = currentVersions.get(logicalId);
+                        int existingVersion = currentVersion == null ? 0 : currentVersion.getVersionId();
+                        if (existingVersion == 0 && !updateCreateEnabled) {
+                            String msg = "Resource '" + resourceTypeName + "/" + logicalId + "' not found.";
+                            log.log(Level.SEVERE, msg);
+                            throw new FHIRPersistenceResourceNotFoundException(msg);
+                        }
+
+                        String fingerprint = null;
+                        if (skipUnchangedUpdates) {
+                            SaltHash existingFingerprint = currentVersion == null ? null : toSaltHash(currentVersion.getResourceFingerprint());
+                            SaltHash newFingerprint = computeFingerprint(resource, existingFingerprint);
+                            if (newFingerprint.equals(existingFingerprint)) {
+                                List<OperationOutcome.Issue> issues = new ArrayList<>(supplementalIssues);
+                                issues.add(buildUnchangedIssue(resourceTypeName, logicalId, existingVersion));
+                                results.set(index, unchangedResult(resource, existingVersion, toInstant(currentVersion.getLastUpdated()), issues));
+                                continue;
+                            }
+                            fingerprint = newFingerprint.toString();
+                        }
+                        int newVersionNumber = existingVersion + 1;
+
+                        Instant lastUpdated = Instant.now(ZoneOffset.UTC);
+                        Meta meta = resource.getMeta();
+                        Meta.Builder metaBuilder = meta == null ? Meta.builder() : meta.toBuilder();
+                        metaBuilder.versionId(Id.of(Integer.toString(newVersionNumber)));
+                        metaBuilder.lastUpdated(lastUpdated);
+
+                        @SuppressWarnings("unchecked")
+                        T updatedResource = (T) resource.toBuilder().meta(metaBuilder.build()).build();
+
+                        com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = createResourceDTO(logicalId, newVersionNumber, lastUpdated, updatedResource);
+                        resourceDTO.setResourceFingerprint(fingerprint);
+                        parameters.add(this.extractSearchParameters(updatedResource, resourceDTO));
+                        resourceDTOs.add(resourceDTO);
+                        updatedResources.add(updatedResource);
+                        insertIndexes.add(index);
+
+                        // the same resource may appear more than once in the list
+                        currentVersions.put(logicalId, resourceDTO);
+                    } catch (FHIROperationException e) {
+                        // this only concerns the current resource, so report it in its result and carry on with the others
+                        results.set(index, new SingleResourceResult.Builder<T>()
+                                .success(false)
+                                .outcome(FHIRUtil.buildOperationOutcome(e, false))
+                                .build());
+                    }
+                }
+
+                // Persist the Resource DTOs.
+                this.getResourceDao().insertAll(resourceDTOs, parameters, this.parameterDao);
+                if (log.isLoggable(Level.FINE)) {
+                    log.fine("Persisted " + resourceDTOs.size() + " FHIR Resources of type '" + resourceTypeName + "'");
+                }
+
+                for (int i = 0; i < insertIndexes.size(); i++) {
+                    SingleResourceResult.Builder<T> resultBuilder = new SingleResourceResult.Builder<T>()
+                            .success(true)
+                            .resource(updatedResources.get(i));
+
+                    // Add supplemental issues to an OperationOutcome
+                    if (!supplementalIssues.isEmpty()) {
+                        resultBuilder.outcome(OperationOutcome.builder()
+                            .issue(supplementalIssues)
+                            .build());
+                    }
+                    results.set(insertIndexes.get(i), resultBuilder.build());
+                }
+            }
+
+            return results;
+        }
+        catch(FHIRPersistenceFKVException e) {
+            log.log(Level.SEVERE, this.performCacheDiagnostics());
+            throw e;
+        }
+        catch(FHIRPersistenceException e) {
+            throw e;
+        }
+        catch(Throwable e) {
+            // don't chain the exception to avoid leaking secrets
+            FHIRPersistenceException fx = new FHIRPersistenceException("Unexpected error while performing a createOrUpdateAll operation.");
+            log.log(Level.SEVERE, fx.getMessage(), e);
+            throw fx;
+        }
+        finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    /**
+     * Create a Resource DTO for the passed FHIR Resource, which is serialized and compressed into the data of the DTO.
+     * @param logicalId
+     * @param versionId
+     * @param lastUpdated
+     * @param resource
+     * @return the Resource DTO
+     * @throws Exception
+     */
+    private com.ibm.fhir.persistence.jdbc.dto.Resource createResourceDTO(String logicalId, int versionId, Instant lastUpdated, Resource resource)
+            throws Exception {
+        com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = new com.ibm.fhir.persistence.jdbc.dto.Resource();
+        resourceDTO.setLogicalId(logicalId);
+        resourceDTO.setVersionId(versionId);
+        Timestamp timestamp = FHIRUtilities.convertToTimestamp(lastUpdated.getValue());
+        resourceDTO.setLastUpdated(timestamp);
+        resourceDTO.setResourceType(resource.getClass().getSimpleName());
+
+        // Serialize and compress the Resource
+        resourceDTO.setData(payloadCodec.encode(resource));
+
+        return resourceDTO;
+    }
+
+    /**
+     * Compute the fingerprint of the content of the passed resource, which excludes the id, meta.versionId and
+     * meta.lastUpdated elements set by the persistence layer.
+     * @param resource
+     * @param baseline a fingerprint to compare the result with, or null
+     * @return the fingerprint, computed with the salt of the baseline (if any) so that the two can be compared
+     */
+    private SaltHash computeFingerprint(Resource resource, SaltHash baseline) {
+        ResourceFingerprintVisitor visitor = baseline == null ? new ResourceFingerprintVisitor() : new ResourceFingerprintVisitor(baseline);
+        resource.accept(resource.getClass().getSimpleName(), visitor);
+        return visitor.getSaltAndHash();
+    }
+
+    /**
+     * @param fingerprint the stored salt:hash fingerprint of a resource version, or null
+     * @return the parsed fingerprint, or null if there isn't one
+     */
+    private SaltHash toSaltHash(String fingerprint) {
+        return fingerprint == null ? null : new SaltHash(fingerprint);
+    }
+
+    private Instant toInstant(Timestamp timestamp) {
+        return Instant.of(ZonedDateTime.ofInstant(timestamp.toInstant(), ZoneOffset.UTC));
+    }
+
+    /**
+     * Build the result of an update which was skipped because the resource is the same as its current version.
+     * @param resource the resource passed to the update
+     * @param versionId the version id of the current version
+     * @param lastUpdated the last updated time of the current version
+     * @param issues the issues to add to the outcome of the result
+     * @return a successful result which holds the passed resource with the meta of the current version
+     */
+    private <T extends Resource> SingleResourceResult<T> unchangedResult(T resource, int versionId, Instant lastUpdated,
+            List<OperationOutcome.Issue> issues) {
+        Meta meta = resource.getMeta();
+        Meta.Builder metaBuilder = meta == null ? Meta.builder() : meta.toBuilder();
+        metaBuilder.versionId(Id.of(Integer.toString(versionId)));
+        metaBuilder.lastUpdated(lastUpdated);
+
+        @SuppressWarnings("unchecked")
+        T currentResource = (T) resource.toBuilder().meta(metaBuilder.build()).build();
+
+        return new SingleResourceResult.Builder<T>()
+                .success(true)
+                .resource(currentResource)
+                .outcome(OperationOutcome.builder()
+                    .issue(issues)
+                    .build())
+                .build();
+    }
+
+    private OperationOutcome.Issue buildUnchangedIssue(String resourceTypeName, String logicalId, int versionId) {
+        return OperationOutcome.Issue.builder()
+                .severity(IssueSeverity.INFORMATION)
+                .code(IssueType.INFORMATIONAL)
+                .details(CodeableConcept.builder()
+                    .text(string("Resource '" + resourceTypeName + "/" + logicalId + "' is unchanged; no new version was created, current version is "
+                            + versionId + "."))
+                    .build())
+                .build();
+    }
+
     @Override
     public MultiResourceResult<Resource> search(FHIRPersistenceContext context, Class<? extends Resource> resourceType)
             throws FHIRPersistenceException {
@@ -444,15 +709,37 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             queryBuilder = new JDBCQueryBuilder(this.getParameterDao(),
                                                 this.getResourceDao());
 
-            countQuery = queryBuilder.buildCountQuery(resourceType, searchContext);
+            // The ordering of the search results, if it supports paging with a cursor
+            KeysetCursor.Ordering keysetOrdering = KeysetCursor.getOrdering(searchContext);
+
+            // For _summary=count or pageSize == 0, we return only the count
+            boolean countOnly = SummaryValueSet.COUNT.equals(searchContext.getSummaryParameter())
+                    || searchContext.getPageSize() == 0;
+            TotalValueSet totalParameter = getTotalParameter(searchContext, countOnly);
+
+            boolean totalCountKnown = false;
+            if (totalParameter == TotalValueSet.NONE) {
+                countQuery = null;
+            } else if (totalParameter == TotalValueSet.ESTIMATE) {
+                countQuery = queryBuilder.buildCappedCountQuery(resourceType, searchContext, JDBCConstants.MAX_ESTIMATED_TOTAL);
+            } else {
+                countQuery = queryBuilder.buildCountQuery(resourceType, searchContext);
+            }
             if (countQuery != null) {
                 searchResultCount = this.getResourceDao().searchCount(countQuery);
                 if (log.isLoggable(Level.FINE)) {
                     log.fine("searchResultCount = " + searchResultCount);
                 }
                 searchContext.setTotalCount(searchResultCount);
+                totalCountKnown = totalParameter == TotalValueSet.ACCURATE || searchResultCount < JDBCConstants.MAX_ESTIMATED_TOTAL;
+            }
+            // A capped count is only a lower bound of the number of search results, so it isn't reported as the total
+            searchContext.setTotalCountKnown(totalCountKnown);
 
-                List<OperationOutcome.Issue> issues = validatePagingContext(searchContext);
+            // Without a count query, the search has no results unless _total=none skipped the count
+            if (countQuery != null || totalParameter == TotalValueSet.NONE) {
+                List<OperationOutcome.Issue> issues = validatePagingContext(searchContext, totalCountKnown);
+                issues.addAll(validateCursor(searchContext, keysetOrdering));
                 if (!issues.isEmpty()) {
                     resultBuilder.outcome(OperationOutcome.builder()
                         .issue(issues)
@@ -462,11 +749,16 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
                     }
                 }
 
-                // For _summary=count or pageSize == 0, we return only the count
-                if (searchResultCount > 0
-                        && !SummaryValueSet.COUNT.equals(searchContext.getSummaryParameter())
-                        && searchContext.getPageSize() > 0) {
-                    query = queryBuilder.buildQuery(resourceType, searchContext);
+                // When the total count is not known, fetch the first result of the next page to find out
+                // whether there is one
+                if ((!totalCountKnown || searchResultCount > 0) && !countOnly) {
+                    query = queryBuilder.buildQuery(resourceType, searchContext, !totalCountKnown);
+                }
+                else {
+                    query = null;
+                }
+
+                if (query != null) {
 
                     List<String> elements = searchContext.getElementsParameters();
 
@@ -495,22 +787,37 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
                         }
                     }
 
-                    if (searchContext.hasSortParameters()) {
+                    // Searches sorted by _lastUpdated only use the keyset ordering, which doesn't need the sort logic
+                    if (searchContext.hasSortParameters() && keysetOrdering == null) {
                         // Sorting results of a system-level search is limited, and has a different logic path
                         // than other sorted searches.
                         if (resourceType.equals(Resource.class)) {
-                           resources = this.convertResourceDTOList(this.resourceDao.search(query), resourceType, elements);
+                            unsortedResultsList = this.resourceDao.search(query);
+                            if (!totalCountKnown) {
+                                unsortedResultsList = removeNextPageIndicator(searchContext, unsortedResultsList);
+                            }
+                            resources = this.convertResourceDTOList(unsortedResultsList, resourceType, elements);
                         }
                         else {
                             sortedIdList = this.resourceDao.searchForIds(query);
+                            if (!totalCountKnown) {
+                                sortedIdList = removeNextPageIndicator(searchContext, sortedIdList);
+                            }
                             resources = this.buildSortedFhirResources(context, resourceType, sortedIdList, elements);
                         }
                     }
                     else {
                         unsortedResultsList = this.getResourceDao().search(query);
+                        if (!totalCountKnown) {
+                            unsortedResultsList = removeNextPageIndicator(searchContext, unsortedResultsList);
+                        }
+                        setNextCursor(searchContext, keysetOrdering, unsortedResultsList);
                         resources = this.convertResourceDTOList(unsortedResultsList, resourceType, elements);
                     }
                 }
+                else if (!totalCountKnown) {
+                    searchContext.setLastPageNumber(searchContext.getPageNumber());
+                }
             }
 
             return resultBuilder
@@ -547,6 +854,108 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
         }
     }
 
+    /**
+     * Determine how accurately the search results should be counted.
+     *
+     * @param searchContext
+     *     the search context
+     * @param countOnly
+     *     whether only the count of the search results is requested
+     * @return
+     *     the _total behavior to use for the search
+     */
+    private TotalValueSet getTotalParameter(FHIRSearchContext searchContext, boolean countOnly) {
+        // The count is the result for _summary=count, and searches with _include or _revinclude fetch the included
+        // resources together with the page, so the next page indicator cannot be used for them
+        if (countOnly || !searchContext.hasTotalParameter()
+                || searchContext.hasIncludeParameters() || searchContext.hasRevIncludeParameters()) {
+            return TotalValueSet.ACCURATE;
+        }
+        return searchContext.getTotalParameter();
+    }
+
+    /**
+     * Set the last page number of the search context based on whether the passed results include the first result
+     * of the next page, and remove it.
+     *
+     * @param searchContext
+     *     the search context
+     * @param results
+     *     the results of a page query that included the next page indicator
+     * @return
+     *     the results of the requested page
+     */
+    private <T> List<T> removeNextPageIndicator(FHIRSearchContext searchContext, List<T> results) {
+        int pageNumber = searchContext.getPageNumber();
+        if (results.size() > searchContext.getPageSize()) {
+            searchContext.setLastPageNumber(pageNumber + 1);
+            return results.subList(0, searchContext.getPageSize());
+        }
+        searchContext.setLastPageNumber(pageNumber);
+        return results;
+    }
+
+    /**
+     * Validate the cursor (if any) in the FHIRPagingContext instance. An invalid cursor is removed from the paging
+     * context, so that the requested page is selected by its page number instead.
+     *
+     * @param pagingContext
+     *     the FHIRPagingContext instance (FHIRSearchContext or FHIRHistoryContext)
+     * @param ordering
+     *     the ordering of the results, or null if it doesn't support paging with a cursor
+     * @return
+     *     a list of operation outcome issues if the cursor is invalid
+     */
+    private List<OperationOutcome.Issue> validateCursor(FHIRPagingContext pagingContext, KeysetCursor.Ordering ordering) {
+        List<OperationOutcome.Issue> issues = new ArrayList<>();
+
+        String cursor = pagingContext.getCursor();
+        if (cursor != null) {
+            String msg = null;
+            if (ordering == null) {
+                msg = "The _cursor parameter is not supported for searches with inclusions or sort parameters other than _lastUpdated";
+            } else {
+                try {
+                    KeysetCursor.decode(cursor, ordering);
+                } catch (FHIRPersistenceException e) {
+                    msg = e.getMessage();
+                }
+            }
+            if (msg != null) {
+                issues.add(OperationOutcome.Issue.builder()
+                    .severity(pagingContext.isLenient() ? IssueSeverity.WARNING : IssueSeverity.ERROR)
+                    .code(IssueType.INVALID)
+                    .details(CodeableConcept.builder()
+                        .text(string(msg))
+                        .build())
+                    .build());
+                pagingContext.setCursor(null);
+            }
+        }
+
+        return issues;
+    }
+
+    /**
+     * Set the cursor of the next page in the paging context, from the last result of the current page. The cursor
+     * is only set if the ordering of the results supports paging with a cursor and the current page is full.
+     *
+     * @param pagingContext
+     *     the FHIRPagingContext instance (FHIRSearchContext or FHIRHistoryContext)
+     * @param ordering
+     *     the ordering of the results, or null if it doesn't support paging with a cursor
+     * @param results
+     *     the results of the current page
+     */
+    private void setNextCursor(FHIRPagingContext pagingContext, KeysetCursor.Ordering ordering,
+            List<com.ibm.fhir.persistence.jdbc.dto.Resource> results) {
+        if (ordering != null && !results.isEmpty() && results.size() >= pagingContext.getPageSize()) {
+            com.ibm.fhir.persistence.jdbc.dto.Resource last = results.get(results.size() - 1);
+            long id = ordering == KeysetCursor.Ordering.VERSION_ID ? last.getVersionId() : last.getId();
+            pagingContext.setNextCursor(new KeysetCursor(ordering, last.getLastUpdated(), id).encode());
+        }
+    }
+
     private ParameterDAO getParameterDao() {
         return parameterDao;
     }
@@ -563,7 +972,6 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
 
         com.ibm.fhir.persistence.jdbc.dto.Resource existingResourceDTO = null;
         T existingResource = null;
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
         Resource.Builder resourceBuilder;
 
@@ -615,11 +1023,7 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             resourceDTO.setVersionId(newVersionNumber);
 
             // Serialize and compress the Resource
-            GZIPOutputStream zipStream = new GZIPOutputStream(stream);
-            FHIRGenerator.generator(Format.JSON, false).generate(updatedResource, zipStream);
-            zipStream.finish();
-            resourceDTO.setData(stream.toByteArray());
-            zipStream.close();
+            resourceDTO.setData(payloadCodec.encode(updatedResource));
 
             Timestamp timestamp = FHIRUtilities.convertToTimestamp(lastUpdated.getValue());
             resourceDTO.setLastUpdated(timestamp);
@@ -671,33 +1075,7 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
 
         T resource = null;
         com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = null;
-
-        FHIRSearchContext searchContext = context.getSearchContext();
-        List<String> elements = null;
-        //Check if _summary is required
-        if (searchContext != null && searchContext.hasSummaryParameter()) {
-            Set<String> summaryElements = null;
-            SummaryValueSet summary = searchContext.getSummaryParameter();
-
-            switch (summary) {
-            case TRUE:
-                summaryElements = JsonSupport.getSummaryElementNames(resourceType);
-                break;
-            case TEXT:
-                summaryElements = SearchUtil.getSummaryTextElementNames(resourceType);
-                break;
-            case DATA:
-                summaryElements = JsonSupport.getSummaryDataElementNames(resourceType);
-                break;
-            default:
-                break;
-            }
-
-            if (summaryElements != null) {
-                elements = new ArrayList<String>();
-                elements.addAll(summaryElements);
-            }
-        }
+        List<String> elements = getSummaryElements(context, resourceType);
 
         try {
             resourceDTO = this.getResourceDao().read(logicalId, resourceType.getSimpleName());
@@ -727,6 +1105,97 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
         }
     }
 
+    /**
+     * Reads the resources of each resource type with a single query (or a few queries if there are a lot of them).
+     */
+    @Override
+    public List<SingleResourceResult<? extends Resource>> readMany(FHIRPersistenceContext context, List<ResourceKey> keys)
+            throws FHIRPersistenceException {
+        final String METHODNAME = "readMany";
+        log.entering(CLASSNAME, METHODNAME);
+
+        try {
+            Map<Class<? extends Resource>, Set<String>> logicalIdsByType = new LinkedHashMap<>();
+            for (ResourceKey key : keys) {
+                logicalIdsByType.computeIfAbsent(key.getResourceType(), k -> new LinkedHashSet<>()).add(key.getLogicalId());
+            }
+
+            Map<ResourceKey, SingleResourceResult<? extends Resource>> resultsByKey = new HashMap<>();
+            for (Map.Entry<Class<? extends Resource>, Set<String>> entry : logicalIdsByType.entrySet()) {
+                Class<? extends Resource> resourceType = entry.getKey();
+                List<String> elements = getSummaryElements(context, resourceType);
+                Map<String, com.ibm.fhir.persistence.jdbc.dto.Resource> resourceDTOs =
+                        this.getResourceDao().readMany(resourceType.getSimpleName(), entry.getValue());
+                for (String logicalId : entry.getValue()) {
+                    com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = resourceDTOs.get(logicalId);
+                    SingleResourceResult<? extends Resource> result;
+                    if (resourceDTO != null && resourceDTO.isDeleted() && !context.includeDeleted()) {
+                        FHIRPersistenceResourceDeletedException e = new FHIRPersistenceResourceDeletedException("Resource '" +
+                                resourceType.getSimpleName() + "/" + logicalId + "' is deleted.");
+                        result = new SingleResourceResult.Builder<Resource>()
+                                .success(false)
+                                .outcome(FHIRUtil.buildOperationOutcome(e, false))
+                                .build();
+                    } else {
+                        result = new SingleResourceResult.Builder<Resource>()
+                                .success(true)
+                                .resource(this.convertResourceDTO(resourceDTO, resourceType, elements))
+                                .build();
+                    }
+                    resultsByKey.put(new ResourceKey(resourceType, logicalId), result);
+                }
+            }
+
+            List<SingleResourceResult<? extends Resource>> results = new ArrayList<>(keys.size());
+            for (ResourceKey key : keys) {
+                results.add(resultsByKey.get(key));
+            }
+            return results;
+        }
+        catch(Throwable e) {
+            FHIRPersistenceException fx = new FHIRPersistenceException("Unexpected error while performing a readMany operation.");
+            log.log(Level.SEVERE, fx.getMessage(), e);
+            throw fx;
+        }
+        finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    /**
+     * @return the names of the elements to include in the resources that are read, as specified by the _summary
+     *         parameter of the search context, or null if all elements are included
+     */
+    private List<String> getSummaryElements(FHIRPersistenceContext context, Class<? extends Resource> resourceType) {
+        FHIRSearchContext searchContext = context.getSearchContext();
+        List<String> elements = null;
+        //Check if _summary is required
+        if (searchContext != null && searchContext.hasSummaryParameter()) {
+            Set<String> summaryElements = null;
+            SummaryValueSet summary = searchContext.getSummaryParameter();
+
+            switch (summary) {
+            case TRUE:
+                summaryElements = JsonSupport.getSummaryElementNames(resourceType);
+                break;
+            case TEXT:
+                summaryElements = SearchUtil.getSummaryTextElementNames(resourceType);
+                break;
+            case DATA:
+                summaryElements = JsonSupport.getSummaryDataElementNames(resourceType);
+                break;
+            default:
+                break;
+            }
+
+            if (summaryElements != null) {
+                elements = new ArrayList<String>();
+                elements.addAll(summaryElements);
+            }
+        }
+        return elements;
+    }
+
     @Override
     public <T extends Resource> MultiResourceResult<T> history(FHIRPersistenceContext context, Class<T> resourceType,
             String logicalId) throws FHIRPersistenceException {
@@ -754,7 +1223,8 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             resourceCount = this.getResourceDao().historyCount(resourceType.getSimpleName(), logicalId, fromDateTime);
             historyContext.setTotalCount(resourceCount);
 
-            List<OperationOutcome.Issue> issues = validatePagingContext(historyContext);
+            List<OperationOutcome.Issue> issues = validatePagingContext(historyContext, true);
+            issues.addAll(validateCursor(historyContext, KeysetCursor.Ordering.VERSION_ID));
 
             if (!issues.isEmpty()) {
                 resultBuilder.outcome(OperationOutcome.builder()
@@ -766,8 +1236,18 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             }
 
             if (resourceCount > 0) {
-                offset = (historyContext.getPageNumber() - 1) * historyContext.getPageSize();
-                resourceDTOList = this.getResourceDao().history(resourceType.getSimpleName(), logicalId, fromDateTime, offset, historyContext.getPageSize());
+                // With a cursor, the page starts after the version of the cursor instead of at the offset
+                Integer beforeVersionId = null;
+                if (historyContext.getCursor() != null) {
+                    KeysetCursor cursor = KeysetCursor.decode(historyContext.getCursor(), KeysetCursor.Ordering.VERSION_ID);
+                    beforeVersionId = (int) cursor.getId();
+                    offset = 0;
+                } else {
+                    offset = (historyContext.getPageNumber() - 1) * historyContext.getPageSize();
+                }
+                resourceDTOList = this.getResourceDao().history(resourceType.getSimpleName(), logicalId, fromDateTime,
+                        beforeVersionId, offset, historyContext.getPageSize());
+                setNextCursor(historyContext, KeysetCursor.Ordering.VERSION_ID, resourceDTOList);
                 for (com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO : resourceDTOList) {
                     if (resourceDTO.isDeleted()) {
                         deletedResourceVersions.putIfAbsent(logicalId, new ArrayList<Integer>());
@@ -802,10 +1282,13 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
      *
      * @param pagingContext
      *     the FHIRPagingContext instance (FHIRSearchContext or FHIRHistoryContext)
+     * @param totalCountKnown
+     *     whether the total count of the paging context is known; if not, the last page number is not set and the page
+     *     number is not validated against it
      * @return
      *     a list of operation outcome issues if the paging context has invalid parameters
      */
-    private List<OperationOutcome.Issue> validatePagingContext(FHIRPagingContext pagingContext) {
+    private List<OperationOutcome.Issue> validatePagingContext(FHIRPagingContext pagingContext, boolean totalCountKnown) {
         List<OperationOutcome.Issue> issues = new ArrayList<>();
 
         int pageSize = pagingContext.getPageSize();
@@ -820,8 +1303,11 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
             pagingContext.setPageSize(10);
         }
 
-        int lastPageNumber = Math.max(((pagingContext.getTotalCount() + pageSize - 1) / pageSize), 1);
-        pagingContext.setLastPageNumber(lastPageNumber);
+        int lastPageNumber = Integer.MAX_VALUE;
+        if (totalCountKnown) {
+            lastPageNumber = Math.max(((pagingContext.getTotalCount() + pageSize - 1) / pageSize), 1);
+            pagingContext.setLastPageNumber(lastPageNumber);
+        }
 
         int pageNumber = pagingContext.getPageNumber();
         if (pageNumber < 1) {
@@ -1238,6 +1724,11 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
                     }
                 }
             }
+
+            // Lets the database skip rewriting the parameters when they are the same as those of the current version
+            if (parameterHashEnabled) {
+                resourceDTO.setParameterHash(ParameterHashVisitor.hash(allParameters));
+            }
         }
         finally {
             log.exiting(CLASSNAME, METHODNAME);
@@ -1528,18 +2019,18 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, FHIRPersistence
         T resource = null;
         try {
             if (resourceDTO != null) {
-                InputStream in = new GZIPInputStream(new ByteArrayInputStream(resourceDTO.getData()));
+                // each row is decoded by the codec that wrote it, which may not be the configured one
+                PayloadCodec codec = PayloadCodecFactory.getCodec(resourceDTO.getData());
+                resource = codec.decode(resourceDTO.getData(), resourceType, elements);
                 if (elements != null) {
-                    // parse/filter the resource using elements
-                    resource = FHIRParser.parser(Format.JSON).as(FHIRJsonParser.class).parseAndFilter(in, elements);
                     if (resourceType.equals(resource.getClass()) && !FHIRUtil.hasTag(resource, SearchConstants.SUBSETTED_TAG)) {
                         // add a SUBSETTED tag to this resource to indicate that its elements have been filtered
                         resource = FHIRUtil.addTag(resource, SearchConstants.SUBSETTED_TAG);
                     }
-                } else {
-                    resource = FHIRParser.parser(Format.JSON).parse(in);
+                } else if (codec instanceof JsonPayloadCodec) {
+                    // the stored payload can be written as-is if the resource is returned unchanged
+                    PayloadPassThrough.register(resource, resourceDTO.getData(), true);
                 }
-                in.close();
             }
         } finally {
             log.exiting(CLASSNAME, METHODNAME);
@@ -51,7 +51,7 @@ public class PostgreSqlResourceDAO extends ResourceDAOImpl {
 
     private static final PostgreSqlTranslator translator = new PostgreSqlTranslator();
     private static final String SQL_READ_RESOURCE_TYPE = "{CALL %s.add_resource_type(?, ?)}";
-    private static final String SQL_INSERT_WITH_PARAMETERS = "{CALL %s.add_any_resource(?,?,?,?,?,?,?,?)}";
+    private static final String SQL_INSERT_WITH_PARAMETERS = "{CALL %s.add_any_resource(?,?,?,?,?,?,?,?,?,?,?)}";
 
     // DAO used to obtain sequence values from FHIR_REF_SEQUENCE
     private FhirRefSequenceDAO fhirRefSequenceDAO;
@@ -116,24 +116,32 @@ public class PostgreSqlResourceDAO extends ResourceDAOImpl {
             stmt.setString(5, resource.isDeleted() ? "Y": "N");
             stmt.setString(6, UUID.randomUUID().toString());
             stmt.setInt(7, resource.getVersionId());
-            stmt.registerOutParameter(8, Types.BIGINT);
+            setStringOrNull(stmt, 8, resource.getParameterHash());
+            setStringOrNull(stmt, 9, resource.getResourceFingerprint());
+            stmt.registerOutParameter(10, Types.BIGINT);
+            stmt.registerOutParameter(11, Types.VARCHAR);
 
             dbCallStartTime = System.nanoTime();
             stmt.execute();
             dbCallDuration = (System.nanoTime()-dbCallStartTime)/1e6;
 
-            resource.setId(stmt.getLong(8));
+            resource.setId(stmt.getLong(10));
 
             // Parameter time
             // To keep things simple for the postgresql use-case, we just use a visitor to
             // handle inserts of parameters directly in the resource parameter tables.
             // Note we don't get any parameters for the resource soft-delete operation
             if (parameters != null) {
+                boolean unchanged = parametersUnchanged(resource, stmt.getString(11));
                 // postgresql doesn't support partitioned multi-tenancy, so we disable it on the DAO:
                 try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(connection, null, resource.getResourceType(), false, resource.getId(), 100,
                     new ParameterNameCacheAdapter(parameterDao), new CodeSystemCacheAdapter(parameterDao))) {
-                    for (ExtractedParameterValue p: parameters) {
-                        p.accept(pvd);
+                    if (unchanged) {
+                        replaceVersionSpecificParameters(connection, resource.getResourceType(), resource.getId(), parameters, parameterDao, pvd);
+                    } else {
+                        for (ExtractedParameterValue p: parameters) {
+                            p.accept(pvd);
+                        }
                     }
                 }
             }
@@ -165,6 +173,18 @@ public class PostgreSqlResourceDAO extends ResourceDAOImpl {
         return resource;
     }
 
+    @Override
+    protected String getInsertWithParametersSql(String schemaName) {
+        return String.format(SQL_INSERT_WITH_PARAMETERS, schemaName);
+    }
+
+    @Override
+    protected ParameterVisitorBatchDAO createParameterVisitor(Connection connection, String resourceType, ParameterDAO parameterDao) throws SQLException {
+        // postgresql doesn't support partitioned multi-tenancy, so we disable it on the DAO:
+        return new ParameterVisitorBatchDAO(connection, null, resourceType, false, -1, 100,
+                new ParameterNameCacheAdapter(parameterDao), new CodeSystemCacheAdapter(parameterDao));
+    }
+
     /**
      * Delete all parameters for the given resourceId from the parameters table
      *
@@ -130,7 +130,7 @@ public class JDBCQueryBuilder extends AbstractQueryBuilder<SqlQueryData> {
         QuerySegmentAggregator helper;
         SqlQueryData query = null;
 
-        helper = this.buildQueryCommon(resourceType, searchContext);
+        helper = this.buildQueryCommon(resourceType, searchContext, 0);
         if (helper != null) {
             query = helper.buildCountQuery();
         }
@@ -139,8 +139,61 @@ public class JDBCQueryBuilder extends AbstractQueryBuilder<SqlQueryData> {
         return query;
     }
 
+    /**
+     * Builds a query that returns the count of the search results that would be
+     * found by applying the search parameters contained within the passed search
+     * context, up to a maximum of maxCount.
+     *
+     * @param resourceType
+     *                      - The type of resource being searched for.
+     * @param searchContext
+     *                      - The search context containing the search parameters.
+     * @param maxCount
+     *                      - The maximum number of search results to count.
+     * @return String - A count query SQL string
+     * @throws Exception
+     */
+    public SqlQueryData buildCappedCountQuery(Class<?> resourceType, FHIRSearchContext searchContext, int maxCount)
+            throws Exception {
+        final String METHODNAME = "buildCappedCountQuery";
+        log.entering(CLASSNAME, METHODNAME,
+                new Object[] { resourceType.getSimpleName(), searchContext.getSearchParameters() });
+
+        QuerySegmentAggregator helper;
+        SqlQueryData query = null;
+
+        helper = this.buildQueryCommon(resourceType, searchContext, 0);
+        if (helper != null) {
+            query = helper.buildCappedCountQuery(maxCount);
+        }
+
+        log.exiting(CLASSNAME, METHODNAME);
+        return query;
+    }
+
     @Override
     public SqlQueryData buildQuery(Class<?> resourceType, FHIRSearchContext searchContext) throws Exception {
+        return buildQuery(resourceType, searchContext, false);
+    }
+
+    /**
+     * Builds a query that returns a page of the search results that would be
+     * found by applying the search parameters contained within the passed search
+     * context.
+     *
+     * @param resourceType
+     *                      - The type of resource being searched for.
+     * @param searchContext
+     *                      - The search context containing the search parameters.
+     * @param includeNextPageIndicator
+     *                      - Whether to fetch the first result of the next page (if any) in addition to the
+     *                      requested page, so the caller can tell whether there is a next page without counting
+     *                      the search results.
+     * @return SqlQueryData - A query SQL string and its bind variables
+     * @throws Exception
+     */
+    public SqlQueryData buildQuery(Class<?> resourceType, FHIRSearchContext searchContext, boolean includeNextPageIndicator)
+            throws Exception {
         final String METHODNAME = "buildQuery";
         log.entering(CLASSNAME, METHODNAME,
                 new Object[] { resourceType.getSimpleName(), searchContext.getSearchParameters() });
@@ -148,7 +201,7 @@ public class JDBCQueryBuilder extends AbstractQueryBuilder<SqlQueryData> {
         SqlQueryData query = null;
         QuerySegmentAggregator helper;
 
-        helper = this.buildQueryCommon(resourceType, searchContext);
+        helper = this.buildQueryCommon(resourceType, searchContext, includeNextPageIndicator ? 1 : 0);
         if (helper != null) {
             query = helper.buildQuery();
         }
@@ -165,11 +218,13 @@ public class JDBCQueryBuilder extends AbstractQueryBuilder<SqlQueryData> {
      *                      The type of FHIR resource being searched for.
      * @param searchContext
      *                      The search context containing search parameters.
+     * @param extraRows
+     *                      The number of rows to fetch in addition to the page size.
      * @return QuerySegmentAggregator - A query builder helper containing processed
      *         query segments.
      * @throws Exception
      */
-    private QuerySegmentAggregator buildQueryCommon(Class<?> resourceType, FHIRSearchContext searchContext)
+    private QuerySegmentAggregator buildQueryCommon(Class<?> resourceType, FHIRSearchContext searchContext, int extraRows)
             throws Exception {
         final String METHODNAME = "buildQueryCommon";
         log.entering(CLASSNAME, METHODNAME,
@@ -201,9 +256,14 @@ public class JDBCQueryBuilder extends AbstractQueryBuilder<SqlQueryData> {
         boolean isValidQuery = true;
 
         helper =
-                QuerySegmentAggregatorFactory.buildQuerySegmentAggregator(resourceType, offset, pageSize,
+                QuerySegmentAggregatorFactory.buildQuerySegmentAggregator(resourceType, offset, pageSize + extraRows,
                         this.parameterDao, this.resourceDao, searchContext);
 
+        // With a cursor, the page starts after the position of the cursor instead of at the offset
+        if (searchContext.getCursor() != null && helper.getKeysetOrdering() != null) {
+            helper.setCursor(KeysetCursor.decode(searchContext.getCursor(), helper.getKeysetOrdering()));
+        }
+
         // Special logic for handling LocationPosition queries. These queries have interdependencies between
         // a couple of related input query parameters
         if (Location.class.equals(resourceType)) {
@@ -0,0 +1,166 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.List;
+
+import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
+import com.ibm.fhir.persistence.jdbc.util.type.LastUpdatedParmBehaviorUtil;
+import com.ibm.fhir.search.context.FHIRSearchContext;
+import com.ibm.fhir.search.parameters.SortParameter;
+import com.ibm.fhir.search.sort.Sort;
+
+/**
+ * The position of the last result of a page of search or history results, which is used to fetch the next page with
+ * a seek predicate (keyset paging) instead of an offset.
+ * <p>
+ * A cursor consists of the ordering it was created for, the sort key of the last result (if the ordering has one)
+ * and the id which breaks ties between results with the same sort key: the RESOURCE_ID for searches, which is unique
+ * across all resource types, and the VERSION_ID for the history of a resource. Clients see it as an opaque base64url
+ * encoded string.
+ */
+public class KeysetCursor {
+    private static final char SEPARATOR = ':';
+
+    /**
+     * The orderings which support keyset paging
+     */
+    public enum Ordering {
+        // the default ordering of searches, by ascending RESOURCE_ID
+        RESOURCE_ID('I'),
+        // searches sorted by _lastUpdated, with ties broken by RESOURCE_ID
+        LAST_UPDATED_ASC('A'),
+        LAST_UPDATED_DESC('D'),
+        // the history of a resource, by descending VERSION_ID
+        VERSION_ID('V');
+
+        private final char tag;
+
+        Ordering(char tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * @return true if the sort key of this ordering is the last updated time
+         */
+        public boolean isLastUpdated() {
+            return this == LAST_UPDATED_ASC || this == LAST_UPDATED_DESC;
+        }
+
+        private static Ordering fromTag(char tag) {
+            for (Ordering ordering : values()) {
+                if (ordering.tag == tag) {
+                    return ordering;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Ordering ordering;
+    private final Timestamp lastUpdated;
+    private final long id;
+
+    /**
+     * @param ordering - The ordering of the results.
+     * @param lastUpdated - The last updated time of the last result; only used by the last updated orderings.
+     * @param id - The RESOURCE_ID (or VERSION_ID for history) of the last result.
+     */
+    public KeysetCursor(Ordering ordering, Timestamp lastUpdated, long id) {
+        if (ordering.isLastUpdated() && lastUpdated == null) {
+            throw new IllegalArgumentException("The last updated time is required for ordering " + ordering);
+        }
+        this.ordering = ordering;
+        this.lastUpdated = ordering.isLastUpdated() ? lastUpdated : null;
+        this.id = id;
+    }
+
+    public Ordering getOrdering() {
+        return ordering;
+    }
+
+    public Timestamp getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the ordering of the results of the passed search, or null if the search doesn't support keyset paging.
+     * Searches with inclusions or with sort parameters other than a single _lastUpdated don't; they are paged
+     * by offset only.
+     *
+     * @param searchContext
+     * @return the ordering, or null
+     */
+    public static Ordering getOrdering(FHIRSearchContext searchContext) {
+        if (searchContext.hasIncludeParameters() || searchContext.hasRevIncludeParameters()) {
+            return null;
+        }
+        if (!searchContext.hasSortParameters()) {
+            return Ordering.RESOURCE_ID;
+        }
+        List<SortParameter> sortParameters = searchContext.getSortParameters();
+        if (sortParameters.size() == 1
+                && LastUpdatedParmBehaviorUtil.LAST_UPDATED.equals(sortParameters.get(0).getCode())) {
+            return Sort.Direction.INCREASING.equals(sortParameters.get(0).getDirection())
+                    ? Ordering.LAST_UPDATED_ASC : Ordering.LAST_UPDATED_DESC;
+        }
+        return null;
+    }
+
+    /**
+     * @return the opaque string form of this cursor
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(ordering.tag);
+        if (lastUpdated != null) {
+            sb.append(SEPARATOR).append(lastUpdated.getTime()).append(SEPARATOR).append(lastUpdated.getNanos());
+        }
+        sb.append(SEPARATOR).append(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the passed cursor and checks that it was created for the expected ordering.
+     *
+     * @param cursor - The opaque string form of a cursor.
+     * @param expected - The ordering of the results that the cursor is used to page through.
+     * @return the decoded cursor
+     * @throws FHIRPersistenceException if the cursor is not valid for the expected ordering
+     */
+    public static KeysetCursor decode(String cursor, Ordering expected) throws FHIRPersistenceException {
+        final String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR));
+        } catch (IllegalArgumentException e) {
+            throw new FHIRPersistenceException("Invalid cursor: '" + cursor + "'");
+        }
+
+        Ordering ordering = parts[0].length() == 1 ? Ordering.fromTag(parts[0].charAt(0)) : null;
+        if (ordering == null || ordering != expected || parts.length != (ordering.isLastUpdated() ? 4 : 2)) {
+            throw new FHIRPersistenceException("Invalid cursor for this request: '" + cursor + "'");
+        }
+
+        try {
+            Timestamp lastUpdated = null;
+            if (ordering.isLastUpdated()) {
+                lastUpdated = new Timestamp(Long.parseLong(parts[1]));
+                lastUpdated.setNanos(Integer.parseInt(parts[2]));
+            }
+            return new KeysetCursor(ordering, lastUpdated, Long.parseLong(parts[parts.length - 1]));
+        } catch (IllegalArgumentException e) {
+            throw new FHIRPersistenceException("Invalid cursor: '" + cursor + "'");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.util;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
+import com.ibm.fhir.persistence.jdbc.dto.CompositeParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.DateParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.ExtractedParameterValue;
+import com.ibm.fhir.persistence.jdbc.dto.ExtractedParameterValueVisitor;
+import com.ibm.fhir.persistence.jdbc.dto.LocationParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.NumberParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.QuantityParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.StringParmVal;
+import com.ibm.fhir.persistence.jdbc.dto.TokenParmVal;
+import com.ibm.fhir.persistence.jdbc.util.type.LastUpdatedParmBehaviorUtil;
+
+/**
+ * Computes a hash of the search parameter values extracted from a resource.
+ * <p>
+ * The hash does not depend on the order in which the parameter values were extracted, so two versions of a
+ * resource with the same hash have the same rows in the parameter tables. This lets an update skip the
+ * delete and re-insert of the parameters when only the parts of a resource which are not indexed
+ * (like meta or narrative) were changed.
+ * <p>
+ * Version-specific parameters (like _lastUpdated) are left out of the hash, because they change with every
+ * version; their rows are always replaced, see {@link #isVersionSpecific(ExtractedParameterValue)}.
+ */
+public class ParameterHashVisitor implements ExtractedParameterValueVisitor {
+    private static final String ALGORITHM = "SHA-256";
+
+    // The search parameters whose values change with every version of a resource
+    private static final Set<String> VERSION_SPECIFIC_PARAMETERS = Collections.singleton(LastUpdatedParmBehaviorUtil.LAST_UPDATED);
+
+    // The encoded form of each visited parameter value
+    private final List<String> values = new ArrayList<>();
+
+    // The encoded form of the parameter value currently being visited
+    private StringBuilder current;
+
+    /**
+     * Compute the hash of the passed parameter values, leaving out the version-specific ones
+     * @param parameters
+     * @return the base64 encoded hash
+     * @throws FHIRPersistenceException
+     */
+    public static String hash(List<ExtractedParameterValue> parameters) throws FHIRPersistenceException {
+        ParameterHashVisitor visitor = new ParameterHashVisitor();
+        for (ExtractedParameterValue p: parameters) {
+            if (!isVersionSpecific(p)) {
+                p.accept(visitor);
+            }
+        }
+        return visitor.getBase64Hash();
+    }
+
+    /**
+     * @param parameter
+     * @return true if the value of the passed parameter changes with every version of a resource (like _lastUpdated),
+     *     in which case it is not part of the hash and its rows must be replaced even when the hash is unchanged
+     */
+    public static boolean isVersionSpecific(ExtractedParameterValue parameter) {
+        return VERSION_SPECIFIC_PARAMETERS.contains(parameter.getName());
+    }
+
+    /**
+     * @return the base64 encoded hash of all the parameter values visited so far
+     */
+    public String getBase64Hash() {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        StringBuilder sb = new StringBuilder();
+        for (String value: sorted) {
+            sb.setLength(0);
+            appendTo(sb, value);
+            digest.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    @Override
+    public void visit(StringParmVal param) throws FHIRPersistenceException {
+        start("S", param);
+        append(param.getValueString());
+        end();
+    }
+
+    @Override
+    public void visit(NumberParmVal param) throws FHIRPersistenceException {
+        start("N", param);
+        append(param.getValueNumber());
+        append(param.getValueNumberLow());
+        append(param.getValueNumberHigh());
+        end();
+    }
+
+    @Override
+    public void visit(DateParmVal param) throws FHIRPersistenceException {
+        start("D", param);
+        append(param.getValueDateStart());
+        append(param.getValueDateEnd());
+        end();
+    }
+
+    @Override
+    public void visit(TokenParmVal param) throws FHIRPersistenceException {
+        start("T", param);
+        append(param.getValueSystem());
+        append(param.getValueCode());
+        end();
+    }
+
+    @Override
+    public void visit(QuantityParmVal param) throws FHIRPersistenceException {
+        start("Q", param);
+        append(param.getValueNumber());
+        append(param.getValueNumberLow());
+        append(param.getValueNumberHigh());
+        append(param.getValueSystem());
+        append(param.getValueCode());
+        end();
+    }
+
+    @Override
+    public void visit(LocationParmVal param) throws FHIRPersistenceException {
+        start("L", param);
+        append(param.getValueLatitude() == null ? null : param.getValueLatitude().toString());
+        append(param.getValueLongitude() == null ? null : param.getValueLongitude().toString());
+        end();
+    }
+
+    @Override
+    public void visit(CompositeParmVal param) throws FHIRPersistenceException {
+        // The components are stored in a single row, so they are encoded (in order) as part of the composite
+        StringBuilder composite = new StringBuilder();
+        composite.append('C');
+        appendTo(composite, param.getName());
+        for (ExtractedParameterValue component: param.getComponent()) {
+            component.accept(this);
+            appendTo(composite, values.remove(values.size() - 1));
+        }
+        values.add(composite.toString());
+    }
+
+    private void start(String type, ExtractedParameterValue param) {
+        current = new StringBuilder(type);
+        append(param.getName());
+    }
+
+    private void end() {
+        values.add(current.toString());
+        current = null;
+    }
+
+    private void append(BigDecimal value) {
+        append(value == null ? null : value.toString());
+    }
+
+    private void append(Timestamp value) {
+        append(value == null ? null : value.getTime() + "." + value.getNanos());
+    }
+
+    private void append(String value) {
+        appendTo(current, value);
+    }
+
+    /**
+     * Append the value with a length prefix, so that the encoding of a parameter value can't be mistaken
+     * for the encoding of a different one
+     */
+    private static void appendTo(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append('-');
+        } else {
+            sb.append(value.length()).append(':').append(value);
+        }
+    }
+}
@@ -6,12 +6,17 @@
 
 package com.ibm.fhir.persistence.jdbc.util;
 
+import static com.ibm.fhir.persistence.jdbc.JDBCConstants.AND;
+import static com.ibm.fhir.persistence.jdbc.JDBCConstants.ASCENDING;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.COMBINED_RESULTS;
+import static com.ibm.fhir.persistence.jdbc.JDBCConstants.COMMA;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.DEFAULT_ORDERING;
+import static com.ibm.fhir.persistence.jdbc.JDBCConstants.DESCENDING;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.FROM;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.JOIN;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.LEFT_PAREN;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.ON;
+import static com.ibm.fhir.persistence.jdbc.JDBCConstants.ORDER_BY;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.PARAMETER_TABLE_ALIAS;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.UNION;
 import static com.ibm.fhir.persistence.jdbc.util.type.LastUpdatedParmBehaviorUtil.LAST_UPDATED;
@@ -49,6 +54,8 @@ public class QuerySegmentAggregator {
             "SELECT RESOURCE_ID, LOGICAL_RESOURCE_ID, VERSION_ID, LAST_UPDATED, IS_DELETED, DATA, LOGICAL_ID ";
     protected static final String SYSTEM_LEVEL_SUBSELECT_ROOT = SELECT_ROOT;
     protected static final String SELECT_COUNT_ROOT = "SELECT COUNT(R.RESOURCE_ID) ";
+    protected static final String SELECT_CAPPED_COUNT_ROOT = "SELECT COUNT(RESOURCE_ID) FROM (SELECT R.RESOURCE_ID ";
+    protected static final String CAPPED_RESULTS = ") CAPPED_RESULTS";
     protected static final String SYSTEM_LEVEL_SELECT_COUNT_ROOT = "SELECT SUM(CNT) ";
     protected static final String SYSTEM_LEVEL_SUBSELECT_COUNT_ROOT = " SELECT COUNT(LR.LOGICAL_RESOURCE_ID) AS CNT ";
     protected static final String WHERE_CLAUSE_ROOT = "WHERE R.IS_DELETED <> 'Y'";
@@ -81,6 +88,11 @@ public class QuerySegmentAggregator {
 
     private int offset;
     private int pageSize;
+
+    // used for keyset paging; the cursor is the position after which the requested page starts
+    private KeysetCursor.Ordering keysetOrdering;
+    private KeysetCursor cursor;
+
     protected ParameterDAO parameterDao;
     protected ResourceDAO resourceDao;
 
@@ -107,6 +119,29 @@ public class QuerySegmentAggregator {
         this.resourceTypes = resourceTypes;
     }
 
+    /**
+     * @param keysetOrdering - The ordering of the search results, which supports keyset paging; only
+     *                       the default ordering and the _lastUpdated orderings are supported by this class.
+     */
+    public void setKeysetOrdering(KeysetCursor.Ordering keysetOrdering) {
+        this.keysetOrdering = keysetOrdering;
+    }
+
+    public KeysetCursor.Ordering getKeysetOrdering() {
+        return keysetOrdering;
+    }
+
+    /**
+     * Sets the cursor of the requested page. The page then starts after the position of the cursor
+     * (a seek predicate) instead of at the offset.
+     *
+     * @param cursor - A cursor for the keyset ordering of this instance.
+     */
+    public void setCursor(KeysetCursor cursor) {
+        this.cursor = cursor;
+        this.offset = 0;
+    }
+
     /**
      * Adds a query segment, which is a where clause segment corresponding to the
      * passed query Parameter and its encapsulated search values.
@@ -152,18 +187,22 @@ public class QuerySegmentAggregator {
             StringBuilder queryString = new StringBuilder();
             queryString.append(SELECT_ROOT);
             buildFromClause(queryString, resourceType.getSimpleName());
-            buildWhereClause(queryString, null);
 
             // Bind Variables
             List<Object> allBindVariables = new ArrayList<>();
             allBindVariables.addAll(idsObjects);
             allBindVariables.addAll(lastUpdatedObjects);
+
+            // The seek predicate is added to the join condition of the resources table, which ends the FROM clause
+            this.addSeekPredicate(queryString, allBindVariables, AND, "R.");
+
+            buildWhereClause(queryString, null);
             for (SqlQueryData querySegment : this.querySegments) {
                 allBindVariables.addAll(querySegment.getBindVariables());
             }
 
-            // Add default ordering
-            queryString.append(DEFAULT_ORDERING);
+            // Add ordering
+            this.addOrderingClause(queryString, "R.");
             this.addPaginationClauses(queryString);
             queryData = new SqlQueryData(queryString.toString(), allBindVariables);
         }
@@ -211,6 +250,49 @@ public class QuerySegmentAggregator {
 
     }
 
+    /**
+     * Builds a SQL count query which counts at most maxCount of the search results, so that the database can stop
+     * looking for matches once it has found that many. System level searches are always fully counted.
+     *
+     * @param maxCount - The maximum number of search results to count.
+     * @return SqlQueryData - contains the complete SQL count query string and any
+     *         associated bind variables.
+     * @throws Exception
+     */
+    protected SqlQueryData buildCappedCountQuery(int maxCount) throws Exception {
+        final String METHODNAME = "buildCappedCountQuery";
+        log.entering(CLASSNAME, METHODNAME);
+
+        SqlQueryData queryData;
+        if (this.isSystemLevelSearch()) {
+            queryData = this.buildCountQuery();
+        } else {
+            StringBuilder queryString = new StringBuilder();
+            queryString.append(SELECT_CAPPED_COUNT_ROOT);
+            buildFromClause(queryString, resourceType.getSimpleName());
+            buildWhereClause(queryString, null);
+
+            if (this.parameterDao.isDb2Database()) {
+                queryString.append(" LIMIT ").append(maxCount);
+            } else {
+                queryString.append(" FETCH FIRST ").append(maxCount).append(" ROWS ONLY");
+            }
+            queryString.append(CAPPED_RESULTS);
+
+            List<Object> allBindVariables = new ArrayList<>();
+            allBindVariables.addAll(idsObjects);
+            allBindVariables.addAll(lastUpdatedObjects);
+            for (SqlQueryData querySegment : this.querySegments) {
+                allBindVariables.addAll(querySegment.getBindVariables());
+            }
+
+            queryData = new SqlQueryData(queryString.toString(), allBindVariables);
+        }
+
+        log.exiting(CLASSNAME, METHODNAME, queryData);
+        return queryData;
+    }
+
     /**
      * Build a system level query or count query, based upon the encapsulated query
      * segments and bind variables and
@@ -281,7 +363,8 @@ public class QuerySegmentAggregator {
 
         // Add Ordering and Pagination
         if (addFinalClauses) {
-            queryString.append(DEFAULT_ORDERING);
+            this.addSeekPredicate(queryString, allBindVariables, " WHERE ", "");
+            this.addOrderingClause(queryString, "");
             this.addPaginationClauses(queryString);
         }
 
@@ -518,6 +601,60 @@ public class QuerySegmentAggregator {
         return Resource.class.equals(this.resourceType);
     }
 
+    /**
+     * Adds the seek predicate for the cursor (if any) to the passed query string buffer. The predicate selects
+     * the search results after the position of the cursor in the keyset ordering.
+     *
+     * @param queryString   A query string buffer.
+     * @param bindVariables The bind variables of the query, to which the values of the cursor are added.
+     * @param keyword       The keyword which starts the predicate (WHERE or AND).
+     * @param columnPrefix  The qualifier of the RESOURCE_ID and LAST_UPDATED columns.
+     */
+    protected void addSeekPredicate(StringBuilder queryString, List<Object> bindVariables, String keyword,
+            String columnPrefix) {
+        if (this.cursor == null) {
+            return;
+        }
+
+        String resourceId = columnPrefix + "RESOURCE_ID";
+        queryString.append(keyword);
+        if (this.keysetOrdering.isLastUpdated()) {
+            // (LAST_UPDATED > ? OR (LAST_UPDATED = ? AND RESOURCE_ID > ?)) or the same with < for descending order
+            String lastUpdated = columnPrefix + LastUpdatedParmBehaviorUtil.LAST_UPDATED_COLUMN_NAME;
+            String operator = this.keysetOrdering == KeysetCursor.Ordering.LAST_UPDATED_ASC ? " > " : " < ";
+            queryString.append(LEFT_PAREN)
+                    .append(lastUpdated).append(operator).append(JDBCConstants.BIND_VAR)
+                    .append(JDBCConstants.OR).append(LEFT_PAREN)
+                    .append(lastUpdated).append(JDBCConstants.EQ).append(JDBCConstants.BIND_VAR)
+                    .append(AND).append(resourceId).append(operator).append(JDBCConstants.BIND_VAR)
+                    .append(JDBCConstants.RIGHT_PAREN).append(JDBCConstants.RIGHT_PAREN);
+            bindVariables.add(this.cursor.getLastUpdated());
+            bindVariables.add(this.cursor.getLastUpdated());
+        } else {
+            queryString.append(resourceId).append(" > ").append(JDBCConstants.BIND_VAR);
+        }
+        bindVariables.add(this.cursor.getId());
+    }
+
+    /**
+     * Adds the ORDER BY clause of the keyset ordering to the passed query string buffer; the RESOURCE_ID breaks
+     * the ties between search results with the same last updated time.
+     *
+     * @param queryString  A query string buffer.
+     * @param columnPrefix The qualifier of the RESOURCE_ID and LAST_UPDATED columns.
+     */
+    protected void addOrderingClause(StringBuilder queryString, String columnPrefix) {
+        if (this.keysetOrdering != null && this.keysetOrdering.isLastUpdated()) {
+            String direction = this.keysetOrdering == KeysetCursor.Ordering.LAST_UPDATED_ASC ? ASCENDING : DESCENDING;
+            queryString.append(ORDER_BY)
+                    .append(columnPrefix).append(LastUpdatedParmBehaviorUtil.LAST_UPDATED_COLUMN_NAME)
+                    .append(JDBCConstants.SPACE).append(direction).append(COMMA)
+                    .append(columnPrefix).append("RESOURCE_ID ").append(direction).append(JDBCConstants.SPACE);
+        } else {
+            queryString.append(DEFAULT_ORDERING);
+        }
+    }
+
     /**
      * Adds the appropriate pagination clauses to the passed query string buffer,
      * based on the type
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2018,2019
+ * (C) Copyright IBM Corp. 2018, 2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -30,16 +30,20 @@ public class QuerySegmentAggregatorFactory {
         log.entering(CLASSNAME, METHODNAME);
         
         QuerySegmentAggregator qsa;
+        KeysetCursor.Ordering keysetOrdering = KeysetCursor.getOrdering(searchContext);
         
         if (searchContext.hasIncludeParameters() || searchContext.hasRevIncludeParameters()) {
             qsa = new InclusionQuerySegmentAggregator(resourceType, offset, pageSize, parameterDao, resourceDao, 
                                                       searchContext.getIncludeParameters(), searchContext.getRevIncludeParameters());
         }
-        else if (searchContext.hasSortParameters()) {
+        else if (searchContext.hasSortParameters() && keysetOrdering == null) {
             qsa = new SortedQuerySegmentAggregator(resourceType, offset, pageSize, parameterDao, resourceDao, searchContext.getSortParameters());
         }
         else {
+            // the default ordering and a _lastUpdated sort are ordered by columns of the resources table,
+            // which supports keyset paging
             qsa = new QuerySegmentAggregator(resourceType, offset, pageSize, parameterDao, resourceDao);
+            qsa.setKeysetOrdering(keysetOrdering);
         }
         
         if( Resource.class.equals(resourceType) && searchContext.getSearchResourceTypes()!= null) {
@@ -0,0 +1,163 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.test;
+
+import static com.ibm.fhir.model.type.String.string;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.model.type.Boolean;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.jdbc.impl.FHIRPersistenceJDBCImpl;
+import com.ibm.fhir.persistence.jdbc.test.util.DerbyInitializer;
+import com.ibm.fhir.persistence.test.common.AbstractPersistenceTest;
+
+/**
+ * Tests that updates which don't change the search parameter values of a resource keep the existing parameter rows
+ * when enableParameterHash is set, except for those of _lastUpdated.
+ *
+ * <p>To tell whether the parameter rows were rewritten, the tests delete the 'family' row of the stored resource
+ * behind the back of the persistence layer: it only comes back if the parameters are inserted again.
+ */
+public class JDBCParameterHashTest extends AbstractPersistenceTest {
+
+    private Properties testProps;
+    private DerbyInitializer derbyInit;
+
+    public JDBCParameterHashTest() throws Exception {
+        this.testProps = TestUtil.readTestProperties("test.jdbc.properties");
+        this.testProps.setProperty("enableParameterHash", "true");
+    }
+
+    @Override
+    public void bootstrapDatabase() throws Exception {
+        String dbDriverName = this.testProps.getProperty("dbDriverName");
+        if (dbDriverName != null && dbDriverName.contains("derby")) {
+            derbyInit = new DerbyInitializer(this.testProps);
+            derbyInit.bootstrapDb(false);
+        }
+    }
+
+    @Override
+    public FHIRPersistence getPersistenceImpl() throws Exception {
+        return new FHIRPersistenceJDBCImpl(this.testProps);
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        if (derbyInit == null) {
+            // the tests read the parameter tables directly, which is only done for Derby
+            return;
+        }
+        Patient patient = buildPatient("Doe");
+        String id = persistence.create(getDefaultPersistenceContext(), patient).getResource().getId();
+        deleteFamilyRows(id);
+        Timestamp lastUpdated = getLastUpdatedValue(id);
+
+        // the same search parameter values
+        persistence.update(getDefaultPersistenceContext(), id, patient.toBuilder().id(id).multipleBirth(Boolean.TRUE).build());
+        assertEquals(countFamilyRows(id), 0);
+        // but _lastUpdated changes with every version, so its row is always replaced
+        assertNotEquals(getLastUpdatedValue(id), lastUpdated);
+
+        // different search parameter values
+        persistence.update(getDefaultPersistenceContext(), id, buildPatient("Roe").toBuilder().id(id).build());
+        assertEquals(countFamilyRows(id), 1);
+    }
+
+    @Test
+    public void testCreateOrUpdateAll() throws Exception {
+        if (derbyInit == null) {
+            return;
+        }
+        Patient patient = buildPatient("Doe");
+        String id = persistence.create(getDefaultPersistenceContext(), patient).getResource().getId();
+        deleteFamilyRows(id);
+        Timestamp lastUpdated = getLastUpdatedValue(id);
+
+        persistence.createOrUpdateAll(getDefaultPersistenceContext(), Arrays.asList(
+            patient.toBuilder().id(id).multipleBirth(Boolean.TRUE).build()));
+        assertEquals(countFamilyRows(id), 0);
+        assertNotEquals(getLastUpdatedValue(id), lastUpdated);
+
+        persistence.createOrUpdateAll(getDefaultPersistenceContext(), Arrays.asList(
+            buildPatient("Roe").toBuilder().id(id).build()));
+        assertEquals(countFamilyRows(id), 1);
+    }
+
+    private void deleteFamilyRows(String logicalId) throws SQLException {
+        try (Connection connection = derbyInit.getConnection();
+                PreparedStatement stmt = prepare(connection, "DELETE FROM " + table("Patient_str_values") + " WHERE " + parameterFilter("family"), logicalId)) {
+            stmt.executeUpdate();
+            connection.commit();
+        }
+    }
+
+    private int countFamilyRows(String logicalId) throws SQLException {
+        try (Connection connection = derbyInit.getConnection();
+                PreparedStatement stmt = prepare(connection, "SELECT COUNT(*) FROM " + table("Patient_str_values") + " WHERE " + parameterFilter("family"), logicalId)) {
+            int count;
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                count = rs.getInt(1);
+            }
+            connection.commit();
+            return count;
+        }
+    }
+
+    private Timestamp getLastUpdatedValue(String logicalId) throws SQLException {
+        try (Connection connection = derbyInit.getConnection();
+                PreparedStatement stmt = prepare(connection, "SELECT date_start FROM " + table("Patient_date_values") + " WHERE " + parameterFilter("_lastUpdated"), logicalId)) {
+            Timestamp lastUpdated;
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                lastUpdated = rs.getTimestamp(1);
+                // there is exactly one row
+                assertFalse(rs.next());
+            }
+            connection.commit();
+            return lastUpdated;
+        }
+    }
+
+    private String parameterFilter(String parameterName) {
+        return "logical_resource_id = (SELECT logical_resource_id FROM " + table("Patient_logical_resources") + " WHERE logical_id = ?)"
+                + " AND parameter_name_id = (SELECT parameter_name_id FROM " + table("parameter_names") + " WHERE parameter_name = '" + parameterName + "')";
+    }
+
+    private String table(String tableName) {
+        return testProps.getProperty("schemaName") + "." + tableName;
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, String logicalId) throws SQLException {
+        PreparedStatement stmt = connection.prepareStatement(sql);
+        stmt.setString(1, logicalId);
+        return stmt;
+    }
+
+    private Patient buildPatient(String family) {
+        return Patient.builder()
+                .active(Boolean.TRUE)
+                .name(HumanName.builder().family(string(family)).build())
+                .build();
+    }
+}
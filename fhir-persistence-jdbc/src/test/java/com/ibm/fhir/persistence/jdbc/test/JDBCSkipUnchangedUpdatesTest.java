@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.test;
+
+import static com.ibm.fhir.model.type.String.string;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.model.type.Boolean;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.Id;
+import com.ibm.fhir.model.type.Identifier;
+import com.ibm.fhir.model.type.Meta;
+import com.ibm.fhir.model.type.code.IssueSeverity;
+import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.SingleResourceResult;
+import com.ibm.fhir.persistence.jdbc.impl.FHIRPersistenceJDBCImpl;
+import com.ibm.fhir.persistence.jdbc.test.util.DerbyInitializer;
+import com.ibm.fhir.persistence.test.common.AbstractPersistenceTest;
+
+/**
+ * Tests that updates which don't change a resource are skipped when skipUnchangedUpdates is enabled.
+ */
+public class JDBCSkipUnchangedUpdatesTest extends AbstractPersistenceTest {
+
+    private Properties testProps;
+
+    public JDBCSkipUnchangedUpdatesTest() throws Exception {
+        this.testProps = TestUtil.readTestProperties("test.jdbc.properties");
+        this.testProps.setProperty("skipUnchangedUpdates", "true");
+    }
+
+    @Override
+    public void bootstrapDatabase() throws Exception {
+        DerbyInitializer derbyInit;
+        String dbDriverName = this.testProps.getProperty("dbDriverName");
+        if (dbDriverName != null && dbDriverName.contains("derby")) {
+            derbyInit = new DerbyInitializer(this.testProps);
+            derbyInit.bootstrapDb(false);
+        }
+    }
+
+    @Override
+    public FHIRPersistence getPersistenceImpl() throws Exception {
+        return new FHIRPersistenceJDBCImpl(this.testProps);
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        Patient patient = buildPatient("Doe", "1");
+        String id = persistence.create(getDefaultPersistenceContext(), patient).getResource().getId();
+
+        // the same content, with a different version id and last updated time
+        Patient sameContent = patient.toBuilder()
+                .id(id)
+                .meta(Meta.builder().versionId(Id.of("5")).build())
+                .build();
+        SingleResourceResult<Patient> result = persistence.update(getDefaultPersistenceContext(), id, sameContent);
+        assertTrue(result.isSuccess());
+        assertEquals(result.getResource().getMeta().getVersionId().getValue(), "1");
+        assertNotNull(result.getResource().getMeta().getLastUpdated());
+        assertNotNull(result.getOutcome());
+        assertEquals(result.getOutcome().getIssue().get(0).getSeverity(), IssueSeverity.INFORMATION);
+        assertEquals(persistence.read(getDefaultPersistenceContext(), Patient.class, id).getResource().getMeta().getVersionId().getValue(), "1");
+
+        result = persistence.update(getDefaultPersistenceContext(), id, buildPatient("Roe", "1").toBuilder().id(id).build());
+        assertEquals(result.getResource().getMeta().getVersionId().getValue(), "2");
+
+        // a change of the identifier is not mistaken for a change of the id
+        result = persistence.update(getDefaultPersistenceContext(), id, buildPatient("Roe", "2").toBuilder().id(id).build());
+        assertEquals(result.getResource().getMeta().getVersionId().getValue(), "3");
+    }
+
+    @Test
+    public void testCreateOrUpdateAll() throws Exception {
+        String id = UUID.randomUUID().toString();
+        Patient patient = buildPatient("Doe", "1").toBuilder().id(id).build();
+
+        List<Patient> resources = Arrays.asList(
+            patient,
+            patient,
+            patient.toBuilder().active(Boolean.FALSE).build());
+
+        List<SingleResourceResult<Patient>> results = persistence.createOrUpdateAll(getDefaultPersistenceContext(), resources);
+        assertEquals(results.get(0).getResource().getMeta().getVersionId().getValue(), "1");
+        assertEquals(results.get(1).getResource().getMeta().getVersionId().getValue(), "1");
+        assertEquals(results.get(1).getResource().getMeta().getLastUpdated().getValue().toInstant(),
+                results.get(0).getResource().getMeta().getLastUpdated().getValue().toInstant());
+        assertEquals(results.get(2).getResource().getMeta().getVersionId().getValue(), "2");
+
+        // and in a later batch
+        results = persistence.createOrUpdateAll(getDefaultPersistenceContext(), Arrays.asList(resources.get(2)));
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(results.get(0).getResource().getMeta().getVersionId().getValue(), "2");
+        assertEquals(persistence.read(getDefaultPersistenceContext(), Patient.class, id).getResource().getMeta().getVersionId().getValue(), "2");
+    }
+
+    private Patient buildPatient(String family, String identifier) {
+        return Patient.builder()
+                .active(Boolean.TRUE)
+                .name(HumanName.builder().family(string(family)).build())
+                .identifier(Identifier.builder().value(string(identifier)).build())
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.model.resource.Basic;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.Coding;
+import com.ibm.fhir.model.type.Meta;
+import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.MultiResourceResult;
+import com.ibm.fhir.persistence.jdbc.JDBCConstants;
+import com.ibm.fhir.persistence.jdbc.impl.FHIRPersistenceJDBCImpl;
+import com.ibm.fhir.persistence.jdbc.test.util.DerbyInitializer;
+import com.ibm.fhir.persistence.test.common.AbstractPersistenceTest;
+import com.ibm.fhir.search.context.FHIRSearchContext;
+import com.ibm.fhir.search.util.SearchUtil;
+
+/**
+ * Tests the total count and the last page number of searches with _total=none, estimate and accurate.
+ *
+ * <p>One more resource than {@link JDBCConstants#MAX_ESTIMATED_TOTAL} is tagged 'totalTest', so that _total=estimate
+ * stops counting them; three resources are tagged 'totalTestFew'.
+ */
+public class JDBCTotalTest extends AbstractPersistenceTest {
+    private static final int MANY = JDBCConstants.MAX_ESTIMATED_TOTAL + 1;
+    private static final int FEW = 3;
+
+    private Properties testProps;
+    private List<Basic> resources = new ArrayList<>();
+
+    public JDBCTotalTest() throws Exception {
+        this.testProps = TestUtil.readTestProperties("test.jdbc.properties");
+    }
+
+    @Override
+    public void bootstrapDatabase() throws Exception {
+        DerbyInitializer derbyInit;
+        String dbDriverName = this.testProps.getProperty("dbDriverName");
+        if (dbDriverName != null && dbDriverName.contains("derby")) {
+            derbyInit = new DerbyInitializer(this.testProps);
+            derbyInit.bootstrapDb(false);
+        }
+    }
+
+    @Override
+    public FHIRPersistence getPersistenceImpl() throws Exception {
+        return new FHIRPersistenceJDBCImpl(this.testProps);
+    }
+
+    @BeforeClass
+    public void createResources() throws Exception {
+        FHIRRequestContext.get().setTenantId("all");
+
+        Basic resource = TestUtil.readExampleResource("json/ibm/minimal/Basic-1.json");
+        if (persistence.isTransactional()) {
+            persistence.getTransaction().begin();
+        }
+        for (int i = 0; i < MANY; i++) {
+            resources.add(persistence.create(getDefaultPersistenceContext(), resource.toBuilder().meta(tag("totalTest")).build()).getResource());
+        }
+        for (int i = 0; i < FEW; i++) {
+            resources.add(persistence.create(getDefaultPersistenceContext(), resource.toBuilder().meta(tag("totalTestFew")).build()).getResource());
+        }
+        if (persistence.isTransactional()) {
+            persistence.getTransaction().commit();
+        }
+    }
+
+    @AfterClass
+    public void removeSavedResourcesAndResetTenant() throws Exception {
+        if (persistence.isDeleteSupported()) {
+            if (persistence.isTransactional()) {
+                persistence.getTransaction().begin();
+            }
+            for (Resource resource : resources) {
+                persistence.delete(getDefaultPersistenceContext(), Basic.class, resource.getId());
+            }
+            if (persistence.isTransactional()) {
+                persistence.getTransaction().commit();
+            }
+        }
+        FHIRRequestContext.get().setTenantId("default");
+    }
+
+    @Test
+    public void testAccurate() throws Exception {
+        FHIRSearchContext searchContext = search("totalTest", "accurate", 1, 10);
+        assertTrue(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getTotalCount(), MANY);
+        assertEquals(searchContext.getLastPageNumber(), (MANY + 9) / 10);
+    }
+
+    @Test
+    public void testDefaultIsAccurate() throws Exception {
+        FHIRSearchContext searchContext = search("totalTest", null, 1, 10);
+        assertTrue(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getTotalCount(), MANY);
+    }
+
+    @Test
+    public void testEstimateBelowLimit() throws Exception {
+        FHIRSearchContext searchContext = search("totalTestFew", "estimate", 1, 2);
+        assertTrue(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getTotalCount(), FEW);
+        assertEquals(searchContext.getLastPageNumber(), 2);
+    }
+
+    @Test
+    public void testEstimateAtLimit() throws Exception {
+        // the capped count is not the total; the page query looks ahead to the first result of the next page instead
+        FHIRSearchContext searchContext = search("totalTest", "estimate", 1, 10);
+        assertFalse(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getLastPageNumber(), 2);
+
+        // the last page, beyond the capped count
+        searchContext = search("totalTest", "estimate", (MANY + 9) / 10, 10);
+        assertFalse(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getLastPageNumber(), (MANY + 9) / 10);
+    }
+
+    @Test
+    public void testNone() throws Exception {
+        FHIRSearchContext searchContext = search("totalTestFew", "none", 1, 2);
+        assertFalse(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getLastPageNumber(), 2);
+
+        searchContext = search("totalTestFew", "none", 2, 2);
+        assertFalse(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getLastPageNumber(), 2);
+    }
+
+    @Test
+    public void testNoneFullLastPage() throws Exception {
+        // the next page indicator is not found when the last page is full
+        FHIRSearchContext searchContext = search("totalTestFew", "none", 1, FEW);
+        assertFalse(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getLastPageNumber(), 1);
+    }
+
+    @Test
+    public void testNoneWithInclude() throws Exception {
+        // _include always counts accurately
+        Map<String, List<String>> queryParameters = queryParameters("totalTestFew", "none", 1);
+        queryParameters.put("_include", Collections.singletonList("Basic:subject"));
+        FHIRSearchContext searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+        MultiResourceResult<Resource> result = runQueryTest(searchContext, Basic.class, queryParameters, 2);
+        assertTrue(result.isSuccess());
+        assertTrue(searchContext.isTotalCountKnown());
+        assertEquals(searchContext.getTotalCount(), FEW);
+    }
+
+    /**
+     * Runs a search for the resources with the passed tag and checks the number of results on the page
+     * @return the search context after the search
+     */
+    private FHIRSearchContext search(String tag, String total, int page, int pageSize) throws Exception {
+        Map<String, List<String>> queryParameters = queryParameters(tag, total, page);
+        FHIRSearchContext searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+        MultiResourceResult<Resource> result = runQueryTest(searchContext, Basic.class, queryParameters, pageSize);
+        assertTrue(result.isSuccess());
+
+        int count = "totalTest".equals(tag) ? MANY : FEW;
+        int expected = Math.max(0, Math.min(pageSize, count - (page - 1) * pageSize));
+        assertEquals(result.getResource().size(), expected, "expected number of results");
+        return searchContext;
+    }
+
+    private Map<String, List<String>> queryParameters(String tag, String total, int page) {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("_tag", Collections.singletonList(tag));
+        queryParameters.put("_page", Collections.singletonList(Integer.toString(page)));
+        if (total != null) {
+            queryParameters.put("_total", Collections.singletonList(total));
+        }
+        return queryParameters;
+    }
+
+    private Meta tag(String tag) {
+        return Meta.builder()
+                   .tag(Coding.builder()
+                              .code(Code.of(tag))
+                              .build())
+                   .build();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.test.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.sql.Timestamp;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
+import com.ibm.fhir.persistence.jdbc.util.KeysetCursor;
+import com.ibm.fhir.persistence.jdbc.util.KeysetCursor.Ordering;
+
+/**
+ * Tests the encoding of the cursors used for keyset paging
+ */
+public class KeysetCursorTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(Ordering.RESOURCE_ID, null, 1234L).encode(), Ordering.RESOURCE_ID);
+        assertEquals(cursor.getOrdering(), Ordering.RESOURCE_ID);
+        assertEquals(cursor.getId(), 1234L);
+        assertNull(cursor.getLastUpdated());
+
+        Timestamp lastUpdated = new Timestamp(1577836800123L);
+        lastUpdated.setNanos(123456789);
+        String encoded = new KeysetCursor(Ordering.LAST_UPDATED_DESC, lastUpdated, 42L).encode();
+        // the cursor is used as a query parameter value without escaping
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        cursor = KeysetCursor.decode(encoded, Ordering.LAST_UPDATED_DESC);
+        assertEquals(cursor.getLastUpdated(), lastUpdated);
+        assertEquals(cursor.getId(), 42L);
+    }
+
+    @Test(expectedExceptions = FHIRPersistenceException.class)
+    public void testOrderingMismatch() throws Exception {
+        Timestamp lastUpdated = new Timestamp(System.currentTimeMillis());
+        KeysetCursor.decode(new KeysetCursor(Ordering.LAST_UPDATED_ASC, lastUpdated, 1L).encode(), Ordering.LAST_UPDATED_DESC);
+    }
+
+    @Test(expectedExceptions = FHIRPersistenceException.class)
+    public void testInvalid() throws Exception {
+        KeysetCursor.decode("SToxMjM0OjU2", Ordering.RESOURCE_ID);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.test.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.persistence.jdbc.codec.BinaryPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.JsonPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.PayloadCodec;
+import com.ibm.fhir.persistence.jdbc.codec.PayloadCodecFactory;
+
+/**
+ * Tests the payload codecs of the resources table
+ */
+public class PayloadCodecTest {
+    // the ordinals of BinaryModelSchema.Kind, shifted past the repeating bit
+    private static final int KIND_STRING = 0 << 1;
+    private static final int KIND_BOOLEAN = 2 << 1;
+    private static final int KIND_ELEMENT = 8 << 1;
+    private static final int KIND_CHOICE = 9 << 1;
+
+    @DataProvider(name = "examples")
+    public static Object[][] examples() {
+        return new Object[][] {
+            { "json/spec/patient-example.json" },
+            { "json/spec/observation-example.json" },
+            { "json/spec/careplan-example.json" },
+            { "json/spec/location-example.json" },
+            { "json/spec/questionnaire-example.json" },
+            { "json/spec/bundle-example.json" }
+        };
+    }
+
+    @Test(dataProvider = "examples")
+    public void testRoundTrip(String fileName) throws Exception {
+        Resource resource = TestUtil.readExampleResource(fileName);
+        for (String name : Arrays.asList(JsonPayloadCodec.NAME, BinaryPayloadCodec.NAME)) {
+            PayloadCodec codec = PayloadCodecFactory.getCodec(name);
+            byte[] data = codec.encode(resource);
+            // every payload is read by the codec that wrote it
+            assertEquals(PayloadCodecFactory.getCodec(data).getName(), name);
+            assertEquals(codec.decode(data, resource.getClass(), null), resource);
+        }
+    }
+
+    @Test
+    public void testBinaryIsSmaller() throws Exception {
+        Resource resource = TestUtil.readExampleResource("json/spec/observation-example.json");
+        byte[] json = PayloadCodecFactory.getCodec(JsonPayloadCodec.NAME).encode(resource);
+        byte[] binary = PayloadCodecFactory.getCodec(BinaryPayloadCodec.NAME).encode(resource);
+        assertTrue(binary.length < json.length, binary.length + " >= " + json.length);
+    }
+
+    @Test
+    public void testElements() throws Exception {
+        Patient patient = TestUtil.readExampleResource("json/spec/patient-example.json");
+        PayloadCodec codec = PayloadCodecFactory.getCodec(BinaryPayloadCodec.NAME);
+        Patient subset = codec.decode(codec.encode(patient), Patient.class, Arrays.asList("name", "deceasedBoolean"));
+        assertEquals(subset.getId(), patient.getId());
+        assertEquals(subset.getMeta(), patient.getMeta());
+        assertEquals(subset.getName(), patient.getName());
+        assertEquals(subset.getDeceased(), patient.getDeceased());
+        assertTrue(subset.getTelecom().isEmpty());
+        assertNull(subset.getText());
+    }
+
+    @Test
+    public void testLegacyPayload() throws Exception {
+        // rows written before codecs were introduced have no signature other than the GZIP header
+        assertEquals(PayloadCodecFactory.getCodec(new byte[] { 0x1f, (byte) 0x8b, 0x08, 0x00 }).getName(), JsonPayloadCodec.NAME);
+        assertEquals(PayloadCodecFactory.getCodec((String) null).getName(), JsonPayloadCodec.NAME);
+    }
+
+    @Test
+    public void testDifferentModel() throws Exception {
+        // a payload written by a model with elements that this model doesn't have or that have a different kind
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        // strings 0-2
+        writeString(body, "Patient");
+        writeString(body, "id");
+        body.write(KIND_STRING);
+        writeString(body, "example");
+        // an unknown repeating element; strings 3-5
+        writeString(body, "futureElement");
+        body.write(KIND_ELEMENT | 1);
+        body.write(1);
+        writeString(body, "value");
+        body.write(KIND_STRING);
+        writeString(body, "abc");
+        body.write(0);
+        // a known element
+        writeString(body, "active");
+        body.write(KIND_ELEMENT);
+        body.write(4 << 1 | 1);
+        body.write(KIND_BOOLEAN);
+        body.write(1);
+        body.write(0);
+        // a known element with a different kind
+        writeString(body, "gender");
+        body.write(KIND_STRING);
+        body.write(5 << 1 | 1);
+        // a choice element of a known and of an unknown choice type
+        writeString(body, "deceased");
+        body.write(KIND_CHOICE);
+        writeString(body, "Boolean");
+        body.write(4 << 1 | 1);
+        body.write(KIND_BOOLEAN);
+        body.write(1);
+        body.write(0);
+        writeString(body, "multipleBirth");
+        body.write(KIND_CHOICE);
+        writeString(body, "Quantity");
+        body.write(4 << 1 | 1);
+        body.write(KIND_STRING);
+        body.write(5 << 1 | 1);
+        body.write(0);
+        // refers to a string of a skipped element
+        writeString(body, "language");
+        body.write(KIND_ELEMENT);
+        body.write(4 << 1 | 1);
+        body.write(KIND_STRING);
+        body.write(5 << 1 | 1);
+        body.write(0);
+        body.write(0);
+
+        byte[] data = ByteBuffer.allocate(9 + body.size())
+                .put(new byte[] { (byte) 0xFB, 'F', 'H', 2, 0 })
+                .putInt(body.size())
+                .put(body.toByteArray())
+                .array();
+        Patient expected = Patient.builder()
+                .id("example")
+                .active(com.ibm.fhir.model.type.Boolean.TRUE)
+                .deceased(com.ibm.fhir.model.type.Boolean.TRUE)
+                .language(Code.of("abc"))
+                .build();
+        assertEquals(PayloadCodecFactory.getCodec(BinaryPayloadCodec.NAME).decode(data, Patient.class, null), expected);
+    }
+
+    @Test
+    public void testUnsupportedVersion() throws Exception {
+        Patient patient = TestUtil.readExampleResource("json/spec/patient-example.json");
+        PayloadCodec codec = PayloadCodecFactory.getCodec(BinaryPayloadCodec.NAME);
+        byte[] data = codec.encode(patient);
+        // the version follows the signature
+        data[3] = 1;
+        try {
+            codec.decode(data, Patient.class, null);
+            fail();
+        } catch (IOException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidName() {
+        PayloadCodecFactory.getCodec("zstd");
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes.length << 1);
+        out.write(bytes, 0, bytes.length);
+    }
+}
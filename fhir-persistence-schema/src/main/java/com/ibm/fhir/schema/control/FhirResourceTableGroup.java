@@ -36,6 +36,8 @@ import static com.ibm.fhir.schema.control.FhirSchemaConstants.MT_ID;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.NUMBER_VALUE;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.NUMBER_VALUE_HIGH;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.NUMBER_VALUE_LOW;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.PARAMETER_HASH;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.PARAMETER_HASH_BYTES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.PARAMETER_NAMES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.PARAMETER_NAME_ID;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.PATIENT_CURRENT_REFS;
@@ -44,6 +46,8 @@ import static com.ibm.fhir.schema.control.FhirSchemaConstants.PK;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.QUANTITY_VALUE;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.QUANTITY_VALUE_HIGH;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.QUANTITY_VALUE_LOW;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_FINGERPRINT;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_FINGERPRINT_BYTES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_ID;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_TYPES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_TYPE_ID;
@@ -181,11 +185,14 @@ public class FhirResourceTableGroup {
         // We also have a FK constraint pointing back to that table to try and keep
         // things sensible.
         Table tbl = Table.builder(schemaName, tableName)
+                .setVersion(3)
                 .setTenantColumnName(MT_ID)
                 .addTag(FhirSchemaTags.RESOURCE_TYPE, prefix)
                 .addBigIntColumn(LOGICAL_RESOURCE_ID, false)
                 .addVarcharColumn(LOGICAL_ID, LOGICAL_ID_BYTES, false)
                 .addBigIntColumn(CURRENT_RESOURCE_ID, true)
+                .addVarcharColumn(PARAMETER_HASH, PARAMETER_HASH_BYTES, true)
+                .addVarcharColumn(RESOURCE_FINGERPRINT, RESOURCE_FINGERPRINT_BYTES, true)
                 .addPrimaryKey(tableName + "_PK", LOGICAL_RESOURCE_ID)
                 .addForeignKeyConstraint("FK_" + tableName + "_LRID", schemaName, LOGICAL_RESOURCES, LOGICAL_RESOURCE_ID)
                 .setTablespace(fhirTablespace)
@@ -196,6 +203,20 @@ public class FhirResourceTableGroup {
                 // used instead of row lock, which can cause dead lock issue frequently during concurrent accesses.
                 .addIndex(IDX + tableName + CURRENT_RESOURCE_ID, CURRENT_RESOURCE_ID)
                 .addIndex(IDX + tableName + LOGICAL_ID, LOGICAL_ID)
+                .addMigration(priorVersion -> {
+                    List<IDatabaseStatement> statements = new ArrayList<>();
+                    ColumnDefBuilder columnDefs = new ColumnDefBuilder();
+                    if (priorVersion < 2) {
+                        columnDefs.addVarcharColumn(PARAMETER_HASH, PARAMETER_HASH_BYTES, true);
+                    }
+                    if (priorVersion < 3) {
+                        columnDefs.addVarcharColumn(RESOURCE_FINGERPRINT, RESOURCE_FINGERPRINT_BYTES, true);
+                    }
+                    for (ColumnBase column : columnDefs.buildColumns()) {
+                        statements.add(new AddColumn(schemaName, tableName, column));
+                    }
+                    return statements;
+                })
                 .build(model);
 
         group.add(tbl);
@@ -19,9 +19,19 @@ public class FhirSchemaConstants {
     public static final int MAX_TOKEN_VALUE_BYTES = 1024;
     public static final int LOGICAL_ID_BYTES = 255;
 
+    // Size of the base64 encoded SHA-256 hash of the extracted search parameters of a resource
+    public static final int PARAMETER_HASH_BYTES = 44;
+
+    // Size of the salt:hash fingerprint of the content of a resource
+    public static final int RESOURCE_FINGERPRINT_BYTES = 128;
+
     // The first version of every object
     public static final int INITIAL_VERSION = 1;
 
+    // Version 2 of add_any_resource takes and returns the parameter hash,
+    // version 3 also takes the resource fingerprint. Older overloads are dropped on upgrade
+    public static final int ADD_ANY_RESOURCE_VERSION = 3;
+
     // Default tablespace
     public static final String FHIR_TS = "FHIR_TS";
     public static final int FHIR_TS_EXTENT_KB = 128;
@@ -71,6 +81,8 @@ public class FhirSchemaConstants {
     public static final String DATA = "DATA";
     public static final String RESOURCE_ID = "RESOURCE_ID";
     public static final String CURRENT_RESOURCE_ID = "CURRENT_RESOURCE_ID";
+    public static final String PARAMETER_HASH = "PARAMETER_HASH";
+    public static final String RESOURCE_FINGERPRINT = "RESOURCE_FINGERPRINT";
     public static final String VERSION_ID = "VERSION_ID";
     public static final String IS_DELETED = "IS_DELETED";
     public static final String LAST_UPDATED = "LAST_UPDATED";
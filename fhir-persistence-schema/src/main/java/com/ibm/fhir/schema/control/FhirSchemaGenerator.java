@@ -53,7 +53,9 @@ import java.util.stream.Collectors;
 
 import com.ibm.fhir.database.utils.api.IDatabaseStatement;
 import com.ibm.fhir.database.utils.common.DropColumn;
+import com.ibm.fhir.database.utils.common.DropFunction;
 import com.ibm.fhir.database.utils.common.DropIndex;
+import com.ibm.fhir.database.utils.common.DropProcedure;
 import com.ibm.fhir.database.utils.model.FunctionDef;
 import com.ibm.fhir.database.utils.model.GroupPrivilege;
 import com.ibm.fhir.database.utils.model.IDatabaseObject;
@@ -381,10 +383,24 @@ public class FhirSchemaGenerator {
 
         pd = model.addProcedure(this.schemaName,
                 ADD_ANY_RESOURCE,
-                FhirSchemaConstants.INITIAL_VERSION,
+                FhirSchemaConstants.ADD_ANY_RESOURCE_VERSION,
                 () -> SchemaGeneratorUtil.readTemplate(adminSchemaName, schemaName, ROOT_DIR + ADD_ANY_RESOURCE.toLowerCase() + ".sql", null),
                 Arrays.asList(fhirSequence, resourceTypesTable, allTablesComplete),
-                procedurePrivileges);
+                procedurePrivileges,
+                Arrays.asList(priorVersion -> {
+                    // Each version changed the parameter list, so CREATE OR REPLACE adds an overload
+                    // instead of replacing the previous procedure. Drop the old signatures first.
+                    List<IDatabaseStatement> statements = new ArrayList<>();
+                    if (priorVersion < 2) {
+                        statements.add(new DropProcedure(schemaName, ADD_ANY_RESOURCE,
+                            "VARCHAR(), VARCHAR(), BLOB(), TIMESTAMP, CHAR(), VARCHAR(), INT, BIGINT"));
+                    }
+                    if (priorVersion < 3) {
+                        statements.add(new DropProcedure(schemaName, ADD_ANY_RESOURCE,
+                            "VARCHAR(), VARCHAR(), BLOB(), TIMESTAMP, CHAR(), VARCHAR(), INT, VARCHAR(), BIGINT, VARCHAR()"));
+                    }
+                    return statements;
+                }));
         pd.addTag(SCHEMA_GROUP_TAG, FHIRDATA_GROUP);
     }
 
@@ -418,10 +434,24 @@ public class FhirSchemaGenerator {
 
         fd = model.addFunction(this.schemaName,
                 ADD_ANY_RESOURCE,
-                FhirSchemaConstants.INITIAL_VERSION,
+                FhirSchemaConstants.ADD_ANY_RESOURCE_VERSION,
                 () -> SchemaGeneratorUtil.readTemplate(adminSchemaName, schemaName, ROOT_DIR + ADD_ANY_RESOURCE.toLowerCase()
                         + ".sql", null),
-                Arrays.asList(fhirSequence, resourceTypesTable, allTablesComplete), procedurePrivileges);
+                Arrays.asList(fhirSequence, resourceTypesTable, allTablesComplete), procedurePrivileges,
+                Arrays.asList(priorVersion -> {
+                    // Each version changed the parameter list, so CREATE OR REPLACE adds an overload
+                    // instead of replacing the previous function. Drop the old signatures first.
+                    List<IDatabaseStatement> statements = new ArrayList<>();
+                    if (priorVersion < 2) {
+                        statements.add(new DropFunction(schemaName, ADD_ANY_RESOURCE,
+                            "VARCHAR, VARCHAR, BYTEA, TIMESTAMP, CHAR, VARCHAR, INT"));
+                    }
+                    if (priorVersion < 3) {
+                        statements.add(new DropFunction(schemaName, ADD_ANY_RESOURCE,
+                            "VARCHAR, VARCHAR, BYTEA, TIMESTAMP, CHAR, VARCHAR, INT, VARCHAR"));
+                    }
+                    return statements;
+                }));
         fd.addTag(SCHEMA_GROUP_TAG, FHIRDATA_GROUP);
     }
 
@@ -13,7 +13,14 @@
 -- p_last_updated the last_updated time given by the FHIR server
 -- p_is_deleted: the soft delete flag
 -- p_version_id: the version id if this is a replicated message
+-- p_parameter_hash: the hash of the extracted search parameters, or NULL to
+--                   always replace the parameters of an existing resource
+-- p_resource_fingerprint: the salted hash of the resource content (excluding
+--                   meta.versionId and meta.lastUpdated), or NULL if unknown
 -- o_resource_id: output field returning the newly assigned resource_id value
+-- o_current_parameter_hash: output field returning the parameter hash of the
+--                   current version before this call. The parameter rows were
+--                   left as they are if it matches p_parameter_hash
 -- ----------------------------------------------------------------------------
     ( IN p_resource_type                 VARCHAR( 36 OCTETS),
       IN p_logical_id                    VARCHAR(255 OCTETS), 
@@ -22,7 +29,10 @@
       IN p_is_deleted                       CHAR(  1),
       IN p_source_key                    VARCHAR( 64),
       IN p_version                           INT,
-      OUT o_logical_resource_id            BIGINT
+      IN p_parameter_hash                VARCHAR( 44),
+      IN p_resource_fingerprint          VARCHAR(128),
+      OUT o_logical_resource_id            BIGINT,
+      OUT o_current_parameter_hash       VARCHAR( 44)
     )
     LANGUAGE SQL
     MODIFIES SQL DATA
@@ -31,6 +41,7 @@ BEGIN
   DECLARE v_schema_name         VARCHAR(128 OCTETS);
   DECLARE v_logical_resource_id  BIGINT     DEFAULT NULL;
   DECLARE v_current_resource_id  BIGINT     DEFAULT NULL;
+  DECLARE v_current_parameter_hash VARCHAR(44 OCTETS) DEFAULT NULL;
   DECLARE v_resource_id          BIGINT     DEFAULT NULL;
   DECLARE v_resource_type_id        INT     DEFAULT NULL;
   DECLARE v_new_resource            INT     DEFAULT 0;
@@ -96,13 +107,14 @@ BEGIN
 
   -- Remember everying is locked at the logical resource level, so we are thread-safe here
   IF v_new_resource = 0 THEN
-    -- as this is an existing resource, we need to know the current resource id.
-    -- This is only available at the resource-specific logical_resources level
+    -- as this is an existing resource, we need to know the current resource id
+    -- and the hash of its parameters. These are only available at the
+    -- resource-specific logical_resources level
     PREPARE stmt FROM
-         'SET (?) = ('
-      || 'SELECT current_resource_id FROM ' || v_schema_name || '.' || p_resource_type || '_logical_resources '
+         'SET (?, ?) = ('
+      || 'SELECT current_resource_id, parameter_hash FROM ' || v_schema_name || '.' || p_resource_type || '_logical_resources '
       || ' WHERE logical_resource_id = ? )';
-    EXECUTE stmt INTO v_current_resource_id USING v_logical_resource_id;
+    EXECUTE stmt INTO v_current_resource_id, v_current_parameter_hash USING v_logical_resource_id;
     
     IF v_current_resource_id IS NULL
     THEN
@@ -127,6 +139,7 @@ BEGIN
         -- this version of this resource already exists, so we bail out right away (we
         -- don't allow any updating of an existing resource version)
         SET o_logical_resource_id = v_logical_resource_id;
+        SET o_current_parameter_hash = v_current_parameter_hash;
         RETURN;
       END IF;
     END IF;
@@ -142,10 +155,12 @@ BEGIN
     -- resource, and so we only need to delete parameters if the given version is later 
     -- than the current version. This allows versions (from custom ops)
     -- to arrive out of order, and we're just filling in the gaps
-    IF p_version IS NULL OR p_version > v_version
+    -- The parameters only need to be replaced if they are different from those of the current
+    -- version, which is the case for most updates that only touch meta or narrative
+    IF (p_version IS NULL OR p_version > v_version)
+      AND (p_parameter_hash IS NULL OR v_current_parameter_hash IS NULL OR p_parameter_hash <> v_current_parameter_hash)
     THEN
-      -- existing resource, so need to delete all its parameters. 
-      -- TODO patch parameter sets instead of all delete/all insert.
+      -- existing resource, so need to delete all its parameters.
       PREPARE stmt FROM 'DELETE FROM ' || v_schema_name || '.' || p_resource_type || '_composites      WHERE logical_resource_id = ?';
       EXECUTE stmt USING v_logical_resource_id;
       PREPARE stmt FROM 'DELETE FROM ' || v_schema_name || '.' || p_resource_type || '_str_values      WHERE logical_resource_id = ?';
@@ -185,8 +200,8 @@ BEGIN
   THEN
     -- only update the logical resource if the resource we are adding supercedes the
     -- the current resource. mt_id isn't needed here...implied via permission
-    PREPARE stmt FROM 'UPDATE ' || v_schema_name || '.' || p_resource_type || '_logical_resources SET current_resource_id = ? WHERE logical_resource_id = ?';
-    EXECUTE stmt USING v_resource_id, v_logical_resource_id;
+    PREPARE stmt FROM 'UPDATE ' || v_schema_name || '.' || p_resource_type || '_logical_resources SET current_resource_id = ?, parameter_hash = ?, resource_fingerprint = ? WHERE logical_resource_id = ?';
+    EXECUTE stmt USING v_resource_id, p_parameter_hash, p_resource_fingerprint, v_logical_resource_id;
 
     -- DB2 doesn't support user defined array types in dynamic SQL UNNEST/CAST statements,
     -- so we can no longer insert the parameters here - instead we have to use individual
@@ -197,4 +212,5 @@ BEGIN
   -- only the logical_resource_id is the target of any FK, so there's no need to return
   -- the resource_id (which is now private to the _resources tables).
   SET o_logical_resource_id = v_logical_resource_id;
+  SET o_current_parameter_hash = v_current_parameter_hash;
 END
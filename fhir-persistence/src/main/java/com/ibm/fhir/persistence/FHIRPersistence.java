@@ -6,11 +6,16 @@
 
 package com.ibm.fhir.persistence;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.FHIRUtil;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceNotSupportedException;
+import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceDeletedException;
 
 /**
  * This interface defines the contract between the FHIR Server's REST API layer and the underlying
@@ -43,6 +48,38 @@ public interface FHIRPersistence {
     <T extends Resource> SingleResourceResult<T> read(FHIRPersistenceContext context, Class<T> resourceType, String logicalId)
             throws FHIRPersistenceException;
 
+    /**
+     * Retrieves the most recent version of each of the specified FHIR Resources from the datastore. Each resource is
+     * read with the same semantics as {@link #read}, except that a resource that is currently in a deleted state (and
+     * FHIRPersistenceContext.includeDeleted() is set to false) has an unsuccessful result rather than failing the
+     * whole call.
+     *
+     * <p>Implementations may read the resources in bulk (e.g. with one query per resource type), so this is intended
+     * for reading a set of resources that are known up front, like the targets of the references within a resource.
+     *
+     * @param context the FHIRPersistenceContext instance associated with the current request
+     * @param keys the resource types and logical ids of the Resource instances to be retrieved
+     * @return a SingleResourceResult for each of the passed keys (in the same order) with the FHIR Resource that was
+     *         retrieved from the datastore (or null if it doesn't exist); a resource that is deleted has an
+     *         unsuccessful result with an OperationOutcome
+     * @throws FHIRPersistenceException
+     */
+    default List<SingleResourceResult<? extends Resource>> readMany(FHIRPersistenceContext context, List<ResourceKey> keys)
+            throws FHIRPersistenceException {
+        List<SingleResourceResult<? extends Resource>> results = new ArrayList<>(keys.size());
+        for (ResourceKey key : keys) {
+            try {
+                results.add(read(context, key.getResourceType(), key.getLogicalId()));
+            } catch (FHIRPersistenceResourceDeletedException e) {
+                results.add(new SingleResourceResult.Builder<Resource>()
+                        .success(false)
+                        .outcome(FHIRUtil.buildOperationOutcome(e, false))
+                        .build());
+            }
+        }
+        return results;
+    }
+
     /**
      * Retrieves a specific version of a FHIR Resource from the datastore.
      *
@@ -69,6 +106,34 @@ public interface FHIRPersistence {
      */
     <T extends Resource> SingleResourceResult<T> update(FHIRPersistenceContext context, String logicalId, T resource) throws FHIRPersistenceException;
 
+    /**
+     * Stores a new version of each of the passed FHIR Resources in the datastore, using the id of each resource as its
+     * logical id. Each resource is created or updated with the same semantics as {@link #update}.
+     *
+     * <p>Implementations may write the resources in bulk, so this is intended for ingesting large numbers of resources
+     * (e.g. bulk import) rather than for interactions that need to be processed one at a time.
+     *
+     * @param context the FHIRPersistenceContext instance associated with the current request
+     * @param resources the FHIR Resources to be stored
+     * @return a SingleResourceResult for each of the passed resources (in the same order); a resource that could not be
+     *         stored for reasons specific to that resource has an unsuccessful result with an OperationOutcome
+     * @throws FHIRPersistenceException if the resources could not be stored
+     */
+    default <T extends Resource> List<SingleResourceResult<T>> createOrUpdateAll(FHIRPersistenceContext context, List<T> resources) throws FHIRPersistenceException {
+        List<SingleResourceResult<T>> results = new ArrayList<>(resources.size());
+        for (T resource : resources) {
+            try {
+                results.add(update(context, resource.getId(), resource));
+            } catch (FHIRPersistenceException e) {
+                results.add(new SingleResourceResult.Builder<T>()
+                        .success(false)
+                        .outcome(FHIRUtil.buildOperationOutcome(e, false))
+                        .build());
+            }
+        }
+        return results;
+    }
+
     /**
      * Deletes the specified FHIR Resource from the datastore.
      *
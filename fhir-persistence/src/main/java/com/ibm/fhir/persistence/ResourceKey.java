@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence;
+
+import java.util.Objects;
+
+import com.ibm.fhir.model.resource.Resource;
+
+/**
+ * Identifies a FHIR Resource by its resource type and logical id.
+ * Instances are immutable.
+ */
+public class ResourceKey {
+    private final Class<? extends Resource> resourceType;
+    private final String logicalId;
+
+    public ResourceKey(Class<? extends Resource> resourceType, String logicalId) {
+        this.resourceType = Objects.requireNonNull(resourceType, "resourceType");
+        this.logicalId = Objects.requireNonNull(logicalId, "logicalId");
+    }
+
+    /**
+     * @return the resource type of the Resource
+     */
+    public Class<? extends Resource> getResourceType() {
+        return resourceType;
+    }
+
+    /**
+     * @return the logical id of the Resource
+     */
+    public String getLogicalId() {
+        return logicalId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ResourceKey other = (ResourceKey) obj;
+        return resourceType.equals(other.resourceType) && logicalId.equals(other.logicalId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resourceType, logicalId);
+    }
+
+    @Override
+    public String toString() {
+        return resourceType.getSimpleName() + "/" + logicalId;
+    }
+}
@@ -38,6 +38,8 @@ public class FHIRPersistenceUtil {
                 if ("_page".equals(name)) {
                     int pageNumber = Integer.parseInt(first);
                     context.setPageNumber(pageNumber);
+                } else if ("_cursor".equals(name)) {
+                    context.setCursor(first);
                 } else if ("_count".equals(name)) {
                     int pageSize = Integer.parseInt(first);
                     context.setPageSize(pageSize);
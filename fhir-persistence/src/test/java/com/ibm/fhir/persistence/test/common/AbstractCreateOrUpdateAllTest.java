@@ -0,0 +1,96 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.test.common;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Device;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.persistence.SingleResourceResult;
+
+/**
+ * This class contains tests for storing many resources at once with createOrUpdateAll.
+ */
+public abstract class AbstractCreateOrUpdateAllTest extends AbstractPersistenceTest {
+    private final String deviceId1 = UUID.randomUUID().toString();
+    private final String deviceId2 = UUID.randomUUID().toString();
+    private final String patientId = UUID.randomUUID().toString();
+
+    @Test
+    public void testCreateAll() throws Exception {
+        Device device = TestUtil.readExampleResource("json/ibm/minimal/Device-1.json");
+        Patient patient = TestUtil.readExampleResource("json/ibm/minimal/Patient-1.json");
+
+        // the same device twice, interleaved with other resource types
+        List<Resource> resources = Arrays.asList(
+            device.toBuilder().id(deviceId1).build(),
+            patient.toBuilder().id(patientId).build(),
+            device.toBuilder().id(deviceId2).build(),
+            device.toBuilder().id(deviceId1).build());
+
+        List<SingleResourceResult<Resource>> results = persistence.createOrUpdateAll(getDefaultPersistenceContext(), resources);
+        assertEquals(results.size(), 4);
+        for (SingleResourceResult<Resource> result : results) {
+            assertTrue(result.isSuccess());
+        }
+        assertVersion(results.get(0).getResource(), deviceId1, "1");
+        assertVersion(results.get(1).getResource(), patientId, "1");
+        assertVersion(results.get(2).getResource(), deviceId2, "1");
+        assertVersion(results.get(3).getResource(), deviceId1, "2");
+
+        assertVersion(persistence.read(getDefaultPersistenceContext(), Device.class, deviceId1).getResource(), deviceId1, "2");
+        assertVersion(persistence.read(getDefaultPersistenceContext(), Patient.class, patientId).getResource(), patientId, "1");
+    }
+
+    @Test(dependsOnMethods = { "testCreateAll" })
+    public void testUpdateAll() throws Exception {
+        Device device = TestUtil.readExampleResource("json/ibm/minimal/Device-1.json");
+
+        List<Device> resources = Arrays.asList(
+            device.toBuilder().id(deviceId1).build(),
+            device.toBuilder().id(deviceId2).build());
+
+        List<SingleResourceResult<Device>> results = persistence.createOrUpdateAll(getDefaultPersistenceContext(), resources);
+        assertVersion(results.get(0).getResource(), deviceId1, "3");
+        assertVersion(results.get(1).getResource(), deviceId2, "2");
+
+        assertVersion(persistence.read(getDefaultPersistenceContext(), Device.class, deviceId2).getResource(), deviceId2, "2");
+    }
+
+    @Test
+    public void testMissingId() throws Exception {
+        Device device = TestUtil.readExampleResource("json/ibm/minimal/Device-1.json");
+        String deviceId = UUID.randomUUID().toString();
+
+        List<Device> resources = Arrays.asList(
+            device.toBuilder().id(null).build(),
+            device.toBuilder().id(deviceId).build());
+
+        List<SingleResourceResult<Device>> results = persistence.createOrUpdateAll(getDefaultPersistenceContext(), resources);
+        assertFalse(results.get(0).isSuccess());
+        assertNotNull(results.get(0).getOutcome());
+        assertTrue(results.get(1).isSuccess());
+        assertVersion(results.get(1).getResource(), deviceId, "1");
+    }
+
+    private void assertVersion(Resource resource, String id, String versionId) {
+        assertNotNull(resource);
+        assertEquals(resource.getId(), id);
+        assertEquals(resource.getMeta().getVersionId().getValue(), versionId);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016,2019
+ * (C) Copyright IBM Corp. 2016, 2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -8,10 +8,13 @@ package com.ibm.fhir.persistence.test.common;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertNotNull;
 import static com.ibm.fhir.model.test.TestUtil.isResourceInResponse;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -229,6 +232,99 @@ public abstract class AbstractPagingTest extends AbstractPersistenceTest {
         assertEquals(outcome.getIssue().get(0).getCode(), IssueType.INVALID);
     }
     
+    // the pages after the first one are selected by the cursor of the previous page
+    @Test
+    public void testSearchCursorPaging() throws Exception {
+        List<String> expected = Arrays.asList(resource1.getId(), resource2.getId(), resource3.getId());
+        assertEquals(searchWithCursor(null), expected);
+        assertEquals(searchWithCursor("_lastUpdated"), expected);
+
+        Collections.reverse(expected);
+        assertEquals(searchWithCursor("-_lastUpdated"), expected);
+    }
+
+    @Test
+    public void testHistoryCursorPaging() throws Exception {
+        List<String> versions = new ArrayList<>();
+        String cursor = null;
+        for (int page = 1; page <= 3; page++) {
+            FHIRHistoryContext historyContext = FHIRPersistenceContextFactory.createHistoryContext();
+            historyContext.setPageSize(1);
+            historyContext.setPageNumber(page);
+            historyContext.setCursor(cursor);
+            FHIRPersistenceContext context = this.getPersistenceContextForHistory(historyContext);
+
+            MultiResourceResult<? extends Basic> result = persistence.history(context, resource3.getClass(), resource3.getId());
+            assertTrue(result.isSuccess());
+            assertEquals(result.getResource().size(), 1, "expected number of results");
+            versions.add(result.getResource().get(0).getMeta().getVersionId().getValue());
+            cursor = historyContext.getNextCursor();
+            assertNotNull(cursor);
+        }
+        assertEquals(versions, Arrays.asList("3", "2", "1"));
+    }
+
+    @Test
+    public void testInvalidCursor() throws Exception {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("_tag", Collections.singletonList("pagingTest"));
+        queryParameters.put("_page", Collections.singletonList("1"));
+        FHIRSearchContext searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+        runQueryTest(searchContext, Basic.class, queryParameters, 1);
+        String cursor = searchContext.getNextCursor();
+        assertNotNull(cursor);
+
+        // a cursor of the default ordering is not valid for a sorted search
+        queryParameters.put("_sort", Collections.singletonList("-_lastUpdated"));
+        queryParameters.put("_cursor", Collections.singletonList(cursor));
+        queryParameters.put("_page", Collections.singletonList("2"));
+        searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+        searchContext.setLenient(true);
+        MultiResourceResult<Resource> result = runQueryTest(searchContext, Basic.class, queryParameters, 1);
+        assertTrue(result.isSuccess());
+        assertTrue(isResourceInResponse(resource2, result.getResource()), "the page number is used instead");
+        assertEquals(result.getOutcome().getIssue().get(0).getSeverity(), IssueSeverity.WARNING);
+        assertEquals(result.getOutcome().getIssue().get(0).getCode(), IssueType.INVALID);
+
+        queryParameters.put("_cursor", Collections.singletonList("not a cursor"));
+        searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+        searchContext.setLenient(false);
+        result = runQueryTest(searchContext, Basic.class, queryParameters, 1);
+        assertFalse(result.isSuccess());
+        assertEquals(result.getOutcome().getIssue().get(0).getSeverity(), IssueSeverity.ERROR);
+        assertEquals(result.getOutcome().getIssue().get(0).getCode(), IssueType.INVALID);
+    }
+
+    /**
+     * Runs the pagingTest search with a page size of 1 and the passed sort parameter (if any), using the cursor of
+     * each page to get the next one
+     * @return the ids of the results, in order
+     */
+    private List<String> searchWithCursor(String sort) throws Exception {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        for (int page = 1; page <= 3; page++) {
+            Map<String, List<String>> queryParameters = new HashMap<>();
+            queryParameters.put("_tag", Collections.singletonList("pagingTest"));
+            queryParameters.put("_page", Collections.singletonList(java.lang.Integer.toString(page)));
+            if (sort != null) {
+                queryParameters.put("_sort", Collections.singletonList(sort));
+            }
+            if (cursor != null) {
+                queryParameters.put("_cursor", Collections.singletonList(cursor));
+            }
+            FHIRSearchContext searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+            MultiResourceResult<Resource> result = runQueryTest(searchContext, Basic.class, queryParameters, 1);
+            assertTrue(result.isSuccess());
+            assertNull(result.getOutcome());
+            assertEquals(result.getResource().size(), 1, "expected number of results");
+            ids.add(result.getResource().get(0).getId());
+            cursor = searchContext.getNextCursor();
+            assertNotNull(cursor);
+        }
+        return ids;
+    }
+
     public void testPageSizeEqualsZero() throws Exception {
         Map<String, List<String>> queryParameters;
         queryParameters = new HashMap<>();
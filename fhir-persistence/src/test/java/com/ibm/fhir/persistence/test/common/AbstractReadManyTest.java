@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.test.common;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Device;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.persistence.ResourceKey;
+import com.ibm.fhir.persistence.SingleResourceResult;
+
+/**
+ * This class contains tests for reading many resources at once with readMany.
+ */
+public abstract class AbstractReadManyTest extends AbstractPersistenceTest {
+    private Device device1;
+    private Device device2;
+    private Patient patient;
+
+    @BeforeClass
+    public void createResources() throws Exception {
+        Device device = TestUtil.readExampleResource("json/ibm/minimal/Device-1.json");
+        Patient patient = TestUtil.readExampleResource("json/ibm/minimal/Patient-1.json");
+
+        device1 = persistence.create(getDefaultPersistenceContext(), device).getResource();
+        device2 = persistence.create(getDefaultPersistenceContext(), device).getResource();
+        device2 = persistence.update(getDefaultPersistenceContext(), device2.getId(), device2).getResource();
+        this.patient = persistence.create(getDefaultPersistenceContext(), patient).getResource();
+    }
+
+    @Test
+    public void testReadMany() throws Exception {
+        String unknownId = UUID.randomUUID().toString();
+
+        // interleaved resource types, a repeated key and a resource that doesn't exist
+        List<ResourceKey> keys = Arrays.asList(
+            new ResourceKey(Device.class, device2.getId()),
+            new ResourceKey(Patient.class, patient.getId()),
+            new ResourceKey(Device.class, unknownId),
+            new ResourceKey(Device.class, device1.getId()),
+            new ResourceKey(Device.class, device2.getId()));
+
+        List<SingleResourceResult<? extends Resource>> results = persistence.readMany(getDefaultPersistenceContext(), keys);
+        assertEquals(results.size(), 5);
+        for (SingleResourceResult<? extends Resource> result : results) {
+            assertTrue(result.isSuccess());
+        }
+        assertVersion(results.get(0).getResource(), device2.getId(), "2");
+        assertVersion(results.get(1).getResource(), patient.getId(), "1");
+        assertNull(results.get(2).getResource());
+        assertVersion(results.get(3).getResource(), device1.getId(), "1");
+        assertVersion(results.get(4).getResource(), device2.getId(), "2");
+
+        // the same resource as with read
+        assertEquals(results.get(1).getResource(), persistence.read(getDefaultPersistenceContext(), Patient.class, patient.getId()).getResource());
+    }
+
+    @Test
+    public void testReadManyEmpty() throws Exception {
+        List<SingleResourceResult<? extends Resource>> results =
+                persistence.readMany(getDefaultPersistenceContext(), Collections.emptyList());
+        assertTrue(results.isEmpty());
+    }
+
+    @Test(dependsOnMethods = { "testReadMany" })
+    public void testReadManyDeleted() throws Exception {
+        if (!persistence.isDeleteSupported()) {
+            return;
+        }
+        persistence.delete(getDefaultPersistenceContext(), Device.class, device1.getId());
+
+        List<ResourceKey> keys = Arrays.asList(
+            new ResourceKey(Device.class, device1.getId()),
+            new ResourceKey(Device.class, device2.getId()));
+
+        List<SingleResourceResult<? extends Resource>> results = persistence.readMany(getDefaultPersistenceContext(), keys);
+        assertFalse(results.get(0).isSuccess());
+        assertNotNull(results.get(0).getOutcome());
+        assertTrue(results.get(1).isSuccess());
+        assertVersion(results.get(1).getResource(), device2.getId(), "2");
+    }
+
+    private void assertVersion(Resource resource, String id, String versionId) {
+        assertNotNull(resource);
+        assertEquals(resource.getId(), id);
+        assertEquals(resource.getMeta().getVersionId().getValue(), versionId);
+    }
+}
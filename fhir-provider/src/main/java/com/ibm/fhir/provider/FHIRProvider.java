@@ -9,13 +9,17 @@ package com.ibm.fhir.provider;
 import static com.ibm.fhir.model.util.FHIRUtil.buildOperationOutcome;
 import static com.ibm.fhir.model.util.FHIRUtil.buildOperationOutcomeIssue;
 import static com.ibm.fhir.provider.util.FHIRProviderUtil.buildResponse;
+import static com.ibm.fhir.provider.util.FHIRProviderUtil.getCharset;
+import static com.ibm.fhir.provider.util.FHIRProviderUtil.getFormat;
 import static com.ibm.fhir.provider.util.FHIRProviderUtil.getMediaType;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.logging.Level;
@@ -79,11 +83,15 @@ public class FHIRProvider implements MessageBodyReader<Resource>, MessageBodyWri
         try {
             FHIRRequestContext requestContext = FHIRRequestContext.get();
             Format format = getFormat(mediaType);
+            Charset charset = getRequestCharset(mediaType, httpHeaders);
             FHIRParser parser = FHIRParser.parser(format);
             if (parser.isPropertySupported(FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS)) {
                 parser.setProperty(FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS,
                         HTTPHandlingPreference.LENIENT.equals(requestContext.getHandlingPreference()));
             }
+            if (charset != null) {
+                return parser.parse(new InputStreamReader(entityStream, charset));
+            }
             return parser.parse(entityStream);
         } catch (FHIRParserException e) {
             if (RuntimeType.SERVER.equals(runtimeType)) {
@@ -103,6 +111,30 @@ public class FHIRProvider implements MessageBodyReader<Resource>, MessageBodyWri
         }
     }
 
+    /**
+     * @return the charset of the request body, or null if the media type doesn't specify one
+     * @throws WebApplicationException
+     *             with status 415 (server) or IOException (client) if the charset is not supported
+     */
+    private Charset getRequestCharset(MediaType mediaType, MultivaluedMap<String, String> httpHeaders) throws IOException {
+        try {
+            return getCharset(mediaType);
+        } catch (IllegalArgumentException e) {
+            if (RuntimeType.SERVER.equals(runtimeType)) {
+                String acceptHeader = httpHeaders.getFirst(HttpHeaders.ACCEPT);
+                Response response =
+                        buildResponse(
+                                buildOperationOutcome(Collections.singletonList(
+                                        buildOperationOutcomeIssue(IssueSeverity.FATAL, IssueType.NOT_SUPPORTED,
+                                                "FHIRProvider: unsupported charset: " + e.getMessage()))),
+                                getMediaType(acceptHeader), Response.Status.UNSUPPORTED_MEDIA_TYPE);
+                throw new WebApplicationException(response);
+            } else {
+                throw new IOException("unsupported charset", e);
+            }
+        }
+    }
+
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return Resource.class.isAssignableFrom(type);
@@ -160,17 +192,4 @@ public class FHIRProvider implements MessageBodyReader<Resource>, MessageBodyWri
     public long getSize(Resource t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return -1;
     }
-
-    private Format getFormat(MediaType mediaType) {
-        if (mediaType != null) {
-            if (mediaType.isCompatible(FHIRMediaType.APPLICATION_FHIR_JSON_TYPE) ||
-                    mediaType.isCompatible(FHIRMediaType.APPLICATION_JSON_TYPE)) {
-                return Format.JSON;
-            } else if (mediaType.isCompatible(FHIRMediaType.APPLICATION_FHIR_XML_TYPE) ||
-                    mediaType.isCompatible(FHIRMediaType.APPLICATION_XML_TYPE)) {
-                return Format.XML;
-            }
-        }
-        return null;
-    }
 }
@@ -1,11 +1,12 @@
 /*
- * (C) Copyright IBM Corp. 2019
+ * (C) Copyright IBM Corp. 2019, 2020
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.provider.util;
 
+import java.nio.charset.Charset;
 import java.util.List;
 
 import javax.ws.rs.core.HttpHeaders;
@@ -14,6 +15,7 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 
 import com.ibm.fhir.core.FHIRMediaType;
+import com.ibm.fhir.model.format.Format;
 import com.ibm.fhir.model.resource.OperationOutcome;
 
 public final class FHIRProviderUtil {
@@ -50,8 +52,39 @@ public final class FHIRProviderUtil {
         return FHIRMediaType.APPLICATION_FHIR_JSON_TYPE;
     }
     
+    /**
+     * @return the format of a request or response body of the passed media type, or null if it is not a supported
+     *         FHIR media type
+     */
+    public static Format getFormat(MediaType mediaType) {
+        if (mediaType != null) {
+            if (mediaType.isCompatible(FHIRMediaType.APPLICATION_FHIR_JSON_TYPE) ||
+                    mediaType.isCompatible(FHIRMediaType.APPLICATION_JSON_TYPE)) {
+                return Format.JSON;
+            } else if (mediaType.isCompatible(FHIRMediaType.APPLICATION_FHIR_XML_TYPE) ||
+                    mediaType.isCompatible(FHIRMediaType.APPLICATION_XML_TYPE)) {
+                return Format.XML;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the charset parameter of the passed media type, or null if it has none
+     * @throws IllegalArgumentException
+     *             if the charset is not supported
+     */
+    public static Charset getCharset(MediaType mediaType) {
+        String charset = (mediaType != null) ? mediaType.getParameters().get(MediaType.CHARSET_PARAMETER) : null;
+        return (charset != null) ? Charset.forName(charset) : null;
+    }
+
     public static Response buildResponse(OperationOutcome operationOutcome, MediaType mediaType) {
-        Response response = Response.status(Response.Status.BAD_REQUEST)
+        return buildResponse(operationOutcome, mediaType, Response.Status.BAD_REQUEST);
+    }
+
+    public static Response buildResponse(OperationOutcome operationOutcome, MediaType mediaType, Response.Status status) {
+        Response response = Response.status(status)
                 .header(HttpHeaders.CONTENT_TYPE, mediaType)
                 .entity(operationOutcome)
                 .build();
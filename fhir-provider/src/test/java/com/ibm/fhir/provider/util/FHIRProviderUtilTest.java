@@ -0,0 +1,46 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.provider.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import javax.ws.rs.core.MediaType;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.format.Format;
+
+public class FHIRProviderUtilTest {
+
+    @Test
+    public void testGetFormat() {
+        assertEquals(Format.JSON, FHIRProviderUtil.getFormat(new MediaType("application", "fhir+json")));
+        assertEquals(Format.JSON, FHIRProviderUtil.getFormat(MediaType.APPLICATION_JSON_TYPE));
+        assertEquals(Format.XML, FHIRProviderUtil.getFormat(new MediaType("application", "fhir+xml")));
+        assertEquals(Format.XML, FHIRProviderUtil.getFormat(MediaType.APPLICATION_XML_TYPE));
+        assertNull(FHIRProviderUtil.getFormat(MediaType.TEXT_PLAIN_TYPE));
+        assertNull(FHIRProviderUtil.getFormat(null));
+    }
+
+    @Test
+    public void testGetCharset() {
+        assertEquals(StandardCharsets.ISO_8859_1, FHIRProviderUtil.getCharset(new MediaType("application", "fhir+json",
+                Collections.singletonMap(MediaType.CHARSET_PARAMETER, "ISO-8859-1"))));
+        assertNull(FHIRProviderUtil.getCharset(new MediaType("application", "fhir+json")));
+        assertNull(FHIRProviderUtil.getCharset(null));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testGetUnsupportedCharset() {
+        FHIRProviderUtil.getCharset(new MediaType("application", "fhir+json",
+                Collections.singletonMap(MediaType.CHARSET_PARAMETER, "x-not-a-charset")));
+    }
+}
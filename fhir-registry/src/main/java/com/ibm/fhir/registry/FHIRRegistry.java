@@ -10,6 +10,7 @@ import static com.ibm.fhir.registry.util.FHIRRegistryUtil.isDefinitionalResource
 import static com.ibm.fhir.registry.util.FHIRRegistryUtil.requireDefinitionalResourceType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -20,17 +21,26 @@ import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import com.ibm.fhir.model.resource.CodeSystem;
 import com.ibm.fhir.model.resource.DomainResource;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.resource.SearchParameter;
+import com.ibm.fhir.model.resource.StructureDefinition;
+import com.ibm.fhir.model.resource.ValueSet;
 import com.ibm.fhir.model.type.Canonical;
 import com.ibm.fhir.model.type.code.SearchParamType;
 import com.ibm.fhir.model.util.ModelSupport;
 import com.ibm.fhir.registry.resource.FHIRRegistryResource;
 import com.ibm.fhir.registry.spi.FHIRRegistryResourceProvider;
+import com.ibm.fhir.registry.util.PackageRegistryResourceProvider;
 
 /**
  * A singleton registry for FHIR definitional resources: <a href="http://hl7.org/fhir/definition.html">http://hl7.org/fhir/definition.html</a>
@@ -40,7 +50,15 @@ public final class FHIRRegistry {
 
     private static final FHIRRegistry INSTANCE = new FHIRRegistry();
 
+    // the resource types used for validation and search, which are parsed ahead of time by preload()
+    private static final List<Class<? extends Resource>> PRELOAD_RESOURCE_TYPES = Collections.unmodifiableList(Arrays.asList(
+        StructureDefinition.class,
+        ValueSet.class,
+        CodeSystem.class,
+        SearchParameter.class));
+
     private final List<FHIRRegistryResourceProvider> providers;
+    private volatile boolean preload = false;
 
     private FHIRRegistry() {
         providers = new CopyOnWriteArrayList<>(loadProviders());
@@ -65,12 +83,73 @@ public final class FHIRRegistry {
      * @implNote
      *     This method should not be called by consumers that make their registry resource providers available through
      *     the service loader
+     * @implNote
+     *     If {@link #preload()} was called, the resources of the provider are preloaded before this method returns
      * @param provider
      *     the registry resource provider to be added
      */
     public void register(FHIRRegistryResourceProvider provider) {
         Objects.requireNonNull(provider);
         providers.add(provider);
+        if (preload) {
+            preload(Collections.singletonList(provider));
+        }
+    }
+
+    /**
+     * Parse the StructureDefinition, ValueSet, CodeSystem and SearchParameter resources of the registered providers in
+     * parallel, instead of on first access, so that the first requests which need them (e.g. to validate a resource
+     * against a profile) don't stall while they are parsed
+     *
+     * <p>Providers that are registered after this method is called are preloaded when they are registered
+     *
+     * @implNote
+     *     The resources are parsed from the JSON of the packages rather than read from a binary snapshot built with the
+     *     packages: the only binary encoding of model objects (the "binary" payload codec of fhir-persistence-jdbc)
+     *     belongs to a module that depends on this one, so packages can't be encoded with it unless it is moved to
+     *     fhir-model
+     * @return
+     *     the number of resources that were loaded
+     */
+    public int preload() {
+        preload = true;
+        return preload(providers);
+    }
+
+    private int preload(List<FHIRRegistryResourceProvider> providers) {
+        // only package resources are parsed lazily; other providers (e.g. the server registry) load their resources on request
+        List<FHIRRegistryResource> registryResources = providers.stream()
+                .filter(provider -> provider instanceof PackageRegistryResourceProvider)
+                .flatMap(provider -> PRELOAD_RESOURCE_TYPES.stream().map(provider::getRegistryResources))
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+        if (registryResources.isEmpty()) {
+            return 0;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<Resource>> futures = new ArrayList<>(registryResources.size());
+            for (FHIRRegistryResource registryResource : registryResources) {
+                futures.add(executor.submit(registryResource::getResource));
+            }
+            int count = 0;
+            for (Future<Resource> future : futures) {
+                if (future.get() != null) {
+                    count++;
+                }
+            }
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warning("Interrupted while preloading the registry resources");
+            return 0;
+        } catch (ExecutionException e) {
+            log.log(Level.WARNING, "Unexpected error while preloading the registry resources", e.getCause());
+            return 0;
+        } finally {
+            executor.shutdown();
+        }
     }
 
     /**
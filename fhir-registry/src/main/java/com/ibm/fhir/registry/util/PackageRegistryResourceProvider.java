@@ -30,7 +30,9 @@ import com.ibm.fhir.registry.spi.FHIRRegistryResourceProvider;
  * A static registry resource provider that is loaded from an NPM package as specified at
  * <a href="https://confluence.hl7.org/pages/viewpage.action?pageId=35718629">https://confluence.hl7.org/pages/viewpage.action?pageId=35718629</a>
  *
- * <p>This implementation caches registry resources by resource type and url
+ * <p>This implementation caches registry resources by resource type and url. The lookup tables are built once, when
+ * the provider is created, with the versions of each url already sorted, so lookups don't sort or filter the package
+ * contents.
  */
 public abstract class PackageRegistryResourceProvider implements FHIRRegistryResourceProvider {
     private static final Logger log = Logger.getLogger(PackageRegistryResourceProvider.class.getName());
@@ -40,11 +42,15 @@ public abstract class PackageRegistryResourceProvider implements FHIRRegistryRes
     protected final Collection<FHIRRegistryResource> registryResources;
     protected final Map<Class<? extends Resource>, Map<String, List<FHIRRegistryResource>>> registryResourceMap;
     protected final Map<String, List<FHIRRegistryResource>> profileResourceMap;
+    protected final Map<Class<? extends Resource>, List<FHIRRegistryResource>> resourceTypeMap;
+    protected final Map<String, List<FHIRRegistryResource>> searchParameterResourceMap;
 
     public PackageRegistryResourceProvider() {
         registryResources = FHIRRegistryUtil.getRegistryResources(getPackageId());
         registryResourceMap = buildRegistryResourceMap();
+        resourceTypeMap = buildResourceTypeMap();
         profileResourceMap = buildProfileResourceMap();
+        searchParameterResourceMap = buildSearchParameterResourceMap();
     }
 
     /**
@@ -79,10 +85,7 @@ public abstract class PackageRegistryResourceProvider implements FHIRRegistryRes
 
     @Override
     public Collection<FHIRRegistryResource> getRegistryResources(Class<? extends Resource> resourceType) {
-        return registryResourceMap.getOrDefault(resourceType, Collections.emptyMap()).entrySet().stream()
-                .map(entry -> entry.getValue())
-                .flatMap(List::stream)
-                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+        return resourceTypeMap.getOrDefault(resourceType, Collections.emptyList());
     }
 
     @Override
@@ -108,24 +111,45 @@ public abstract class PackageRegistryResourceProvider implements FHIRRegistryRes
     @Override
     public Collection<FHIRRegistryResource> getSearchParameterResources(String type) {
         Objects.requireNonNull(type);
-        return registryResourceMap.getOrDefault(SearchParameter.class, Collections.emptyMap()).entrySet().stream()
-                .map(entry -> entry.getValue())
-                .flatMap(List::stream)
-                .filter(registryResource -> type.equals(registryResource.getType()))
-                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+        return Collections.unmodifiableList(searchParameterResourceMap.getOrDefault(type, Collections.emptyList()));
     }
 
     private Map<Class<? extends Resource>, Map<String, List<FHIRRegistryResource>>> buildRegistryResourceMap() {
         Map<Class<? extends Resource>, Map<String, List<FHIRRegistryResource>>> registryResourceMap = new HashMap<>();
         for (FHIRRegistryResource registryResource : registryResources) {
             Map<String, List<FHIRRegistryResource>> map = registryResourceMap.computeIfAbsent(registryResource.getResourceType(), k -> new HashMap<>());
-            List<FHIRRegistryResource> list = map.computeIfAbsent(registryResource.getUrl(), k -> new ArrayList<>());
-            list.add(registryResource);
-            Collections.sort(list);
+            map.computeIfAbsent(registryResource.getUrl(), k -> new ArrayList<>()).add(registryResource);
+        }
+        // sort the versions of each url once, so that the latest version is always last
+        for (Map<String, List<FHIRRegistryResource>> map : registryResourceMap.values()) {
+            for (List<FHIRRegistryResource> list : map.values()) {
+                Collections.sort(list);
+            }
         }
         return registryResourceMap;
     }
 
+    private Map<Class<? extends Resource>, List<FHIRRegistryResource>> buildResourceTypeMap() {
+        Map<Class<? extends Resource>, List<FHIRRegistryResource>> resourceTypeMap = new HashMap<>();
+        for (Map.Entry<Class<? extends Resource>, Map<String, List<FHIRRegistryResource>>> entry : registryResourceMap.entrySet()) {
+            List<FHIRRegistryResource> list = entry.getValue().values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+            resourceTypeMap.put(entry.getKey(), Collections.unmodifiableList(list));
+        }
+        return resourceTypeMap;
+    }
+
+    private Map<String, List<FHIRRegistryResource>> buildSearchParameterResourceMap() {
+        Map<String, List<FHIRRegistryResource>> searchParameterResourceMap = new HashMap<>();
+        for (FHIRRegistryResource registryResource : getRegistryResources(SearchParameter.class)) {
+            if (registryResource.getType() != null) {
+                searchParameterResourceMap.computeIfAbsent(registryResource.getType(), k -> new ArrayList<>()).add(registryResource);
+            }
+        }
+        return searchParameterResourceMap;
+    }
+
     private Map<String, List<FHIRRegistryResource>> buildProfileResourceMap() {
         Map<String, List<FHIRRegistryResource>> profileResourceMap = new HashMap<>();
         for (FHIRRegistryResource registryResource : getRegistryResources(StructureDefinition.class)) {
@@ -49,6 +49,13 @@ public class FHIRRegistryTest {
         Assert.assertEquals(observationProfiles.size(), 17);
     }
 
+    @Test
+    public void testPreload() {
+        Assert.assertTrue(FHIRRegistry.getInstance().preload() > 0);
+        StructureDefinition structureDefinition = FHIRRegistry.getInstance().getResource("http://hl7.org/fhir/StructureDefinition/Patient", StructureDefinition.class);
+        Assert.assertNotNull(structureDefinition);
+    }
+
     @Test
     public void testGetSearchParametersByType() {
         Collection<SearchParameter> tokenSearchParameters = FHIRRegistry.getInstance().getSearchParameters("token");
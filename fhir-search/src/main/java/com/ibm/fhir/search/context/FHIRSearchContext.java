@@ -10,6 +10,7 @@ import java.util.List;
 
 import com.ibm.fhir.core.context.FHIRPagingContext;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.parameters.InclusionParameter;
 import com.ibm.fhir.search.parameters.QueryParameter;
 import com.ibm.fhir.search.parameters.SortParameter;
@@ -83,4 +84,32 @@ public interface FHIRSearchContext extends FHIRPagingContext {
      * Set the value of the summary parameter.
      */
     void setSummaryParameter(SummaryValueSet summary);
+
+    /**
+     * @return true when the total parameter is not null
+     */
+    boolean hasTotalParameter();
+
+    /**
+     * Get the total parameter.
+     *
+     * @return the value of the total parameter, or null if the accuracy of the total was not specified
+     */
+    TotalValueSet getTotalParameter();
+
+    /**
+     * Set the value of the total parameter.
+     */
+    void setTotalParameter(TotalValueSet total);
+
+    /**
+     * @return false when the total count is not the number of search results, because the search results were not
+     *     counted (_total=none) or counting stopped at the estimate limit (_total=estimate); true otherwise
+     */
+    boolean isTotalCountKnown();
+
+    /**
+     * Set whether the total count is the number of search results.
+     */
+    void setTotalCountKnown(boolean totalCountKnown);
 }
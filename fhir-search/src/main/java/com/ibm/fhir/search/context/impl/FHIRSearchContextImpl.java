@@ -11,6 +11,7 @@ import java.util.List;
 
 import com.ibm.fhir.core.context.impl.FHIRPagingContextImpl;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.parameters.InclusionParameter;
 import com.ibm.fhir.search.parameters.QueryParameter;
@@ -25,6 +26,8 @@ public class FHIRSearchContextImpl extends FHIRPagingContextImpl implements FHIR
     private List<InclusionParameter> revIncludeParameters = new ArrayList<>();
     private List<String> elementsParameters = null;
     private SummaryValueSet summaryParameter = null; 
+    private TotalValueSet totalParameter = null;
+    private boolean totalCountKnown = true;
 
     public FHIRSearchContextImpl() {
         searchParameters = new ArrayList<>();
@@ -134,4 +137,29 @@ public class FHIRSearchContextImpl extends FHIRPagingContextImpl implements FHIR
         this.searchResourceTypes = searchResourceTypes;
 
     }
+
+    @Override
+    public boolean hasTotalParameter() {
+        return this.totalParameter != null;
+    }
+
+    @Override
+    public TotalValueSet getTotalParameter() {
+        return this.totalParameter;
+    }
+
+    @Override
+    public void setTotalParameter(TotalValueSet total) {
+        this.totalParameter = total;
+    }
+
+    @Override
+    public boolean isTotalCountKnown() {
+        return this.totalCountKnown;
+    }
+
+    @Override
+    public void setTotalCountKnown(boolean totalCountKnown) {
+        this.totalCountKnown = totalCountKnown;
+    }
 }
@@ -93,7 +93,9 @@ public class UriBuilder {
         appendRevInclusionParameters();
         appendSortParameters();
         appendSummaryParameter();
+        appendTotalParameter();
         appendResourceTypesParameter();
+        appendCursorParameter();
 
         // Always include page number at the end, even if it wasn't in the request
         queryString.append(SearchConstants.AND_CHAR);
@@ -107,6 +109,18 @@ public class UriBuilder {
         return selfUri.toString();
     }
 
+    /*
+     * The cursor is a base64url encoded value, so it doesn't need any escaping.
+     */
+    private void appendCursorParameter() {
+        if (context.getCursor() != null) {
+            queryString.append(SearchConstants.AND_CHAR);
+            queryString.append(SearchConstants.CURSOR);
+            queryString.append(SearchConstants.EQUALS_CHAR);
+            queryString.append(context.getCursor());
+        }
+    }
+
     private void appendResourceTypesParameter() {
         if (context.getSearchResourceTypes() != null && !context.getSearchResourceTypes().isEmpty()) {
             queryString.append(SearchConstants.AND_CHAR);
@@ -162,6 +176,15 @@ public class UriBuilder {
         }
     }
 
+    private void appendTotalParameter() {
+        if (context.getTotalParameter() != null) {
+            queryString.append(SearchConstants.AND_CHAR);
+            queryString.append(SearchConstants.TOTAL);
+            queryString.append(SearchConstants.EQUALS_CHAR);
+            queryString.append(context.getTotalParameter().value());
+        }
+    }
+
     private void appendRevInclusionParameters() {
         for (InclusionParameter param : context.getRevIncludeParameters()) {
             queryString.append(SearchConstants.AND_CHAR);
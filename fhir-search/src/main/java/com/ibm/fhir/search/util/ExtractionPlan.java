@@ -0,0 +1,236 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.search.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.resource.SearchParameter;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.FHIRPathType;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
+
+/**
+ * A search parameter extraction plan for a single resource type.
+ *
+ * <p>Search parameter expressions that consist only of simple paths (e.g. {@code Observation.code} or
+ * {@code Observation.value | Observation.component.value}) are merged into a tree keyed by path segment so that
+ * common prefixes are navigated once and all of them are evaluated in a single traversal of the resource. Other
+ * expressions are not part of the plan and must be evaluated by the {@link com.ibm.fhir.path.evaluator.FHIRPathEvaluator}.
+ *
+ * <p>The plan navigates the resource with the same semantics as FHIRPath member invocation.
+ */
+public final class ExtractionPlan {
+    private static final Pattern SIMPLE_PATHS_PATTERN = Pattern.compile("[A-Za-z0-9_.|\\s]+");
+    private static final Pattern SIMPLE_PATH_PATTERN = Pattern.compile("[A-Za-z][A-Za-z0-9_]*(\\.[A-Za-z][A-Za-z0-9_]*)*");
+    private static final String SYSTEM_NAMESPACE = "System";
+
+    private final List<SearchParameter> parameters;
+    private final Map<SearchParameter, List<PathNode>> planned;
+    private final PathNode root = new PathNode(null);
+
+    private ExtractionPlan(Class<? extends Resource> resourceType, List<SearchParameter> parameters) {
+        this.parameters = new ArrayList<>(parameters);
+        this.planned = new IdentityHashMap<>();
+        for (SearchParameter parameter : parameters) {
+            List<PathNode> terminals = plan(resourceType, parameter);
+            if (terminals != null) {
+                planned.put(parameter, terminals);
+            }
+        }
+    }
+
+    /**
+     * Create an extraction plan for the passed resource type and search parameters
+     *
+     * @param resourceType
+     *     the resource type
+     * @param parameters
+     *     the search parameters that apply to the resource type
+     * @return the extraction plan
+     */
+    public static ExtractionPlan create(Class<? extends Resource> resourceType, List<SearchParameter> parameters) {
+        return new ExtractionPlan(resourceType, parameters);
+    }
+
+    /**
+     * @param parameters
+     *     the search parameters that currently apply to the resource type
+     * @return true if this plan was created from the very same search parameter instances (in the same order);
+     *     otherwise false
+     */
+    public boolean appliesTo(List<SearchParameter> parameters) {
+        if (this.parameters.size() != parameters.size()) {
+            return false;
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            if (this.parameters.get(i) != parameters.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param parameter
+     *     the search parameter
+     * @return true if the expression of the passed search parameter is evaluated by this plan; otherwise false
+     */
+    public boolean isPlanned(SearchParameter parameter) {
+        return planned.containsKey(parameter);
+    }
+
+    /**
+     * Evaluate the planned search parameter expressions in a single traversal of the resource
+     *
+     * @param evaluationContext
+     *     the evaluation context of the resource
+     * @return a map from each planned search parameter to the result of evaluating its expression
+     */
+    public Map<SearchParameter, List<FHIRPathNode>> evaluate(EvaluationContext evaluationContext) {
+        Map<PathNode, Collection<FHIRPathNode>> results = new IdentityHashMap<>();
+        Collection<FHIRPathNode> initialContext = Collections.singletonList(evaluationContext.getTree().getRoot());
+        for (PathNode child : root.children.values()) {
+            visit(child, initialContext, results);
+        }
+
+        Map<SearchParameter, List<FHIRPathNode>> result = new IdentityHashMap<>();
+        for (Map.Entry<SearchParameter, List<PathNode>> entry : planned.entrySet()) {
+            List<PathNode> terminals = entry.getValue();
+            if (terminals.size() == 1) {
+                result.put(entry.getKey(), new ArrayList<>(results.get(terminals.get(0))));
+            } else {
+                // union semantics: duplicates are removed and the order of first occurrence is preserved
+                Set<FHIRPathNode> union = new LinkedHashSet<>();
+                for (PathNode terminal : terminals) {
+                    union.addAll(results.get(terminal));
+                }
+                result.put(entry.getKey(), new ArrayList<>(union));
+            }
+        }
+        return result;
+    }
+
+    private void visit(PathNode pathNode, Collection<FHIRPathNode> context, Map<PathNode, Collection<FHIRPathNode>> results) {
+        Collection<FHIRPathNode> nodes = memberInvocation(context, pathNode.identifier);
+        if (pathNode.terminal) {
+            results.put(pathNode, nodes);
+        }
+        for (PathNode child : pathNode.children.values()) {
+            if (nodes.isEmpty()) {
+                setEmpty(child, results);
+            } else {
+                visit(child, nodes, results);
+            }
+        }
+    }
+
+    private void setEmpty(PathNode pathNode, Map<PathNode, Collection<FHIRPathNode>> results) {
+        if (pathNode.terminal) {
+            results.put(pathNode, Collections.emptyList());
+        }
+        for (PathNode child : pathNode.children.values()) {
+            setEmpty(child, results);
+        }
+    }
+
+    /**
+     * Mirrors FHIRPathEvaluator.EvaluatingVisitor.visitMemberInvocation
+     */
+    private Collection<FHIRPathNode> memberInvocation(Collection<FHIRPathNode> context, String identifier) {
+        if (context.size() == 1) {
+            FHIRPathNode node = context.iterator().next();
+            if (isTypeName(node.type(), identifier)) {
+                return context;
+            }
+        }
+        List<FHIRPathNode> result = new ArrayList<>();
+        for (FHIRPathNode node : context) {
+            for (FHIRPathNode child : node.children()) {
+                if (identifier.equals(child.name())) {
+                    result.add(child);
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isTypeName(FHIRPathType type, String identifier) {
+        if (SYSTEM_NAMESPACE.equals(type.namespace())) {
+            return false;
+        }
+        while (!FHIRPathType.FHIR_ANY.equals(type)) {
+            if (type.getName().equals(identifier)) {
+                return true;
+            }
+            type = type.baseType();
+        }
+        return false;
+    }
+
+    /**
+     * @return the terminal path nodes for each path in the expression of the passed search parameter, or null if the
+     *     expression cannot be planned
+     */
+    private List<PathNode> plan(Class<? extends Resource> resourceType, SearchParameter parameter) {
+        if (parameter.getExpression() == null || parameter.getExpression().getValue() == null) {
+            return null;
+        }
+        String expression = parameter.getExpression().getValue();
+        if (!SIMPLE_PATHS_PATTERN.matcher(expression).matches()) {
+            return null;
+        }
+        List<String[]> paths = new ArrayList<>();
+        for (String path : expression.split("\\|")) {
+            path = path.trim();
+            if (!SIMPLE_PATH_PATTERN.matcher(path).matches()) {
+                return null;
+            }
+            String[] segments = path.split("\\.");
+            Class<? extends Resource> type = ModelSupport.getResourceType(segments[0]);
+            if (type == null) {
+                return null;
+            }
+            if (!type.isAssignableFrom(resourceType)) {
+                // a path of another resource type (e.g. Person.address in Patient.address | Person.address)
+                // selects nothing from this resource type
+                continue;
+            }
+            paths.add(segments);
+        }
+        List<PathNode> terminals = new ArrayList<>(paths.size());
+        for (String[] segments : paths) {
+            PathNode pathNode = root;
+            for (String segment : segments) {
+                pathNode = pathNode.children.computeIfAbsent(segment, PathNode::new);
+            }
+            pathNode.terminal = true;
+            terminals.add(pathNode);
+        }
+        return terminals;
+    }
+
+    private static final class PathNode {
+        private final String identifier;
+        private final Map<String, PathNode> children = new LinkedHashMap<>();
+        private boolean terminal;
+
+        private PathNode(String identifier) {
+            this.identifier = identifier;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -48,6 +49,7 @@ import com.ibm.fhir.search.SearchConstants;
 import com.ibm.fhir.search.SearchConstants.Modifier;
 import com.ibm.fhir.search.SearchConstants.Type;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.compartment.CompartmentUtil;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.context.FHIRSearchContextFactory;
@@ -125,6 +127,12 @@ public class SearchUtil {
      */
     private static TenantSpecificSearchParameterCache searchParameterCache = new TenantSpecificSearchParameterCache();
 
+    /*
+     * Extraction plans keyed by tenant-id and resource type. A plan is rebuilt whenever the applicable
+     * SearchParameters for its resource type are no longer the ones it was built from.
+     */
+    private static final Map<String, ExtractionPlan> extractionPlanCache = new ConcurrentHashMap<>();
+
     private SearchUtil() {
         // No Operation
         // Hides the Initialization
@@ -523,6 +531,10 @@ public class SearchUtil {
 
         List<SearchParameter> parameters = getApplicableSearchParameters(resourceType.getSimpleName());
 
+        // Evaluate the simple path expressions in a single traversal of the resource
+        ExtractionPlan plan = getExtractionPlan(resource.getClass(), parameters);
+        Map<SearchParameter, List<FHIRPathNode>> planResults = plan.evaluate(evaluationContext);
+
         for (SearchParameter parameter : parameters) {
 
             com.ibm.fhir.model.type.String expression = parameter.getExpression();
@@ -545,7 +557,8 @@ public class SearchUtil {
                 continue;
             }
             try {
-                Collection<FHIRPathNode> tmpResults = evaluator.evaluate(evaluationContext, expression.getValue());
+                Collection<FHIRPathNode> tmpResults = plan.isPlanned(parameter) ?
+                        planResults.get(parameter) : evaluator.evaluate(evaluationContext, expression.getValue());
 
                 if (log.isLoggable(Level.FINEST)) {
                     log.finest("Expression [" + expression.getValue() + "] parameter-code ["
@@ -567,6 +580,25 @@ public class SearchUtil {
         return result;
     }
 
+    /**
+     * Returns the cached extraction plan for the passed resource type and current tenant id, creating it if it
+     * does not exist or was built from a different set of SearchParameters.
+     *
+     * @param resourceType
+     * @param parameters
+     *                   the applicable SearchParameters for the resource type
+     * @return
+     */
+    private static ExtractionPlan getExtractionPlan(Class<? extends Resource> resourceType, List<SearchParameter> parameters) {
+        String key = FHIRRequestContext.get().getTenantId() + ":" + resourceType.getSimpleName();
+        ExtractionPlan plan = extractionPlanCache.get(key);
+        if (plan == null || !plan.appliesTo(parameters)) {
+            plan = ExtractionPlan.create(resourceType, parameters);
+            extractionPlanCache.put(key, plan);
+        }
+        return plan;
+    }
+
     public static FHIRSearchContext parseQueryParameters(Class<?> resourceType,
             Map<String, List<String>> queryParameters)
             throws Exception {
@@ -740,9 +772,31 @@ public class SearchUtil {
         } // end for
 
         context.setSearchParameters(parameters);
+        if (!context.hasTotalParameter()) {
+            context.setTotalParameter(getDefaultTotalParameter());
+        }
         return context;
     }
 
+    /**
+     * Returns the _total behavior configured for the current tenant, or null if the tenant does not configure one.
+     *
+     * @return
+     * @throws FHIRSearchException
+     */
+    private static TotalValueSet getDefaultTotalParameter() throws FHIRSearchException {
+        String defaultTotal = FHIRConfigHelper.getStringProperty(FHIRConfiguration.PROPERTY_SEARCH_DEFAULT_TOTAL, null);
+        if (defaultTotal == null) {
+            return null;
+        }
+        try {
+            return TotalValueSet.from(defaultTotal);
+        } catch (IllegalArgumentException e) {
+            throw SearchExceptionUtil.buildNewInvalidSearchException("Invalid value for configuration property '"
+                    + FHIRConfiguration.PROPERTY_SEARCH_DEFAULT_TOTAL + "': " + defaultTotal);
+        }
+    }
+
     /**
      * Common logic from handling a single queryParameterValueString based on its type
      */
@@ -1056,6 +1110,9 @@ public class SearchUtil {
             } else if (SearchConstants.PAGE.equals(name)) {
                 int pageNumber = Integer.parseInt(first);
                 context.setPageNumber(pageNumber);
+            } else if (SearchConstants.CURSOR.equals(name)) {
+                // the cursor is opaque here; it is decoded and validated by the persistence layer
+                context.setCursor(first);
             } else if (SearchConstants.SORT.equals(name)) {
                 // in R4, we only look for _sort
                 sort.parseSortParameter(resourceTypeName, context, values, lenient);
@@ -1065,6 +1122,8 @@ public class SearchUtil {
                 parseElementsParameter(resourceType, context, values, lenient);
             } else if (SearchConstants.SUMMARY.equals(name) && first != null) {
                 context.setSummaryParameter(SummaryValueSet.from(first));
+            } else if (SearchConstants.TOTAL.equals(name) && first != null) {
+                context.setTotalParameter(TotalValueSet.from(first));
             }
         } catch (FHIRSearchException se) {
             throw se;
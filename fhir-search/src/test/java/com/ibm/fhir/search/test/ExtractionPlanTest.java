@@ -0,0 +1,93 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.search.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.resource.SearchParameter;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
+import com.ibm.fhir.search.util.ExtractionPlan;
+import com.ibm.fhir.search.util.SearchUtil;
+
+/**
+ * Tests that an ExtractionPlan produces the same results as the FHIRPathEvaluator
+ */
+public class ExtractionPlanTest extends BaseSearchTest {
+
+    @Test
+    public void testObservation() throws Exception {
+        assertPlanMatchesEvaluator("extract/observation-full.json");
+    }
+
+    @Test
+    public void testPatient() throws Exception {
+        assertPlanMatchesEvaluator("extract/patient-deceased-boolean.json");
+    }
+
+    @Test
+    public void testInsurancePlan() throws Exception {
+        assertPlanMatchesEvaluator("extract/insuranceplan-alias.json");
+    }
+
+    @Test
+    public void testUnionOfResourceTypes() throws Exception {
+        // Patient.address | Person.address | Practitioner.address | RelatedPerson.address
+        List<SearchParameter> parameters = SearchUtil.getApplicableSearchParameters("Patient");
+        ExtractionPlan plan = ExtractionPlan.create(com.ibm.fhir.model.resource.Patient.class, parameters);
+        SearchParameter address = parameters.stream()
+                .filter(p -> "address".equals(p.getCode().getValue()))
+                .findFirst()
+                .get();
+        assertTrue(plan.isPlanned(address));
+    }
+
+    @Test
+    public void testAppliesTo() throws Exception {
+        List<SearchParameter> parameters = SearchUtil.getApplicableSearchParameters("Observation");
+        ExtractionPlan plan = ExtractionPlan.create(com.ibm.fhir.model.resource.Observation.class, parameters);
+        assertTrue(plan.appliesTo(new ArrayList<>(parameters)));
+        assertFalse(plan.appliesTo(parameters.subList(1, parameters.size())));
+    }
+
+    private void assertPlanMatchesEvaluator(String file) throws Exception {
+        Resource resource;
+        try (InputStream stream = ExtractionPlanTest.class.getResourceAsStream("/testdata/" + file)) {
+            resource = FHIRParser.parser(Format.JSON).parse(stream);
+        }
+
+        List<SearchParameter> parameters = SearchUtil.getApplicableSearchParameters(resource.getClass().getSimpleName());
+        ExtractionPlan plan = ExtractionPlan.create(resource.getClass(), parameters);
+        EvaluationContext evaluationContext = new EvaluationContext(resource);
+        Map<SearchParameter, List<FHIRPathNode>> planResults = plan.evaluate(evaluationContext);
+
+        FHIRPathEvaluator evaluator = FHIRPathEvaluator.evaluator();
+        int planned = 0;
+        for (SearchParameter parameter : parameters) {
+            if (plan.isPlanned(parameter)) {
+                planned++;
+                Collection<FHIRPathNode> expected = evaluator.evaluate(evaluationContext, parameter.getExpression().getValue());
+                assertEquals(planResults.get(parameter), new ArrayList<>(expected), parameter.getCode().getValue());
+            }
+        }
+        assertTrue(planned > 0);
+    }
+}
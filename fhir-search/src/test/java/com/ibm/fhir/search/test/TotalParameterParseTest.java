@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.search.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.search.TotalValueSet;
+import com.ibm.fhir.search.context.FHIRSearchContext;
+import com.ibm.fhir.search.exception.FHIRSearchException;
+import com.ibm.fhir.search.util.SearchUtil;
+
+/**
+ * This testng test class contains methods that test the parsing of the search result _total parameter in the
+ * SearchUtil class.
+ */
+public class TotalParameterParseTest extends BaseSearchTest {
+
+    @Test
+    public void testTotal() throws Exception {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("_total", Arrays.asList("none"));
+        FHIRSearchContext context = SearchUtil.parseQueryParameters(Patient.class, queryParameters);
+        assertNotNull(context);
+        assertEquals(context.getTotalParameter(), TotalValueSet.NONE);
+
+        String selfUri = SearchUtil.buildSearchSelfUri("http://example.com/Patient", context);
+        assertTrue(selfUri.contains("_total=none"), selfUri);
+    }
+
+    @Test
+    public void testTotalNotSpecified() throws Exception {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        FHIRSearchContext context = SearchUtil.parseQueryParameters(Patient.class, queryParameters);
+        assertNotNull(context);
+        assertNull(context.getTotalParameter());
+    }
+
+    @Test
+    public void testTotalInvalid_lenient() throws Exception {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("_total", Arrays.asList("invalid"));
+        FHIRSearchContext context = SearchUtil.parseQueryParameters(Patient.class, queryParameters, true);
+        assertNotNull(context);
+        assertNull(context.getTotalParameter());
+    }
+
+    @Test
+    public void testTotalInvalid_strict() throws Exception {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("_total", Arrays.asList("invalid"));
+        try {
+            SearchUtil.parseQueryParameters(Patient.class, queryParameters, false);
+            fail("expected a FHIRSearchException");
+        } catch (FHIRSearchException e) {
+            // expected
+        }
+    }
+}
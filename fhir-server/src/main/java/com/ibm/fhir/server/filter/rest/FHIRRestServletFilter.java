@@ -37,6 +37,7 @@ import com.ibm.fhir.core.HTTPReturnPreference;
 import com.ibm.fhir.exception.FHIRException;
 import com.ibm.fhir.model.format.Format;
 import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.generator.PayloadPassThrough;
 import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.type.code.IssueSeverity;
 import com.ibm.fhir.model.type.code.IssueType;
@@ -135,6 +136,11 @@ public class FHIRRestServletFilter extends HttpFilter {
             Map<String, List<String>> requestHeaders = extractRequestHeaders(request);
             context.setHttpHeaders(requestHeaders);
 
+            // Let the stored payloads of resources that are returned unchanged be written as-is.
+            if (FHIRConfigHelper.getBooleanProperty(FHIRConfiguration.PROPERTY_PAYLOAD_PASS_THROUGH, false)) {
+                PayloadPassThrough.enable();
+            }
+
             // Pass the request through to the next filter in the chain.
             chain.doFilter(request, response);
         } catch (Exception e) {
@@ -176,6 +182,8 @@ public class FHIRRestServletFilter extends HttpFilter {
             // Remove the FHIRRequestContext from the current thread.
             FHIRRequestContext.remove();
 
+            PayloadPassThrough.disable();
+
             if (log.isLoggable(Level.FINE)) {
                 log.exiting(this.getClass().getName(), "doFilter");
             }
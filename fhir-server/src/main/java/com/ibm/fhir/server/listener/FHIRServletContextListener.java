@@ -7,6 +7,7 @@
 package com.ibm.fhir.server.listener;
 
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_CHECK_REFERENCE_TYPES;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_CONFIG_REFRESH_INTERVAL;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_JDBC_BOOTSTRAP_DB;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_KAFKA_CONNECTIONPROPS;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_KAFKA_ENABLED;
@@ -21,11 +22,18 @@ import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_SERVERS;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_TLS_ENABLED;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_TRUSTSTORE;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_TRUSTSTORE_PW;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_PRELOAD_REGISTRY_RESOURCES;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_PRELOAD_VALUE_SET_EXPANSIONS;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_SERVER_REGISTRY_RESOURCE_PROVIDER_ENABLED;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_VALUE_SET_EXPANSION_FILE;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_WEBSOCKET_ENABLED;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,13 +47,16 @@ import javax.websocket.server.ServerContainer;
 
 import org.owasp.encoder.Encode;
 
+import com.ibm.fhir.audit.logging.api.AuditLogServiceFactory;
 import com.ibm.fhir.config.FHIRConfigHelper;
 import com.ibm.fhir.config.FHIRConfiguration;
 import com.ibm.fhir.config.FHIRRequestContext;
 import com.ibm.fhir.config.PropertyGroup;
 import com.ibm.fhir.config.PropertyGroup.PropertyEntry;
+import com.ibm.fhir.core.TenantSpecificFileBasedCache;
 import com.ibm.fhir.model.config.FHIRModelConfig;
 import com.ibm.fhir.model.util.FHIRUtil;
+import com.ibm.fhir.notification.FHIRNotificationService;
 import com.ibm.fhir.notification.websocket.impl.FHIRNotificationServiceEndpointConfig;
 import com.ibm.fhir.notifications.kafka.impl.FHIRNotificationKafkaPublisher;
 import com.ibm.fhir.notifications.nats.impl.FHIRNotificationNATSPublisher;
@@ -56,6 +67,7 @@ import com.ibm.fhir.registry.FHIRRegistry;
 import com.ibm.fhir.search.util.SearchUtil;
 import com.ibm.fhir.server.operation.FHIROperationRegistry;
 import com.ibm.fhir.server.registry.ServerRegistryResourceProvider;
+import com.ibm.fhir.term.service.ValueSetExpansionStore;
 
 @WebListener("IBM FHIR Server Servlet Context Listener")
 public class FHIRServletContextListener implements ServletContextListener {
@@ -69,6 +81,8 @@ public class FHIRServletContextListener implements ServletContextListener {
     public static final String FHIR_SERVER_INIT_COMPLETE = "com.ibm.fhir.webappInitComplete";
     private static FHIRNotificationKafkaPublisher kafkaPublisher = null;
     private static FHIRNotificationNATSPublisher natsPublisher = null;
+    private static boolean notificationsEnabled = false;
+    private static Path valueSetExpansionFile = null;
 
     @Override
     public void contextInitialized(ServletContextEvent event) {
@@ -86,6 +100,14 @@ public class FHIRServletContextListener implements ServletContextListener {
 
             log.fine("Current working directory: " + Encode.forHtml(System.getProperty("user.dir")));
 
+            // If configured, check the tenant-specific config files for modifications in the background
+            // instead of on every lookup.
+            Integer configRefreshInterval = fhirConfig.getIntProperty(PROPERTY_CONFIG_REFRESH_INTERVAL, 0);
+            if (configRefreshInterval > 0) {
+                log.info("Checking tenant-specific files for modifications every " + configRefreshInterval + " seconds.");
+            }
+            TenantSpecificFileBasedCache.setStalenessCheckInterval(configRefreshInterval, TimeUnit.SECONDS);
+
             /*
              * The following inits are intended to load the FHIRUtil and SearchUtil into the classloader.
              * Subsequently, the code activates the static values (and maps).
@@ -166,6 +188,7 @@ public class FHIRServletContextListener implements ServletContextListener {
             } else {
                 log.info("Bypassing NATS notification init.");
             }
+            notificationsEnabled = websocketEnabled || kafkaEnabled || natsEnabled;
 
             Boolean checkReferenceTypes = fhirConfig.getBooleanProperty(PROPERTY_CHECK_REFERENCE_TYPES, Boolean.TRUE);
             FHIRModelConfig.setCheckReferenceTypes(checkReferenceTypes);
@@ -175,6 +198,13 @@ public class FHIRServletContextListener implements ServletContextListener {
             log.fine("Initializing FHIRRegistry...");
             FHIRRegistry.getInstance();
 
+            Boolean preloadRegistryResources = fhirConfig.getBooleanProperty(PROPERTY_PRELOAD_REGISTRY_RESOURCES, Boolean.FALSE);
+            if (preloadRegistryResources) {
+                log.info("Preloading registry resources...");
+                int count = FHIRRegistry.getInstance().preload();
+                log.info("Finished preloading " + count + " registry resources.");
+            }
+
             Boolean serverRegistryResourceProviderEnabled = fhirConfig.getBooleanProperty(PROPERTY_SERVER_REGISTRY_RESOURCE_PROVIDER_ENABLED, Boolean.FALSE);
             if (serverRegistryResourceProviderEnabled) {
                 log.info("Registering ServerRegistryResourceProvider...");
@@ -183,6 +213,8 @@ public class FHIRServletContextListener implements ServletContextListener {
                 FHIRPersistenceInterceptorMgr.getInstance().addInterceptor(provider);
             }
 
+            initValueSetExpansionStore(fhirConfig);
+
             // Finally, set our "initComplete" flag to true.
             event.getServletContext().setAttribute(FHIR_SERVER_INIT_COMPLETE, Boolean.TRUE);
         } catch(Throwable t) {
@@ -196,6 +228,49 @@ public class FHIRServletContextListener implements ServletContextListener {
         }
     }
 
+    /**
+     * Loads the stored value set expansions and preloads the expansions of the value sets bound by registry profiles,
+     * if requested.
+     */
+    private void initValueSetExpansionStore(PropertyGroup fhirConfig) throws Exception {
+        ValueSetExpansionStore store = ValueSetExpansionStore.getInstance();
+
+        String fileName = fhirConfig.getStringProperty(PROPERTY_VALUE_SET_EXPANSION_FILE);
+        if (fileName != null) {
+            valueSetExpansionFile = Paths.get(fileName);
+            if (Files.exists(valueSetExpansionFile)) {
+                try {
+                    int count = store.load(valueSetExpansionFile);
+                    log.info("Loaded " + count + " value set expansions from '" + valueSetExpansionFile + "'");
+                } catch (Exception e) {
+                    // the file is only a cache of the expansions, so it's safe to start without it
+                    log.log(Level.WARNING, "Unable to load value set expansions from '" + valueSetExpansionFile + "'", e);
+                }
+            }
+        }
+
+        Boolean preloadValueSetExpansions = fhirConfig.getBooleanProperty(PROPERTY_PRELOAD_VALUE_SET_EXPANSIONS, Boolean.FALSE);
+        if (preloadValueSetExpansions) {
+            log.info("Preloading value set expansions...");
+            int count = store.preloadBindings();
+            log.info("Finished preloading " + count + " value set expansions.");
+            saveValueSetExpansions();
+        }
+    }
+
+    /**
+     * Writes the stored value set expansions to the configured file, if any.
+     */
+    private void saveValueSetExpansions() {
+        if (valueSetExpansionFile != null) {
+            try {
+                ValueSetExpansionStore.getInstance().save(valueSetExpansionFile);
+            } catch (Exception e) {
+                log.log(Level.WARNING, "Unable to save value set expansions to '" + valueSetExpansionFile + "'", e);
+            }
+        }
+    }
+
     /**
      * Bootstraps derby databases during server startup if requested.
      */
@@ -271,6 +346,12 @@ public class FHIRServletContextListener implements ServletContextListener {
             // Set our "initComplete" flag back to false.
             event.getServletContext().setAttribute(FHIR_SERVER_INIT_COMPLETE, Boolean.FALSE);
 
+            // Publish any queued notification events before the publishers go away.
+            if (notificationsEnabled) {
+                FHIRNotificationService.getInstance().shutdown();
+                notificationsEnabled = false;
+            }
+
             // If we previously initialized the Kafka publisher, then shut it down now.
             if (kafkaPublisher != null) {
                 kafkaPublisher.shutdown();
@@ -282,6 +363,15 @@ public class FHIRServletContextListener implements ServletContextListener {
                 natsPublisher.shutdown();
                 natsPublisher = null;
             }
+
+            // Publish any queued audit events.
+            AuditLogServiceFactory.stopService();
+
+            // Stop the background staleness checks of the tenant-specific file caches.
+            TenantSpecificFileBasedCache.setStalenessCheckInterval(0, TimeUnit.SECONDS);
+
+            // Keep the value set expansions for the next start.
+            saveValueSetExpansions();
         } catch (Exception e) {
         } finally {
             if (log.isLoggable(Level.FINER)) {
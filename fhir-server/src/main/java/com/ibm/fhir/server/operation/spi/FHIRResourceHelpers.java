@@ -6,6 +6,8 @@
 
 package com.ibm.fhir.server.operation.spi;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.MultivaluedMap;
@@ -14,6 +16,7 @@ import com.ibm.fhir.model.patch.FHIRPatch;
 import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.persistence.ResourceKey;
 
 /**
  * This interface describes the set of helper methods from the FHIR REST layer that are used by custom operation
@@ -113,6 +116,27 @@ public interface FHIRResourceHelpers {
      */
     public Resource doRead(String type, String id, boolean throwExcOnNull, boolean includeDeleted, Map<String, String> requestProperties, Resource contextResource) throws Exception;
 
+    /**
+     * Performs a 'read' operation for each of the passed resource types and ids. Implementations may read the
+     * Resources in bulk, so this is intended for reading a set of Resources that is known up front (e.g. the targets
+     * of the references within a Resource) rather than calling doRead once for each of them.
+     *
+     * @param keys
+     *            the resource types and ids of the Resources to be retrieved
+     * @param includeDeleted
+     *            whether Resources that are currently in a deleted state are returned (if false, reading such a
+     *            Resource fails just like it does for doRead)
+     * @return the Resources in the same order as the passed keys, with null for a Resource that doesn't exist
+     * @throws Exception
+     */
+    public default List<Resource> doReadMany(List<ResourceKey> keys, boolean includeDeleted, Map<String, String> requestProperties) throws Exception {
+        List<Resource> resources = new ArrayList<>(keys.size());
+        for (ResourceKey key : keys) {
+            resources.add(doRead(key.getResourceType().getSimpleName(), key.getLogicalId(), false, includeDeleted, requestProperties, null));
+        }
+        return resources;
+    }
+
     /**
      * Performs a 'vread' operation by retrieving the specified version of a Resource.
      *
@@ -6,8 +6,14 @@
 
 package com.ibm.fhir.server.resources;
 
+import static com.ibm.fhir.provider.util.FHIRProviderUtil.getCharset;
+import static com.ibm.fhir.provider.util.FHIRProviderUtil.getFormat;
 import static com.ibm.fhir.server.util.IssueTypeToHttpStatusMapper.issueListToStatus;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.Date;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -19,17 +25,26 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
 import org.eclipse.microprofile.jwt.JsonWebToken;
 
+import com.ibm.fhir.config.FHIRRequestContext;
 import com.ibm.fhir.core.FHIRMediaType;
+import com.ibm.fhir.core.HTTPHandlingPreference;
 import com.ibm.fhir.exception.FHIROperationException;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRBundleReader;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
 import com.ibm.fhir.model.resource.Bundle;
-import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.code.IssueSeverity;
 import com.ibm.fhir.model.type.code.IssueType;
+import com.ibm.fhir.model.util.FHIRUtil;
 import com.ibm.fhir.server.exception.FHIRRestBundledRequestException;
 import com.ibm.fhir.server.util.FHIRRestHelper;
 import com.ibm.fhir.server.util.RestAuditLogger;
@@ -55,7 +70,7 @@ public class Batch extends FHIRResource {
     }
 
     @POST
-    public Response bundle(Resource resource) {
+    public Response bundle(InputStream in, @Context HttpHeaders httpHeaders) {
         log.entering(this.getClass().getName(), "bundle(Bundle)");
         Date startTime = new Date();
         Response.Status status = null;
@@ -64,19 +79,40 @@ public class Batch extends FHIRResource {
         try {
             checkInitComplete();
 
-            Bundle inputBundle = null;
-            if (resource instanceof Bundle) {
-                inputBundle = (Bundle) resource;
-            } else {
-                String msg = "A 'Bundle' resource type is required but a '"
-                        + resource.getClass().getSimpleName() + "' resource type was sent.";
-                throw buildRestException(msg, IssueType.INVALID);
+            // The request bundle is read one entry at a time (instead of by the FHIRProvider) so that
+            // the entries of large 'batch' requests can be processed without holding the entire bundle in memory.
+            // The media type is negotiated the same way as for the requests that are read by the FHIRProvider.
+            MediaType mediaType = httpHeaders.getMediaType();
+            Format format = getFormat(mediaType);
+            Charset charset = null;
+            try {
+                charset = getCharset(mediaType);
+            } catch (IllegalArgumentException e) {
+                // the charset is not supported
+                format = null;
+            }
+            if (format == null) {
+                status = Status.UNSUPPORTED_MEDIA_TYPE;
+                return exceptionResponse(FHIRUtil.buildOperationOutcome(Collections.singletonList(
+                        FHIRUtil.buildOperationOutcomeIssue(IssueSeverity.FATAL, IssueType.NOT_SUPPORTED,
+                                "Unsupported media type: " + mediaType))), status);
             }
+            FHIRParser parser = FHIRParser.parser(format);
+            parser.setProperty(FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS,
+                    HTTPHandlingPreference.LENIENT.equals(FHIRRequestContext.get().getHandlingPreference()));
 
-            FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
-            responseBundle = helper.doBundle(inputBundle, null);
+            FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl(), getPersistenceHelper());
+            try (FHIRBundleReader bundleReader = (charset != null)
+                    ? FHIRBundleReader.reader(parser, new InputStreamReader(in, charset))
+                    : FHIRBundleReader.reader(parser, in)) {
+                responseBundle = helper.doBundle(bundleReader, null);
+            }
             status = Status.OK;
             return Response.ok(responseBundle).build();
+        } catch (FHIRParserException e) {
+            status = Status.BAD_REQUEST;
+            return exceptionResponse(FHIRUtil.buildOperationOutcome(Collections.singletonList(
+                    FHIRUtil.buildOperationOutcomeIssue(IssueSeverity.FATAL, IssueType.INVALID, e.getMessage(), e.getPath()))), status);
         } catch (FHIRRestBundledRequestException e) {
             Response exceptionResponse = exceptionResponse(e);
             status = Response.Status.fromStatusCode(exceptionResponse.getStatus());
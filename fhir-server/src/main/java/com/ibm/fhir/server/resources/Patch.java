@@ -41,6 +41,7 @@ import com.ibm.fhir.model.resource.Parameters;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.code.IssueType;
 import com.ibm.fhir.model.util.FHIRUtil;
+import com.ibm.fhir.path.patch.FHIRPathJsonPatch;
 import com.ibm.fhir.path.patch.FHIRPathPatch;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceNotFoundException;
 import com.ibm.fhir.server.annotation.PATCH;
@@ -312,7 +313,7 @@ public class Patch extends FHIRResource {
 
     private FHIRPatch createPatch(JsonArray array) throws FHIROperationException {
         try {
-            FHIRPatch patch = FHIRPatch.patch(array);
+            FHIRPatch patch = FHIRPathJsonPatch.patch(array);
             JsonPatch jsonPatch = patch.as(FHIRJsonPatch.class).getJsonPatch();
             for (JsonValue value : jsonPatch.toJsonArray()) {
                 // validate path
@@ -13,6 +13,7 @@ import static javax.servlet.http.HttpServletResponse.SC_GONE;
 import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
 
+import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
@@ -20,14 +21,24 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -42,6 +53,8 @@ import com.ibm.fhir.core.HTTPHandlingPreference;
 import com.ibm.fhir.core.HTTPReturnPreference;
 import com.ibm.fhir.core.context.FHIRPagingContext;
 import com.ibm.fhir.exception.FHIROperationException;
+import com.ibm.fhir.model.parser.FHIRBundleReader;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
 import com.ibm.fhir.model.patch.FHIRPatch;
 import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.model.resource.Bundle.Entry;
@@ -51,6 +64,7 @@ import com.ibm.fhir.model.resource.Parameters;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.CodeableConcept;
 import com.ibm.fhir.model.type.Extension;
+import com.ibm.fhir.model.type.Reference;
 import com.ibm.fhir.model.type.UnsignedInt;
 import com.ibm.fhir.model.type.Uri;
 import com.ibm.fhir.model.type.Url;
@@ -61,8 +75,10 @@ import com.ibm.fhir.model.type.code.IssueType;
 import com.ibm.fhir.model.util.FHIRUtil;
 import com.ibm.fhir.model.util.ModelSupport;
 import com.ibm.fhir.model.util.ReferenceMappingVisitor;
+import com.ibm.fhir.model.visitor.DefaultVisitor;
 import com.ibm.fhir.persistence.FHIRPersistence;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.persistence.ResourceKey;
 import com.ibm.fhir.persistence.SingleResourceResult;
 import com.ibm.fhir.persistence.context.FHIRHistoryContext;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
@@ -71,6 +87,7 @@ import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceDeletedException;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceNotFoundException;
 import com.ibm.fhir.persistence.helper.FHIRTransactionHelper;
+import com.ibm.fhir.persistence.helper.PersistenceHelper;
 import com.ibm.fhir.persistence.interceptor.FHIRPersistenceEvent;
 import com.ibm.fhir.persistence.interceptor.impl.FHIRPersistenceInterceptorMgr;
 import com.ibm.fhir.persistence.util.FHIRPersistenceUtil;
@@ -99,6 +116,9 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
     private static final String EXTENSION_URL = "http://ibm.com/fhir/extension";
     private static final String LOCAL_REF_PREFIX = "urn:";
+    private static final String BATCH_EXECUTOR_JNDI_NAME = "java:comp/DefaultManagedExecutorService";
+    // The max number of consecutive 'read' requests of a 'batch' request that are read with a single call
+    private static final int MAX_BATCH_READS = 100;
 
     public static final DateTimeFormatter PARSER_FORMATTER = new DateTimeFormatterBuilder()
             .appendPattern("EEE")
@@ -113,6 +133,9 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
     private FHIRPersistence persistence = null;
 
+    // Used to obtain a FHIRPersistence instance for each thread that processes the entries of a 'batch' request in parallel.
+    private PersistenceHelper persistenceHelper = null;
+
     // These values are used for correlating requests within a bundle.
     private String bundleTransactionCorrelationId = null;
     private String bundleRequestCorrelationId = null;
@@ -121,6 +144,18 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         this.persistence = persistence;
     }
 
+    /**
+     * @param persistence
+     *            the persistence implementation used for this request
+     * @param persistenceHelper
+     *            used to obtain additional persistence implementations when the entries of a 'batch' request
+     *            are processed in parallel (see {@link FHIRConfiguration#PROPERTY_BATCH_BUNDLE_THREADS})
+     */
+    public FHIRRestHelper(FHIRPersistence persistence, PersistenceHelper persistenceHelper) {
+        this.persistence = persistence;
+        this.persistenceHelper = persistenceHelper;
+    }
+
     @Override
     public FHIRRestOperationResponse doCreate(String type, Resource resource, String ifNoneExist,
             Map<String, String> requestProperties) throws Exception {
@@ -728,6 +763,143 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         }
     }
 
+    @Override
+    public List<Resource> doReadMany(List<ResourceKey> keys, boolean includeDeleted, Map<String, String> requestProperties)
+            throws Exception {
+        List<SingleResourceResult<? extends Resource>> results = readMany(keys, includeDeleted, requestProperties);
+        List<Resource> resources = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            resources.add(getReadResource(keys.get(i), results.get(i), false));
+        }
+        return resources;
+    }
+
+    /**
+     * Reads the most recent version of each of the passed resources with a single call to the persistence layer,
+     * invoking the 'beforeRead' and 'afterRead' interceptor methods for each of them just like doRead.
+     *
+     * @return a result for each of the passed keys (in the same order); a resource that is deleted has an
+     *         unsuccessful result
+     */
+    private List<SingleResourceResult<? extends Resource>> readMany(List<ResourceKey> keys, boolean includeDeleted,
+            Map<String, String> requestProperties) throws Exception {
+        log.entering(this.getClass().getName(), "readMany");
+
+        FHIRTransactionHelper txn = new FHIRTransactionHelper(getTransaction());
+
+        // Save the current request context.
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+
+        try {
+            // Start a new txn in the persistence layer if one is not already active.
+            txn.begin();
+
+            // First, invoke the 'beforeRead' interceptor methods.
+            List<FHIRPersistenceEvent> events = new ArrayList<>(keys.size());
+            for (ResourceKey key : keys) {
+                FHIRPersistenceEvent event = new FHIRPersistenceEvent(null,
+                        buildPersistenceEventProperties(key.getResourceType().getSimpleName(), key.getLogicalId(), null, requestProperties));
+                getInterceptorMgr().fireBeforeReadEvent(event);
+                events.add(event);
+            }
+
+            FHIRPersistenceContext persistenceContext =
+                    FHIRPersistenceContextFactory.createPersistenceContext(null, includeDeleted);
+            List<SingleResourceResult<? extends Resource>> results = persistence.readMany(persistenceContext, keys);
+
+            // Invoke the 'afterRead' interceptor methods for the resources that were read.
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).isSuccess()) {
+                    FHIRPersistenceEvent event = events.get(i);
+                    event.setFhirResource(results.get(i).getResource());
+                    getInterceptorMgr().fireAfterReadEvent(event);
+                }
+            }
+
+            // Commit our transaction if we started one before.
+            txn.commit();
+            txn = null;
+
+            return results;
+        } finally {
+            // Restore the original request context.
+            FHIRRequestContext.set(requestContext);
+
+            // If we previously started a transaction and it's still active, we need to rollback due to an error.
+            if (txn != null) {
+                txn.rollback();
+            }
+
+            log.exiting(this.getClass().getName(), "readMany");
+        }
+    }
+
+    /**
+     * @return the resource of the passed result of readMany
+     * @throws FHIRPersistenceResourceDeletedException if the resource is deleted
+     * @throws FHIRPersistenceResourceNotFoundException if the resource doesn't exist and throwExcOnNull is true
+     */
+    private Resource getReadResource(ResourceKey key, SingleResourceResult<? extends Resource> result, boolean throwExcOnNull)
+            throws FHIRPersistenceException {
+        if (!result.isSuccess()) {
+            throw new FHIRPersistenceResourceDeletedException("Resource '" + key + "' is deleted.");
+        }
+        if (result.getResource() == null && throwExcOnNull) {
+            throw new FHIRPersistenceResourceNotFoundException("Resource '" + key + "' not found.");
+        }
+        return result.getResource();
+    }
+
+    /**
+     * Completes a 'read' request whose resource was read ahead of time by prefetchReads, invoking the 'beforeRead' and
+     * 'afterRead' interceptor methods just like doRead.
+     *
+     * @return the resource of the passed result
+     * @throws FHIRPersistenceResourceDeletedException if the resource is deleted
+     * @throws FHIRPersistenceResourceNotFoundException if the resource doesn't exist
+     */
+    private Resource doPrefetchedRead(ResourceKey key, SingleResourceResult<? extends Resource> result) throws Exception {
+        log.entering(this.getClass().getName(), "doPrefetchedRead");
+
+        FHIRTransactionHelper txn = new FHIRTransactionHelper(getTransaction());
+
+        // Save the current request context.
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+
+        try {
+            // Start a new txn in the persistence layer if one is not already active.
+            txn.begin();
+
+            // First, invoke the 'beforeRead' interceptor methods.
+            FHIRPersistenceEvent event = new FHIRPersistenceEvent(null,
+                    buildPersistenceEventProperties(key.getResourceType().getSimpleName(), key.getLogicalId(), null, null));
+            getInterceptorMgr().fireBeforeReadEvent(event);
+
+            Resource resource = getReadResource(key, result, true);
+
+            event.setFhirResource(resource);
+
+            // Invoke the 'afterRead' interceptor methods.
+            getInterceptorMgr().fireAfterReadEvent(event);
+
+            // Commit our transaction if we started one before.
+            txn.commit();
+            txn = null;
+
+            return resource;
+        } finally {
+            // Restore the original request context.
+            FHIRRequestContext.set(requestContext);
+
+            // If we previously started a transaction and it's still active, we need to rollback due to an error.
+            if (txn != null) {
+                txn.rollback();
+            }
+
+            log.exiting(this.getClass().getName(), "doPrefetchedRead");
+        }
+    }
+
     /**
      * Performs a 'vread' operation by retrieving the specified version of a Resource.
      *
@@ -1070,6 +1242,41 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         }
     }
 
+    /**
+     * Processes a bundled request that is read one entry at a time.
+     *
+     * <p>The entries of a 'batch' request are independent of each other, so each entry is validated and processed as
+     * soon as it has been read and only the response entries are held in memory. Local references within a 'batch'
+     * request are resolved against the entries that precede the referencing entry. All other request bundles
+     * (including 'batch' requests whose 'type' element follows the entries) are read in full and then processed
+     * by {@link #doBundle(Bundle, Map)}.
+     *
+     * @param bundleReader
+     *            a reader for the request Bundle
+     * @param requestProperties
+     *            additional request properties which supplement the HTTP headers associated with this request
+     * @return the response Bundle
+     */
+    public Bundle doBundle(FHIRBundleReader bundleReader, Map<String, String> requestProperties) throws Exception {
+        log.entering(this.getClass().getName(), "doBundle(FHIRBundleReader)");
+
+        // Save the current request context.
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+
+        try {
+            BundleType bundleType = bundleReader.hasNext() ? bundleReader.getType() : null;
+            if (bundleType == null || bundleType.getValueAsEnumConstant() != BundleType.ValueSet.BATCH) {
+                return doBundle(bundleReader.getBundle(), requestProperties);
+            }
+            return processBatchEntries(bundleReader);
+        } finally {
+            // Restore the original request context.
+            FHIRRequestContext.set(requestContext);
+
+            log.exiting(this.getClass().getName(), "doBundle(FHIRBundleReader)");
+        }
+    }
+
     @Override
     public FHIRPersistenceTransaction getTransaction() throws Exception {
         return persistence.getTransaction();
@@ -1173,94 +1380,11 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
             List<Bundle.Entry> responseList = new ArrayList<Bundle.Entry>();
 
-            for (Bundle.Entry requestEntry : bundle.getEntry()) {
+            for (int i = 0; i < bundle.getEntry().size(); i++) {
                 // Create a corresponding response entry and add it to the response bundle.
-                Bundle.Entry.Response response;
-                Bundle.Entry responseEntry = null;
-
-                // Validate 'requestEntry' and update 'responseEntry' with any errors.
-                try {
-                    Bundle.Entry.Request request = requestEntry.getRequest();
-                    // Verify that the request field is present.
-                    if (request == null) {
-                        String msg = "Bundle.Entry is missing the 'request' field.";
-                        throw buildRestException(msg, IssueType.REQUIRED);
-                    }
-
-                    // Verify that a method was specified.
-                    if (request.getMethod() == null || request.getMethod().getValue() == null) {
-                        String msg = "Bundle.Entry.request is missing the 'method' field";
-                        throw buildRestException(msg, IssueType.REQUIRED);
-                    }
-
-                    // Verify that a URL was specified.
-                    if (request.getUrl() == null || request.getUrl().getValue() == null) {
-                        String msg = "Bundle.Entry.request is missing the 'url' field";
-                        throw buildRestException(msg, IssueType.REQUIRED);
-                    }
-
-                    // Retrieve the resource from the request entry to prepare for some validations below.
-                    Resource resource = requestEntry.getResource();
-
-                    // Validate the resource for the requested HTTP method.
-                    methodValidation(request.getMethod(), resource);
-
-                    // If the request entry contains a resource, then validate it now.
-                    if (resource != null) {
-                        List<OperationOutcome.Issue> issues =
-                                FHIRValidator.validator().validate(resource);
-                        if (!issues.isEmpty()) {
-                            if (anyFailureInIssues(issues)) {
-                                if (requestType == BundleType.ValueSet.TRANSACTION) {
-                                    issueList.addAll(issues);
-                                } else {
-                                    OperationOutcome oo = FHIRUtil.buildOperationOutcome(issues);
-                                    response = Bundle.Entry.Response.builder()
-                                                .status(string(Integer.toString(SC_BAD_REQUEST)))
-                                                .build();
-                                    responseEntry = Bundle.Entry.builder()
-                                                .response(response)
-                                                .resource(oo)
-                                                .build();
-                                }
-                            } else {
-                                response = Bundle.Entry.Response.builder()
-                                            .status(string(Integer.toString(SC_OK)))
-                                            .build();
-                                Bundle.Entry.Builder responseEntryBuilder = Bundle.Entry.builder().response(response);
-                                // Only add hints/warnings if the return preference was "OperationOutcome"
-                                if (HTTPReturnPreference.OPERATION_OUTCOME.equals(FHIRRequestContext.get().getReturnPreference())) {
-                                    OperationOutcome oo = FHIRUtil.buildOperationOutcome(issues);
-                                    responseEntryBuilder.resource(oo);
-                                }
-                                responseEntry = responseEntryBuilder.build();
-                            }
-                            continue;
-                        }
-                    }
-                    response =
-                            Bundle.Entry.Response.builder().status(string(Integer.toString(SC_OK))).build();
-                    responseEntry = Bundle.Entry.builder().response(response).build();
-                } catch (FHIROperationException e) {
-                    if (log.isLoggable(Level.FINE)) {
-                        log.log(Level.FINE, "Failed to process BundleEntry ["
-                                + bundle.getEntry().indexOf(requestEntry) + "]", e);
-                    }
-                    if (requestType == BundleType.ValueSet.TRANSACTION) {
-                        issueList.addAll(e.getIssues());
-                    } else {
-                        response = Bundle.Entry.Response.builder()
-                                .status(string(Integer.toString(SC_BAD_REQUEST)))
-                                .build();
-                        responseEntry = Bundle.Entry.builder()
-                                .response(response)
-                                .resource(FHIRUtil.buildOperationOutcome(e, false))
-                                .build();
-                    }
-                } finally {
-                    if (responseEntry != null) {
-                        responseList.add(responseEntry);
-                    }
+                Bundle.Entry responseEntry = validateBundleEntry(bundle.getEntry().get(i), i, requestType, issueList);
+                if (responseEntry != null) {
+                    responseList.add(responseEntry);
                 }
             } // End foreach requestEntry
 
@@ -1282,6 +1406,107 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         }
     }
 
+    /**
+     * Validates a single request entry and returns the corresponding response entry.
+     *
+     * @param requestEntry
+     *            the request entry to be validated
+     * @param entryIndex
+     *            the index of the request entry within the request bundle
+     * @param requestType
+     *            the type of the request bundle
+     * @param issueList
+     *            the list that validation issues are added to for 'transaction' bundle requests
+     * @return a response entry or null if the issues for this entry were added to the issueList
+     */
+    private Bundle.Entry validateBundleEntry(Bundle.Entry requestEntry, int entryIndex, BundleType.ValueSet requestType,
+            List<OperationOutcome.Issue> issueList) throws Exception {
+        Bundle.Entry.Response response;
+        Bundle.Entry responseEntry = null;
+
+        // Validate 'requestEntry' and update 'responseEntry' with any errors.
+        try {
+            Bundle.Entry.Request request = requestEntry.getRequest();
+            // Verify that the request field is present.
+            if (request == null) {
+                String msg = "Bundle.Entry is missing the 'request' field.";
+                throw buildRestException(msg, IssueType.REQUIRED);
+            }
+
+            // Verify that a method was specified.
+            if (request.getMethod() == null || request.getMethod().getValue() == null) {
+                String msg = "Bundle.Entry.request is missing the 'method' field";
+                throw buildRestException(msg, IssueType.REQUIRED);
+            }
+
+            // Verify that a URL was specified.
+            if (request.getUrl() == null || request.getUrl().getValue() == null) {
+                String msg = "Bundle.Entry.request is missing the 'url' field";
+                throw buildRestException(msg, IssueType.REQUIRED);
+            }
+
+            // Retrieve the resource from the request entry to prepare for some validations below.
+            Resource resource = requestEntry.getResource();
+
+            // Validate the resource for the requested HTTP method.
+            methodValidation(request.getMethod(), resource);
+
+            // If the request entry contains a resource, then validate it now.
+            if (resource != null) {
+                List<OperationOutcome.Issue> issues =
+                        FHIRValidator.validator().validate(resource);
+                if (!issues.isEmpty()) {
+                    if (anyFailureInIssues(issues)) {
+                        if (requestType == BundleType.ValueSet.TRANSACTION) {
+                            issueList.addAll(issues);
+                        } else {
+                            OperationOutcome oo = FHIRUtil.buildOperationOutcome(issues);
+                            response = Bundle.Entry.Response.builder()
+                                        .status(string(Integer.toString(SC_BAD_REQUEST)))
+                                        .build();
+                            responseEntry = Bundle.Entry.builder()
+                                        .response(response)
+                                        .resource(oo)
+                                        .build();
+                        }
+                    } else {
+                        response = Bundle.Entry.Response.builder()
+                                    .status(string(Integer.toString(SC_OK)))
+                                    .build();
+                        Bundle.Entry.Builder responseEntryBuilder = Bundle.Entry.builder().response(response);
+                        // Only add hints/warnings if the return preference was "OperationOutcome"
+                        if (HTTPReturnPreference.OPERATION_OUTCOME.equals(FHIRRequestContext.get().getReturnPreference())) {
+                            OperationOutcome oo = FHIRUtil.buildOperationOutcome(issues);
+                            responseEntryBuilder.resource(oo);
+                        }
+                        responseEntry = responseEntryBuilder.build();
+                    }
+                    return responseEntry;
+                }
+            }
+            response =
+                    Bundle.Entry.Response.builder().status(string(Integer.toString(SC_OK))).build();
+            responseEntry = Bundle.Entry.builder().response(response).build();
+        } catch (FHIROperationException e) {
+            if (log.isLoggable(Level.FINE)) {
+                log.log(Level.FINE, "Failed to process BundleEntry ["
+                        + entryIndex + "]", e);
+            }
+            if (requestType == BundleType.ValueSet.TRANSACTION) {
+                issueList.addAll(e.getIssues());
+            } else {
+                response = Bundle.Entry.Response.builder()
+                        .status(string(Integer.toString(SC_BAD_REQUEST)))
+                        .build();
+                responseEntry = Bundle.Entry.builder()
+                        .response(response)
+                        .resource(FHIRUtil.buildOperationOutcome(e, false))
+                        .build();
+            }
+        }
+        return responseEntry;
+    }
+
     /**
      * Perform method-specific validation of the resource
      */
@@ -1491,6 +1716,467 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         }
     }
 
+    /**
+     * Validates and processes each of the entries of a 'batch' request bundle as soon as it has been read, in the
+     * order of the request entries (unlike the entries of a 'transaction' request bundle, which are processed by
+     * method). If the request bundle cannot be read after some of its entries have been processed, their response
+     * entries are returned along with a response entry with status 400 for the error.
+     *
+     * <p>If more than one thread is configured for 'batch' requests, entries are processed in parallel where that
+     * gives the same results as processing them serially (see {@link BatchEntryProcessor}). The response entries are
+     * returned in the order of the request entries either way.
+     *
+     * @param bundleReader
+     *            a reader for the request bundle that is positioned before the first entry
+     * @return the response bundle
+     */
+    private Bundle processBatchEntries(FHIRBundleReader bundleReader) throws Exception {
+        log.entering(this.getClass().getName(), "processBatchEntries");
+
+        // Generate a request correlation id for this request bundle.
+        bundleRequestCorrelationId = UUID.randomUUID().toString();
+        log.fine("Processing request bundle, request-correlation-id=" + bundleRequestCorrelationId);
+
+        BatchEntryProcessor processor = null;
+        try {
+            int threads = FHIRConfigHelper.getIntProperty(FHIRConfiguration.PROPERTY_BATCH_BUNDLE_THREADS, 1);
+            ExecutorService executor = (threads > 1 && persistenceHelper != null) ? getBatchExecutor() : null;
+            processor = new BatchEntryProcessor(executor, threads, bundleRequestCorrelationId);
+            Bundle.Entry errorEntry = null;
+            try {
+                while (bundleReader.hasNext()) {
+                    processor.process(bundleReader.next());
+                }
+
+                // Reading the rest of the bundle also validates the elements that follow the entries.
+                // Any entries that could not be read one at a time are returned along with them.
+                for (Bundle.Entry requestEntry : bundleReader.getBundle().getEntry()) {
+                    processor.process(requestEntry);
+                }
+            } catch (FHIRParserException e) {
+                if (processor.isEmpty()) {
+                    throw e;
+                }
+                // The entries that have already been processed can't be undone, so their response entries are
+                // returned along with a response entry for the error (and the remaining entries are not processed).
+                log.log(Level.FINE, "Unable to read the rest of the request bundle", e);
+                errorEntry = Bundle.Entry.builder()
+                        .resource(FHIRUtil.buildOperationOutcome(Collections.singletonList(
+                            FHIRUtil.buildOperationOutcomeIssue(IssueSeverity.FATAL, IssueType.INVALID, e.getMessage(), e.getPath()))))
+                        .response(Bundle.Entry.Response.builder()
+                            .status(string(Integer.toString(SC_BAD_REQUEST)))
+                            .build())
+                        .build();
+            }
+            List<Bundle.Entry> responseEntries = processor.finish();
+            if (errorEntry != null) {
+                responseEntries.add(errorEntry);
+            }
+
+            return Bundle.builder().type(BundleType.BATCH_RESPONSE).entry(responseEntries).build();
+        } finally {
+            if (processor != null) {
+                processor.cancel();
+            }
+            log.fine("Finished processing request bundle, request-correlation-id="
+                    + bundleRequestCorrelationId);
+
+            // Clear the correlation id field since we're done processing the bundle.
+            bundleRequestCorrelationId = null;
+
+            log.exiting(this.getClass().getName(), "processBatchEntries");
+        }
+    }
+
+    /**
+     * Processes the entries of a 'batch' request bundle one at a time, in the order in which they are passed, with
+     * the same results whether or not an executor is used to process some of them in parallel:
+     * <ul>
+     * <li>'read' requests are deferred so that the resources of consecutive 'read' requests can be read with a single
+     * call; no other request is processed in between.
+     * <li>create, update, patch and delete requests are processed in parallel with the preceding ones, unless they
+     * target the same resource or local identifier as one of them, contain a reference to one of their targets or
+     * are the target of a reference that one of them contains.
+     * <li>all other requests (e.g. searches, conditional requests and custom operations) are processed once all
+     * preceding requests have finished.
+     * </ul>
+     * Each entry that is processed in parallel is processed on a thread with its own request context and persistence
+     * implementation (and therefore its own persistence transaction). At most 'threads' entries are processed at the
+     * same time and the next entry is only passed once one of them has finished.
+     */
+    private class BatchEntryProcessor {
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final String correlationId;
+        private final FHIRRequestContext requestContext = FHIRRequestContext.get();
+        // Each FHIRPersistence instance (and each helper) is used by one thread at a time.
+        private final ConcurrentLinkedQueue<FHIRRestHelper> helpers = new ConcurrentLinkedQueue<>();
+        private final Map<String, String> localRefMap = new ConcurrentHashMap<>();
+
+        // The response entries so far; the entries that are still being processed are null.
+        private final List<Bundle.Entry> responseEntries = new ArrayList<>();
+        private final List<Bundle.Entry> pendingReads = new ArrayList<>();
+
+        // The entries that are being processed in parallel, keyed by entry index, and their targets and references.
+        private final Map<Integer, Future<Bundle.Entry>> inFlight = new HashMap<>();
+        private final Set<String> inFlightTargets = new HashSet<>();
+        private final Set<String> inFlightReferences = new HashSet<>();
+
+        /**
+         * @param executor
+         *            the executor that processes entries in parallel, or null to process all of them on this thread
+         * @param threads
+         *            the maximum number of entries that are processed at the same time
+         * @param correlationId
+         *            the correlation id of the request bundle
+         */
+        BatchEntryProcessor(ExecutorService executor, int threads, String correlationId) {
+            this.executor = executor;
+            this.permits = new Semaphore(threads);
+            this.correlationId = correlationId;
+        }
+
+        /**
+         * Processes, defers or starts processing the passed request entry.
+         */
+        void process(Bundle.Entry requestEntry) throws Exception {
+            if (getReadKey(requestEntry) != null) {
+                pendingReads.add(requestEntry);
+                if (pendingReads.size() >= MAX_BATCH_READS) {
+                    flush();
+                }
+                return;
+            }
+
+            Set<String> targets = (executor != null) ? getWriteTargets(requestEntry) : null;
+            Set<String> references = (targets != null) ? getReferences(requestEntry) : null;
+            if (targets == null || !pendingReads.isEmpty() || !Collections.disjoint(targets, inFlightTargets)
+                    || !Collections.disjoint(targets, inFlightReferences) || !Collections.disjoint(references, inFlightTargets)) {
+                flush();
+            }
+            if (targets == null) {
+                responseEntries.add(processBatchEntry(requestEntry, responseEntries.size(), localRefMap, correlationId));
+            } else {
+                submit(requestEntry, targets, references);
+            }
+        }
+
+        /**
+         * @return true if no entries have been passed
+         */
+        boolean isEmpty() {
+            return responseEntries.isEmpty() && pendingReads.isEmpty();
+        }
+
+        /**
+         * Waits for the processing of all passed entries to finish.
+         *
+         * @return the response entries in the order of the request entries
+         */
+        List<Bundle.Entry> finish() throws Exception {
+            flush();
+            return responseEntries;
+        }
+
+        /**
+         * Cancels the processing of any entries that have not finished.
+         */
+        void cancel() {
+            for (Future<Bundle.Entry> future : inFlight.values()) {
+                future.cancel(true);
+            }
+            inFlight.clear();
+        }
+
+        /**
+         * Waits for the entries that are being processed in parallel and then processes the deferred 'read' requests.
+         */
+        private void flush() throws Exception {
+            for (Map.Entry<Integer, Future<Bundle.Entry>> entry : inFlight.entrySet()) {
+                try {
+                    responseEntries.set(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    // Entry-level failures are already part of the response entry, so this is an unexpected error
+                    // which fails the whole request just like it does when the entries are processed serially.
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+            inFlight.clear();
+            inFlightTargets.clear();
+            inFlightReferences.clear();
+            processBatchReads(pendingReads, responseEntries, localRefMap, correlationId);
+        }
+
+        private void submit(Bundle.Entry requestEntry, Set<String> targets, Set<String> references) throws Exception {
+            int entryIndex = responseEntries.size();
+            permits.acquire();
+            Future<Bundle.Entry> future;
+            try {
+                future = executor.submit(() -> {
+                    FHIRRequestContext threadContext = FHIRRequestContext.get();
+                    try {
+                        FHIRRequestContext.set(new FHIRRequestContext(requestContext));
+                        FHIRRestHelper helper = helpers.poll();
+                        if (helper == null) {
+                            helper = new FHIRRestHelper(persistenceHelper.getFHIRPersistenceImplementation(), persistenceHelper);
+                        }
+                        try {
+                            return helper.processBatchEntry(requestEntry, entryIndex, localRefMap, correlationId);
+                        } finally {
+                            helpers.offer(helper);
+                        }
+                    } finally {
+                        FHIRRequestContext.set(threadContext);
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            responseEntries.add(null);
+            inFlight.put(entryIndex, future);
+            inFlightTargets.addAll(targets);
+            inFlightReferences.addAll(references);
+        }
+    }
+
+    /**
+     * @return the resource type and id (for update, patch and delete requests) and the local identifier (if any) of
+     *         the passed request entry if it is an unconditional create, update, patch or delete request, or null otherwise
+     */
+    private Set<String> getWriteTargets(Bundle.Entry requestEntry) {
+        Bundle.Entry.Request request = requestEntry.getRequest();
+        if (request == null || request.getMethod() == null || request.getUrl() == null || request.getUrl().getValue() == null) {
+            return null;
+        }
+        FHIRUrlParser requestURL = new FHIRUrlParser(request.getUrl().getValue());
+        String[] pathTokens = requestURL.getPathTokens();
+        if (requestURL.getQuery() != null || pathTokens == null || pathTokens.length == 0
+                || pathTokens[pathTokens.length - 1].startsWith("$")) {
+            return null;
+        }
+
+        Set<String> targets = new HashSet<>();
+        if (HTTPVerb.POST.equals(request.getMethod())) {
+            if (pathTokens.length != 1 || request.getIfNoneExist() != null) {
+                return null;
+            }
+        } else if (HTTPVerb.PUT.equals(request.getMethod()) || HTTPVerb.PATCH.equals(request.getMethod())
+                || HTTPVerb.DELETE.equals(request.getMethod())) {
+            if (pathTokens.length != 2) {
+                return null;
+            }
+            targets.add(pathTokens[0] + "/" + pathTokens[1]);
+        } else {
+            return null;
+        }
+        if (requestEntry.getFullUrl() != null && requestEntry.getFullUrl().getValue() != null) {
+            targets.add(requestEntry.getFullUrl().getValue());
+        }
+        return targets;
+    }
+
+    /**
+     * @return the values of the references contained in the resource of the passed request entry
+     */
+    private Set<String> getReferences(Bundle.Entry requestEntry) {
+        Set<String> references = new HashSet<>();
+        if (requestEntry.getResource() != null) {
+            requestEntry.getResource().accept(new DefaultVisitor(true) {
+                @Override
+                public boolean visit(String elementName, int elementIndex, Reference reference) {
+                    if (reference.getReference() != null && reference.getReference().getValue() != null) {
+                        references.add(reference.getReference().getValue());
+                    }
+                    return true;
+                }
+            });
+        }
+        return references;
+    }
+
+    /**
+     * @return the executor for processing the entries of 'batch' requests in parallel, or null if it's not available
+     */
+    protected ExecutorService getBatchExecutor() {
+        return BatchExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Looks up the executor for processing the entries of 'batch' requests in parallel once, on first use.
+     */
+    private static class BatchExecutorHolder {
+        private static final ExecutorService EXECUTOR = lookupBatchExecutor();
+    }
+
+    private static ExecutorService lookupBatchExecutor() {
+        try {
+            return (ExecutorService) new InitialContext().lookup(BATCH_EXECUTOR_JNDI_NAME);
+        } catch (NamingException e) {
+            log.warning("Unable to look up '" + BATCH_EXECUTOR_JNDI_NAME + "', processing the entries of batch requests serially: "
+                    + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Validates and processes a single entry of a 'batch' request bundle.
+     *
+     * @param requestEntry
+     *            the request entry
+     * @param entryIndex
+     *            the index of the request entry within the request bundle
+     * @param localRefMap
+     *            the local reference mappings of the entries that have been processed so far
+     * @param bundleRequestCorrelationId
+     *            the correlation id of the request bundle
+     * @return the response entry
+     */
+    private Bundle.Entry processBatchEntry(Bundle.Entry requestEntry, int entryIndex, Map<String, String> localRefMap,
+            String bundleRequestCorrelationId) throws Exception {
+        Bundle.Entry responseEntry = validateBundleEntry(requestEntry, entryIndex, BundleType.ValueSet.BATCH, null);
+
+        // Entries that failed validation are not processed.
+        if (!responseEntry.getResponse().getStatus().equals(string(Integer.toString(SC_OK)))) {
+            return responseEntry;
+        }
+
+        // For PUT (update) requests, the local identifier can be resolved ahead of time
+        // since the resource's id must already be contained in the resource within the request entry.
+        if (requestEntry.getRequest().getMethod().equals(HTTPVerb.PUT)) {
+            String localIdentifier = retrieveLocalIdentifier(requestEntry, localRefMap);
+            if (localIdentifier != null) {
+                addLocalRefMapping(localRefMap, localIdentifier, requestEntry.getResource());
+            }
+        }
+
+        return processEntry(requestEntry, responseEntry, entryIndex, false, localRefMap, bundleRequestCorrelationId, null);
+    }
+
+    /**
+     * Validates and processes the deferred 'read' request entries of a 'batch' request bundle (if any), reading their
+     * resources with a single call.
+     *
+     * @param pendingReads
+     *            the 'read' request entries that have been deferred; the list is cleared
+     * @param responseEntries
+     *            the response entries of the entries that have been processed so far
+     */
+    private void processBatchReads(List<Bundle.Entry> pendingReads, List<Bundle.Entry> responseEntries,
+            Map<String, String> localRefMap, String bundleRequestCorrelationId) throws Exception {
+        if (pendingReads.isEmpty()) {
+            return;
+        }
+        int firstEntryIndex = responseEntries.size();
+
+        List<Bundle.Entry> validatedEntries = new ArrayList<>(pendingReads.size());
+        List<Integer> validIndices = new ArrayList<>();
+        for (int i = 0; i < pendingReads.size(); i++) {
+            Bundle.Entry responseEntry =
+                    validateBundleEntry(pendingReads.get(i), firstEntryIndex + i, BundleType.ValueSet.BATCH, null);
+            validatedEntries.add(responseEntry);
+            // Entries that failed validation are not processed.
+            if (responseEntry.getResponse().getStatus().equals(string(Integer.toString(SC_OK)))) {
+                validIndices.add(i);
+            }
+        }
+
+        Map<Integer, SingleResourceResult<? extends Resource>> prefetchedReads = prefetchReads(pendingReads, validIndices);
+        for (int i = 0; i < pendingReads.size(); i++) {
+            Bundle.Entry responseEntry = validatedEntries.get(i);
+            if (validIndices.contains(i)) {
+                responseEntry = processEntry(pendingReads.get(i), responseEntry, firstEntryIndex + i, false, localRefMap,
+                        bundleRequestCorrelationId, prefetchedReads.get(i));
+            }
+            responseEntries.add(responseEntry);
+        }
+        pendingReads.clear();
+    }
+
+    /**
+     * Reads the resources of the 'read' requests among the specified request entries with a single call to the
+     * persistence layer. No interceptor methods are invoked; they are invoked for each entry when its result is used
+     * (see {@link #doPrefetchedRead(ResourceKey, SingleResourceResult)}).
+     *
+     * <p>The resources are only read ahead of time in a transaction of their own: within an active transaction, a
+     * failure of the bulk read would mark that transaction for rollback, so the entries are read one at a time instead.
+     *
+     * @param requestEntries
+     *            the request entries
+     * @param entryIndices
+     *            the indices of the request entries to consider
+     * @return the result of reading the resource of each of the 'read' request entries, keyed by entry index, or an
+     *         empty map if they could not be read in bulk
+     */
+    private Map<Integer, SingleResourceResult<? extends Resource>> prefetchReads(List<Bundle.Entry> requestEntries,
+            List<Integer> entryIndices) throws Exception {
+        FHIRPersistenceTransaction transaction = getTransaction();
+        if (transaction != null && transaction.isActive()) {
+            return Collections.emptyMap();
+        }
+
+        List<Integer> readIndices = new ArrayList<>();
+        List<ResourceKey> keys = new ArrayList<>();
+        for (Integer entryIndex : entryIndices) {
+            ResourceKey key = getReadKey(requestEntries.get(entryIndex));
+            if (key != null) {
+                readIndices.add(entryIndex);
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<SingleResourceResult<? extends Resource>> results;
+        FHIRTransactionHelper txn = new FHIRTransactionHelper(transaction);
+        try {
+            txn.begin();
+            results = persistence.readMany(FHIRPersistenceContextFactory.createPersistenceContext(null, false), keys);
+            txn.commit();
+            txn = null;
+        } catch (Exception e) {
+            // Fall back to reading the resources one at a time, so that the error is reported for the entries it
+            // applies to rather than for all of them.
+            log.log(Level.FINE, "Unable to read the resources of the 'read' requests in bulk", e);
+            return Collections.emptyMap();
+        } finally {
+            if (txn != null) {
+                txn.rollback();
+            }
+        }
+        Map<Integer, SingleResourceResult<? extends Resource>> prefetchedReads = new HashMap<>();
+        for (int i = 0; i < readIndices.size(); i++) {
+            prefetchedReads.put(readIndices.get(i), results.get(i));
+        }
+        return prefetchedReads;
+    }
+
+    /**
+     * @return the resource type and id of the resource that is read by the passed request entry, or null if it is
+     *         not a 'read' request for a concrete resource type
+     */
+    private ResourceKey getReadKey(Bundle.Entry requestEntry) {
+        Bundle.Entry.Request request = requestEntry.getRequest();
+        if (request == null || !HTTPVerb.GET.equals(request.getMethod()) || request.getUrl() == null
+                || request.getUrl().getValue() == null || request.getUrl().getValue().isEmpty()) {
+            return null;
+        }
+        String[] pathTokens = new FHIRUrlParser(request.getUrl().getValue()).getPathTokens();
+        if (pathTokens == null || pathTokens.length != 2 || pathTokens[1].startsWith("$")) {
+            return null;
+        }
+        Class<? extends Resource> resourceType = getResourceType(pathTokens[0]);
+        if (resourceType == null || Modifier.isAbstract(resourceType.getModifiers())) {
+            return null;
+        }
+        return new ResourceKey(resourceType, pathTokens[1]);
+    }
+
     /**
      * Processes request entries in the specified request bundle whose method matches 'httpMethod'.
      *
@@ -1548,6 +2234,13 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                 }
             }
 
+            // Next, for GET requests, read the resources of all the 'read' requests with a single call (unless they
+            // are processed within a transaction).
+            Map<Integer, SingleResourceResult<? extends Resource>> prefetchedReads = Collections.emptyMap();
+            if (httpMethod.equals(HTTPVerb.GET)) {
+                prefetchedReads = prefetchReads(requestBundle.getEntry(), entryIndices);
+            }
+
             // Now visit each of the request entries using the list of indices obtained above.
             // Use hashmap to store both the index and the according updated response bundle entry.
             HashMap<Integer, Bundle.Entry> responseIndexAndEntries =
@@ -1555,377 +2248,402 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
             for (Integer entryIndex : entryIndices) {
                 Bundle.Entry requestEntry = requestBundle.getEntry().get(entryIndex);
                 Bundle.Entry responseEntry = responseBundle.getEntry().get(entryIndex);
-                Bundle.Entry.Builder responseEntryBuilder = responseEntry.toBuilder();
+                responseIndexAndEntries.put(entryIndex, processEntry(requestEntry, responseEntry, entryIndex, failFast,
+                        localRefMap, bundleRequestCorrelationId, prefetchedReads.get(entryIndex)));
+            } // end foreach entry
+
+            // Now, let's re-construct the responseBundle
+            responseBundle = reconstructResponseBundle(responseBundle, responseIndexAndEntries);
+            return responseBundle;
 
-                Bundle.Entry.Request request = requestEntry.getRequest();
-                Bundle.Entry.Response response = responseEntry.getResponse();
+        } finally {
+            log.exiting(this.getClass().getName(), "processEntriesForMethod");
+        }
+    }
 
-                StringBuffer requestDescription = new StringBuffer();
-                long initialTime = System.currentTimeMillis();
-                try {
-                    FHIRUrlParser requestURL = new FHIRUrlParser(request.getUrl().getValue());
-
-                    String path = requestURL.getPath();
-                    String query = requestURL.getQuery();
-                    if (log.isLoggable(Level.FINER)) {
-                        log.finer("Processing bundle request entry " + entryIndex + "; method="
-                                + request.getMethod().getValue() + ", url="
-                                + request.getUrl().getValue());
-                        log.finer("--> path: " + path);
-                        log.finer("--> query: " + query);
-                    }
+    /**
+     * Processes a single request entry and returns the corresponding response entry.
+     *
+     * @param requestEntry
+     *            the request entry
+     * @param responseEntry
+     *            the response entry that was created for the request entry during validation
+     * @param entryIndex
+     *            the index of the request entry within the request bundle
+     * @param prefetchedRead
+     *            the result of reading the resource of a 'read' request entry ahead of time via readMany, or null
+     */
+    private Bundle.Entry processEntry(Bundle.Entry requestEntry, Bundle.Entry responseEntry, int entryIndex,
+            boolean failFast, Map<String, String> localRefMap, String bundleRequestCorrelationId,
+            SingleResourceResult<? extends Resource> prefetchedRead) throws Exception {
+        Bundle.Entry.Builder responseEntryBuilder = responseEntry.toBuilder();
+        Bundle.Entry processedEntry = null;
 
-                    // Log our initial info message for this request.
-                    requestDescription.append("entryIndex:[");
-                    requestDescription.append(entryIndex);
-                    requestDescription.append("] correlationId:[");
-                    requestDescription.append(bundleRequestCorrelationId);
-                    requestDescription.append("] method:[");
-                    requestDescription.append(request.getMethod().getValue());
-                    requestDescription.append("] uri:[");
-                    requestDescription.append(request.getUrl().getValue());
-                    requestDescription.append("]");
-                    log.info("Received bundle request: " + requestDescription.toString());
-
-                    String[] pathTokens = requestURL.getPathTokens();
-                    MultivaluedMap<String, String> queryParams = requestURL.getQueryParameters();
-
-                    // Construct the absolute requestUri to be used for any response bundles associated
-                    // with history and search requests.
-                    String absoluteUri =
-                            getAbsoluteUri(getRequestUri(), request.getUrl().getValue());
-
-                    if (request.getMethod().equals(HTTPVerb.GET)) {
-                        Resource resource = null;
-                        int httpStatus = SC_OK;
-
-                        // Process a GET (read, vread, history, search, etc.).
-                        // Determine the type of request from the path tokens.
-                        if (pathTokens.length > 0
-                                && pathTokens[pathTokens.length - 1].startsWith("$")) {
-                            // This is a custom operation request
-
-                            // Chop off the '$' and save the name
-                            String operationName = pathTokens[pathTokens.length - 1].substring(1);
-
-                            // FHIROperationContext operationContext;
-                            switch (pathTokens.length) {
-                            case 1: {
-                                FHIROperationContext operationContext =
-                                        FHIROperationContext.createSystemOperationContext();
-                                resource =
-                                        doInvoke(operationContext, null, null, null, operationName, null, queryParams, null);
-                            }
-                                break;
-                            case 2: {
-                                FHIROperationContext operationContext =
-                                        FHIROperationContext.createResourceTypeOperationContext();
-                                resource =
-                                        doInvoke(operationContext, pathTokens[0], null, null, operationName, null, queryParams, null);
-                            }
-                                break;
-                            case 3: {
-                                FHIROperationContext operationContext =
-                                        FHIROperationContext.createInstanceOperationContext();
-                                resource =
-                                        doInvoke(operationContext, pathTokens[0], pathTokens[1], null, operationName, null, queryParams, null);
-                            }
-                                break;
-                            default:
-                                String msg = "Invalid URL for custom operation '"
-                                        + pathTokens[pathTokens.length - 1] + "'";
-                                throw buildRestException(msg, IssueType.NOT_FOUND);
-                            }
-                        } else if (pathTokens.length == 1) {
-                            // This is a 'search' request.
-                            if ("_search".equals(pathTokens[0])) {
-                                resource =
-                                        doSearch("Resource", null, null, queryParams, absoluteUri, null, null);
-                            } else {
-                                resource =
-                                        doSearch(pathTokens[0], null, null, queryParams, absoluteUri, null, null);
-                            }
-                        } else if (pathTokens.length == 2) {
-                            // This is a 'read' request.
-                            resource =
-                                    doRead(pathTokens[0], pathTokens[1], true, false, null, null);
-                        } else if (pathTokens.length == 3) {
-                            if ("_history".equals(pathTokens[2])) {
-                                // This is a 'history' request.
-                                resource =
-                                        doHistory(pathTokens[0], pathTokens[1], queryParams, absoluteUri, null);
-                            } else {
-                                // This is a compartment based search
-                                resource =
-                                        doSearch(pathTokens[2], pathTokens[0], pathTokens[1], queryParams, absoluteUri, null, null);
-                            }
-                        } else if (pathTokens.length == 4 && pathTokens[2].equals("_history")) {
-                            // This is a 'vread' request.
-                            resource = doVRead(pathTokens[0], pathTokens[1], pathTokens[3], null);
-                        } else {
-                            String msg = "Unrecognized path in request URL: " + path;
-                            throw buildRestException(msg, IssueType.NOT_FOUND);
-                        }
+        Bundle.Entry.Request request = requestEntry.getRequest();
+        Bundle.Entry.Response response = responseEntry.getResponse();
 
-                        // Save the results of the operation in the bundle response field.
-                        Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                        responseBuilder.status(string(Integer.toString(httpStatus)));
-                        setBundleResponseStatus(response, httpStatus, requestDescription.toString(), initialTime);
-
-                        responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(resource).response(responseBuilder.build()).build());
-                    } else if (request.getMethod().equals(HTTPVerb.POST)) {
-                        // Process a POST (create or search, or custom operation).
-                        if (pathTokens.length > 0
-                                && pathTokens[pathTokens.length - 1].startsWith("$")) {
-                            // This is a custom operation request
-
-                            // Chop off the '$' and save the name
-                            String operationName = pathTokens[pathTokens.length - 1].substring(1);
-
-                            // Retrieve the resource from the request entry.
-                            Resource resource = requestEntry.getResource();
-
-                            FHIROperationContext operationContext;
-                            Resource result;
-                            switch (pathTokens.length) {
-                            case 1:
-                                operationContext =
-                                        FHIROperationContext.createSystemOperationContext();
-                                result = doInvoke(operationContext, null, null, null, operationName, resource, queryParams, null);
-                                break;
-                            case 2:
-                                operationContext =
-                                        FHIROperationContext.createResourceTypeOperationContext();
-                                result = doInvoke(operationContext, pathTokens[0], null, null, operationName, resource, queryParams, null);
-                                break;
-                            case 3:
-                                operationContext =
-                                        FHIROperationContext.createInstanceOperationContext();
-                                result = doInvoke(operationContext, pathTokens[0], pathTokens[1], null, operationName, resource, queryParams, null);
-                                break;
-                            default:
-                                String msg = "Invalid URL for custom operation '"
-                                        + pathTokens[pathTokens.length - 1] + "'";
-                                throw buildRestException(msg, IssueType.NOT_FOUND);
-                            }
-
-                            Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                            // Add warning and hint issues to response outcome if any.
-                            if (result instanceof OperationOutcome) {
-                                if (((OperationOutcome) result).getIssue() != null) {
-                                    responseBuilder.outcome(result);
-                                }
-                            }
-
-                            responseBuilder.status(string(Integer.toString(SC_OK)));
-                            responseIndexAndEntries.put(entryIndex, responseEntryBuilder
-                                    .resource(result)
-                                    .response(responseBuilder.build())
-                                    .build());
-                            setBundleResponseStatus(response, SC_OK, requestDescription.toString(), initialTime);
-
-                        } else if (pathTokens.length == 2 && "_search".equals(pathTokens[1])) {
-                            // This is a 'search' request.
-                            Bundle searchResults =
-                                    doSearch(pathTokens[0], null, null, queryParams, absoluteUri, null, null);
-
-                            // Save the results of the operation in the bundle response field.
-                            Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                            responseBuilder.status(string(Integer.toString(SC_OK)));
-
-                            responseIndexAndEntries.put(entryIndex, responseEntryBuilder
-                                    .resource(searchResults)
-                                    .response(responseBuilder.build())
-                                    .build());
-
-                            setBundleResponseStatus(response, SC_OK, requestDescription.toString(), initialTime);
-                        } else if (pathTokens.length == 1) {
-                            // This is a 'create' request.
-
-                            // Retrieve the local identifier from the request entry (if present).
-                            String localIdentifier =
-                                    retrieveLocalIdentifier(requestEntry, localRefMap);
-
-                            // Retrieve the resource from the request entry.
-                            Resource resource = requestEntry.getResource();
-                            if (resource == null) {
-                                String msg =
-                                        "BundleEntry.resource is required for bundled create requests.";
-                                throw buildRestException(msg, IssueType.NOT_FOUND);
-                            }
-
-                            // Convert any local references found within the resource to their
-                            // corresponding external reference.
-
-                            ReferenceMappingVisitor<Resource> visitor =
-                                    new ReferenceMappingVisitor<Resource>(localRefMap);
-                            resource.accept(visitor);
-                            resource = visitor.getResult();
-
-                            // Perform the 'create' operation.
-                            String ifNoneExist = request.getIfNoneExist() != null
-                                    ? request.getIfNoneExist().getValue() : null;
-                            FHIRRestOperationResponse ior =
-                                    doCreate(pathTokens[0], resource, ifNoneExist, null);
-
-                            // Get the updated resource from FHIRRestOperationResponse which has the correct ID, meta
-                            // etc.
-                            resource = ior.getResource();
-
-                            // Process and replace bundler Entry
-                            Bundle.Entry resultEntry = setBundleResponseFields(responseEntry, resource, ior.getOperationOutcome(),
-                                    ior.getLocationURI(), ior.getStatus().getStatusCode(), requestDescription.toString(), initialTime);
-
-                            responseIndexAndEntries.put(entryIndex, resultEntry);
-
-                            // Next, if a local identifier was present, we'll need to map this to the
-                            // correct external identifier (e.g. Patient/12345).
-                            addLocalRefMapping(localRefMap, localIdentifier, resource);
-                        } else {
-                            String msg =
-                                    "Request URL for bundled create requests should have a path with exactly one token (<resourceType>).";
-                            throw buildRestException(msg, IssueType.NOT_FOUND);
-                        }
-                    } else if (request.getMethod().equals(HTTPVerb.PUT)) {
-                        String type = null;
-                        String id = null;
-
-                        // Process a PUT (update).
-                        if (pathTokens.length == 1) {
-                            // A single-part url would be a conditional update: <type>?<query>
-                            type = pathTokens[0];
-                            if (query == null || query.isEmpty()) {
-                                String msg =
-                                        "A search query string is required for a conditional update operation.";
-                                throw buildRestException(msg, IssueType.INVALID);
-                            }
-                        } else if (pathTokens.length == 2) {
-                            // A two-part url would be a normal update: <type>/<id>.
-                            type = pathTokens[0];
-                            id = pathTokens[1];
-                        } else {
-                            // A url with any other pattern is an error.
-                            String msg = "Request URL for bundled PUT request should have path part with either one or two tokens "
-                                    + "(<resourceType> or <resourceType>/<id>).";
-                            throw buildRestException(msg, IssueType.INVALID);
-                        }
+        StringBuffer requestDescription = new StringBuffer();
+        long initialTime = System.currentTimeMillis();
+        try {
+            FHIRUrlParser requestURL = new FHIRUrlParser(request.getUrl().getValue());
 
-                        // Retrieve the resource from the request entry.
-                        Resource resource = requestEntry.getResource();
+            String path = requestURL.getPath();
+            String query = requestURL.getQuery();
+            if (log.isLoggable(Level.FINER)) {
+                log.finer("Processing bundle request entry " + entryIndex + "; method="
+                        + request.getMethod().getValue() + ", url="
+                        + request.getUrl().getValue());
+                log.finer("--> path: " + path);
+                log.finer("--> query: " + query);
+            }
+
+            // Log our initial info message for this request.
+            requestDescription.append("entryIndex:[");
+            requestDescription.append(entryIndex);
+            requestDescription.append("] correlationId:[");
+            requestDescription.append(bundleRequestCorrelationId);
+            requestDescription.append("] method:[");
+            requestDescription.append(request.getMethod().getValue());
+            requestDescription.append("] uri:[");
+            requestDescription.append(request.getUrl().getValue());
+            requestDescription.append("]");
+            log.info("Received bundle request: " + requestDescription.toString());
+
+            String[] pathTokens = requestURL.getPathTokens();
+            MultivaluedMap<String, String> queryParams = requestURL.getQueryParameters();
+
+            // Construct the absolute requestUri to be used for any response bundles associated
+            // with history and search requests.
+            String absoluteUri =
+                    getAbsoluteUri(getRequestUri(), request.getUrl().getValue());
+
+            if (request.getMethod().equals(HTTPVerb.GET)) {
+                Resource resource = null;
+                int httpStatus = SC_OK;
+
+                // Process a GET (read, vread, history, search, etc.).
+                // Determine the type of request from the path tokens.
+                if (pathTokens.length > 0
+                        && pathTokens[pathTokens.length - 1].startsWith("$")) {
+                    // This is a custom operation request
+
+                    // Chop off the '$' and save the name
+                    String operationName = pathTokens[pathTokens.length - 1].substring(1);
+
+                    // FHIROperationContext operationContext;
+                    switch (pathTokens.length) {
+                    case 1: {
+                        FHIROperationContext operationContext =
+                                FHIROperationContext.createSystemOperationContext();
+                        resource =
+                                doInvoke(operationContext, null, null, null, operationName, null, queryParams, null);
+                    }
+                        break;
+                    case 2: {
+                        FHIROperationContext operationContext =
+                                FHIROperationContext.createResourceTypeOperationContext();
+                        resource =
+                                doInvoke(operationContext, pathTokens[0], null, null, operationName, null, queryParams, null);
+                    }
+                        break;
+                    case 3: {
+                        FHIROperationContext operationContext =
+                                FHIROperationContext.createInstanceOperationContext();
+                        resource =
+                                doInvoke(operationContext, pathTokens[0], pathTokens[1], null, operationName, null, queryParams, null);
+                    }
+                        break;
+                    default:
+                        String msg = "Invalid URL for custom operation '"
+                                + pathTokens[pathTokens.length - 1] + "'";
+                        throw buildRestException(msg, IssueType.NOT_FOUND);
+                    }
+                } else if (pathTokens.length == 1) {
+                    // This is a 'search' request.
+                    if ("_search".equals(pathTokens[0])) {
+                        resource =
+                                doSearch("Resource", null, null, queryParams, absoluteUri, null, null);
+                    } else {
+                        resource =
+                                doSearch(pathTokens[0], null, null, queryParams, absoluteUri, null, null);
+                    }
+                } else if (pathTokens.length == 2) {
+                    // This is a 'read' request.
+                    if (prefetchedRead != null) {
+                        resource = doPrefetchedRead(getReadKey(requestEntry), prefetchedRead);
+                    } else {
+                        resource =
+                                doRead(pathTokens[0], pathTokens[1], true, false, null, null);
+                    }
+                } else if (pathTokens.length == 3) {
+                    if ("_history".equals(pathTokens[2])) {
+                        // This is a 'history' request.
+                        resource =
+                                doHistory(pathTokens[0], pathTokens[1], queryParams, absoluteUri, null);
+                    } else {
+                        // This is a compartment based search
+                        resource =
+                                doSearch(pathTokens[2], pathTokens[0], pathTokens[1], queryParams, absoluteUri, null, null);
+                    }
+                } else if (pathTokens.length == 4 && pathTokens[2].equals("_history")) {
+                    // This is a 'vread' request.
+                    resource = doVRead(pathTokens[0], pathTokens[1], pathTokens[3], null);
+                } else {
+                    String msg = "Unrecognized path in request URL: " + path;
+                    throw buildRestException(msg, IssueType.NOT_FOUND);
+                }
 
-                        // Convert any local references found within the resource to their
-                        // corresponding external reference.
-                        ReferenceMappingVisitor<Resource> visitor =
-                                new ReferenceMappingVisitor<Resource>(localRefMap);
-                        resource.accept(visitor);
-                        resource = visitor.getResult();
-
-                        // Perform the 'update' operation.
-                        String ifMatchBundleValue = null;
-                        if (request.getIfMatch() != null) {
-                            ifMatchBundleValue = request.getIfMatch().getValue();
-                        }
-                        FHIRRestOperationResponse ior =
-                                doUpdate(type, id, resource, ifMatchBundleValue, query, null);
-
-                        // Process and replace bundler Entry
-                        Bundle.Entry resultEntry = setBundleResponseFields(responseEntry, ior.getResource(), ior.getOperationOutcome(),
-                                ior.getLocationURI(), ior.getStatus().getStatusCode(), requestDescription.toString(), initialTime);
-
-                        responseIndexAndEntries.put(entryIndex, resultEntry);
-
-                    } else if (request.getMethod().equals(HTTPVerb.DELETE)) {
-                        String type = null;
-                        String id = null;
-
-                        // Process a DELETE.
-                        if (pathTokens.length == 1) {
-                            // A single-part url would be a conditional delete: <type>?<query>
-                            type = pathTokens[0];
-                            if (query == null || query.isEmpty()) {
-                                String msg =
-                                        "A search query string is required for a conditional delete operation.";
-                                throw buildRestException(msg, IssueType.INVALID);
-                            }
-                        } else if (pathTokens.length == 2) {
-                            type = pathTokens[0];
-                            id = pathTokens[1];
-                        } else {
-                            String msg = "Request URL for bundled DELETE request should have path part with one or two tokens "
-                                    + "(<resourceType> or <resourceType>/<id>).";
-                            throw buildRestException(msg, IssueType.INVALID);
-                        }
+                // Save the results of the operation in the bundle response field.
+                Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
+                responseBuilder.status(string(Integer.toString(httpStatus)));
+                setBundleResponseStatus(response, httpStatus, requestDescription.toString(), initialTime);
 
-                        // Perform the 'delete' operation.
-                        FHIRRestOperationResponse ior = doDelete(type, id, query, null);
+                processedEntry = responseEntryBuilder.resource(resource).response(responseBuilder.build()).build();
+            } else if (request.getMethod().equals(HTTPVerb.POST)) {
+                // Process a POST (create or search, or custom operation).
+                if (pathTokens.length > 0
+                        && pathTokens[pathTokens.length - 1].startsWith("$")) {
+                    // This is a custom operation request
 
-                        // Process and replace bundler Entry
-                        Bundle.Entry resultEntry = setBundleResponseFields(responseEntry, ior.getResource(), ior.getOperationOutcome(),
-                                null, ior.getStatus().getStatusCode(), requestDescription.toString(), initialTime);
+                    // Chop off the '$' and save the name
+                    String operationName = pathTokens[pathTokens.length - 1].substring(1);
 
-                        responseIndexAndEntries.put(entryIndex, resultEntry);
-                    } else {
-                        // Internal error, should not get here!
-                        throw new IllegalStateException("Internal Server Error: reached an unexpected code location.");
-                    }
-                } catch (FHIRPersistenceResourceNotFoundException e) {
-                    if (failFast) {
-                        String msg = "Error while processing request bundle.";
-                        throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+                    // Retrieve the resource from the request entry.
+                    Resource resource = requestEntry.getResource();
+
+                    FHIROperationContext operationContext;
+                    Resource result;
+                    switch (pathTokens.length) {
+                    case 1:
+                        operationContext =
+                                FHIROperationContext.createSystemOperationContext();
+                        result = doInvoke(operationContext, null, null, null, operationName, resource, queryParams, null);
+                        break;
+                    case 2:
+                        operationContext =
+                                FHIROperationContext.createResourceTypeOperationContext();
+                        result = doInvoke(operationContext, pathTokens[0], null, null, operationName, resource, queryParams, null);
+                        break;
+                    case 3:
+                        operationContext =
+                                FHIROperationContext.createInstanceOperationContext();
+                        result = doInvoke(operationContext, pathTokens[0], pathTokens[1], null, operationName, resource, queryParams, null);
+                        break;
+                    default:
+                        String msg = "Invalid URL for custom operation '"
+                                + pathTokens[pathTokens.length - 1] + "'";
+                        throw buildRestException(msg, IssueType.NOT_FOUND);
                     }
+
                     Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                    responseBuilder.status(string(Integer.toString(SC_NOT_FOUND)));
+                    // Add warning and hint issues to response outcome if any.
+                    if (result instanceof OperationOutcome) {
+                        if (((OperationOutcome) result).getIssue() != null) {
+                            responseBuilder.outcome(result);
+                        }
+                    }
 
-                    responseIndexAndEntries.put(entryIndex, responseEntryBuilder
-                            .resource(FHIRUtil.buildOperationOutcome(e, false))
+                    responseBuilder.status(string(Integer.toString(SC_OK)));
+                    processedEntry = responseEntryBuilder
+                            .resource(result)
                             .response(responseBuilder.build())
-                            .build());
+                            .build();
+                    setBundleResponseStatus(response, SC_OK, requestDescription.toString(), initialTime);
 
-                    setBundleResponseStatus(response, SC_NOT_FOUND, requestDescription.toString(), initialTime);
-                } catch (FHIRPersistenceResourceDeletedException e) {
-                    if (failFast) {
-                        String msg = "Error while processing request bundle.";
-                        throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
-                    }
+                } else if (pathTokens.length == 2 && "_search".equals(pathTokens[1])) {
+                    // This is a 'search' request.
+                    Bundle searchResults =
+                            doSearch(pathTokens[0], null, null, queryParams, absoluteUri, null, null);
+
+                    // Save the results of the operation in the bundle response field.
                     Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                    responseBuilder.status(string(Integer.toString(SC_GONE)));
+                    responseBuilder.status(string(Integer.toString(SC_OK)));
 
-                    responseIndexAndEntries.put(entryIndex, responseEntryBuilder
-                            .resource(FHIRUtil.buildOperationOutcome(e, false))
+                    processedEntry = responseEntryBuilder
+                            .resource(searchResults)
                             .response(responseBuilder.build())
-                            .build());
+                            .build();
 
-                    setBundleResponseStatus(response, SC_GONE, requestDescription.toString(), initialTime);
-                } catch (FHIROperationException e) {
-                    if (failFast) {
-                        String msg = "Error while processing request bundle.";
-                        throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+                    setBundleResponseStatus(response, SC_OK, requestDescription.toString(), initialTime);
+                } else if (pathTokens.length == 1) {
+                    // This is a 'create' request.
+
+                    // Retrieve the local identifier from the request entry (if present).
+                    String localIdentifier =
+                            retrieveLocalIdentifier(requestEntry, localRefMap);
+
+                    // Retrieve the resource from the request entry.
+                    Resource resource = requestEntry.getResource();
+                    if (resource == null) {
+                        String msg =
+                                "BundleEntry.resource is required for bundled create requests.";
+                        throw buildRestException(msg, IssueType.NOT_FOUND);
                     }
 
-                    Status status;
-                    if (e instanceof FHIRSearchException) {
-                        status = Status.BAD_REQUEST;
-                    } else {
-                        status = IssueTypeToHttpStatusMapper.issueListToStatus(e.getIssues());
+                    // Convert any local references found within the resource to their
+                    // corresponding external reference.
+
+                    ReferenceMappingVisitor<Resource> visitor =
+                            new ReferenceMappingVisitor<Resource>(localRefMap);
+                    resource.accept(visitor);
+                    resource = visitor.getResult();
+
+                    // Perform the 'create' operation.
+                    String ifNoneExist = request.getIfNoneExist() != null
+                            ? request.getIfNoneExist().getValue() : null;
+                    FHIRRestOperationResponse ior =
+                            doCreate(pathTokens[0], resource, ifNoneExist, null);
+
+                    // Get the updated resource from FHIRRestOperationResponse which has the correct ID, meta
+                    // etc.
+                    resource = ior.getResource();
+
+                    // Process and replace bundler Entry
+                    Bundle.Entry resultEntry = setBundleResponseFields(responseEntry, resource, ior.getOperationOutcome(),
+                            ior.getLocationURI(), ior.getStatus().getStatusCode(), requestDescription.toString(), initialTime);
+
+                    processedEntry = resultEntry;
+
+                    // Next, if a local identifier was present, we'll need to map this to the
+                    // correct external identifier (e.g. Patient/12345).
+                    addLocalRefMapping(localRefMap, localIdentifier, resource);
+                } else {
+                    String msg =
+                            "Request URL for bundled create requests should have a path with exactly one token (<resourceType>).";
+                    throw buildRestException(msg, IssueType.NOT_FOUND);
+                }
+            } else if (request.getMethod().equals(HTTPVerb.PUT)) {
+                String type = null;
+                String id = null;
+
+                // Process a PUT (update).
+                if (pathTokens.length == 1) {
+                    // A single-part url would be a conditional update: <type>?<query>
+                    type = pathTokens[0];
+                    if (query == null || query.isEmpty()) {
+                        String msg =
+                                "A search query string is required for a conditional update operation.";
+                        throw buildRestException(msg, IssueType.INVALID);
                     }
+                } else if (pathTokens.length == 2) {
+                    // A two-part url would be a normal update: <type>/<id>.
+                    type = pathTokens[0];
+                    id = pathTokens[1];
+                } else {
+                    // A url with any other pattern is an error.
+                    String msg = "Request URL for bundled PUT request should have path part with either one or two tokens "
+                            + "(<resourceType> or <resourceType>/<id>).";
+                    throw buildRestException(msg, IssueType.INVALID);
+                }
 
-                    Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                    responseBuilder.status(string(Integer.toString(status.getStatusCode())));
+                // Retrieve the resource from the request entry.
+                Resource resource = requestEntry.getResource();
 
-                    responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false))
-                            .response(responseBuilder.build()).build());
+                // Convert any local references found within the resource to their
+                // corresponding external reference.
+                ReferenceMappingVisitor<Resource> visitor =
+                        new ReferenceMappingVisitor<Resource>(localRefMap);
+                resource.accept(visitor);
+                resource = visitor.getResult();
 
-                    setBundleResponseStatus(response, status.getStatusCode(), requestDescription.toString(), initialTime);
+                // Perform the 'update' operation.
+                String ifMatchBundleValue = null;
+                if (request.getIfMatch() != null) {
+                    ifMatchBundleValue = request.getIfMatch().getValue();
                 }
-            } // end foreach entry
+                FHIRRestOperationResponse ior =
+                        doUpdate(type, id, resource, ifMatchBundleValue, query, null);
 
-            // Now, let's re-construct the responseBundle
-            responseBundle = reconstructResponseBundle(responseBundle, responseIndexAndEntries);
-            return responseBundle;
+                // Process and replace bundler Entry
+                Bundle.Entry resultEntry = setBundleResponseFields(responseEntry, ior.getResource(), ior.getOperationOutcome(),
+                        ior.getLocationURI(), ior.getStatus().getStatusCode(), requestDescription.toString(), initialTime);
 
-        } finally {
-            log.exiting(this.getClass().getName(), "processEntriesForMethod");
+                processedEntry = resultEntry;
+
+            } else if (request.getMethod().equals(HTTPVerb.DELETE)) {
+                String type = null;
+                String id = null;
+
+                // Process a DELETE.
+                if (pathTokens.length == 1) {
+                    // A single-part url would be a conditional delete: <type>?<query>
+                    type = pathTokens[0];
+                    if (query == null || query.isEmpty()) {
+                        String msg =
+                                "A search query string is required for a conditional delete operation.";
+                        throw buildRestException(msg, IssueType.INVALID);
+                    }
+                } else if (pathTokens.length == 2) {
+                    type = pathTokens[0];
+                    id = pathTokens[1];
+                } else {
+                    String msg = "Request URL for bundled DELETE request should have path part with one or two tokens "
+                            + "(<resourceType> or <resourceType>/<id>).";
+                    throw buildRestException(msg, IssueType.INVALID);
+                }
+
+                // Perform the 'delete' operation.
+                FHIRRestOperationResponse ior = doDelete(type, id, query, null);
+
+                // Process and replace bundler Entry
+                Bundle.Entry resultEntry = setBundleResponseFields(responseEntry, ior.getResource(), ior.getOperationOutcome(),
+                        null, ior.getStatus().getStatusCode(), requestDescription.toString(), initialTime);
+
+                processedEntry = resultEntry;
+            } else {
+                // Internal error, should not get here!
+                throw new IllegalStateException("Internal Server Error: reached an unexpected code location.");
+            }
+        } catch (FHIRPersistenceResourceNotFoundException e) {
+            if (failFast) {
+                String msg = "Error while processing request bundle.";
+                throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+            }
+            Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
+            responseBuilder.status(string(Integer.toString(SC_NOT_FOUND)));
+
+            processedEntry = responseEntryBuilder
+                    .resource(FHIRUtil.buildOperationOutcome(e, false))
+                    .response(responseBuilder.build())
+                    .build();
+
+            setBundleResponseStatus(response, SC_NOT_FOUND, requestDescription.toString(), initialTime);
+        } catch (FHIRPersistenceResourceDeletedException e) {
+            if (failFast) {
+                String msg = "Error while processing request bundle.";
+                throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+            }
+            Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
+            responseBuilder.status(string(Integer.toString(SC_GONE)));
+
+            processedEntry = responseEntryBuilder
+                    .resource(FHIRUtil.buildOperationOutcome(e, false))
+                    .response(responseBuilder.build())
+                    .build();
+
+            setBundleResponseStatus(response, SC_GONE, requestDescription.toString(), initialTime);
+        } catch (FHIROperationException e) {
+            if (failFast) {
+                String msg = "Error while processing request bundle.";
+                throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+            }
+
+            Status status;
+            if (e instanceof FHIRSearchException) {
+                status = Status.BAD_REQUEST;
+            } else {
+                status = IssueTypeToHttpStatusMapper.issueListToStatus(e.getIssues());
+            }
+
+            Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
+            responseBuilder.status(string(Integer.toString(status.getStatusCode())));
+
+            processedEntry = responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false))
+                    .response(responseBuilder.build()).build();
+
+            setBundleResponseStatus(response, status.getStatusCode(), requestDescription.toString(), initialTime);
         }
+        return processedEntry;
     }
 
     /**
@@ -2184,13 +2902,17 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
     private Bundle createSearchBundle(List<Resource> resources, FHIRSearchContext searchContext, String type)
         throws Exception {
 
-        // throws if we have a count of more than 2,147,483,647 resources
-        UnsignedInt totalCount = UnsignedInt.of(searchContext.getTotalCount());
-        // generate ID for this bundle and set total
+        // generate ID for this bundle
         Bundle.Builder bundleBuider = Bundle.builder()
                                             .type(BundleType.SEARCHSET)
-                                            .id(UUID.randomUUID().toString())
-                                            .total(totalCount);
+                                            .id(UUID.randomUUID().toString());
+
+        // set total, unless the search results were not counted (_total=none) or the count stopped at the
+        // estimate limit (_total=estimate)
+        if (searchContext.isTotalCountKnown()) {
+            // throws if we have a count of more than 2,147,483,647 resources
+            bundleBuider.total(UnsignedInt.of(searchContext.getTotalCount()));
+        }
 
         for (Resource resource : resources) {
             if (resource.getId() == null) {
@@ -2317,8 +3039,8 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
             int nextPageNumber = context.getPageNumber() + 1;
             if (nextPageNumber <= context.getLastPageNumber()) {
 
-                // starting with the self URI
-                String nextLinkUrl = selfUri;
+                // starting with the self URI, without the cursor of the current page
+                String nextLinkUrl = removeCursorParameter(selfUri);
 
                 // remove existing _page parameters from the query string
                 nextLinkUrl =
@@ -2335,6 +3057,12 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                     nextLinkUrl += "?";
                 }
 
+                // add the cursor of the next page when the persistence layer supports keyset paging for this query;
+                // the _page parameter is kept so that the link still works if the cursor is dropped
+                if (context.getNextCursor() != null) {
+                    nextLinkUrl += SearchConstants.CURSOR + "=" + context.getNextCursor() + "&";
+                }
+
                 // add new _page parameter to the query string
                 nextLinkUrl += "_page=" + nextPageNumber;
 
@@ -2347,8 +3075,8 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
             int prevPageNumber = context.getPageNumber() - 1;
             if (prevPageNumber > 0) {
 
-                // starting with the original request URI
-                String prevLinkUrl = requestUri;
+                // starting with the original request URI; cursors only page forward
+                String prevLinkUrl = removeCursorParameter(requestUri);
 
                 // remove existing _page parameters from the query string
                 prevLinkUrl =
@@ -2378,6 +3106,14 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         return bundleBuilder.build();
     }
 
+    /**
+     * Removes the _cursor parameter (if any) from the query string of the passed URI.
+     */
+    private String removeCursorParameter(String uri) {
+        return uri.replaceAll("&" + SearchConstants.CURSOR + "=[^&]*", "")
+                .replaceAll("\\?" + SearchConstants.CURSOR + "=[^&]*&?", "?");
+    }
+
     /**
      * Get the original request URI from either the HttpServletRequest or a configured Header (in case of re-writing proxies).
      *
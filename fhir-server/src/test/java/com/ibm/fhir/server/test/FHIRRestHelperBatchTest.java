@@ -0,0 +1,337 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.server.test;
+
+import static com.ibm.fhir.model.type.String.string;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.config.FHIRConfiguration;
+import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.core.HTTPReturnPreference;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.parser.FHIRBundleReader;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Observation;
+import com.ibm.fhir.model.resource.OperationOutcome;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.CodeableConcept;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.Id;
+import com.ibm.fhir.model.type.Instant;
+import com.ibm.fhir.model.type.Meta;
+import com.ibm.fhir.model.type.Reference;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.model.type.code.HTTPVerb;
+import com.ibm.fhir.model.type.code.ObservationStatus;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.persistence.MultiResourceResult;
+import com.ibm.fhir.persistence.SingleResourceResult;
+import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
+import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
+import com.ibm.fhir.persistence.helper.PersistenceHelper;
+import com.ibm.fhir.server.util.FHIRRestHelper;
+
+/**
+ * Tests the processing of 'batch' requests by FHIRRestHelper, with and without processing entries in parallel.
+ */
+public class FHIRRestHelperBatchTest {
+    // The family name of the patients whose creation is delayed, so that the entries that follow finish first
+    private static final String SLOW = "Slow";
+
+    private ExecutorService executor;
+    private FHIRRequestContext requestContext;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        FHIRConfiguration.setConfigHome("src/test/resources");
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public void teardown() {
+        executor.shutdownNow();
+        FHIRRequestContext.remove();
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        InMemoryPersistence persistence = new InMemoryPersistence();
+        Bundle response = processBatch(persistence, executor, batch());
+        assertResponse(response);
+
+        // the creates were processed by the executor, on behalf of the same request
+        assertFalse(persistence.threads.contains(Thread.currentThread().getName()));
+        assertEquals(persistence.requestIds, Collections.singleton(requestContext.getRequestUniqueId()));
+    }
+
+    @Test
+    public void testSerial() throws Exception {
+        InMemoryPersistence persistence = new InMemoryPersistence();
+        Bundle response = processBatch(persistence, null, batch());
+        assertResponse(response);
+        assertEquals(persistence.threads, Collections.singleton(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void testDocumentOrder() throws Exception {
+        for (ExecutorService batchExecutor : Arrays.asList(executor, null)) {
+            List<Bundle.Entry> entries = new ArrayList<>();
+            entries.add(entry(HTTPVerb.GET, "Patient/4", null, null));
+            entries.add(entry(HTTPVerb.PUT, "Patient/4", patient("4", "First"), null));
+            entries.add(entry(HTTPVerb.GET, "Patient/4", null, null));
+            entries.add(entry(HTTPVerb.PUT, "Patient/4", patient("4", "Second"), null));
+            Bundle request = Bundle.builder().type(BundleType.BATCH).entry(entries).build();
+
+            Bundle response = processBatch(new InMemoryPersistence(), batchExecutor, request);
+            // each entry sees the results of the preceding entries only, whatever its method
+            assertEquals(statuses(response), Arrays.asList("404", "201", "200", "200"));
+            Patient readPatient = response.getEntry().get(2).getResource().as(Patient.class);
+            assertEquals(readPatient.getName().get(0).getFamily().getValue(), "First");
+        }
+    }
+
+    @Test
+    public void testParseError() throws Exception {
+        List<Bundle.Entry> entries = new ArrayList<>();
+        entries.add(entry(HTTPVerb.POST, "Patient", patient(null, "Valid"), null));
+        entries.add(entry(HTTPVerb.POST, "Patient", patient(null, "Invalid"), null));
+        entries.add(entry(HTTPVerb.POST, "Patient", patient(null, "Unread"), null));
+        String json = generate(Bundle.builder().type(BundleType.BATCH).entry(entries).build())
+                .replace("\"family\":\"Invalid\"", "\"family\":\"Invalid\",\"unknownElement\":true");
+
+        InMemoryPersistence persistence = new InMemoryPersistence();
+        Bundle response = processBatch(persistence, null, json);
+        // the entry that was processed before the error is returned along with the error
+        assertEquals(statuses(response), Arrays.asList("201", "400"));
+        assertTrue(response.getEntry().get(1).getResource() instanceof OperationOutcome);
+        assertEquals(persistence.resources.size(), 1);
+    }
+
+    @Test(expectedExceptions = FHIRParserException.class)
+    public void testParseErrorBeforeFirstEntry() throws Exception {
+        List<Bundle.Entry> entries = new ArrayList<>();
+        entries.add(entry(HTTPVerb.POST, "Patient", patient(null, "Invalid"), null));
+        String json = generate(Bundle.builder().type(BundleType.BATCH).entry(entries).build())
+                .replace("\"family\":\"Invalid\"", "\"family\":\"Invalid\",\"unknownElement\":true");
+
+        processBatch(new InMemoryPersistence(), null, json);
+    }
+
+    /**
+     * @return a 'batch' request in which the first entry takes longest to process
+     */
+    private Bundle batch() {
+        String slowPatientUrl = "urn:uuid:" + UUID.randomUUID();
+        List<Bundle.Entry> entries = new ArrayList<>();
+        // 0: a create that finishes last
+        entries.add(entry(HTTPVerb.POST, "Patient", patient(null, SLOW), slowPatientUrl));
+        // 1: a create that finishes first
+        entries.add(entry(HTTPVerb.POST, "Patient", patient(null, "Fast"), null));
+        // 2: a create that fails
+        entries.add(entry(HTTPVerb.POST, "Observation", patient(null, "Mismatch"), null));
+        // 3: a create that references the first entry
+        entries.add(entry(HTTPVerb.POST, "Observation", Observation.builder()
+                .status(ObservationStatus.FINAL)
+                .code(CodeableConcept.builder().text(string("test")).build())
+                .subject(Reference.builder().reference(string(slowPatientUrl)).build())
+                .build(), null));
+        // 4: an update
+        entries.add(entry(HTTPVerb.PUT, "Patient/3", patient("3", "Updated"), null));
+        // 5: a read of a resource that doesn't exist
+        entries.add(entry(HTTPVerb.GET, "Patient/missing", null, null));
+        // 6: a read of the resource that was updated by a preceding entry
+        entries.add(entry(HTTPVerb.GET, "Patient/3", null, null));
+        return Bundle.builder().type(BundleType.BATCH).entry(entries).build();
+    }
+
+    private void assertResponse(Bundle response) {
+        assertEquals(response.getType(), BundleType.BATCH_RESPONSE);
+        assertEquals(statuses(response), Arrays.asList("201", "201", "400", "201", "201", "404", "200"));
+
+        Patient slowPatient = response.getEntry().get(0).getResource().as(Patient.class);
+        assertEquals(slowPatient.getName().get(0).getFamily().getValue(), SLOW);
+        Patient fastPatient = response.getEntry().get(1).getResource().as(Patient.class);
+        assertEquals(fastPatient.getName().get(0).getFamily().getValue(), "Fast");
+        assertTrue(response.getEntry().get(2).getResource() instanceof OperationOutcome);
+        Observation observation = response.getEntry().get(3).getResource().as(Observation.class);
+        assertEquals(observation.getSubject().getReference().getValue(), "Patient/" + slowPatient.getId());
+        Patient readPatient = response.getEntry().get(6).getResource().as(Patient.class);
+        assertEquals(readPatient.getName().get(0).getFamily().getValue(), "Updated");
+    }
+
+    private static List<String> statuses(Bundle response) {
+        List<String> statuses = new ArrayList<>();
+        for (Bundle.Entry entry : response.getEntry()) {
+            statuses.add(entry.getResponse().getStatus().getValue());
+        }
+        return statuses;
+    }
+
+    private Bundle processBatch(InMemoryPersistence persistence, ExecutorService batchExecutor, Bundle request) throws Exception {
+        return processBatch(persistence, batchExecutor, generate(request));
+    }
+
+    private Bundle processBatch(InMemoryPersistence persistence, ExecutorService batchExecutor, String request) throws Exception {
+        requestContext = new FHIRRequestContext(FHIRConfiguration.DEFAULT_TENANT_ID);
+        requestContext.setOriginalRequestUri("https://localhost:9443/fhir-server/api/v4");
+        requestContext.setReturnPreference(HTTPReturnPreference.REPRESENTATION);
+        FHIRRequestContext.set(requestContext);
+
+        PersistenceHelper persistenceHelper = new PersistenceHelper() {
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation() {
+                return persistence;
+            }
+
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation(String factoryPropertyName) {
+                return persistence;
+            }
+        };
+        FHIRRestHelper helper = new FHIRRestHelper(persistence, persistenceHelper) {
+            @Override
+            protected ExecutorService getBatchExecutor() {
+                return batchExecutor;
+            }
+        };
+
+        try (FHIRBundleReader reader = FHIRBundleReader.reader(FHIRParser.parser(Format.JSON),
+                new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8)))) {
+            return helper.doBundle(reader, null);
+        }
+    }
+
+    private static String generate(Bundle bundle) throws Exception {
+        StringWriter writer = new StringWriter();
+        FHIRGenerator.generator(Format.JSON).generate(bundle, writer);
+        return writer.toString();
+    }
+
+    private static Patient patient(String id, String family) {
+        return Patient.builder()
+                .id(id)
+                .name(HumanName.builder().family(string(family)).build())
+                .build();
+    }
+
+    private static Bundle.Entry entry(HTTPVerb method, String url, Resource resource, String fullUrl) {
+        return Bundle.Entry.builder()
+                .fullUrl(fullUrl != null ? Uri.of(fullUrl) : null)
+                .resource(resource)
+                .request(Bundle.Entry.Request.builder().method(method).url(Uri.of(url)).build())
+                .build();
+    }
+
+    /**
+     * A persistence implementation that keeps the resources in memory and records the threads and requests that
+     * it is used by. The same instance is returned for each thread, so it has to be thread-safe.
+     */
+    private static class InMemoryPersistence implements FHIRPersistence {
+        private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+        private final Set<String> requestIds = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public <T extends Resource> SingleResourceResult<T> create(FHIRPersistenceContext context, T resource)
+                throws FHIRPersistenceException {
+            if (resource instanceof Patient && SLOW.equals(((Patient) resource).getName().get(0).getFamily().getValue())) {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    throw new FHIRPersistenceException("interrupted");
+                }
+            }
+            return update(context, UUID.randomUUID().toString(), resource);
+        }
+
+        @Override
+        public <T extends Resource> SingleResourceResult<T> read(FHIRPersistenceContext context, Class<T> resourceType,
+                String logicalId) {
+            return new SingleResourceResult.Builder<T>()
+                    .success(true)
+                    .resource(resourceType.cast(resources.get(ModelSupport.getTypeName(resourceType) + "/" + logicalId)))
+                    .build();
+        }
+
+        @Override
+        public <T extends Resource> SingleResourceResult<T> vread(FHIRPersistenceContext context, Class<T> resourceType,
+                String logicalId, String versionId) {
+            return read(context, resourceType, logicalId);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Resource> SingleResourceResult<T> update(FHIRPersistenceContext context, String logicalId,
+                T resource) {
+            threads.add(Thread.currentThread().getName());
+            requestIds.add(FHIRRequestContext.get().getRequestUniqueId());
+            T stored = (T) resource.toBuilder()
+                    .id(logicalId)
+                    .meta(Meta.builder()
+                        .versionId(Id.of("1"))
+                        .lastUpdated(Instant.now(ZoneOffset.UTC))
+                        .build())
+                    .build();
+            resources.put(ModelSupport.getTypeName(resource.getClass()) + "/" + logicalId, stored);
+            return new SingleResourceResult.Builder<T>().success(true).resource(stored).build();
+        }
+
+        @Override
+        public <T extends Resource> MultiResourceResult<T> history(FHIRPersistenceContext context, Class<T> resourceType,
+                String logicalId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MultiResourceResult<Resource> search(FHIRPersistenceContext context, Class<? extends Resource> resourceType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isTransactional() {
+            return false;
+        }
+
+        @Override
+        public OperationOutcome getHealth() {
+            return null;
+        }
+
+        @Override
+        public FHIRPersistenceTransaction getTransaction() {
+            return null;
+        }
+    }
+}
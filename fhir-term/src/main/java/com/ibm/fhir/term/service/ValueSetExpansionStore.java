@@ -0,0 +1,389 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.term.service;
+
+import static com.ibm.fhir.core.util.ConcurrentLRUCache.createConcurrentLRUCache;
+import static com.ibm.fhir.term.util.ValueSetSupport.getContains;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.fhir.model.resource.StructureDefinition;
+import com.ibm.fhir.model.resource.ValueSet;
+import com.ibm.fhir.model.resource.ValueSet.Expansion.Contains;
+import com.ibm.fhir.model.type.Canonical;
+import com.ibm.fhir.model.type.ElementDefinition;
+import com.ibm.fhir.model.type.code.BindingStrength;
+import com.ibm.fhir.registry.FHIRRegistry;
+import com.ibm.fhir.term.util.ValueSetSupport;
+
+/**
+ * A store of value set expansions used for membership checks (memberOf and validate-code against a value set).
+ *
+ * <p>Each value set is expanded once. The codes of an expansion are interned into a dictionary per code system
+ * (system|version) which is shared by all expansions, and the expansion itself is kept as one bitmap per code system
+ * over the ids of that dictionary, so a membership check is a hash lookup followed by a bit test.
+ *
+ * <p>Expansions of value sets with a url and version are cached by url|version. They can be computed up front for
+ * the value sets bound by the profiles in the FHIR registry ({@link #preloadBindings()}) and written to and read back
+ * from a local file ({@link #save(Path)}, {@link #load(Path)}) so that a restart doesn't need to expand them again.
+ */
+public final class ValueSetExpansionStore {
+    private static final Logger log = Logger.getLogger(ValueSetExpansionStore.class.getName());
+
+    private static final String VERSION_UNKNOWN = "<version unknown>";
+    private static final int FORMAT_VERSION = 1;
+    private static final ValueSetExpansionStore INSTANCE = new ValueSetExpansionStore();
+
+    // system|version -> code dictionary
+    private final Map<String, CodeDictionary> dictionaries = new ConcurrentHashMap<>();
+    // value set url|version -> expansion; entries are small, so the bound is generous
+    private final Map<String, StoredExpansion> expansions = createConcurrentLRUCache(4096);
+
+    private ValueSetExpansionStore() { }
+
+    public static ValueSetExpansionStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Determine whether the provided code is a member of the expansion of the provided value set.
+     *
+     * <p>If the system and version are non-null, then the code is looked up in the codes of that system and version.
+     * If not found, then it is looked up in the codes of that system for which no version was available during
+     * the expansion. If only the system is non-null, then the codes of the first version of that system in the
+     * expansion are used. Finally, if both system and version are null, the codes of all systems are used.
+     *
+     * @param valueSet
+     *     the value set
+     * @param system
+     *     the system of the focal coded element (can be null)
+     * @param version
+     *     the version of the focal coded element (can be null)
+     * @param code
+     *     the code used in the membership check
+     * @return
+     *     true if the provided code is a member of the expansion of the value set, false otherwise
+     */
+    public boolean isMember(ValueSet valueSet, String system, String version, String code) {
+        if (code == null) {
+            return false;
+        }
+        StoredExpansion expansion = getExpansion(valueSet);
+        if (system != null && version != null) {
+            String key = system + "|" + version;
+            if (expansion.codeSets.containsKey(key)) {
+                return expansion.contains(key, code) || expansion.contains(system + "|" + VERSION_UNKNOWN, code);
+            }
+        } else if (system != null) {
+            String prefix = system + "|";
+            for (String key : expansion.codeSets.keySet()) {
+                if (key.startsWith(prefix)) {
+                    return expansion.contains(key, code);
+                }
+            }
+        } else {
+            for (String key : expansion.codeSets.keySet()) {
+                if (expansion.contains(key, code)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expand and store the provided value sets, if they aren't stored already.
+     *
+     * @param valueSets
+     *     the value sets
+     */
+    public void preload(Collection<ValueSet> valueSets) {
+        for (ValueSet valueSet : valueSets) {
+            getExpansion(valueSet);
+        }
+    }
+
+    /**
+     * Expand and store the expandable value sets with a required or extensible binding in the profiles of the FHIR
+     * registry.
+     *
+     * @return
+     *     the number of value sets that were preloaded
+     */
+    public int preloadBindings() {
+        FHIRRegistry registry = FHIRRegistry.getInstance();
+        Set<String> urls = new LinkedHashSet<>();
+        for (Set<Canonical> profiles : registry.getProfiles().values()) {
+            for (Canonical profile : profiles) {
+                StructureDefinition structureDefinition = registry.getResource(profile.getValue(), StructureDefinition.class);
+                if (structureDefinition == null || structureDefinition.getSnapshot() == null) {
+                    continue;
+                }
+                for (ElementDefinition elementDefinition : structureDefinition.getSnapshot().getElement()) {
+                    ElementDefinition.Binding binding = elementDefinition.getBinding();
+                    if (binding != null && binding.getValueSet() != null && binding.getValueSet().getValue() != null
+                            && (BindingStrength.REQUIRED.equals(binding.getStrength()) || BindingStrength.EXTENSIBLE.equals(binding.getStrength()))) {
+                        urls.add(binding.getValueSet().getValue());
+                    }
+                }
+            }
+        }
+        List<ValueSet> valueSets = new ArrayList<>();
+        for (String url : urls) {
+            ValueSet valueSet = ValueSetSupport.getValueSet(url);
+            if (valueSet != null && (ValueSetSupport.isExpanded(valueSet) || ValueSetSupport.isExpandable(valueSet))) {
+                valueSets.add(valueSet);
+            }
+        }
+        preload(valueSets);
+        return valueSets.size();
+    }
+
+    /**
+     * Write the stored expansions to the provided file. The file is replaced atomically where supported.
+     *
+     * @param file
+     *     the file
+     * @throws IOException
+     *     if the file could not be written
+     */
+    public void save(Path file) throws IOException {
+        // snapshot the expansions first: every id they reference is then in the dictionary snapshots below
+        Map<String, StoredExpansion> expansions = new LinkedHashMap<>(this.expansions);
+        Map<String, String[]> codes = new LinkedHashMap<>();
+        for (StoredExpansion expansion : expansions.values()) {
+            for (Map.Entry<String, CodeSet> entry : expansion.codeSets.entrySet()) {
+                if (!codes.containsKey(entry.getKey())) {
+                    codes.put(entry.getKey(), entry.getValue().dictionary.codes());
+                }
+            }
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(codes.size());
+            for (Map.Entry<String, String[]> entry : codes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                for (String code : entry.getValue()) {
+                    out.writeUTF(code);
+                }
+            }
+            out.writeInt(expansions.size());
+            for (Map.Entry<String, StoredExpansion> entry : expansions.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().codeSets.size());
+                for (Map.Entry<String, CodeSet> codeSet : entry.getValue().codeSets.entrySet()) {
+                    out.writeUTF(codeSet.getKey());
+                    long[] words = codeSet.getValue().bitmap.toLongArray();
+                    out.writeInt(words.length);
+                    for (long word : words) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read expansions that were written by {@link #save(Path)} from the provided file into this store.
+     *
+     * @param file
+     *     the file
+     * @return
+     *     the number of expansions that were read
+     * @throws IOException
+     *     if the file could not be read or is not in the expected format
+     */
+    public int load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int formatVersion = in.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported expansion store format version: " + formatVersion);
+            }
+
+            // the ids in the file are mapped to the ids of the dictionaries of this store
+            int dictionaryCount = in.readInt();
+            Map<String, int[]> idMaps = new LinkedHashMap<>();
+            for (int i = 0; i < dictionaryCount; i++) {
+                String key = in.readUTF();
+                CodeDictionary dictionary = getDictionary(key);
+                int[] idMap = new int[in.readInt()];
+                for (int id = 0; id < idMap.length; id++) {
+                    idMap[id] = dictionary.intern(in.readUTF());
+                }
+                idMaps.put(key, idMap);
+            }
+
+            int expansionCount = in.readInt();
+            for (int i = 0; i < expansionCount; i++) {
+                String url = in.readUTF();
+                int bitmapCount = in.readInt();
+                Map<String, CodeSet> codeSets = new LinkedHashMap<>();
+                for (int j = 0; j < bitmapCount; j++) {
+                    String key = in.readUTF();
+                    long[] words = new long[in.readInt()];
+                    for (int k = 0; k < words.length; k++) {
+                        words[k] = in.readLong();
+                    }
+                    int[] idMap = idMaps.get(key);
+                    if (idMap == null) {
+                        throw new IOException("Expansion of '" + url + "' refers to unknown code system '" + key + "'");
+                    }
+                    BitSet stored = BitSet.valueOf(words);
+                    BitSet bitmap = new BitSet();
+                    for (int id = stored.nextSetBit(0); id >= 0; id = stored.nextSetBit(id + 1)) {
+                        if (id >= idMap.length) {
+                            throw new IOException("Expansion of '" + url + "' refers to unknown code id " + id);
+                        }
+                        bitmap.set(idMap[id]);
+                    }
+                    codeSets.put(key, new CodeSet(getDictionary(key), bitmap));
+                }
+                expansions.put(url, new StoredExpansion(codeSets));
+            }
+            return expansionCount;
+        }
+    }
+
+    /**
+     * Remove all stored expansions and code dictionaries.
+     */
+    public void clear() {
+        expansions.clear();
+        dictionaries.clear();
+    }
+
+    private StoredExpansion getExpansion(ValueSet valueSet) {
+        if (valueSet.getUrl() == null || valueSet.getVersion() == null) {
+            return computeExpansion(valueSet);
+        }
+        String url = valueSet.getUrl().getValue() + "|" + valueSet.getVersion().getValue();
+        return expansions.computeIfAbsent(url, k -> computeExpansion(valueSet));
+    }
+
+    private StoredExpansion computeExpansion(ValueSet valueSet) {
+        try {
+            ValueSet expanded = ValueSetSupport.expand(valueSet);
+            if (expanded == null || expanded.getExpansion() == null) {
+                return StoredExpansion.EMPTY;
+            }
+            Map<String, BitSet> bitmaps = new LinkedHashMap<>();
+            for (Contains contains : getContains(expanded.getExpansion())) {
+                String system = (contains.getSystem() != null) ? contains.getSystem().getValue() : null;
+                String version = (contains.getVersion() != null && contains.getVersion().getValue() != null) ? contains.getVersion().getValue() : VERSION_UNKNOWN;
+                String code = (contains.getCode() != null) ? contains.getCode().getValue() : null;
+                if (system != null && code != null) {
+                    String key = system + "|" + version;
+                    bitmaps.computeIfAbsent(key, k -> new BitSet()).set(getDictionary(key).intern(code));
+                }
+            }
+            Map<String, CodeSet> codeSets = new LinkedHashMap<>();
+            for (Map.Entry<String, BitSet> entry : bitmaps.entrySet()) {
+                codeSets.put(entry.getKey(), new CodeSet(getDictionary(entry.getKey()), entry.getValue()));
+            }
+            return new StoredExpansion(codeSets);
+        } catch (Exception e) {
+            String url = (valueSet.getUrl() != null) ? valueSet.getUrl().getValue() : "<no url>";
+            String version = (valueSet.getVersion() != null) ? valueSet.getVersion().getValue() : "<no version>";
+            log.log(Level.WARNING, String.format("Unable to expand value set with url: %s and version: %s", url, version), e);
+        }
+        return StoredExpansion.EMPTY;
+    }
+
+    private CodeDictionary getDictionary(String key) {
+        return dictionaries.computeIfAbsent(key, k -> new CodeDictionary());
+    }
+
+    /**
+     * Assigns consecutive ids to the codes of one code system version.
+     */
+    private static final class CodeDictionary {
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final List<String> codes = new ArrayList<>();
+
+        synchronized int intern(String code) {
+            Integer id = ids.get(code);
+            if (id == null) {
+                id = codes.size();
+                codes.add(code);
+                ids.put(code, id);
+            }
+            return id;
+        }
+
+        int lookup(String code) {
+            Integer id = ids.get(code);
+            return (id != null) ? id : -1;
+        }
+
+        synchronized String[] codes() {
+            return codes.toArray(new String[codes.size()]);
+        }
+    }
+
+    /**
+     * The codes of one code system version in an expansion, as a bitmap over the ids of its dictionary.
+     */
+    private static final class CodeSet {
+        private final CodeDictionary dictionary;
+        private final BitSet bitmap;
+
+        private CodeSet(CodeDictionary dictionary, BitSet bitmap) {
+            this.dictionary = dictionary;
+            this.bitmap = bitmap;
+        }
+    }
+
+    /**
+     * The expansion of one value set as a code set per code system version; immutable once built.
+     */
+    private static final class StoredExpansion {
+        private static final StoredExpansion EMPTY = new StoredExpansion(Collections.emptyMap());
+
+        private final Map<String, CodeSet> codeSets;
+
+        private StoredExpansion(Map<String, CodeSet> codeSets) {
+            this.codeSets = codeSets;
+        }
+
+        private boolean contains(String key, String code) {
+            CodeSet codeSet = codeSets.get(key);
+            if (codeSet == null) {
+                return false;
+            }
+            int id = codeSet.dictionary.lookup(code);
+            return id >= 0 && codeSet.bitmap.get(id);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.term.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ibm.fhir.model.resource.CodeSystem;
+import com.ibm.fhir.model.resource.CodeSystem.Concept;
+import com.ibm.fhir.model.type.Code;
+
+/**
+ * An index over the concept hierarchy of a FHIR code system.
+ *
+ * <p>Each concept is labeled with the interval [pre, last] where pre is its position in a pre-order traversal of the
+ * hierarchy and last is the position of its last descendant. A concept subsumes another concept if and only if the
+ * interval of the first contains the position of the second, so code lookups and subsumption tests don't need to
+ * walk the concept tree.
+ *
+ * <p>Codes are matched by value. A code which appears more than once in the hierarchy (e.g. under multiple parents)
+ * resolves to its first occurrence in pre-order, like {@link CodeSystemSupport#findConcept(CodeSystem, Code)}, but
+ * every occurrence is considered when testing whether it is subsumed by another code.
+ *
+ * <p>Instances are immutable and may be shared between threads; use {@link CodeSystemSupport#getCodeSystemIndex(CodeSystem)}
+ * to obtain a cached instance.
+ */
+public final class CodeSystemIndex {
+    private final CodeSystem codeSystem;
+    private final Concept[] concepts;
+    private final int[] last;
+    private final int[] parent;
+    private final Map<java.lang.String, int[]> positions;
+
+    /**
+     * Build the index for the provided code system.
+     *
+     * @param codeSystem
+     *     the code system to index
+     */
+    public CodeSystemIndex(CodeSystem codeSystem) {
+        this.codeSystem = codeSystem;
+        int size = count(codeSystem.getConcept());
+        concepts = new Concept[size];
+        last = new int[size];
+        parent = new int[size];
+        positions = new HashMap<>(size * 4 / 3 + 1);
+        int next = 0;
+        for (Concept concept : codeSystem.getConcept()) {
+            next = index(concept, -1, next);
+        }
+    }
+
+    /**
+     * @return
+     *     the code system this index was built for
+     */
+    public CodeSystem getCodeSystem() {
+        return codeSystem;
+    }
+
+    /**
+     * Find the concept that matches the specified code.
+     *
+     * @param code
+     *     the code to match
+     * @return
+     *     the code system concept that matches the specified code, or null if no such concept exists
+     */
+    public Concept getConcept(Code code) {
+        int[] p = getPositions(code);
+        return (p != null) ? concepts[p[0]] : null;
+    }
+
+    /**
+     * Determine whether the concept for codeA subsumes (is the same as or an ancestor of) the concept for codeB.
+     *
+     * @param codeA
+     *     the potential ancestor
+     * @param codeB
+     *     the potential descendant
+     * @return
+     *     true if both codes exist in the code system and the concept for codeA subsumes the concept for codeB, false otherwise
+     */
+    public boolean subsumes(Code codeA, Code codeB) {
+        int[] a = getPositions(codeA);
+        int[] b = getPositions(codeB);
+        if (a == null || b == null) {
+            return false;
+        }
+        for (int position : b) {
+            if (a[0] <= position && position <= last[a[0]]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the concept for the specified code and all of its descendants, in pre-order.
+     *
+     * @param code
+     *     the code
+     * @return
+     *     the concept and its descendants, or an empty set if no concept matches the specified code
+     */
+    public Set<Concept> getDescendantsAndSelf(Code code) {
+        int[] p = getPositions(code);
+        if (p == null) {
+            return Collections.emptySet();
+        }
+        List<Concept> subtree = Arrays.asList(concepts).subList(p[0], last[p[0]] + 1);
+        return new LinkedHashSet<>(subtree);
+    }
+
+    /**
+     * Get the concept for the specified code and all of its ancestors, starting with the concept itself.
+     *
+     * @param code
+     *     the code
+     * @return
+     *     the concept and its ancestors, or an empty set if no concept matches the specified code
+     */
+    public Set<Concept> getAncestorsAndSelf(Code code) {
+        int[] p = getPositions(code);
+        if (p == null) {
+            return Collections.emptySet();
+        }
+        Set<Concept> result = new LinkedHashSet<>();
+        for (int position : p) {
+            for (int i = position; i != -1; i = parent[i]) {
+                result.add(concepts[i]);
+            }
+        }
+        return result;
+    }
+
+    private int[] getPositions(Code code) {
+        return (code != null && code.getValue() != null) ? positions.get(code.getValue()) : null;
+    }
+
+    private int index(Concept concept, int parentPosition, int next) {
+        int position = next++;
+        concepts[position] = concept;
+        parent[position] = parentPosition;
+        if (concept.getCode() != null && concept.getCode().getValue() != null) {
+            int[] p = positions.get(concept.getCode().getValue());
+            if (p == null) {
+                p = new int[] { position };
+            } else {
+                p = Arrays.copyOf(p, p.length + 1);
+                p[p.length - 1] = position;
+            }
+            positions.put(concept.getCode().getValue(), p);
+        }
+        for (Concept child : concept.getConcept()) {
+            next = index(child, position, next);
+        }
+        last[position] = next - 1;
+        return next;
+    }
+
+    private static int count(List<Concept> concepts) {
+        int count = concepts.size();
+        for (Concept concept : concepts) {
+            count += count(concept.getConcept());
+        }
+        return count;
+    }
+}
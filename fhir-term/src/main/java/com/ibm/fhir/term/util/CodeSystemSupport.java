@@ -6,8 +6,11 @@
 
 package com.ibm.fhir.term.util;
 
+import static com.ibm.fhir.core.util.ConcurrentLRUCache.createConcurrentLRUCache;
+
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 import com.ibm.fhir.model.resource.CodeSystem;
@@ -20,6 +23,8 @@ import com.ibm.fhir.registry.FHIRRegistry;
  * A utility class for FHIR code systems
  */
 public final class CodeSystemSupport {
+    private static final Map<java.lang.String, CodeSystemIndex> CODE_SYSTEM_INDEX_CACHE = createConcurrentLRUCache(128);
+
     private CodeSystemSupport() { }
 
     /**
@@ -33,14 +38,7 @@ public final class CodeSystemSupport {
      *     the code system concept that matches the specified code, or null if no such concept exists
      */
     public static Concept findConcept(CodeSystem codeSystem, Code code) {
-        Concept result = null;
-        for (Concept concept : codeSystem.getConcept()) {
-            result = findConcept(concept, code);
-            if (result != null) {
-                break;
-            }
-        }
-        return result;
+        return getCodeSystemIndex(codeSystem).getConcept(code);
     }
 
     /**
@@ -79,6 +77,29 @@ public final class CodeSystemSupport {
         return FHIRRegistry.getInstance().getResource(url, CodeSystem.class);
     }
 
+    /**
+     * Get the index over the concept hierarchy of the provided code system. Indexes are built on first use and
+     * cached by code system url and version.
+     * 
+     * @param codeSystem
+     *     the code system
+     * @return
+     *     the index for the given code system
+     */
+    public static CodeSystemIndex getCodeSystemIndex(CodeSystem codeSystem) {
+        if (codeSystem.getUrl() == null || codeSystem.getVersion() == null) {
+            return new CodeSystemIndex(codeSystem);
+        }
+        java.lang.String key = codeSystem.getUrl().getValue() + "|" + codeSystem.getVersion().getValue();
+        CodeSystemIndex index = CODE_SYSTEM_INDEX_CACHE.get(key);
+        if (index == null || index.getCodeSystem() != codeSystem) {
+            // a different instance with the same url and version may have different content
+            index = new CodeSystemIndex(codeSystem);
+            CODE_SYSTEM_INDEX_CACHE.put(key, index);
+        }
+        return index;
+    }
+
     /**
      * Get the code system property that matches the specified code.
      * 
@@ -9,6 +9,7 @@ package com.ibm.fhir.term.util;
 import static com.ibm.fhir.model.type.String.string;
 import static com.ibm.fhir.term.util.CodeSystemSupport.findConcept;
 import static com.ibm.fhir.term.util.CodeSystemSupport.getCodeSystem;
+import static com.ibm.fhir.term.util.CodeSystemSupport.getCodeSystemIndex;
 import static com.ibm.fhir.term.util.CodeSystemSupport.getConceptPropertyValue;
 import static com.ibm.fhir.term.util.CodeSystemSupport.getConcepts;
 import static com.ibm.fhir.term.util.CodeSystemSupport.hasCodeSystemProperty;
@@ -274,9 +275,10 @@ public final class ValueSetSupport {
 
     private static ConceptFilter createDescendentOfFilter(CodeSystem codeSystem, Filter filter) {
         if ("concept".equals(filter.getProperty().getValue()) && CodeSystemHierarchyMeaning.IS_A.equals(codeSystem.getHierarchyMeaning())) {
-            Concept concept = findConcept(codeSystem, code(filter.getValue()));
+            CodeSystemIndex index = getCodeSystemIndex(codeSystem);
+            Concept concept = index.getConcept(code(filter.getValue()));
             if (concept != null) {
-                return new DescendentOfFilter(concept);
+                return new DescendentOfFilter(index, concept);
             }
         }
         return null;
@@ -303,9 +305,10 @@ public final class ValueSetSupport {
 
     private static ConceptFilter createGeneralizesFilter(CodeSystem codeSystem, Filter filter) {
         if ("concept".equals(filter.getProperty().getValue()) && CodeSystemHierarchyMeaning.IS_A.equals(codeSystem.getHierarchyMeaning())) {
-            Concept concept = findConcept(codeSystem, code(filter.getValue()));
+            CodeSystemIndex index = getCodeSystemIndex(codeSystem);
+            Concept concept = index.getConcept(code(filter.getValue()));
             if (concept != null) {
-                return new GeneralizesFilter(concept);
+                return new GeneralizesFilter(index, concept);
             }
         }
         return null;
@@ -323,9 +326,10 @@ public final class ValueSetSupport {
 
     private static ConceptFilter createIsAFilter(CodeSystem codeSystem, Filter filter) {
         if ("concept".equals(filter.getProperty().getValue()) && CodeSystemHierarchyMeaning.IS_A.equals(codeSystem.getHierarchyMeaning())) {
-            Concept concept = findConcept(codeSystem, code(filter.getValue()));
+            CodeSystemIndex index = getCodeSystemIndex(codeSystem);
+            Concept concept = index.getConcept(code(filter.getValue()));
             if (concept != null) {
-                return new IsAFilter(concept);
+                return new IsAFilter(index, concept);
             }
         }
         return null;
@@ -333,9 +337,10 @@ public final class ValueSetSupport {
 
     private static ConceptFilter createIsNotAFilter(CodeSystem codeSystem, Filter filter) {
         if ("concept".equals(filter.getProperty().getValue()) && CodeSystemHierarchyMeaning.IS_A.equals(codeSystem.getHierarchyMeaning())) {
-            Concept concept = findConcept(codeSystem, code(filter.getValue()));
+            CodeSystemIndex index = getCodeSystemIndex(codeSystem);
+            Concept concept = index.getConcept(code(filter.getValue()));
             if (concept != null) {
-                return new IsNotAFilter(concept);
+                return new IsNotAFilter(index, concept);
             }
         }
         return null;
@@ -467,17 +472,17 @@ public final class ValueSetSupport {
     }
 
     private static class DescendentOfFilter implements ConceptFilter {
-        private final Set<Concept> descendants;
+        private final CodeSystemIndex index;
+        private final Concept concept;
 
-        public DescendentOfFilter(Concept concept) {
-            Set<Concept> descendants = getConcepts(concept);
-            descendants.remove(concept);
-            this.descendants = descendants;
+        public DescendentOfFilter(CodeSystemIndex index, Concept concept) {
+            this.index = index;
+            this.concept = concept;
         }
 
         @Override
         public boolean accept(Concept concept) {
-            return descendants.contains(concept);
+            return index.subsumes(this.concept.getCode(), concept.getCode()) && !this.concept.getCode().equals(concept.getCode());
         }
     }
 
@@ -536,15 +541,17 @@ public final class ValueSetSupport {
     }
 
     private static class GeneralizesFilter implements ConceptFilter {
+        private final CodeSystemIndex index;
         private final Concept concept;
 
-        public GeneralizesFilter(Concept concept) {
+        public GeneralizesFilter(CodeSystemIndex index, Concept concept) {
+            this.index = index;
             this.concept = concept;
         }
 
         @Override
         public boolean accept(Concept concept) {
-            return getConcepts(concept).contains(this.concept);
+            return index.subsumes(concept.getCode(), this.concept.getCode());
         }
     }
 
@@ -566,21 +573,23 @@ public final class ValueSetSupport {
     }
 
     private static class IsAFilter implements ConceptFilter {
-        protected final Set<Concept> descendantsAndSelf;
+        protected final CodeSystemIndex index;
+        protected final Concept concept;
 
-        public IsAFilter(Concept concept) {
-            descendantsAndSelf = getConcepts(concept);
+        public IsAFilter(CodeSystemIndex index, Concept concept) {
+            this.index = index;
+            this.concept = concept;
         }
 
         @Override
         public boolean accept(Concept concept) {
-            return descendantsAndSelf.contains(concept);
+            return index.subsumes(this.concept.getCode(), concept.getCode());
         }
     }
 
     private static class IsNotAFilter extends IsAFilter {
-        public IsNotAFilter(Concept concept) {
-            super(concept);
+        public IsNotAFilter(CodeSystemIndex index, Concept concept) {
+            super(index, concept);
         }
 
         @Override
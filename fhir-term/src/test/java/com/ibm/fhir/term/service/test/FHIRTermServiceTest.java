@@ -9,11 +9,15 @@ package com.ibm.fhir.term.service.test;
 import static com.ibm.fhir.model.type.String.string;
 import static com.ibm.fhir.model.util.FHIRUtil.STRING_DATA_ABSENT_REASON_UNKNOWN;
 import static com.ibm.fhir.term.util.CodeSystemSupport.getCodeSystem;
+import static com.ibm.fhir.term.util.CodeSystemSupport.getCodeSystemIndex;
 import static com.ibm.fhir.term.util.ConceptMapSupport.getConceptMap;
 import static com.ibm.fhir.term.util.ValueSetSupport.getContains;
 import static com.ibm.fhir.term.util.ValueSetSupport.getValueSet;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Arrays;
@@ -39,6 +43,7 @@ import com.ibm.fhir.term.spi.LookupOutcome;
 import com.ibm.fhir.term.spi.TranslationOutcome;
 import com.ibm.fhir.term.spi.TranslationOutcome.Match;
 import com.ibm.fhir.term.spi.ValidationOutcome;
+import com.ibm.fhir.term.util.CodeSystemIndex;
 
 public class FHIRTermServiceTest {
     @Test
@@ -203,6 +208,28 @@ public class FHIRTermServiceTest {
         assertEquals(actual, Arrays.asList("m", "p", "q", "r"));
     }
 
+    @Test
+    public void testCodeSystemIndex() throws Exception {
+        CodeSystem codeSystem = getCodeSystem("http://ibm.com/fhir/CodeSystem/cs5|1.0.0");
+        CodeSystemIndex index = getCodeSystemIndex(codeSystem);
+
+        assertSame(getCodeSystemIndex(codeSystem), index);
+        assertEquals(index.getConcept(Code.of("r")).getCode(), Code.of("r"));
+        assertNull(index.getConcept(Code.of("z")));
+
+        assertTrue(index.subsumes(Code.of("m"), Code.of("r")));
+        assertTrue(index.subsumes(Code.of("r"), Code.of("r")));
+        assertFalse(index.subsumes(Code.of("r"), Code.of("m")));
+        assertFalse(index.subsumes(Code.of("p"), Code.of("s")));
+        assertFalse(index.subsumes(Code.of("m"), Code.of("z")));
+
+        List<String> actual = index.getAncestorsAndSelf(Code.of("q")).stream()
+                .map(concept -> concept.getCode().getValue())
+                .collect(Collectors.toList());
+
+        assertEquals(actual, Arrays.asList("q", "p", "m"));
+    }
+
     @Test
     public void testValidateCode1() throws Exception {
         Coding coding = Coding.builder()
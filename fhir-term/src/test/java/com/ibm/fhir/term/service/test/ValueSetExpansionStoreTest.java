@@ -0,0 +1,65 @@
+/*
+ * (C) Copyright IBM Corp. 2020
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.term.service.test;
+
+import static com.ibm.fhir.model.type.String.string;
+import static com.ibm.fhir.term.util.ValueSetSupport.getValueSet;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.ValueSet;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.PublicationStatus;
+import com.ibm.fhir.term.service.ValueSetExpansionStore;
+
+public class ValueSetExpansionStoreTest {
+    private static final String CS1 = "http://ibm.com/fhir/CodeSystem/cs1";
+
+    @Test
+    public void testIsMember() throws Exception {
+        ValueSetExpansionStore store = ValueSetExpansionStore.getInstance();
+        ValueSet valueSet = getValueSet("http://ibm.com/fhir/ValueSet/vs1|1.0.0");
+
+        assertTrue(store.isMember(valueSet, CS1, "1.0.0", "a"));
+        assertTrue(store.isMember(valueSet, CS1, null, "b"));
+        assertTrue(store.isMember(valueSet, null, null, "c"));
+        assertFalse(store.isMember(valueSet, CS1, "1.0.0", "x"));
+        assertFalse(store.isMember(valueSet, CS1, "2.0.0", "a"));
+        assertFalse(store.isMember(valueSet, "http://ibm.com/fhir/CodeSystem/cs2", null, "a"));
+        assertFalse(store.isMember(valueSet, CS1, null, null));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        ValueSetExpansionStore store = ValueSetExpansionStore.getInstance();
+        store.isMember(getValueSet("http://ibm.com/fhir/ValueSet/vs1|1.0.0"), CS1, null, "a");
+
+        Path file = Files.createTempFile("expansions", ".bin");
+        try {
+            store.save(file);
+            store.clear();
+            assertTrue(store.load(file) >= 1);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // a value set with the same url and version but without a compose is answered from the loaded expansion
+        ValueSet valueSet = ValueSet.builder()
+                .url(Uri.of("http://ibm.com/fhir/ValueSet/vs1"))
+                .version(string("1.0.0"))
+                .status(PublicationStatus.ACTIVE)
+                .build();
+        assertTrue(store.isMember(valueSet, CS1, "1.0.0", "b"));
+        assertFalse(store.isMember(valueSet, CS1, "1.0.0", "x"));
+        assertTrue(store.isMember(valueSet, null, null, "c"));
+    }
+}
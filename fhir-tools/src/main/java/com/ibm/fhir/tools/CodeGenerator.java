@@ -259,6 +259,7 @@ public class CodeGenerator {
         generateJsonParser(basePath);
         generateXMLParser(basePath);
         generateModelClassesFile(basePath);
+        generateModelMetadataClass(basePath);
         generateCodeSubtypeClass("ConceptSubsumptionOutcome", "http://hl7.org/fhir/ValueSet/concept-subsumption-outcome", basePath);
         generateCodeSubtypeClass("DataAbsentReason", "http://hl7.org/fhir/ValueSet/data-absent-reason", basePath);
     }
@@ -1986,6 +1987,7 @@ public class CodeGenerator {
         cb.newLine();
 
         cb._import("com.ibm.fhir.model.parser.FHIRAbstractParser");
+        cb._import("com.ibm.fhir.model.parser.FHIRParser");
         cb._import("com.ibm.fhir.model.parser.exception.FHIRParserException");
         cb._import("com.ibm.fhir.model.resource.*");
         cb._import("com.ibm.fhir.model.type.*");
@@ -1993,6 +1995,7 @@ public class CodeGenerator {
         cb._import("com.ibm.fhir.model.type.Boolean");
         cb._import("com.ibm.fhir.model.type.Integer");
         cb._import("com.ibm.fhir.model.type.String");
+        cb._import("com.ibm.fhir.model.util.ValidationSupport");
         cb._import("com.ibm.fhir.model.util.XMLSupport.StreamReaderDelegate");
         cb.newLine();
 
@@ -2017,6 +2020,7 @@ public class CodeGenerator {
         cb.annotation("SuppressWarnings", quote("unchecked"));
         cb.override();
         cb.method(mods("public"), "<T extends Resource> T", "parse", params("InputStream in"), throwsExceptions("FHIRParserException"))
+            .assign("boolean trusted", "ValidationSupport.setTrusted(isTrusted())")
             ._try("StreamReaderDelegate delegate = createStreamReaderDelegate(in)")
                 .invoke("reset", args())
                 ._while("delegate.hasNext()")
@@ -2030,6 +2034,8 @@ public class CodeGenerator {
                 ._throw(_new("XMLStreamException", args(quote("Unexpected end of stream"))))
             ._catch("Exception e")
                 ._throw(_new("FHIRParserException", args("e.getMessage()", "getPath()", "e")))
+            ._finally()
+                .invoke("ValidationSupport", "setTrusted", args("trusted"))
             ._end()
         .end();
         cb.newLine();
@@ -2038,6 +2044,7 @@ public class CodeGenerator {
         cb.annotation("SuppressWarnings", quote("unchecked"));
         cb.override();
         cb.method(mods("public"), "<T extends Resource> T", "parse", params("Reader reader"), throwsExceptions("FHIRParserException"))
+            .assign("boolean trusted", "ValidationSupport.setTrusted(isTrusted())")
             ._try("StreamReaderDelegate delegate = createStreamReaderDelegate(reader)")
                 .invoke("reset", args())
                 ._while("delegate.hasNext()")
@@ -2051,6 +2058,8 @@ public class CodeGenerator {
                 ._throw(_new("XMLStreamException", args(quote("Unexpected end of stream"))))
             ._catch("Exception e")
                 ._throw(_new("FHIRParserException", args("e.getMessage()", "getPath()", "e")))
+            ._finally()
+                .invoke("ValidationSupport", "setTrusted", args("trusted"))
             ._end()
         .end();
         cb.newLine();
@@ -2060,6 +2069,31 @@ public class CodeGenerator {
         .end();
         cb.newLine();
 
+        cb.override();
+        cb.method(mods("public"), "boolean", "isPropertySupported", params("java.lang.String name"))
+            ._if("FHIRParser.PROPERTY_TRUSTED.equals(name)")
+                ._return("true")
+            ._end()
+            ._return("false")
+        .end();
+        cb.newLine();
+
+        // Bundle.Entry parseBundleEntry(XMLStreamReader reader, int elementIndex) throws FHIRParserException
+        cb.method(mods(), "Bundle.Entry", "parseBundleEntry", params("XMLStreamReader reader", "int elementIndex"), throwsExceptions("FHIRParserException"))
+            .comment("parse a single Bundle.entry element (used by FHIRXMLBundleReader)")
+            .assign("boolean trusted", "ValidationSupport.setTrusted(isTrusted())")
+            ._try()
+                .invoke("reset", args())
+                .invoke("stackPush", args(quote("Bundle"), "-1"))
+                ._return("parseBundleEntry(\"entry\", reader, elementIndex)")
+            ._catch("Exception e")
+                ._throw(_new("FHIRParserException", args("e.getMessage()", "getPath()", "e")))
+            ._finally()
+                .invoke("ValidationSupport", "setTrusted", args("trusted"))
+            ._end()
+        .end();
+        cb.newLine();
+
         cb.method(mods("private"), "Resource", "parseResource", params("java.lang.String elementName", "XMLStreamReader reader", "int elementIndex"), throwsExceptions("XMLStreamException"));
         cb._if("isResourceContainer(elementName)")
             .invoke("reader", "nextTag", args())
@@ -2349,6 +2383,148 @@ public class CodeGenerator {
         }
     }
 
+    /**
+     * Generates the table of elements declared by each model class, which ModelSupport loads at startup instead of
+     * reflecting over the fields and annotations of every model class.
+     */
+    private void generateModelMetadataClass(String basePath) {
+        CodeBuilder cb = new CodeBuilder();
+
+        String packageName = "com.ibm.fhir.model.util";
+        cb.lines(HEADER).newLine();
+        cb._package(packageName).newLine();
+
+        cb._import("java.math.BigDecimal");
+        cb._import("java.time.LocalTime");
+        cb._import("java.time.ZonedDateTime");
+        cb._import("java.time.temporal.TemporalAccessor");
+        cb.newLine();
+
+        cb._import("javax.annotation.Generated");
+        cb.newLine();
+
+        cb._import("com.ibm.fhir.model.resource.*");
+        cb._import("com.ibm.fhir.model.type.*");
+        cb._import("com.ibm.fhir.model.type.code.*");
+        cb._import("com.ibm.fhir.model.type.Boolean");
+        cb._import("com.ibm.fhir.model.type.Integer");
+        cb._import("com.ibm.fhir.model.type.String");
+        cb.newLine();
+
+        cb.javadocStart();
+        cb.javadoc("The elements declared by each model class, used by {@link ModelSupport} instead of discovering them through reflection", false);
+        cb.javadocEnd();
+        cb.annotation("Generated", quote("com.ibm.fhir.tools.CodeGenerator"));
+        cb._class(mods("final"), "ModelMetadata");
+        cb.field(mods("static", "final"), "int", "REQUIRED", "1");
+        cb.field(mods("static", "final"), "int", "SUMMARY", "2");
+        cb.field(mods("static", "final"), "int", "REPEATING", "4");
+        cb.newLine();
+
+        cb.constructor(mods("private"), "ModelMetadata").end();
+        cb.newLine();
+
+        List<String> sortedClassNames = new ArrayList<>(generatedClassNames);
+        Collections.sort(sortedClassNames);
+
+        // one method per top-level class (and its nested classes) to stay well within the size limit of a method
+        Map<String, List<String>> classNameMap = new LinkedHashMap<>();
+        for (String generatedClassName : sortedClassNames) {
+            String topLevelClassName = generatedClassName.split("\\.")[0];
+            classNameMap.computeIfAbsent(topLevelClassName, k -> new ArrayList<>()).add(generatedClassName);
+        }
+
+        cb.method(mods("static"), "void", "declare", params("ModelSupport.MetadataBuilder builder"));
+        for (String topLevelClassName : classNameMap.keySet()) {
+            cb.invoke("declare" + topLevelClassName, args("builder"));
+        }
+        cb.end();
+
+        for (String topLevelClassName : classNameMap.keySet()) {
+            cb.newLine();
+            cb.method(mods("private", "static"), "void", "declare" + topLevelClassName, params("ModelSupport.MetadataBuilder builder"));
+            for (String generatedClassName : classNameMap.get(topLevelClassName)) {
+                generateModelMetadataStatements(generatedClassName, cb);
+            }
+            cb.end();
+        }
+
+        cb._end();
+
+        File file = new File(basePath + "/" + packageName.replace(".", "/") + "/ModelMetadata.java");
+        try {
+            if (!file.exists()) {
+                file.getParentFile().mkdirs();
+                Files.createFile(file.toPath());
+            }
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(cb.toString());
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+
+    private void generateModelMetadataStatements(String generatedClassName, CodeBuilder cb) {
+        cb.invoke("builder", "type", args(generatedClassName + ".class"));
+        if (isProfiledType(generatedClassName)) {
+            return;
+        }
+
+        JsonObject structureDefinition = getStructureDefinition(generatedClassName);
+        String[] tokens = generatedClassName.split("\\.");
+        StringBuilder sb = new StringBuilder(getElementDefinitions(structureDefinition).get(0).getString("path"));
+        for (int i = 1; i < tokens.length; i++) {
+            sb.append(".").append(camelCase(tokens[i]));
+        }
+        String path = sb.toString();
+
+        for (JsonObject elementDefinition : getElementDefinitions(structureDefinition, path)) {
+            String basePath = elementDefinition.getJsonObject("base").getString("path");
+            if (!elementDefinition.getString("path").equals(basePath)) {
+                continue;
+            }
+            String fieldName = quote(getFieldName(elementDefinition, path));
+
+            List<String> flags = new ArrayList<>();
+            if (isRequired(elementDefinition)) {
+                flags.add("REQUIRED");
+            }
+            if (isSummary(elementDefinition)) {
+                flags.add("SUMMARY");
+            }
+            if (isRepeating(elementDefinition)) {
+                flags.add("REPEATING");
+            }
+            String flagsString = flags.isEmpty() ? "0" : String.join(" | ", flags);
+
+            if (isChoiceElement(elementDefinition)) {
+                List<String> arguments = new ArrayList<>(args(fieldName, flagsString));
+                for (String choiceTypeName : getChoiceTypeNames(elementDefinition)) {
+                    arguments.add(choiceTypeName + ".class");
+                }
+                cb.invoke("builder", "choice", arguments);
+                continue;
+            }
+
+            String fieldType = getParseFieldType(generatedClassName, structureDefinition, elementDefinition) + ".class";
+            List<String> referenceTypes = isReferenceElement(structureDefinition, elementDefinition) ?
+                    getReferenceTypes(elementDefinition) : Collections.emptyList();
+            if (!referenceTypes.isEmpty()) {
+                List<String> arguments = new ArrayList<>(args(fieldName, fieldType, flagsString));
+                for (String referenceType : referenceTypes) {
+                    arguments.add(quote(referenceType));
+                }
+                cb.invoke("builder", "reference", arguments);
+            } else {
+                cb.invoke("builder", "element", args(fieldName, fieldType, flagsString));
+            }
+        }
+    }
+
     private void generateJsonParser(String basePath) {
         CodeBuilder cb = new CodeBuilder();
 
@@ -2356,12 +2532,18 @@ public class CodeGenerator {
         cb.lines(HEADER).newLine();
         cb._package(packageName).newLine();
 
+        cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "bufferValue");
         cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "checkForUnrecognizedElements");
         cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "getJsonArray");
         cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "getJsonValue");
         cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "getResourceType");
+        cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "hasNextObject");
         cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "nonClosingInputStream");
         cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "nonClosingReader");
+        cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "readObject");
+        cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "requireArray");
+        cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "requireObject");
+        cb._importstatic("com.ibm.fhir.model.util.JsonSupport", "skipValue");
         cb._importstatic("com.ibm.fhir.model.util.ModelSupport", "getChoiceElementName");
         cb.newLine();
 
@@ -2378,10 +2560,13 @@ public class CodeGenerator {
         cb._import("javax.json.JsonArray");
         cb._import("javax.json.JsonNumber");
         cb._import("javax.json.JsonObject");
+        cb._import("javax.json.JsonObjectBuilder");
         cb._import("javax.json.JsonReader");
         cb._import("javax.json.JsonReaderFactory");
         cb._import("javax.json.JsonString");
         cb._import("javax.json.JsonValue");
+        cb._import("javax.json.stream.JsonParser");
+        cb._import("javax.json.stream.JsonParserFactory");
         cb.newLine();
 
         cb._import("com.ibm.fhir.model.parser.FHIRParser");
@@ -2394,6 +2579,7 @@ public class CodeGenerator {
         cb._import("com.ibm.fhir.model.type.Integer");
         cb._import("com.ibm.fhir.model.type.String");
         cb._import("com.ibm.fhir.model.util.ElementFilter");
+        cb._import("com.ibm.fhir.model.util.ValidationSupport");
         cb.newLine();
 
         cb._import("net.jcip.annotations.NotThreadSafe");
@@ -2404,6 +2590,7 @@ public class CodeGenerator {
         cb._class(mods("public"), "FHIRJsonParser", "FHIRAbstractParser");
         cb.field(mods("public", "static"), "boolean", "DEBUG", "false");
         cb.field(mods("private", "static", "final"), "JsonReaderFactory", "JSON_READER_FACTORY", "Json.createReaderFactory(null)");
+        cb.field(mods("private", "static", "final"), "JsonParserFactory", "JSON_PARSER_FACTORY", "Json.createParserFactory(null)");
         cb.newLine();
 
         cb.field(mods("private", "final"), "Stack<java.lang.String>", "stack", _new("Stack<>"));
@@ -2423,6 +2610,15 @@ public class CodeGenerator {
 
         // public <T extends Resource> T parseAndFilter(InputStream in, java.util.List<java.lang.String> elementsToInclude) throws FHIRException
         cb.method(mods("public"), "<T extends Resource> T", "parseAndFilter", params("InputStream in", "Collection<java.lang.String> elementsToInclude"), throwsExceptions("FHIRParserException"))
+            ._if("isStreaming()")
+                ._try("JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingInputStream(in), StandardCharsets.UTF_8)")
+                    ._return("parseAndFilter(jsonParser, elementsToInclude)")
+                ._catch("FHIRParserException e")
+                    ._throw("e")
+                ._catch("Exception e")
+                    ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+                ._end()
+            ._end()
             ._try("JsonReader jsonReader = JSON_READER_FACTORY.createReader(nonClosingInputStream(in), StandardCharsets.UTF_8)")
                 .assign("JsonObject jsonObject", "jsonReader.readObject()")
                 ._return("parseAndFilter(jsonObject, elementsToInclude)")
@@ -2443,6 +2639,15 @@ public class CodeGenerator {
 
         // public <T extends Resource> T parseAndFilter(Reader reader, java.util.List<java.lang.String> elementsToInclude) throws FHIRException
         cb.method(mods("public"), "<T extends Resource> T", "parseAndFilter", params("Reader reader", "Collection<java.lang.String> elementsToInclude"), throwsExceptions("FHIRParserException"))
+            ._if("isStreaming()")
+                ._try("JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingReader(reader))")
+                    ._return("parseAndFilter(jsonParser, elementsToInclude)")
+                ._catch("FHIRParserException e")
+                    ._throw("e")
+                ._catch("Exception e")
+                    ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+                ._end()
+            ._end()
             ._try("JsonReader jsonReader = JSON_READER_FACTORY.createReader(nonClosingReader(reader))")
                 .assign("JsonObject jsonObject", "jsonReader.readObject()")
                 ._return("parseAndFilter(jsonObject, elementsToInclude)")
@@ -2462,6 +2667,7 @@ public class CodeGenerator {
         // public <T extends Resource> T parseAndFilter(JsonObject jsonObject, java.util.List<java.lang.String> elementsToInclude)
         cb.annotation("SuppressWarnings", quote("unchecked"));
         cb.method(mods("public"), "<T extends Resource> T", "parseAndFilter", params("JsonObject jsonObject", "Collection<java.lang.String> elementsToInclude"), throwsExceptions("FHIRParserException"))
+            .assign("boolean trusted", "ValidationSupport.setTrusted(isTrusted())")
             ._try()
                 .invoke("reset", args())
                 .assign("Class<?> resourceType", "getResourceType(jsonObject)")
@@ -2472,6 +2678,41 @@ public class CodeGenerator {
                 ._return("(T) parseResource(resourceType.getSimpleName(), jsonObject, -1)")
             ._catch("Exception e")
                 ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+            ._finally()
+                .invoke("ValidationSupport", "setTrusted", args("trusted"))
+            ._end()
+        .end();
+        cb.newLine();
+
+        cb.method(mods("public"), "<T extends Resource> T", "parse", args("JsonParser parser"), throwsExceptions("FHIRParserException"))
+            ._return("parseAndFilter(parser, null)")
+        .end();
+        cb.newLine();
+
+        // public <T extends Resource> T parseAndFilter(JsonParser parser, java.util.List<java.lang.String> elementsToInclude)
+        cb.annotation("SuppressWarnings", quote("unchecked"));
+        cb.method(mods("public"), "<T extends Resource> T", "parseAndFilter", params("JsonParser parser", "Collection<java.lang.String> elementsToInclude"), throwsExceptions("FHIRParserException"))
+            .assign("boolean trusted", "ValidationSupport.setTrusted(isTrusted())")
+            ._try()
+                .invoke("reset", args())
+                .invoke("requireObject", args("parser", quote("resource")))
+                .assign("JsonParser.Event event", "parser.next()")
+                ._if("event != JsonParser.Event.KEY_NAME || !\"resourceType\".equals(parser.getString())")
+                    .comment("'resourceType' is not the first key, so fall back to parsing the resource from a JsonObject")
+                    ._return("parseAndFilter(readObject(parser, event), elementsToInclude)")
+                ._end()
+                .assign("Class<?> resourceType", "getResourceType(parser)")
+                ._if("elementsToInclude != null")
+                    .assign("ElementFilter elementFilter", "new ElementFilter(resourceType, elementsToInclude)")
+                    .assign("parser", "elementFilter.apply(parser)")
+                ._end()
+                ._return("(T) parseResource(resourceType, resourceType.getSimpleName(), parser, -1)")
+            ._catch("FHIRParserException e")
+                ._throw("e")
+            ._catch("Exception e")
+                ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+            ._finally()
+                .invoke("ValidationSupport", "setTrusted", args("trusted"))
             ._end()
         .end();
         cb.newLine();
@@ -2481,15 +2722,36 @@ public class CodeGenerator {
         .end();
         cb.newLine();
 
+        cb.method(mods("private"), "boolean", "isStreaming")
+            ._return("getPropertyOrDefault(FHIRParser.PROPERTY_STREAMING, java.lang.Boolean.FALSE, java.lang.Boolean.class)")
+        .end();
+        cb.newLine();
+
         cb.override();
         cb.method(mods("public"), "boolean", "isPropertySupported", params("java.lang.String name"))
-            ._if("FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS.equals(name)")
+            ._if("FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS.equals(name) || FHIRParser.PROPERTY_STREAMING.equals(name) || FHIRParser.PROPERTY_TRUSTED.equals(name)")
                 ._return("true")
             ._end()
             ._return("false")
         .end();
         cb.newLine();
 
+        // Bundle.Entry parseBundleEntry(JsonParser parser, int elementIndex) throws FHIRParserException
+        cb.method(mods(), "Bundle.Entry", "parseBundleEntry", params("JsonParser parser", "int elementIndex"), throwsExceptions("FHIRParserException"))
+            .comment("parse a single Bundle.entry object (used by FHIRJsonBundleReader)")
+            .assign("boolean trusted", "ValidationSupport.setTrusted(isTrusted())")
+            ._try()
+                .invoke("reset", args())
+                .invoke("stackPush", args(quote("Bundle"), "-1"))
+                ._return("parseBundleEntry(\"entry\", parser, elementIndex)")
+            ._catch("Exception e")
+                ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+            ._finally()
+                .invoke("ValidationSupport", "setTrusted", args("trusted"))
+            ._end()
+        .end();
+        cb.newLine();
+
         cb.method(mods("private"), "Resource", "parseResource", params("java.lang.String elementName", "JsonObject jsonObject", "int elementIndex"));
         cb._if("jsonObject == null");
         cb._return("null");
@@ -2508,6 +2770,33 @@ public class CodeGenerator {
         cb.end();
         cb.newLine();
 
+        cb.method(mods("private"), "Resource", "parseResource", params("java.lang.String elementName", "JsonParser parser", "int elementIndex"))
+            .assign("JsonParser.Event event", "parser.next()")
+            ._if("event != JsonParser.Event.KEY_NAME || !\"resourceType\".equals(parser.getString())")
+                .comment("'resourceType' is not the first key, so fall back to parsing the resource from a JsonObject")
+                ._return("parseResource(elementName, readObject(parser, event), elementIndex)")
+            ._end()
+            ._return("parseResource(getResourceType(parser), elementName, parser, elementIndex)")
+        .end();
+        cb.newLine();
+
+        cb.method(mods("private"), "Resource", "parseResource", params("Class<?> resourceType", "java.lang.String elementName", "JsonParser parser", "int elementIndex"));
+        cb._switch("resourceType.getSimpleName()");
+        for (String resourceClassName : resourceClassNames) {
+            if ("Resource".equals(resourceClassName) || "DomainResource".equals(resourceClassName)) {
+                continue;
+            }
+            cb._case(quote(resourceClassName));
+            cb._return("parse" + resourceClassName + "(elementName, parser, elementIndex)");
+        }
+        cb._end();
+        cb._while("parser.next() == JsonParser.Event.KEY_NAME")
+            .invoke("skipValue", args("parser"))
+        ._end();
+        cb._return("null");
+        cb.end();
+        cb.newLine();
+
         Collections.sort(generatedClassNames);
 
         for (String generatedClassName : generatedClassNames) {
@@ -2516,6 +2805,7 @@ public class CodeGenerator {
                 generatePrimitiveTypeParseMethod(generatedClassName, structureDefinition, cb);
             } else {
                 generateParseMethod(generatedClassName, structureDefinition, cb);
+                generateStreamingParseMethod(generatedClassName, structureDefinition, cb);
             }
         }
 
@@ -2544,6 +2834,13 @@ public class CodeGenerator {
             ._return("joiner.toString()")
         .end().newLine();
 
+        cb.method(mods("private"), "void", "skipUnrecognizedElement", params("java.lang.String key", "JsonParser parser"))
+            ._if("!\"resourceType\".equals(key) && !\"fhir_comments\".equals(key) && getPropertyOrDefault(FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS, java.lang.Boolean.FALSE, java.lang.Boolean.class) == false")
+                ._throw("new IllegalArgumentException(\"Unrecognized element: '\" + key + \"'\")")
+            ._end()
+            .invoke("skipValue", args("parser"))
+        .end().newLine();
+
         cb.method(mods("private"), "java.lang.String", "parseJavaString", params("java.lang.String elementName", "JsonString jsonString", "int elementIndex"))
             ._if("jsonString == null")
                 ._return("null")
@@ -2699,36 +2996,7 @@ public class CodeGenerator {
         for (JsonObject elementDefinition : elementDefinitions) {
             String basePath = elementDefinition.getJsonObject("base").getString("path");
             if (elementDefinition.getString("path").equals(basePath)) {
-                String elementName = getElementName(elementDefinition, path);
-                String fieldName = getFieldName(elementName);
-                String fieldType = getFieldType(structureDefinition, elementDefinition, false)
-                        .replace("com.ibm.fhir.model.type.", "")
-                        .replace("com.ibm.fhir.model.resource.", "");
-
-                if (isBackboneElement(elementDefinition)) {
-                    fieldType = generatedClassName + "." + fieldType;
-                }
-
-                String parseMethodInvocation;
-                if (isRepeating(elementDefinition)) {
-                    if (isPrimitiveType(fieldType) || isCodeSubtype(fieldType)) {
-                        cb.assign("JsonArray " + elementName + "Array", "getJsonArray(jsonObject, " + quote(elementName) + ", true)");
-                    } else {
-                        cb.assign("JsonArray " + elementName + "Array", "getJsonArray(jsonObject, " + quote(elementName) + ")");
-                    }
-                    cb._if(elementName + "Array != null");
-                    if (isPrimitiveType(fieldType) || isCodeSubtype(fieldType)) {
-                        cb.assign("JsonArray _" + elementName + "Array", "jsonObject.getJsonArray(" + quote("_" + elementName) + ")");
-                    }
-                    cb._for("int i = 0", "i < " + elementName + "Array.size()", "i++");
-                    parseMethodInvocation = buildParseMethodInvocation(elementDefinition, elementName, fieldType, true);
-                    cb.invoke("builder", fieldName, args(parseMethodInvocation));
-                    cb._end();
-                    cb._end();
-                } else {
-                    parseMethodInvocation = buildParseMethodInvocation(elementDefinition, elementName, fieldType, false);
-                    cb.invoke("builder", fieldName, args(parseMethodInvocation));
-                }
+                generateParseElementStatements(generatedClassName, structureDefinition, elementDefinition, path, cb);
             }
         }
 
@@ -2746,6 +3014,181 @@ public class CodeGenerator {
         }
     }
 
+    private void generateParseElementStatements(String generatedClassName, JsonObject structureDefinition, JsonObject elementDefinition, String path, CodeBuilder cb) {
+        String elementName = getElementName(elementDefinition, path);
+        String fieldName = getFieldName(elementName);
+        String fieldType = getParseFieldType(generatedClassName, structureDefinition, elementDefinition);
+
+        String parseMethodInvocation;
+        if (isRepeating(elementDefinition)) {
+            if (isPrimitiveType(fieldType) || isCodeSubtype(fieldType)) {
+                cb.assign("JsonArray " + elementName + "Array", "getJsonArray(jsonObject, " + quote(elementName) + ", true)");
+            } else {
+                cb.assign("JsonArray " + elementName + "Array", "getJsonArray(jsonObject, " + quote(elementName) + ")");
+            }
+            cb._if(elementName + "Array != null");
+            if (isPrimitiveType(fieldType) || isCodeSubtype(fieldType)) {
+                cb.assign("JsonArray _" + elementName + "Array", "jsonObject.getJsonArray(" + quote("_" + elementName) + ")");
+            }
+            cb._for("int i = 0", "i < " + elementName + "Array.size()", "i++");
+            parseMethodInvocation = buildParseMethodInvocation(elementDefinition, elementName, fieldType, true);
+            cb.invoke("builder", fieldName, args(parseMethodInvocation));
+            cb._end();
+            cb._end();
+        } else {
+            parseMethodInvocation = buildParseMethodInvocation(elementDefinition, elementName, fieldType, false);
+            cb.invoke("builder", fieldName, args(parseMethodInvocation));
+        }
+    }
+
+    private String getParseFieldType(String generatedClassName, JsonObject structureDefinition, JsonObject elementDefinition) {
+        String fieldType = getFieldType(structureDefinition, elementDefinition, false)
+                .replace("com.ibm.fhir.model.type.", "")
+                .replace("com.ibm.fhir.model.resource.", "");
+        if (isBackboneElement(elementDefinition)) {
+            fieldType = generatedClassName + "." + fieldType;
+        }
+        return fieldType;
+    }
+
+    /**
+     * Elements with primitive values (including choice elements) are buffered by the streaming parse methods so that
+     * the value and its "_" counterpart can be merged regardless of the order in which they appear in the input
+     */
+    private List<String> getBufferedElementNames(String generatedClassName, JsonObject structureDefinition, JsonObject elementDefinition, String path) {
+        List<String> bufferedElementNames = new ArrayList<>();
+        String elementName = getElementName(elementDefinition, path);
+        if (isChoiceElement(elementDefinition)) {
+            for (String choiceTypeName : getChoiceTypeNames(elementDefinition)) {
+                String choiceElementName = elementName + getConcreteTypeName(choiceTypeName);
+                if (!bufferedElementNames.contains(choiceElementName)) {
+                    bufferedElementNames.add(choiceElementName);
+                    if (isPrimitiveType(choiceTypeName)) {
+                        bufferedElementNames.add("_" + choiceElementName);
+                    }
+                }
+            }
+        } else {
+            String fieldType = getParseFieldType(generatedClassName, structureDefinition, elementDefinition);
+            if (isJavaString(fieldType)) {
+                bufferedElementNames.add(elementName);
+            } else if (isPrimitiveType(fieldType) || isCodeSubtype(fieldType)) {
+                bufferedElementNames.add(elementName);
+                bufferedElementNames.add("_" + elementName);
+            }
+        }
+        return bufferedElementNames;
+    }
+
+    private String buildStreamingParseMethodInvocation(String elementName, String fieldType, String elementIndex) {
+        if (isQuantitySubtype(fieldType)) {
+            return "(" + fieldType + ") parseQuantity(" + fieldType + ".builder(), " + quote(elementName) + ", parser, " + elementIndex + ")";
+        }
+        return "parse" + fieldType.replace(".", "") + "(" + quote(elementName) + ", parser, " + elementIndex + ")";
+    }
+
+    private void generateStreamingParseMethod(String generatedClassName, JsonObject structureDefinition, CodeBuilder cb) {
+        if (isAbstract(structureDefinition) || isQuantitySubtype(structureDefinition) || isPrimitiveType(structureDefinition)) {
+            return;
+        }
+
+        String path = titleCase(Arrays.asList(generatedClassName.split("\\.")).stream().map(s -> camelCase(s)).collect(Collectors.joining(".")));
+
+        List<JsonObject> elementDefinitions = getElementDefinitions(structureDefinition, path);
+        List<JsonObject> bufferedElementDefinitions = new ArrayList<>();
+        List<String> bufferedElementNames = new ArrayList<>();
+        List<JsonObject> streamedElementDefinitions = new ArrayList<>();
+        for (JsonObject elementDefinition : elementDefinitions) {
+            List<String> names = getBufferedElementNames(generatedClassName, structureDefinition, elementDefinition, path);
+            if (names.isEmpty()) {
+                streamedElementDefinitions.add(elementDefinition);
+            } else {
+                bufferedElementDefinitions.add(elementDefinition);
+                bufferedElementNames.addAll(names);
+            }
+        }
+
+        if ("Quantity".equals(generatedClassName)) {
+            cb.method(mods("private"), "Quantity", "parseQuantity", params("Quantity.Builder builder", "java.lang.String elementName", "JsonParser parser", "int elementIndex"));
+        } else {
+            cb.method(mods("private"), generatedClassName, "parse" + generatedClassName.replace(".", ""), params("java.lang.String elementName", "JsonParser parser", "int elementIndex"));
+        }
+        cb.invoke("stackPush", args("elementName", "elementIndex"));
+
+        if (!"Quantity".equals(generatedClassName)) {
+            cb.assign(generatedClassName + ".Builder builder", generatedClassName + ".builder()");
+        }
+
+        if (!bufferedElementDefinitions.isEmpty()) {
+            cb.assign("JsonObjectBuilder jsonObjectBuilder", "null");
+        }
+
+        StringJoiner joiner = new StringJoiner(" = 0, ");
+        for (JsonObject elementDefinition : streamedElementDefinitions) {
+            if (isRepeating(elementDefinition)) {
+                joiner.add(getElementName(elementDefinition, path) + "ElementIndex");
+            }
+        }
+        if (!joiner.toString().isEmpty()) {
+            cb.statement("int %s = 0", joiner.toString());
+        }
+
+        cb._while("parser.next() == JsonParser.Event.KEY_NAME");
+        cb.assign("java.lang.String key", "parser.getString()");
+        cb._switch("key");
+
+        if (!bufferedElementNames.isEmpty()) {
+            for (String bufferedElementName : bufferedElementNames) {
+                cb._case(quote(bufferedElementName));
+            }
+            cb.assign("jsonObjectBuilder", "bufferValue(jsonObjectBuilder, key, parser)");
+            cb._break();
+        }
+
+        for (JsonObject elementDefinition : streamedElementDefinitions) {
+            String elementName = getElementName(elementDefinition, path);
+            String fieldName = getFieldName(elementName);
+            String fieldType = getParseFieldType(generatedClassName, structureDefinition, elementDefinition);
+
+            cb._case(quote(elementName));
+            if (isRepeating(elementDefinition)) {
+                cb.invoke("requireArray", args("parser", quote(elementName)));
+                cb._while("hasNextObject(parser, " + quote(elementName) + ")");
+                cb.invoke("builder", fieldName, args(buildStreamingParseMethodInvocation(elementName, fieldType, elementName + "ElementIndex++")));
+                cb._end();
+            } else {
+                cb.invoke("requireObject", args("parser", quote(elementName)));
+                cb.invoke("builder", fieldName, args(buildStreamingParseMethodInvocation(elementName, fieldType, "-1")));
+            }
+            cb._break();
+        }
+
+        cb._default()
+            .invoke("skipUnrecognizedElement", args("key", "parser"));
+
+        cb._end();
+        cb._end();
+
+        if (!bufferedElementDefinitions.isEmpty()) {
+            cb._if("jsonObjectBuilder != null");
+            cb.assign("JsonObject jsonObject", "jsonObjectBuilder.build()");
+            for (JsonObject elementDefinition : bufferedElementDefinitions) {
+                generateParseElementStatements(generatedClassName, structureDefinition, elementDefinition, path, cb);
+            }
+            cb._end();
+        }
+
+        cb.invoke("stackPop", args());
+        cb._return("builder.build()");
+        cb.end().newLine();
+
+        if ("Quantity".equals(generatedClassName)) {
+            cb.method(mods("private"), "Quantity", "parseQuantity", params("java.lang.String elementName", "JsonParser parser", "int elementIndex"));
+            cb._return("parseQuantity(Quantity.builder(), elementName, parser, elementIndex)");
+            cb.end().newLine();
+        }
+    }
+
     private void generatePrimitiveTypeParseMethod(String generatedClassName, JsonObject structureDefinition, CodeBuilder cb) {
         if (isStringSubtype(generatedClassName) || isUriSubtype(generatedClassName) || isCodeSubtype(generatedClassName) || isIntegerSubtype(generatedClassName)) {
             return;
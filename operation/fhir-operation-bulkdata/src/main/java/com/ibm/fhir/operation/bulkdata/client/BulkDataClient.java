@@ -566,11 +566,17 @@ public class BulkDataClient {
             List<String> responseCounts = Arrays.asList(exitStatus.split(","));
             Iterator<String> iter = responseCounts.iterator();
             for (Input input : inputs) {
-                String[] counts = iter.next().replace("[", "").replace("]", "").split(":");
-                outputs.add(new PollingLocationResponse.Output("OperationOutcome",
-                        input.getUrl() + "_oo_success.ndjson", counts[0]));
-                errors.add(new PollingLocationResponse.Output("OperationOutcome", input.getUrl() + "_oo_errors.ndjson",
-                        counts[1]));
+                // Inputs which are split into byte ranges have the counts of each range separated by '|', e.g, 3:0|5:1,
+                // and the OperationOutcomes of the ranges after the first one are named with the index of the range.
+                String[] rangeCounts = iter.next().replace("[", "").replace("]", "").trim().split("\\|");
+                for (int i = 0; i < rangeCounts.length; i++) {
+                    String[] counts = rangeCounts[i].split(":");
+                    String ooPrefix = i == 0 ? input.getUrl() : input.getUrl() + "_" + i;
+                    outputs.add(new PollingLocationResponse.Output("OperationOutcome",
+                            ooPrefix + "_oo_success.ndjson", counts[0]));
+                    errors.add(new PollingLocationResponse.Output("OperationOutcome", ooPrefix + "_oo_errors.ndjson",
+                            counts[1]));
+                }
             }
             result.setOutput(outputs);
             result.setError(errors);
@@ -9,9 +9,12 @@ package com.ibm.fhir.operation.document;
 import static com.ibm.fhir.model.type.String.string;
 
 import java.io.InputStream;
+import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.time.ZoneOffset;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -32,6 +35,8 @@ import com.ibm.fhir.model.type.Meta;
 import com.ibm.fhir.model.type.Reference;
 import com.ibm.fhir.model.type.Uri;
 import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.persistence.ResourceKey;
 import com.ibm.fhir.server.operation.spi.AbstractOperation;
 import com.ibm.fhir.server.operation.spi.FHIROperationContext;
 import com.ibm.fhir.server.operation.spi.FHIRResourceHelpers;
@@ -116,37 +121,39 @@ public class DocumentOperation extends AbstractOperation {
         //document.getEntry().add(bundleEntry);
         documentBuilder.entry(entryBuilder.build());
         
-        Map<String, Resource> resources = new HashMap<String, Resource>();
+        // collect the referenced resources first, so that they can be read with a single call
+        Map<String, ResourceKey> references = new LinkedHashMap<String, ResourceKey>();
         
         // Composition.subject
-        addBundleEntry(operationContext, documentBuilder, composition.getSubject(), resourceHelper, resources);
+        addReference(composition.getSubject(), references);
         
         // Composition.author
         for (Reference author : composition.getAuthor()) {
-            addBundleEntry(operationContext, documentBuilder, author, resourceHelper, resources);
+            addReference(author, references);
         }
         
         // Composition.attester.party
         for (Composition.Attester attester : composition.getAttester()) {
-            addBundleEntry(operationContext, documentBuilder, attester.getParty(), resourceHelper, resources);
+            addReference(attester.getParty(), references);
         }
         
         // Composition.custodian
-        addBundleEntry(operationContext, documentBuilder, composition.getCustodian(), resourceHelper, resources);
+        addReference(composition.getCustodian(), references);
         
         // Composition.event.detail
         for (Composition.Event event : composition.getEvent()) {
             for (Reference detail : event.getDetail()) {
-                addBundleEntry(operationContext, documentBuilder, detail, resourceHelper, resources);
+                addReference(detail, references);
             }
         }
         
         // Composition.encounter
-        addBundleEntry(operationContext, documentBuilder, composition.getEncounter(), resourceHelper, resources);
+        addReference(composition.getEncounter(), references);
         
         // Composition.section.entry
-        addBundleEntries(operationContext, documentBuilder, composition.getSection(), resourceHelper, resources);
+        addReferences(composition.getSection(), references);
         
+        addBundleEntries(operationContext, documentBuilder, references, resourceHelper);
         
         return documentBuilder.timestamp(Instant.now(ZoneOffset.UTC))
                 .identifier(Identifier.builder()
@@ -156,7 +163,7 @@ public class DocumentOperation extends AbstractOperation {
                 .build();
     }
 
-    private void addBundleEntry(FHIROperationContext operationContext, Bundle.Builder documentBuilder, Reference reference, FHIRResourceHelpers resourceHelper, Map<String, Resource> resources) throws Exception {;
+    private void addReference(Reference reference, Map<String, ResourceKey> references) throws Exception {
         if (reference == null) {
             return;
         }
@@ -170,9 +177,7 @@ public class DocumentOperation extends AbstractOperation {
             throw new FHIROperationException("Empty reference value is not allowed");
         }
         
-        Resource resource = resources.get(referenceValue);
-        
-        if (resource == null) {
+        if (!references.containsKey(referenceValue)) {
             String[] referenceTokens = referenceValue.split("/");
             
             // assumption: references will be relative {resourceTypeName}/{logicalId}
@@ -180,44 +185,61 @@ public class DocumentOperation extends AbstractOperation {
                 throw new FHIROperationException("Could not parse reference value: " + referenceValue);
             }
             
-            String resourceTypeName = referenceTokens[0];
-            String logicalId = referenceTokens[1];
+            // references to a type that isn't a concrete resource type are left to doRead (with a null key)
+            Class<? extends Resource> resourceType = ModelSupport.getResourceType(referenceTokens[0]);
+            ResourceKey key = null;
+            if (resourceType != null && !Modifier.isAbstract(resourceType.getModifiers())) {
+                key = new ResourceKey(resourceType, referenceTokens[1]);
+            }
+            references.put(referenceValue, key);
+        }
+    }
+
+    private void addReferences(List<Composition.Section> sections, Map<String, ResourceKey> references) throws Exception {
+        for (Composition.Section section : sections) {                
+            // process entries for this section
+            for (Reference entry : section.getEntry()) {
+                addReference(entry, references);
+            }
+            
+            // process subsections
+            addReferences(section.getSection(), references);
+        }
+    }
+    
+    private void addBundleEntries(FHIROperationContext operationContext, Bundle.Builder documentBuilder, Map<String, ResourceKey> references, FHIRResourceHelpers resourceHelper) throws Exception {
+        List<ResourceKey> keys = new ArrayList<ResourceKey>();
+        for (ResourceKey key : references.values()) {
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        Iterator<Resource> resources = resourceHelper.doReadMany(keys, false, null).iterator();
+        
+        for (Map.Entry<String, ResourceKey> reference : references.entrySet()) {
+            String referenceValue = reference.getKey();
             
-            resource = resourceHelper.doRead(resourceTypeName, logicalId, false, false, null, null);
+            Resource resource;
+            if (reference.getValue() != null) {
+                resource = resources.next();
+            } else {
+                String[] referenceTokens = referenceValue.split("/");
+                resource = resourceHelper.doRead(referenceTokens[0], referenceTokens[1], false, false, null, null);
+            }
             
             if (resource == null) {
                 throw new FHIROperationException("Could not find resource for reference value: " + referenceValue);
             }
             
-            resources.put(referenceValue, resource);
-            
             // create a bundle entry for the resource
-            //BundleEntry bundleEntry = factory.createBundleEntry();
-            
-            //ResourceContainer container = factory.createResourceContainer();
-            //FHIRUtil.setResourceContainerResource(container, resource);
-            
-            Bundle.Entry.Builder entryBuilder = Entry.builder(); //createBundleEntry();
+            Bundle.Entry.Builder entryBuilder = Entry.builder();
             entryBuilder.resource(resource);
             
             setFullUrl(operationContext, entryBuilder, referenceValue);
             
-            //document.getEntry().add(bundleEntry);
             documentBuilder.entry(entryBuilder.build());
         }
     }
-
-    private void addBundleEntries(FHIROperationContext operationContext, Bundle.Builder documentBuilder, List<Composition.Section> sections, FHIRResourceHelpers resourceHelper, Map<String, Resource> resources) throws Exception {
-        for (Composition.Section section : sections) {                
-            // process entries for this section
-            for (Reference entry : section.getEntry()) {
-                addBundleEntry(operationContext, documentBuilder, entry, resourceHelper, resources);
-            }
-            
-            // process subsections
-            addBundleEntries(operationContext, documentBuilder, section.getSection(), resourceHelper, resources);
-        }
-    }
     
     private void setFullUrl(FHIROperationContext operationContext, Bundle.Entry.Builder entryBuilder, String referenceValue) {
         String requestBaseURI = (String) operationContext.getProperty(FHIROperationContext.PROPNAME_REQUEST_BASE_URI);